@@ -0,0 +1,58 @@
+package uk.gov.hmcts.cp.filter.audit;
+
+import static java.util.UUID.randomUUID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static uk.gov.hmcts.cp.filter.audit.util.BrokerUtil.builder;
+
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.AsyncSendProperties;
+import uk.gov.hmcts.cp.filter.audit.metrics.SimpleAuditMetrics;
+import uk.gov.hmcts.cp.filter.audit.model.AuditPayload;
+import uk.gov.hmcts.cp.filter.audit.model.Metadata;
+import uk.gov.hmcts.cp.filter.audit.publisher.AsyncSendJmsPublisher;
+import uk.gov.hmcts.cp.filter.audit.publisher.JmsAuditEventPublisher;
+import uk.gov.hmcts.cp.filter.audit.service.AuditService;
+import uk.gov.hmcts.cp.filter.audit.util.BrokerUtil;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.core.JmsTemplate;
+
+class AuditAsyncSendEmbeddedIntegrationTest extends AbstractEmbeddedArtemisTest {
+
+    private static final String AUDIT_EVENT_NAME = "audit.events.audit-recorded";
+
+    @BeforeAll
+    static void start() throws Exception {
+        startEmbedded(false);
+    }
+
+    @Test
+    void asynchronous_sends_are_delivered_and_acknowledged() throws Exception {
+        final ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory(brokerUrlForConsumer);
+        connectionFactory.setConfirmationWindowSize(1024 * 1024);
+        final JmsTemplate jmsTemplate = new JmsTemplate(connectionFactory);
+        jmsTemplate.setPubSubDomain(true);
+        final SimpleAuditMetrics metrics = new SimpleAuditMetrics();
+        final String origin = "async-send-" + randomUUID();
+
+        try (BrokerUtil brokerUtil = builder(brokerUrlForConsumer).waitFor(consumerWait()).build();
+             AsyncSendJmsPublisher publisher = new AsyncSendJmsPublisher(connectionFactory, JmsAuditEventPublisher.DEFAULT_TOPIC,
+                     new AsyncSendProperties(), metrics, new JmsAuditEventPublisher(jmsTemplate), null)) {
+            final AuditService auditService = new AuditService(publisher, new ObjectMapper());
+            auditService.postMessageToArtemis(AuditPayload.builder()
+                    .origin(origin)
+                    .timestamp("2024-01-01T00:00:00Z")
+                    ._metadata(Metadata.builder().id(randomUUID()).name(AUDIT_EVENT_NAME).build())
+                    .build());
+
+            final String message = brokerUtil.getMessageMatching(json -> origin.equals(json.path("origin").asText()));
+            assertNotNull(message, "Expected the asynchronously sent audit event on the topic");
+            publisher.close();
+            assertEquals(1, metrics.count(AsyncSendJmsPublisher.METRIC_ACKNOWLEDGED));
+            assertEquals(0, publisher.getInFlightCount());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package uk.gov.hmcts.cp.filter.audit;
+
+import static java.util.UUID.randomUUID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static uk.gov.hmcts.cp.filter.audit.util.BrokerUtil.builder;
+
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.CoreClientProperties;
+import uk.gov.hmcts.cp.filter.audit.metrics.SimpleAuditMetrics;
+import uk.gov.hmcts.cp.filter.audit.model.AuditPayload;
+import uk.gov.hmcts.cp.filter.audit.model.Metadata;
+import uk.gov.hmcts.cp.filter.audit.publisher.AuditEventPublisher;
+import uk.gov.hmcts.cp.filter.audit.publisher.CoreAuditEventPublisher;
+import uk.gov.hmcts.cp.filter.audit.publisher.JmsAuditEventPublisher;
+import uk.gov.hmcts.cp.filter.audit.publisher.WireFormat;
+import uk.gov.hmcts.cp.filter.audit.service.AuditService;
+import uk.gov.hmcts.cp.filter.audit.util.BrokerUtil;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jms.connection.CachingConnectionFactory;
+import org.springframework.jms.core.JmsTemplate;
+
+class AuditCoreClientEmbeddedIntegrationTest extends AbstractEmbeddedArtemisTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AuditCoreClientEmbeddedIntegrationTest.class);
+    private static final String AUDIT_EVENT_NAME = "audit.events.audit-recorded";
+    private static final int COMPARISON_EVENTS = 2_000;
+
+    @BeforeAll
+    static void start() throws Exception {
+        startEmbedded(false);
+    }
+
+    @Test
+    void core_client_sends_are_received_by_jms_subscribers() throws Exception {
+        final List<String> origins = List.of("core-" + randomUUID(), "core-" + randomUUID(), "core-" + randomUUID());
+
+        try (BrokerUtil brokerUtil = builder(brokerUrlForConsumer).waitFor(consumerWait()).build();
+             ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory(brokerUrlForConsumer);
+             CoreAuditEventPublisher publisher = newCorePublisher(connectionFactory)) {
+            final AuditService auditService = new AuditService(publisher, new ObjectMapper());
+            // Several sends through the same lane check that the reused message carries each new body
+            origins.forEach(origin -> auditService.postMessageToArtemis(payload(origin)));
+
+            for (final String origin : origins) {
+                assertNotNull(brokerUtil.getMessageMatching(json -> origin.equals(json.path("origin").asText())),
+                        "Expected the core-client audit event " + origin + " on the JMS topic");
+            }
+        }
+    }
+
+    @Test
+    void utf8_bytes_messages_are_received_by_jms_subscribers() throws Exception {
+        final String jmsOrigin = "bytes-jms-" + randomUUID();
+        final String coreOrigin = "bytes-core-" + randomUUID();
+
+        try (BrokerUtil brokerUtil = builder(brokerUrlForConsumer).waitFor(consumerWait()).build();
+             ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory(brokerUrlForConsumer);
+             CoreAuditEventPublisher corePublisher = new CoreAuditEventPublisher(connectionFactory.getServerLocator(),
+                     null, null, JmsAuditEventPublisher.DEFAULT_TOPIC, new CoreClientProperties(), WireFormat.BYTES,
+                     new SimpleAuditMetrics())) {
+            final JmsTemplate jmsTemplate = new JmsTemplate(connectionFactory);
+            jmsTemplate.setPubSubDomain(true);
+            new AuditService(new JmsAuditEventPublisher(jmsTemplate, JmsAuditEventPublisher.DEFAULT_TOPIC, WireFormat.BYTES),
+                    new ObjectMapper()).postMessageToArtemis(payload(jmsOrigin));
+            new AuditService(corePublisher, new ObjectMapper()).postMessageToArtemis(payload(coreOrigin));
+
+            assertNotNull(brokerUtil.getMessageMatching(json -> jmsOrigin.equals(json.path("origin").asText())),
+                    "Expected the JMS bytes audit event on the topic");
+            assertNotNull(brokerUtil.getMessageMatching(json -> coreOrigin.equals(json.path("origin").asText())),
+                    "Expected the core-client bytes audit event on the topic");
+        }
+    }
+
+    /**
+     * Not a benchmark: logs the relative cost of the JmsTemplate and core-client paths against the
+     * embedded broker so regressions are visible in the build output.
+     */
+    @Test
+    void compare_core_client_and_jms_template_send_cost() throws Exception {
+        try (ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory(brokerUrlForConsumer);
+             CoreAuditEventPublisher corePublisher = newCorePublisher(connectionFactory)) {
+            final CachingConnectionFactory caching = new CachingConnectionFactory(connectionFactory);
+            caching.setCacheProducers(true);
+            final JmsTemplate jmsTemplate = new JmsTemplate(caching);
+            jmsTemplate.setPubSubDomain(true);
+            final JmsAuditEventPublisher jmsPublisher = new JmsAuditEventPublisher(jmsTemplate);
+
+            final String body = new ObjectMapper().writeValueAsString(payload("comparison"));
+            send(jmsPublisher, body, COMPARISON_EVENTS / 10);
+            send(corePublisher, body, COMPARISON_EVENTS / 10);
+            final long jmsNanos = send(jmsPublisher, body, COMPARISON_EVENTS);
+            final long coreNanos = send(corePublisher, body, COMPARISON_EVENTS);
+            caching.destroy();
+
+            LOG.info("Sent {} audit events: JmsTemplate {} us/event, core client {} us/event",
+                    COMPARISON_EVENTS,
+                    TimeUnit.NANOSECONDS.toMicros(jmsNanos / COMPARISON_EVENTS),
+                    TimeUnit.NANOSECONDS.toMicros(coreNanos / COMPARISON_EVENTS));
+        }
+    }
+
+    private static CoreAuditEventPublisher newCorePublisher(final ActiveMQConnectionFactory connectionFactory) {
+        return new CoreAuditEventPublisher(connectionFactory.getServerLocator(), null, null,
+                JmsAuditEventPublisher.DEFAULT_TOPIC, new CoreClientProperties(), WireFormat.TEXT, new SimpleAuditMetrics());
+    }
+
+    private static long send(final AuditEventPublisher publisher, final String body, final int count) {
+        int sent = 0;
+        final long started = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            if (publisher.publish(AUDIT_EVENT_NAME, body)) {
+                sent++;
+            }
+        }
+        final long elapsed = System.nanoTime() - started;
+        assertEquals(count, sent);
+        return elapsed;
+    }
+
+    private static AuditPayload payload(final String origin) {
+        return AuditPayload.builder()
+                .origin(origin)
+                .timestamp("2024-01-01T00:00:00Z")
+                ._metadata(Metadata.builder().id(randomUUID()).name(AUDIT_EVENT_NAME).build())
+                .build();
+    }
+}
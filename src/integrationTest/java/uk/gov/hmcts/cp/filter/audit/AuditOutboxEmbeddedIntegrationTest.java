@@ -0,0 +1,63 @@
+package uk.gov.hmcts.cp.filter.audit;
+
+import static java.util.UUID.randomUUID;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static uk.gov.hmcts.cp.filter.audit.util.BrokerUtil.builder;
+
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.OutboxProperties;
+import uk.gov.hmcts.cp.filter.audit.metrics.SimpleAuditMetrics;
+import uk.gov.hmcts.cp.filter.audit.outbox.AuditOutbox;
+import uk.gov.hmcts.cp.filter.audit.service.AuditService;
+import uk.gov.hmcts.cp.filter.audit.util.BrokerUtil;
+
+import java.nio.file.Path;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jms.core.JmsTemplate;
+
+class AuditOutboxEmbeddedIntegrationTest extends AbstractEmbeddedArtemisTest {
+
+    private static final String AUDIT_EVENT_NAME = "audit.events.audit-recorded";
+
+    @TempDir
+    Path outboxDirectory;
+
+    @BeforeAll
+    static void start() throws Exception {
+        startEmbedded(false);
+    }
+
+    @Test
+    void events_journalled_before_a_restart_are_delivered_once_the_outbox_is_reopened() throws Exception {
+        final String marker = "outbox-" + randomUUID();
+
+        try (AuditOutbox outbox = newOutbox()) {
+            outbox.open();
+            outbox.append(AUDIT_EVENT_NAME, "{\"marker\":\"" + marker + "\"}");
+        }
+
+        final JmsTemplate jmsTemplate = new JmsTemplate(new ActiveMQConnectionFactory(brokerUrlForConsumer));
+        jmsTemplate.setPubSubDomain(true);
+        final AuditService auditService = new AuditService(jmsTemplate, new ObjectMapper());
+
+        try (BrokerUtil brokerUtil = builder(brokerUrlForConsumer).waitFor(consumerWait()).build();
+             AuditOutbox outbox = newOutbox()) {
+            outbox.open();
+            outbox.start(auditService::postSerializedMessageToArtemis);
+
+            final String message = brokerUtil.getMessageMatching(json -> marker.equals(json.path("marker").asText()));
+            assertNotNull(message, "Expected the journalled audit event to be replayed to the broker");
+        }
+    }
+
+    private AuditOutbox newOutbox() {
+        final OutboxProperties properties = new OutboxProperties();
+        properties.setDirectory(outboxDirectory.toString());
+        properties.setRetryIntervalMs(50);
+        return new AuditOutbox(properties, new SimpleAuditMetrics());
+    }
+}
@@ -1,5 +1,6 @@
 package uk.gov.hmcts.cp.filter.audit.util;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
@@ -10,6 +11,7 @@ import java.util.function.Predicate;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.jms.BytesMessage;
 import jakarta.jms.Connection;
 import jakarta.jms.JMSException;
 import jakarta.jms.MessageConsumer;
@@ -144,6 +146,10 @@ public final class BrokerUtil implements AutoCloseable {
             try {
                 if (msg instanceof TextMessage tm) {
                     receivedMessages.add(tm.getText());
+                } else if (msg instanceof BytesMessage bm) {
+                    final byte[] body = new byte[(int) bm.getBodyLength()];
+                    bm.readBytes(body);
+                    receivedMessages.add(new String(body, StandardCharsets.UTF_8));
                 }
             } catch (JMSException e) {
                 LOG.error("Unable to process message from topic {}", topicName, e);
@@ -1,24 +1,46 @@
 package uk.gov.hmcts.cp.filter.audit;
 
-import uk.gov.hmcts.cp.filter.audit.model.AuditPayload;
+import uk.gov.hmcts.cp.filter.audit.config.HttpAuditProperties;
+import uk.gov.hmcts.cp.filter.audit.config.HttpAuditProperties.ContentTypeProperties;
+import uk.gov.hmcts.cp.filter.audit.config.HttpAuditProperties.HeaderProperties;
+import uk.gov.hmcts.cp.filter.audit.config.HttpAuditProperties.PathProperties;
+import uk.gov.hmcts.cp.filter.audit.model.AuditEvent;
+import uk.gov.hmcts.cp.filter.audit.model.HeaderSnapshot;
+import uk.gov.hmcts.cp.filter.audit.model.MultipartInfo;
+import uk.gov.hmcts.cp.filter.audit.model.PayloadInfo;
 import uk.gov.hmcts.cp.filter.audit.model.RequestInfo;
 import uk.gov.hmcts.cp.filter.audit.model.ResponseInfo;
+import uk.gov.hmcts.cp.filter.audit.policy.BodyCategory;
+import uk.gov.hmcts.cp.filter.audit.policy.ContentTypePolicy;
+import uk.gov.hmcts.cp.filter.audit.policy.HeaderCapturePolicy;
+import uk.gov.hmcts.cp.filter.audit.policy.PathAuditPolicy;
 import uk.gov.hmcts.cp.filter.audit.service.AuditPayloadGenerationService;
 import uk.gov.hmcts.cp.filter.audit.service.AuditService;
 import uk.gov.hmcts.cp.filter.audit.service.PathParameterService;
+import uk.gov.hmcts.cp.filter.audit.util.Digests;
 import uk.gov.hmcts.cp.filter.audit.wrapper.AuditServletRequestWrapper;
+import uk.gov.hmcts.cp.filter.audit.wrapper.ByteCountingResponseWrapper;
+import uk.gov.hmcts.cp.filter.audit.wrapper.MultipartAuditRequestWrapper;
+import uk.gov.hmcts.cp.filter.audit.wrapper.RequestCaptureMode;
+import uk.gov.hmcts.cp.filter.audit.wrapper.ResponseCaptureMode;
+import uk.gov.hmcts.cp.filter.audit.wrapper.StreamingAuditRequestWrapper;
+import uk.gov.hmcts.cp.filter.audit.wrapper.WriteThroughResponseWrapper;
 
+import java.io.Closeable;
 import java.io.IOException;
-import java.util.Enumeration;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.HashMap;
-import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
@@ -27,84 +49,305 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingResponseWrapper;
 
 @Slf4j
-@RequiredArgsConstructor
 @Order(Ordered.HIGHEST_PRECEDENCE + 50)
 public class AuditFilter extends OncePerRequestFilter {
 
+    private static final String ASYNC_AUDIT_ATTRIBUTE = AuditFilter.class.getName() + ".ASYNC_AUDIT";
+
     private final AuditService auditService;
     private final AuditPayloadGenerationService auditPayloadGenerationService;
     private final PathParameterService pathParameterService;
+    private final HttpAuditProperties httpAuditProperties;
+    private final ContentTypePolicy contentTypePolicy;
+    private final PathAuditPolicy pathAuditPolicy;
+    private final HeaderCapturePolicy headerCapturePolicy;
+
+    public AuditFilter(final AuditService auditService,
+                       final AuditPayloadGenerationService auditPayloadGenerationService,
+                       final PathParameterService pathParameterService) {
+        this(auditService, auditPayloadGenerationService, pathParameterService, new HttpAuditProperties());
+    }
+
+    public AuditFilter(final AuditService auditService,
+                       final AuditPayloadGenerationService auditPayloadGenerationService,
+                       final PathParameterService pathParameterService,
+                       final HttpAuditProperties httpAuditProperties) {
+        this.auditService = auditService;
+        this.auditPayloadGenerationService = auditPayloadGenerationService;
+        this.pathParameterService = pathParameterService;
+        this.httpAuditProperties = httpAuditProperties;
+        final ContentTypeProperties contentTypes = httpAuditProperties.getContentTypes();
+        this.contentTypePolicy = ContentTypePolicy.compile(contentTypes.getJson(), contentTypes.getText(), contentTypes.getForm());
+        final PathProperties paths = httpAuditProperties.getPaths();
+        this.pathAuditPolicy = PathAuditPolicy.compile(paths.getInclude(), paths.getExclude());
+        final HeaderProperties headers = httpAuditProperties.getHeaders();
+        this.headerCapturePolicy = HeaderCapturePolicy.compile(headers.getInclude(), headers.getExclude());
+    }
 
     @Override
     protected boolean shouldNotFilter(final HttpServletRequest request) {
         final String path = request.getRequestURI();
-        return path.contains("/health") || path.contains("/actuator");
+        final String contextPath = request.getContextPath();
+        final int pathOffset = contextPath != null && path.startsWith(contextPath) ? contextPath.length() : 0;
+        return !pathAuditPolicy.isAudited(request.getMethod(), path, pathOffset);
+    }
+
+    /**
+     * Async dispatches are filtered so that a buffered response can be released on the final one.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
     }
 
     @Override
+    @SuppressWarnings({"PMD.CloseResource", "PMD.UseTryWithResources"}) // an async request closes the wrapper on completion
     protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain)
             throws ServletException, IOException {
-        final String contentType = request.getContentType();
-        final boolean isMultipart =
-                contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("multipart/");
+        if (isAsyncDispatch(request)) {
+            doFilterAsyncDispatch(request, response, filterChain);
+            return;
+        }
 
-        if (isMultipart) {
-            filterChain.doFilter(request, response);
+        final BodyCategory requestCategory = contentTypePolicy.categorize(request.getContentType());
+        if (!httpAuditProperties.isIncludePayloadBody()) {
+            doFilterMetadataOnly(request, response, filterChain, requestCategory);
             return;
         }
 
+        if (requestCategory == BodyCategory.MULTIPART) {
+            doFilterMultipart(request, response, filterChain);
+            return;
+        }
 
-        final AuditServletRequestWrapper requestWrapper = new AuditServletRequestWrapper(request);
+        // Binary bodies are only digested, which the tee can do without holding them
+        if (requestCategory == BodyCategory.BINARY || httpAuditProperties.getRequestCaptureMode() == RequestCaptureMode.STREAMING) {
+            doFilterStreaming(request, response, filterChain, requestCategory);
+            return;
+        }
 
-        // Need this wrapper class tobe able to read and process request body before calling filterChain.doFilter method
-        final ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
+        final Path spillDirectory = httpAuditProperties.isSpillToDisk() ? Paths.get(httpAuditProperties.getSpillDirectory()) : null;
+        final AuditServletRequestWrapper requestWrapper =
+                new AuditServletRequestWrapper(request, httpAuditProperties.getMaxRequestCaptureBytes(), spillDirectory);
+        boolean deferred = false;
+        try {
+            final HttpServletResponse wrappedResponse = wrapResponse(response);
 
-        final RequestInfo requestInfo = extractRequestInfo(requestWrapper);
-        final String requestBody = requestWrapper.getRequestBody();
-        performRequestAudit(requestInfo);
+            final RequestInfo requestInfo = extractRequestInfo(requestWrapper, requestCategory);
+            performRequestAudit(requestInfo);
 
-        requestWrapper.setRequestBody(requestBody);
+            filterChain.doFilter(requestWrapper, wrappedResponse);
 
-        filterChain.doFilter(requestWrapper, wrappedResponse);
+            if (requestWrapper.isAsyncStarted()) {
+                deferred = true;
+                deferResponseAudit(requestWrapper, () -> requestInfo, wrappedResponse, requestWrapper);
+            } else {
+                completeResponse(requestInfo, wrappedResponse);
+            }
+        } finally {
+            if (!deferred) {
+                requestWrapper.close();
+            }
+        }
+    }
 
-        final String responsePayload = getPayload(wrappedResponse.getContentAsByteArray(), wrappedResponse.getCharacterEncoding());
-        if (StringUtils.hasText(responsePayload)) {
-            final ResponseInfo responseInfo = new ResponseInfo(requestInfo.contextPath(), requestInfo.headers(), responsePayload);
-            performResponseAudit(responseInfo);
+    /**
+     * Lets the application read the body straight from the container while a tee keeps a bounded
+     * copy. The request is audited as soon as the body has been read to the end, or once the chain
+     * returns when the application did not read it all.
+     */
+    private void doFilterStreaming(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain,
+                                   final BodyCategory requestCategory) throws ServletException, IOException {
+        final StreamingRequestAudit requestAudit = new StreamingRequestAudit();
+        final int maxCaptureBytes = requestCategory == BodyCategory.BINARY ? 0 : httpAuditProperties.getMaxRequestCaptureBytes();
+        final StreamingAuditRequestWrapper requestWrapper = new StreamingAuditRequestWrapper(request, maxCaptureBytes, requestAudit::audit);
+        requestAudit.extractor = () ->
+                extractRequestInfo(requestWrapper, requestWrapper.getCapturedBody(), requestWrapper.getPayloadInfo(), requestCategory, null);
+        doFilterObserved(requestWrapper, response, filterChain, requestAudit);
+    }
+
+    /**
+     * Audits a multipart request as a description of its parts. Part contents are hashed as they pass
+     * through to the application and never held in memory.
+     */
+    private void doFilterMultipart(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain)
+            throws ServletException, IOException {
+        final StreamingRequestAudit requestAudit = new StreamingRequestAudit();
+        final MultipartAuditRequestWrapper requestWrapper =
+                new MultipartAuditRequestWrapper(request, httpAuditProperties.getMaxMultipartParts(), requestAudit::audit);
+        requestAudit.extractor = () ->
+                extractRequestInfo(requestWrapper, "", null, BodyCategory.MULTIPART, requestWrapper.getMultipartInfo());
+        doFilterObserved(requestWrapper, response, filterChain, requestAudit);
+    }
+
+    /**
+     * Audits without capturing either body, for when payload bodies are excluded from audit events.
+     * The request is not wrapped and the response is only counted as it passes through.
+     */
+    private void doFilterMetadataOnly(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain,
+                                      final BodyCategory requestCategory) throws ServletException, IOException {
+        final StreamingRequestAudit requestAudit = new StreamingRequestAudit();
+        requestAudit.extractor = () -> extractRequestInfo(request, "", null, requestCategory, null);
+        final ByteCountingResponseWrapper countingResponse = new ByteCountingResponseWrapper(response);
+
+        // Reading the parameters of a form request would consume the body before the application sees it
+        if (requestCategory != BodyCategory.FORM) {
+            requestAudit.audit();
+        }
+
+        runChain(request, countingResponse, filterChain, requestAudit);
+
+        if (request.isAsyncStarted()) {
+            deferResponseAudit(request, requestAudit::audit, countingResponse, null);
+        } else {
+            completeResponse(requestAudit.audit(), countingResponse);
+        }
+    }
+
+    private void doFilterObserved(final HttpServletRequest requestWrapper, final HttpServletResponse response, final FilterChain filterChain,
+                                  final StreamingRequestAudit requestAudit) throws ServletException, IOException {
+        final HttpServletResponse wrappedResponse = wrapResponse(response);
+
+        runChain(requestWrapper, wrappedResponse, filterChain, requestAudit);
+
+        if (requestWrapper.isAsyncStarted()) {
+            deferResponseAudit(requestWrapper, requestAudit::audit, wrappedResponse, null);
+        } else {
+            completeResponse(requestAudit.audit(), wrappedResponse);
+        }
+    }
+
+    /**
+     * Runs the chain for a request audited after it starts, still auditing the request when the
+     * application throws. A failure to audit is added to the application's exception, not thrown in its place.
+     */
+    private void runChain(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain,
+                          final StreamingRequestAudit requestAudit) throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } catch (ServletException | IOException | RuntimeException e) {
+            try {
+                requestAudit.audit();
+            } catch (RuntimeException auditFailure) {
+                e.addSuppressed(auditFailure);
+            }
+            throw e;
         }
+    }
 
-        wrappedResponse.copyBodyToResponse();
+    /**
+     * Runs the chain for an async dispatch and, once no further async processing has been started,
+     * finishes the audit deferred by the initial dispatch.
+     */
+    private void doFilterAsyncDispatch(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain)
+            throws ServletException, IOException {
+        filterChain.doFilter(request, response);
+        if (!request.isAsyncStarted() && request.getAttribute(ASYNC_AUDIT_ATTRIBUTE) instanceof AsyncResponseAudit asyncAudit) {
+            asyncAudit.finish(true);
+        }
+    }
+
+    /**
+     * Finishes capture and publishing when the async request completes rather than when the chain
+     * returns. Completion is signalled by the final async dispatch or, when the application completes
+     * the request itself, by an {@link AsyncListener}.
+     */
+    private void deferResponseAudit(final HttpServletRequest request, final Supplier<RequestInfo> requestInfo,
+                                    final HttpServletResponse wrappedResponse, final Closeable resource) {
+        final AsyncResponseAudit asyncAudit = new AsyncResponseAudit(requestInfo, wrappedResponse, resource);
+        request.setAttribute(ASYNC_AUDIT_ATTRIBUTE, asyncAudit);
+        request.getAsyncContext().addListener(asyncAudit);
+    }
+
+    private HttpServletResponse wrapResponse(final HttpServletResponse response) {
+        if (httpAuditProperties.getResponseCaptureMode() == ResponseCaptureMode.BUFFERED) {
+            return new ContentCachingResponseWrapper(response);
+        }
+        return new WriteThroughResponseWrapper(response, httpAuditProperties.getMaxResponseCaptureBytes(), contentTypePolicy);
+    }
+
+    /**
+     * Sends the response to the client and audits it. A write-through response is flushed before the
+     * audit event is published, so the client is not kept waiting for the broker; a buffered response
+     * is only released once the event has been published.
+     */
+    private void completeResponse(final RequestInfo requestInfo, final HttpServletResponse wrappedResponse) throws IOException {
+        if (wrappedResponse instanceof ByteCountingResponseWrapper countingResponse) {
+            try {
+                countingResponse.flushBuffer();
+            } finally {
+                auditCountedResponse(requestInfo, countingResponse);
+            }
+            return;
+        }
+        if (wrappedResponse instanceof WriteThroughResponseWrapper writeThroughResponse) {
+            try {
+                writeThroughResponse.flushBuffer();
+            } finally {
+                auditWriteThroughResponse(requestInfo, writeThroughResponse);
+            }
+            return;
+        }
+
+        final ContentCachingResponseWrapper cachingResponse = (ContentCachingResponseWrapper) wrappedResponse;
+        final byte[] content = cachingResponse.getContentAsByteArray();
+        final BodyCategory category = contentTypePolicy.categorize(cachingResponse.getContentType());
+        if (category == BodyCategory.BINARY) {
+            final PayloadInfo payloadInfo = content.length == 0 ? null
+                    : new PayloadInfo(content.length, true, Digests.sha256Hex(content, 0, content.length), cachingResponse.getContentType());
+            auditResponse(requestInfo, "", payloadInfo, category);
+        } else {
+            final int capturedLength = Math.min(content.length, httpAuditProperties.getMaxResponseCaptureBytes());
+            final PayloadInfo payloadInfo = capturedLength < content.length
+                    ? new PayloadInfo(content.length, true, Digests.sha256Hex(content, 0, content.length))
+                    : null;
+            auditResponse(requestInfo, getPayload(content, capturedLength, cachingResponse.getCharacterEncoding()), payloadInfo, category);
+        }
+        cachingResponse.copyBodyToResponse();
+    }
+
+    private void auditWriteThroughResponse(final RequestInfo requestInfo, final WriteThroughResponseWrapper writeThroughResponse) {
+        final BodyCategory category = contentTypePolicy.categorize(writeThroughResponse.getContentType());
+        if (category == BodyCategory.BINARY) {
+            final PayloadInfo payloadInfo = writeThroughResponse.getCapture().toDigestInfo();
+            auditResponse(requestInfo, "", payloadInfo == null ? null : payloadInfo.withContentType(writeThroughResponse.getContentType()), category);
+        } else {
+            auditResponse(requestInfo, writeThroughResponse.getCapturedBody(), writeThroughResponse.getPayloadInfo(), category);
+        }
+    }
+
+    private void auditCountedResponse(final RequestInfo requestInfo, final ByteCountingResponseWrapper countingResponse) {
+        auditResponse(requestInfo, "", countingResponse.getPayloadInfo(), contentTypePolicy.categorize(countingResponse.getContentType()));
+    }
+
+    private void auditResponse(final RequestInfo requestInfo, final String responsePayload, final PayloadInfo payloadInfo,
+                               final BodyCategory category) {
+        if (StringUtils.hasText(responsePayload) || payloadInfo != null) {
+            final ResponseInfo responseInfo =
+                    new ResponseInfo(requestInfo.contextPath(), requestInfo.headers(), responsePayload, payloadInfo, category);
+            performResponseAudit(responseInfo);
+        }
     }
 
     private void performRequestAudit(final RequestInfo requestInfo) {
-        final AuditPayload auditRequestPayload = auditPayloadGenerationService.generatePayload(requestInfo);
-        auditService.postMessageToArtemis(auditRequestPayload);
+        final AuditEvent auditRequestPayload = auditPayloadGenerationService.generateEvent(requestInfo);
+        auditService.postEvent(auditRequestPayload);
     }
 
     private void performResponseAudit(final ResponseInfo responseInfo) {
-        final AuditPayload auditRequestPayload = auditPayloadGenerationService.generatePayload(responseInfo);
-        auditService.postMessageToArtemis(auditRequestPayload);
+        final AuditEvent auditRequestPayload = auditPayloadGenerationService.generateEvent(responseInfo);
+        auditService.postEvent(auditRequestPayload);
     }
 
-    private String getPayload(final byte[] content, final String encoding) {
+    private String getPayload(final byte[] content, final int length, final String encoding) {
         try {
-            return new String(content, encoding);
+            return new String(content, 0, length, encoding);
         } catch (IOException ex) {
             log.error("Unable to parse payload for audit", ex);
             return "";
         }
     }
 
-    private Map<String, String> getHeaders(final HttpServletRequest request) {
-        final Map<String, String> headers = new HashMap<>();
-        final Enumeration<String> headerNames = request.getHeaderNames();
-        while (headerNames.hasMoreElements()) {
-            final String headerName = headerNames.nextElement();
-            headers.put(headerName, request.getHeader(headerName));
-        }
-        return headers;
-    }
-
     private Map<String, String> getQueryParams(final HttpServletRequest request) {
         final Map<String, String> queryParams = new HashMap<>();
         request.getParameterMap().forEach((key, value) -> queryParams.put(key, String.join(",", value)));
@@ -119,11 +362,16 @@ public class AuditFilter extends OncePerRequestFilter {
         return contextPath;
     }
 
-    private RequestInfo extractRequestInfo(final AuditServletRequestWrapper requestWrapper) {
-        final String contextPath = removeLeadingForwardSlash(requestWrapper.getContextPath());
-        final String requestPath = requestWrapper.getServletPath();
-        final Map<String, String> headers = getHeaders(requestWrapper);
-        final Map<String, String> queryParams = getQueryParams(requestWrapper);
+    private RequestInfo extractRequestInfo(final AuditServletRequestWrapper requestWrapper, final BodyCategory category) {
+        return extractRequestInfo(requestWrapper, requestWrapper.getRequestBody(), requestWrapper.getPayloadInfo(), category, null);
+    }
+
+    private RequestInfo extractRequestInfo(final HttpServletRequest request, final String requestBody, final PayloadInfo payloadInfo,
+                                           final BodyCategory category, final MultipartInfo multipartInfo) {
+        final String contextPath = removeLeadingForwardSlash(request.getContextPath());
+        final String requestPath = request.getServletPath();
+        final HeaderSnapshot headers = HeaderSnapshot.capture(headerCapturePolicy, request::getHeaders);
+        final Map<String, String> queryParams = getQueryParams(request);
         final Map<String, String> pathParams = pathParameterService.getPathParameters(requestPath);
 
         return new RequestInfo(
@@ -131,8 +379,101 @@ public class AuditFilter extends OncePerRequestFilter {
                 headers,
                 queryParams,
                 pathParams,
-                requestWrapper.getRequestBody()
+                requestBody,
+                category == BodyCategory.BINARY && payloadInfo != null ? payloadInfo.withContentType(request.getContentType()) : payloadInfo,
+                category,
+                multipartInfo
         );
     }
 
+    /**
+     * Completes the audit of an async request exactly once.
+     */
+    private final class AsyncResponseAudit implements AsyncListener {
+
+        private final Supplier<RequestInfo> requestInfo;
+        private final HttpServletResponse wrappedResponse;
+        private final Closeable resource;
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        private AsyncResponseAudit(final Supplier<RequestInfo> requestInfo, final HttpServletResponse wrappedResponse, final Closeable resource) {
+            this.requestInfo = requestInfo;
+            this.wrappedResponse = wrappedResponse;
+            this.resource = resource;
+        }
+
+        /**
+         * @param responseOpen {@code true} on the final async dispatch, when the response can still be
+         *                     written; {@code false} once the container has completed it
+         */
+        private void finish(final boolean responseOpen) {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                if (responseOpen) {
+                    completeResponse(requestInfo.get(), wrappedResponse);
+                } else if (wrappedResponse instanceof ByteCountingResponseWrapper countingResponse) {
+                    auditCountedResponse(requestInfo.get(), countingResponse);
+                } else if (wrappedResponse instanceof WriteThroughResponseWrapper writeThroughResponse) {
+                    auditWriteThroughResponse(requestInfo.get(), writeThroughResponse);
+                } else {
+                    log.warn("Async request completed without a final dispatch; buffered response was not audited");
+                }
+            } catch (IOException e) {
+                log.error("Unable to complete audit of async response", e);
+            } finally {
+                closeResource();
+            }
+        }
+
+        private void closeResource() {
+            if (resource != null) {
+                try {
+                    resource.close();
+                } catch (IOException e) {
+                    log.warn("Unable to release audit request capture", e);
+                }
+            }
+        }
+
+        @Override
+        public void onComplete(final AsyncEvent event) {
+            finish(false);
+        }
+
+        @Override
+        public void onTimeout(final AsyncEvent event) {
+            // The container completes the request after the timeout, which triggers onComplete
+        }
+
+        @Override
+        public void onError(final AsyncEvent event) {
+            // The container completes the request after the error, which triggers onComplete
+        }
+
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+            // Listeners are cleared when async processing is restarted
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    /**
+     * Audits a streamed request exactly once, whichever of end-of-body or end-of-chain comes first.
+     */
+    private final class StreamingRequestAudit {
+
+        // Set once the request wrapper, which needs this audit as its completion callback, exists
+        private Supplier<RequestInfo> extractor;
+        private RequestInfo requestInfo;
+
+        private synchronized RequestInfo audit() {
+            if (requestInfo == null) {
+                requestInfo = extractor.get();
+                performRequestAudit(requestInfo);
+            }
+            return requestInfo;
+        }
+    }
 }
\ No newline at end of file
@@ -3,20 +3,55 @@ package uk.gov.hmcts.cp.filter.audit.config;
 import static org.springframework.util.StringUtils.hasLength;
 
 import uk.gov.hmcts.cp.filter.audit.AuditFilter;
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.AsyncProperties;
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.AsyncSendProperties;
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.BatchProperties;
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.BlobPublisherProperties;
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.CircuitBreakerProperties;
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.CoreClientProperties;
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.FilePublisherProperties;
 import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.JmsProperties;
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.OutboxProperties;
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.PoolProperties;
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.PublisherProperties;
+import uk.gov.hmcts.cp.filter.audit.metrics.AuditMetrics;
+import uk.gov.hmcts.cp.filter.audit.metrics.SimpleAuditMetrics;
+import uk.gov.hmcts.cp.filter.audit.outbox.AuditOutbox;
 import uk.gov.hmcts.cp.filter.audit.parser.OpenApiParserProducer;
 import uk.gov.hmcts.cp.filter.audit.parser.OpenApiSpecificationParser;
+import uk.gov.hmcts.cp.filter.audit.publisher.AsyncSendJmsPublisher;
+import uk.gov.hmcts.cp.filter.audit.publisher.AuditEventPublisher;
+import uk.gov.hmcts.cp.filter.audit.publisher.BlobSegmentAuditEventPublisher;
+import uk.gov.hmcts.cp.filter.audit.publisher.BlobStore;
+import uk.gov.hmcts.cp.filter.audit.publisher.CircuitBreakingAuditEventPublisher;
+import uk.gov.hmcts.cp.filter.audit.publisher.CoreAuditEventPublisher;
+import uk.gov.hmcts.cp.filter.audit.publisher.FileSegmentAuditEventPublisher;
+import uk.gov.hmcts.cp.filter.audit.publisher.InMemoryAuditEventPublisher;
+import uk.gov.hmcts.cp.filter.audit.publisher.JmsAuditEventPublisher;
+import uk.gov.hmcts.cp.filter.audit.publisher.LocalFileSystemBlobStore;
+import uk.gov.hmcts.cp.filter.audit.publisher.PooledJmsAuditEventPublisher;
+import uk.gov.hmcts.cp.filter.audit.publisher.PublisherType;
+import uk.gov.hmcts.cp.filter.audit.publisher.StripedJmsSessionPool;
+import uk.gov.hmcts.cp.filter.audit.publisher.WireFormat;
+import uk.gov.hmcts.cp.filter.audit.service.AsyncAuditService;
 import uk.gov.hmcts.cp.filter.audit.service.AuditPayloadGenerationService;
 import uk.gov.hmcts.cp.filter.audit.service.AuditService;
+import uk.gov.hmcts.cp.filter.audit.service.EventIdGenerator;
+import uk.gov.hmcts.cp.filter.audit.service.EventIdType;
 import uk.gov.hmcts.cp.filter.audit.service.OpenApiSpecPathParameterService;
+import uk.gov.hmcts.cp.filter.audit.service.OutboxAuditService;
 import uk.gov.hmcts.cp.filter.audit.service.PathParameterService;
+import uk.gov.hmcts.cp.filter.audit.service.TimeOrderedEventIdGenerator;
+import uk.gov.hmcts.cp.filter.audit.util.AuditClock;
 import uk.gov.hmcts.cp.filter.audit.util.ClasspathResourceLoader;
 import uk.gov.hmcts.cp.filter.audit.util.PathParameterNameExtractor;
 import uk.gov.hmcts.cp.filter.audit.util.PathParameterValueExtractor;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
 import java.util.StringJoiner;
+import java.util.UUID;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
@@ -25,6 +60,7 @@ import io.swagger.parser.OpenAPIParser;
 import jakarta.jms.DeliveryMode;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -49,9 +85,14 @@ public class ArtemisAuditAutoConfiguration {
     private static final String BEAN_JMS = "auditJmsTemplate";
     private static final String BEAN_OM  = "auditObjectMapper";
     private static final String AUDIT_HTTP_ENABLED = "audit.http.enabled";
+    private static final String PUBLISHER_PREFIX = "cp.audit.publisher";
+    private static final String PROPERTY_TYPE = "type";
+    private static final int MIN_QUEUE_CAPACITY = 2;
+    private static final String PMD_CLOSE_RESOURCE = "PMD.CloseResource";
 
     @Bean(name = BEAN_CF)
     @Primary
+    @ConditionalOnProperty(prefix = PUBLISHER_PREFIX, name = PROPERTY_TYPE, havingValue = "jms", matchIfMissing = true)
     @ConditionalOnMissingBean(name = BEAN_CF)
     public ActiveMQConnectionFactory auditConnectionFactory(final AuditProperties properties) {
         validateProps(properties);
@@ -61,11 +102,16 @@ public class ArtemisAuditAutoConfiguration {
         final ActiveMQConnectionFactory factory = new ActiveMQConnectionFactory(url);
         factory.setUser(Objects.toString(properties.getUser(), ""));
         factory.setPassword(Objects.toString(properties.getPassword(), ""));
+        if (properties.getJms().getAsyncSend().isEnabled()) {
+            // Without a confirmation window Artemis completes "asynchronous" sends synchronously
+            factory.setConfirmationWindowSize(properties.getJms().getAsyncSend().getConfirmationWindowSizeBytes());
+        }
         return factory;
     }
 
     @Bean(name = BEAN_JMS)
     @Primary
+    @ConditionalOnProperty(prefix = PUBLISHER_PREFIX, name = PROPERTY_TYPE, havingValue = "jms", matchIfMissing = true)
     @ConditionalOnMissingBean(name = BEAN_JMS)
     public JmsTemplate auditJmsTemplate(
             @Qualifier(BEAN_CF) final ActiveMQConnectionFactory connectionFactory,
@@ -93,13 +139,109 @@ public class ArtemisAuditAutoConfiguration {
         return mapper;
     }
 
+    @Bean
+    @ConditionalOnMissingBean(AuditMetrics.class)
+    public AuditMetrics auditMetrics() {
+        return new SimpleAuditMetrics();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cp.audit.outbox", name = "enabled", havingValue = TRUE)
+    @ConditionalOnMissingBean(AuditOutbox.class)
+    @SuppressWarnings(PMD_CLOSE_RESOURCE) // closed by the application context on shutdown
+    public AuditOutbox auditOutbox(final AuditProperties properties, final AuditMetrics metrics) {
+        final OutboxProperties outboxProps = properties.getOutbox();
+        validateOutboxProps(outboxProps);
+        final AuditOutbox outbox = new AuditOutbox(outboxProps, metrics);
+        try {
+            outbox.open();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to open audit outbox at " + outboxProps.getDirectory(), e);
+        }
+        return outbox;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = PUBLISHER_PREFIX, name = PROPERTY_TYPE, havingValue = "jms", matchIfMissing = true)
+    @ConditionalOnProperty(prefix = "cp.audit.jms.pool", name = "enabled", havingValue = TRUE)
+    @ConditionalOnMissingBean(StripedJmsSessionPool.class)
+    public StripedJmsSessionPool auditJmsSessionPool(
+            @Qualifier(BEAN_CF) final ActiveMQConnectionFactory connectionFactory,
+            final AuditProperties properties,
+            final AuditMetrics metrics
+    ) {
+        final PoolProperties poolProps = properties.getJms().getPool();
+        validatePoolProps(poolProps);
+        return new StripedJmsSessionPool(connectionFactory, poolProps, metrics);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = PUBLISHER_PREFIX, name = PROPERTY_TYPE, havingValue = "blob")
+    @ConditionalOnMissingBean(BlobStore.class)
+    public BlobStore auditBlobStore(final AuditProperties properties) {
+        return new LocalFileSystemBlobStore(properties.getPublisher().getBlob().getDirectory());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(AuditEventPublisher.class)
+    @SuppressWarnings(PMD_CLOSE_RESOURCE) // closed by the application context on shutdown
+    public AuditEventPublisher auditEventPublisher(
+            @Qualifier(BEAN_JMS) final ObjectProvider<JmsTemplate> jmsTemplateProvider,
+            @Qualifier(BEAN_CF)  final ObjectProvider<ActiveMQConnectionFactory> connectionFactoryProvider,
+            final AuditProperties properties,
+            final AuditMetrics metrics,
+            final ObjectProvider<AuditOutbox> outboxProvider,
+            final ObjectProvider<BlobStore> blobStoreProvider,
+            final ObjectProvider<StripedJmsSessionPool> sessionPoolProvider
+    ) {
+        final AuditEventPublisher publisher = transportPublisher(jmsTemplateProvider, connectionFactoryProvider,
+                properties, metrics, outboxProvider, blobStoreProvider, sessionPoolProvider);
+        final CircuitBreakerProperties breakerProps = properties.getCircuitBreaker();
+        if (!breakerProps.isEnabled()) {
+            return publisher;
+        }
+        validateCircuitBreakerProps(breakerProps);
+        return new CircuitBreakingAuditEventPublisher(publisher, breakerProps, metrics, outboxProvider.getIfAvailable());
+    }
+
     @Bean
     @ConditionalOnMissingBean(AuditService.class)
+    @SuppressWarnings(PMD_CLOSE_RESOURCE) // the outbox bean is closed by the application context
     public AuditService auditService(
-            @Qualifier(BEAN_JMS) final JmsTemplate jmsTemplate,
-            @Qualifier(BEAN_OM)  final ObjectMapper objectMapper
+            final AuditEventPublisher publisher,
+            @Qualifier(BEAN_OM) final ObjectMapper objectMapper,
+            final AuditProperties properties,
+            final AuditMetrics metrics,
+            final ObjectProvider<AuditOutbox> outboxProvider
     ) {
-        return new AuditService(jmsTemplate, objectMapper);
+        final AsyncProperties asyncProps = properties.getAsync();
+        final AuditOutbox outbox = outboxProvider.getIfAvailable();
+        if (!asyncProps.isEnabled()) {
+            if (asyncProps.getBatch().isEnabled()) {
+                throw new IllegalStateException("cp.audit.async.batch.enabled=true requires cp.audit.async.enabled=true");
+            }
+            if (outbox == null) {
+                return new AuditService(publisher, objectMapper);
+            }
+            if (transportOf(publisher) instanceof AsyncSendJmsPublisher) {
+                // The publisher hands rejected sends to the outbox; only those are replayed
+                final AuditService auditService = new AuditService(publisher, objectMapper);
+                outbox.start(auditService::postSerializedMessageToArtemis);
+                return auditService;
+            }
+            final OutboxAuditService outboxAuditService = new OutboxAuditService(publisher, objectMapper, outbox, metrics);
+            outboxAuditService.start();
+            return outboxAuditService;
+        }
+
+        // With both enabled, events go through the queue and only overflow is journalled to the outbox
+        validateAsyncProps(asyncProps);
+        final AsyncAuditService asyncAuditService = new AsyncAuditService(publisher, objectMapper, asyncProps, metrics, outbox);
+        asyncAuditService.start();
+        if (outbox != null) {
+            outbox.start(asyncAuditService::postSerializedMessageToArtemis);
+        }
+        return asyncAuditService;
     }
 
     @Bean
@@ -157,13 +299,32 @@ public class ArtemisAuditAutoConfiguration {
         return new OpenApiSpecPathParameterService(parser, nameExtractor, valueExtractor);
     }
 
+    @Bean
+    @ConditionalOnMissingBean(EventIdGenerator.class)
+    public EventIdGenerator auditEventIdGenerator(final HttpAuditProperties httpProps) {
+        final EventIdType type = Objects.requireNonNull(httpProps.getEventId(), "audit.http.event-id must be set");
+        return switch (type) {
+            case RANDOM -> UUID::randomUUID;
+            case TIME_ORDERED -> new TimeOrderedEventIdGenerator();
+        };
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(AuditClock.class)
+    public AuditClock auditClock() {
+        return new AuditClock();
+    }
+
     @Bean
     @ConditionalOnMissingBean(AuditPayloadGenerationService.class)
     public AuditPayloadGenerationService auditPayloadGenerationService(
             @Qualifier(BEAN_OM) final ObjectMapper auditObjectMapper,
-            final HttpAuditProperties httpProps
+            final HttpAuditProperties httpProps,
+            final EventIdGenerator eventIdGenerator,
+            final AuditClock auditClock
     ) {
-        return new AuditPayloadGenerationService(auditObjectMapper, httpProps.isIncludePayloadBody());
+        auditClock.registerWith(auditObjectMapper);
+        return new AuditPayloadGenerationService(auditObjectMapper, httpProps.isIncludePayloadBody(), eventIdGenerator, auditClock);
     }
 
     @Bean
@@ -172,9 +333,98 @@ public class ArtemisAuditAutoConfiguration {
     public AuditFilter auditFilter(
             final AuditService auditService,
             final AuditPayloadGenerationService generator,
-            final PathParameterService pathParameterService
+            final PathParameterService pathParameterService,
+            final HttpAuditProperties httpProps
+    ) {
+        validateHttpProps(httpProps);
+        return new AuditFilter(auditService, generator, pathParameterService, httpProps);
+    }
+
+    @SuppressWarnings(PMD_CLOSE_RESOURCE) // closed by the application context on shutdown
+    private static AuditEventPublisher transportPublisher(
+            final ObjectProvider<JmsTemplate> jmsTemplateProvider,
+            final ObjectProvider<ActiveMQConnectionFactory> connectionFactoryProvider,
+            final AuditProperties properties,
+            final AuditMetrics metrics,
+            final ObjectProvider<AuditOutbox> outboxProvider,
+            final ObjectProvider<BlobStore> blobStoreProvider,
+            final ObjectProvider<StripedJmsSessionPool> sessionPoolProvider
     ) {
-        return new AuditFilter(auditService, generator, pathParameterService);
+        final PublisherProperties publisherProps = properties.getPublisher();
+        final PublisherType type = Objects.requireNonNull(publisherProps.getType(), "cp.audit.publisher.type must be set");
+        switch (type) {
+            case FILE -> {
+                final FilePublisherProperties fileProps = publisherProps.getFile();
+                validateFilePublisherProps(fileProps);
+                final FileSegmentAuditEventPublisher publisher = new FileSegmentAuditEventPublisher(fileProps, metrics);
+                try {
+                    publisher.open();
+                } catch (IOException e) {
+                    throw new IllegalStateException("Unable to open audit event files at " + fileProps.getDirectory(), e);
+                }
+                return publisher;
+            }
+            case BLOB -> {
+                final BlobPublisherProperties blobProps = publisherProps.getBlob();
+                validateBlobPublisherProps(blobProps);
+                final BlobSegmentAuditEventPublisher publisher =
+                        new BlobSegmentAuditEventPublisher(blobStoreProvider.getObject(), blobProps, metrics);
+                publisher.start();
+                return publisher;
+            }
+            case MEMORY -> {
+                if (publisherProps.getMemory().getCapacity() < MIN_QUEUE_CAPACITY) {
+                    throw new IllegalStateException("cp.audit.publisher.memory.capacity must be at least 2");
+                }
+                return new InMemoryAuditEventPublisher(publisherProps.getMemory().getCapacity(), metrics);
+            }
+            default -> {
+                final AuditEventPublisher jmsPublisher = synchronousJmsPublisher(jmsTemplateProvider,
+                        connectionFactoryProvider, sessionPoolProvider, properties, metrics);
+                final AsyncSendProperties asyncSendProps = properties.getJms().getAsyncSend();
+                if (!asyncSendProps.isEnabled()) {
+                    return jmsPublisher;
+                }
+                // Rejected sends go to the outbox when there is one, otherwise to the synchronous publisher
+                validateAsyncSendProps(asyncSendProps);
+                return new AsyncSendJmsPublisher(connectionFactoryProvider.getObject(), publisherProps.getTopic(),
+                        asyncSendProps, metrics, jmsPublisher, outboxProvider.getIfAvailable(),
+                        wireFormatOf(publisherProps));
+            }
+        }
+    }
+
+    private static AuditEventPublisher synchronousJmsPublisher(
+            final ObjectProvider<JmsTemplate> jmsTemplateProvider,
+            final ObjectProvider<ActiveMQConnectionFactory> connectionFactoryProvider,
+            final ObjectProvider<StripedJmsSessionPool> sessionPoolProvider,
+            final AuditProperties properties,
+            final AuditMetrics metrics
+    ) {
+        final String topic = properties.getPublisher().getTopic();
+        final WireFormat wireFormat = wireFormatOf(properties.getPublisher());
+        final StripedJmsSessionPool sessionPool = sessionPoolProvider.getIfAvailable();
+        final CoreClientProperties coreProps = properties.getJms().getCoreClient();
+        if (coreProps.isEnabled()) {
+            validateCoreClientProps(coreProps, sessionPool != null);
+            // Shares the connection factory's locator, so HA, TLS and retry settings carry over
+            return new CoreAuditEventPublisher(connectionFactoryProvider.getObject().getServerLocator(),
+                    Objects.toString(properties.getUser(), ""), Objects.toString(properties.getPassword(), ""),
+                    topic, coreProps, wireFormat, metrics);
+        }
+        return sessionPool == null
+                ? new JmsAuditEventPublisher(jmsTemplateProvider.getObject(), topic, wireFormat)
+                : new PooledJmsAuditEventPublisher(sessionPool, topic, wireFormat);
+    }
+
+    private static WireFormat wireFormatOf(final PublisherProperties publisherProps) {
+        return Objects.requireNonNull(publisherProps.getWireFormat(), "cp.audit.publisher.wire-format must be set");
+    }
+
+    private static AuditEventPublisher transportOf(final AuditEventPublisher publisher) {
+        return publisher instanceof CircuitBreakingAuditEventPublisher
+                ? ((CircuitBreakingAuditEventPublisher) publisher).getDelegate()
+                : publisher;
     }
 
     private static void validateProps(final AuditProperties properties) {
@@ -224,6 +474,113 @@ public class ArtemisAuditAutoConfiguration {
         }
     }
 
+    private static void validateAsyncProps(final AsyncProperties asyncProps) {
+        if (asyncProps.getQueueCapacity() < MIN_QUEUE_CAPACITY) {
+            throw new IllegalStateException("cp.audit.async.queue-capacity must be at least 2");
+        }
+        if (asyncProps.getSenderThreads() <= 0) {
+            throw new IllegalStateException("cp.audit.async.sender-threads must be at least 1");
+        }
+        if (asyncProps.getOverflowPolicy() == null) {
+            throw new IllegalStateException("cp.audit.async.overflow-policy must be set");
+        }
+
+        final BatchProperties batchProps = asyncProps.getBatch();
+        if (batchProps.isEnabled() && (batchProps.getMinSize() <= 0 || batchProps.getMaxSize() < batchProps.getMinSize())) {
+            throw new IllegalStateException("cp.audit.async.batch.min-size must be positive and not exceed max-size");
+        }
+    }
+
+    private static void validateCoreClientProps(final CoreClientProperties coreProps, final boolean poolEnabled) {
+        if (poolEnabled) {
+            throw new IllegalStateException("cp.audit.jms.core-client.enabled and cp.audit.jms.pool.enabled are mutually exclusive");
+        }
+        if (coreProps.getSessions() <= 0) {
+            throw new IllegalStateException("cp.audit.jms.core-client.sessions must be a positive integer");
+        }
+    }
+
+    private static void validateCircuitBreakerProps(final CircuitBreakerProperties breakerProps) {
+        if (breakerProps.getFailureThreshold() <= 0) {
+            throw new IllegalStateException("cp.audit.circuit-breaker.failure-threshold must be a positive integer");
+        }
+        if (breakerProps.getHalfOpenProbes() <= 0) {
+            throw new IllegalStateException("cp.audit.circuit-breaker.half-open-probes must be a positive integer");
+        }
+        if (breakerProps.getOpenDurationMs() <= 0 || breakerProps.getSlowCallThresholdMs() <= 0) {
+            throw new IllegalStateException("cp.audit.circuit-breaker open-duration-ms and slow-call-threshold-ms must be positive");
+        }
+    }
+
+    private static void validateHttpProps(final HttpAuditProperties httpProps) {
+        if (httpProps.getMaxRequestCaptureBytes() < 0) {
+            throw new IllegalStateException("audit.http.max-request-capture-bytes must not be negative");
+        }
+        if (httpProps.getMaxResponseCaptureBytes() < 0) {
+            throw new IllegalStateException("audit.http.max-response-capture-bytes must not be negative");
+        }
+        if (httpProps.getMaxMultipartParts() < 0) {
+            throw new IllegalStateException("audit.http.max-multipart-parts must not be negative");
+        }
+    }
+
+    private static void validatePoolProps(final PoolProperties poolProps) {
+        if (poolProps.getConnections() <= 0) {
+            throw new IllegalStateException("cp.audit.jms.pool.connections must be a positive integer");
+        }
+        if (poolProps.getSessionsPerConnection() <= 0) {
+            throw new IllegalStateException("cp.audit.jms.pool.sessions-per-connection must be a positive integer");
+        }
+    }
+
+    private static void validateAsyncSendProps(final AsyncSendProperties asyncSendProps) {
+        if (asyncSendProps.getMaxInFlight() <= 0) {
+            throw new IllegalStateException("cp.audit.jms.async-send.max-in-flight must be a positive integer");
+        }
+        if (asyncSendProps.getContexts() <= 0) {
+            throw new IllegalStateException("cp.audit.jms.async-send.contexts must be a positive integer");
+        }
+        if (asyncSendProps.getConfirmationWindowSizeBytes() <= 0) {
+            throw new IllegalStateException("cp.audit.jms.async-send.confirmation-window-size-bytes must be a positive integer");
+        }
+    }
+
+    private static void validateFilePublisherProps(final FilePublisherProperties fileProps) {
+        if (!hasLength(fileProps.getDirectory())) {
+            throw new IllegalStateException("cp.audit.publisher.file.directory must be set for the file publisher");
+        }
+        if (fileProps.getSegmentSizeBytes() <= 0 || fileProps.getBufferSizeBytes() <= 0) {
+            throw new IllegalStateException("cp.audit.publisher.file segment and buffer sizes must be positive");
+        }
+        if (fileProps.getFlushIntervalMs() <= 0) {
+            throw new IllegalStateException("cp.audit.publisher.file.flush-interval-ms must be a positive integer");
+        }
+    }
+
+    private static void validateBlobPublisherProps(final BlobPublisherProperties blobProps) {
+        if (blobProps.getMaxSegmentBytes() <= 0 || blobProps.getBlockSizeBytes() <= 0) {
+            throw new IllegalStateException("cp.audit.publisher.blob segment and block sizes must be positive");
+        }
+        if (blobProps.getMaxSegmentAgeMs() <= 0) {
+            throw new IllegalStateException("cp.audit.publisher.blob.max-segment-age-ms must be a positive integer");
+        }
+        if (blobProps.getMaxPendingSegments() <= 0) {
+            throw new IllegalStateException("cp.audit.publisher.blob.max-pending-segments must be a positive integer");
+        }
+    }
+
+    private static void validateOutboxProps(final OutboxProperties outboxProps) {
+        if (!hasLength(outboxProps.getDirectory())) {
+            throw new IllegalStateException("cp.audit.outbox.directory must be set when the outbox is enabled");
+        }
+        if (outboxProps.getSegmentSizeBytes() <= 0) {
+            throw new IllegalStateException("cp.audit.outbox.segment-size-bytes must be a positive integer");
+        }
+        if (outboxProps.getMaxSegments() <= 0) {
+            throw new IllegalStateException("cp.audit.outbox.max-segments must be a positive integer");
+        }
+    }
+
     private String buildHaConnectionUrl(final AuditProperties properties) {
         final JmsProperties jmsProps = properties.getJms();
         final boolean highAvailability = properties.isHighAvailability();
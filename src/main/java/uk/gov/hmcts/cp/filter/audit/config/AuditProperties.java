@@ -1,5 +1,11 @@
 package uk.gov.hmcts.cp.filter.audit.config;
 
+import uk.gov.hmcts.cp.filter.audit.publisher.JmsAuditEventPublisher;
+import uk.gov.hmcts.cp.filter.audit.publisher.PublisherType;
+import uk.gov.hmcts.cp.filter.audit.publisher.WireFormat;
+import uk.gov.hmcts.cp.filter.audit.service.OverflowPolicy;
+
+import java.nio.file.Paths;
 import java.util.List;
 
 import lombok.Getter;
@@ -28,9 +34,63 @@ public class AuditProperties {
     private String truststore;
     private String truststorePassword;
 
+    // Audit event transport
+    private final PublisherProperties publisher = new PublisherProperties();
+
     // JMS tuning
     private final JmsProperties jms = new JmsProperties();
 
+    // Asynchronous publishing
+    private final AsyncProperties async = new AsyncProperties();
+
+    // Local memory-mapped outbox
+    private final OutboxProperties outbox = new OutboxProperties();
+
+    // Fail-fast circuit breaker around the publisher
+    private final CircuitBreakerProperties circuitBreaker = new CircuitBreakerProperties();
+
+    @Getter
+    @Setter
+    public static class PublisherProperties {
+        private PublisherType type = PublisherType.JMS;
+        private String topic = JmsAuditEventPublisher.DEFAULT_TOPIC;
+        private WireFormat wireFormat = WireFormat.TEXT;
+        private final FilePublisherProperties file = new FilePublisherProperties();
+        private final MemoryPublisherProperties memory = new MemoryPublisherProperties();
+        private final BlobPublisherProperties blob = new BlobPublisherProperties();
+    }
+
+    @Getter
+    @Setter
+    public static class FilePublisherProperties {
+        private String directory = Paths.get(System.getProperty("java.io.tmpdir"), "cp-audit-events").toString();
+        private long segmentSizeBytes = 64L * 1024 * 1024;
+        private int maxSegments;
+        private int bufferSizeBytes = 64 * 1024;
+        private long flushIntervalMs = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class BlobPublisherProperties {
+        // Root of the local filesystem blob store used when no BlobStore bean is defined
+        private String directory = Paths.get(System.getProperty("java.io.tmpdir"), "cp-audit-blobs").toString();
+        private String prefix = "audit-segments/";
+        private int maxSegmentBytes = 4 * 1024 * 1024;
+        private long maxSegmentAgeMs = 5_000;
+        private int blockSizeBytes = 64 * 1024;
+        private int maxPendingSegments = 8;
+        private long retryIntervalMs = 1_000;
+        private long maxRetryIntervalMs = 30_000;
+        private long shutdownTimeoutMs = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class MemoryPublisherProperties {
+        private int capacity = 65_536;
+    }
+
     @Getter
     @Setter
     public static class JmsProperties {
@@ -42,5 +102,85 @@ public class AuditProperties {
         private long maxRetryIntervalMs = 30_000;
         private long connectionTtlMs = 60_000;
         private long callTimeoutMs = 15_000;
+
+        // JMS 2.0 asynchronous sends acknowledged through a CompletionListener
+        private final AsyncSendProperties asyncSend = new AsyncSendProperties();
+
+        // Striped session/producer pool used instead of the CachingConnectionFactory when enabled
+        private final PoolProperties pool = new PoolProperties();
+
+        // Artemis core client publisher used instead of the JmsTemplate when enabled
+        private final CoreClientProperties coreClient = new CoreClientProperties();
+    }
+
+    @Getter
+    @Setter
+    public static class CoreClientProperties {
+        private boolean enabled;
+        private int sessions = 4;
+    }
+
+    @Getter
+    @Setter
+    public static class PoolProperties {
+        private boolean enabled;
+        private int connections = 4;
+        private int sessionsPerConnection = 8;
+    }
+
+    @Getter
+    @Setter
+    public static class AsyncSendProperties {
+        private boolean enabled;
+        private int maxInFlight = 1024;
+        private int contexts = 4;
+        private int confirmationWindowSizeBytes = 1024 * 1024;
+        private long acquireTimeoutMs = 100;
+        private long shutdownTimeoutMs = 5_000;
+    }
+
+    @Getter
+    @Setter
+    public static class AsyncProperties {
+        private boolean enabled;
+        private int queueCapacity = 8192;
+        private int senderThreads = 1;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+        private long blockTimeoutMs = 50;
+        private long shutdownTimeoutMs = 5_000;
+
+        // Transacted batch sends from the sender threads
+        private final BatchProperties batch = new BatchProperties();
+    }
+
+    @Getter
+    @Setter
+    public static class BatchProperties {
+        private boolean enabled;
+        private int minSize = 16;
+        private int maxSize = 512;
+        private long maxWaitMs = 5;
+        private long targetCommitLatencyMs = 25;
+    }
+
+    @Getter
+    @Setter
+    public static class OutboxProperties {
+        private boolean enabled;
+        private String directory = Paths.get(System.getProperty("java.io.tmpdir"), "cp-audit-outbox").toString();
+        private int segmentSizeBytes = 8 * 1024 * 1024;
+        private int maxSegments = 16;
+        private long retryIntervalMs = 1_000;
+        private long maxRetryIntervalMs = 30_000;
+    }
+
+    @Getter
+    @Setter
+    public static class CircuitBreakerProperties {
+        private boolean enabled;
+        private int failureThreshold = 5;
+        private long slowCallThresholdMs = 2_000;
+        private long openDurationMs = 10_000;
+        private int halfOpenProbes = 1;
     }
 }
@@ -1,5 +1,13 @@
 package uk.gov.hmcts.cp.filter.audit.config;
 
+import uk.gov.hmcts.cp.filter.audit.service.EventIdType;
+import uk.gov.hmcts.cp.filter.audit.wrapper.RequestCaptureMode;
+import uk.gov.hmcts.cp.filter.audit.wrapper.ResponseCaptureMode;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -20,8 +28,97 @@ public class HttpAuditProperties {
     private String openapiRestSpec;
 
     /**
-     * When false the request and response body is omitted from audit events.
+     * When false the request and response body is omitted from audit events and never captured:
+     * the request is not wrapped and the response is only counted as it passes through.
      * Set to false to avoid capturing PII. Defaults to true for backwards compatibility.
      */
     private boolean includePayloadBody = true;
+
+    /**
+     * BUFFERED reads the request body before the application does; STREAMING captures it as the
+     * application reads it and audits the request once the body has been consumed.
+     */
+    private RequestCaptureMode requestCaptureMode = RequestCaptureMode.BUFFERED;
+
+    /**
+     * WRITE_THROUGH streams the response to the client while copying a bounded prefix for auditing;
+     * BUFFERED holds the whole response until the response audit event has been published.
+     */
+    private ResponseCaptureMode responseCaptureMode = ResponseCaptureMode.WRITE_THROUGH;
+
+    /**
+     * Maximum number of request body bytes kept for the audit event. Larger bodies are audited as a
+     * prefix plus their length and SHA-256 under {@code _payloadInfo}.
+     */
+    private int maxRequestCaptureBytes = 1024 * 1024;
+
+    /**
+     * Maximum number of response body bytes kept for the audit event.
+     */
+    private int maxResponseCaptureBytes = 1024 * 1024;
+
+    /**
+     * In BUFFERED mode, write request bytes beyond {@code max-request-capture-bytes} to a temporary
+     * file instead of holding them on the heap.
+     */
+    private boolean spillToDisk;
+
+    /**
+     * Directory for spilled request bodies.
+     */
+    private String spillDirectory = Paths.get(System.getProperty("java.io.tmpdir"), "cp-audit-spill").toString();
+
+    /**
+     * Maximum number of parts described in the audit event of a multipart request. Further parts are
+     * counted but not described.
+     */
+    private int maxMultipartParts = 100;
+
+    /**
+     * How the {@code _metadata.id} of each event is generated: TIME_ORDERED for version 7 UUIDs that
+     * sort by creation time, or RANDOM for version 4 UUIDs.
+     */
+    private EventIdType eventId = EventIdType.TIME_ORDERED;
+
+    /**
+     * Content types whose bodies are parsed as JSON, audited as text or structured as form fields.
+     * Bodies of any other declared type are audited as length, content type and SHA-256 only.
+     */
+    private final ContentTypeProperties contentTypes = new ContentTypeProperties();
+
+    /**
+     * Paths audited or skipped, as {@code [METHOD[,METHOD...] ]/path/pattern} rules relative to the
+     * context path. Segments may be literal, {@code *} or {@code {name}} for one segment, or
+     * {@code **} for any number. When {@code include} is empty every path not excluded is audited.
+     */
+    private final PathProperties paths = new PathProperties();
+
+    /**
+     * Request headers copied into audit events, matched without regard to case. The headers read
+     * into event metadata are always captured unless excluded; Authorization, Proxy-Authorization
+     * and Cookie are never captured.
+     */
+    private final HeaderProperties headers = new HeaderProperties();
+
+    @Getter
+    @Setter
+    public static class PathProperties {
+        private List<String> include = new ArrayList<>();
+        private List<String> exclude = new ArrayList<>(List.of("/health/**", "/actuator/**"));
+    }
+
+    @Getter
+    @Setter
+    public static class HeaderProperties {
+        private List<String> include = new ArrayList<>();
+        private List<String> exclude = new ArrayList<>();
+    }
+
+    @Getter
+    @Setter
+    public static class ContentTypeProperties {
+        private List<String> json = new ArrayList<>(List.of("application/json", "application/*+json"));
+        private List<String> text = new ArrayList<>(List.of("text/*", "application/xml", "application/*+xml"));
+        private List<String> form = new ArrayList<>(List.of("application/x-www-form-urlencoded"));
+    }
 }
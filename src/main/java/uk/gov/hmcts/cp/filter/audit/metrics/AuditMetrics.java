@@ -0,0 +1,35 @@
+package uk.gov.hmcts.cp.filter.audit.metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * Minimal metrics sink used by the audit publishing pipeline. Register your own bean (e.g. one
+ * backed by Micrometer) to export the counters and gauges to your monitoring system.
+ */
+public interface AuditMetrics {
+
+    /**
+     * Metrics implementation that discards everything.
+     */
+    AuditMetrics NO_OP = new AuditMetrics() {
+    };
+
+    /**
+     * Increments the named counter by one.
+     *
+     * @param name the counter name
+     */
+    default void increment(final String name) {
+        // no-op by default
+    }
+
+    /**
+     * Registers a gauge that is sampled on demand.
+     *
+     * @param name  the gauge name
+     * @param value supplier returning the current gauge value
+     */
+    default void gauge(final String name, final Supplier<? extends Number> value) {
+        // no-op by default
+    }
+}
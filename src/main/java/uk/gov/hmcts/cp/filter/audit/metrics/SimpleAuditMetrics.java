@@ -0,0 +1,36 @@
+package uk.gov.hmcts.cp.filter.audit.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * In-memory {@link AuditMetrics} holding counters and gauges so they can be read back, e.g. from
+ * an actuator endpoint or a test.
+ */
+public class SimpleAuditMetrics implements AuditMetrics {
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, Supplier<? extends Number>> gauges = new ConcurrentHashMap<>();
+
+    @Override
+    public void increment(final String name) {
+        counters.computeIfAbsent(name, key -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void gauge(final String name, final Supplier<? extends Number> value) {
+        gauges.put(name, value);
+    }
+
+    public long count(final String name) {
+        final LongAdder counter = counters.get(name);
+        return counter == null ? 0L : counter.sum();
+    }
+
+    public Number gaugeValue(final String name) {
+        final Supplier<? extends Number> gauge = gauges.get(name);
+        return gauge == null ? null : gauge.get();
+    }
+}
@@ -0,0 +1,58 @@
+package uk.gov.hmcts.cp.filter.audit.model;
+
+import java.nio.charset.Charset;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Builder;
+
+/**
+ * The {@code content} of an audit event: the body, its description, the request parameters and
+ * the metadata. It is written field by field by {@link AuditContentSerializer} as the event is
+ * serialized, so no JSON tree is built for it.
+ *
+ * @param body       the body, in the form given by {@code bodyFormat}
+ * @param bodyFormat how the body is written into the content
+ * @param charset    the charset of percent-escapes in a form body; UTF-8 when {@code null}
+ */
+@JsonSerialize(using = AuditContentSerializer.class)
+@Builder
+public record AuditContent(
+        String body,
+        BodyFormat bodyFormat,
+        Charset charset,
+        PayloadInfo payloadInfo,
+        MultipartInfo multipartInfo,
+        Map<String, String> queryParams,
+        Map<String, String> pathParams,
+        Metadata metadata
+) {
+
+    public enum BodyFormat {
+
+        /**
+         * No body fields are written.
+         */
+        NONE,
+
+        /**
+         * A validated JSON object whose fields become fields of the content.
+         */
+        JSON_OBJECT,
+
+        /**
+         * A validated JSON value, such as an array, copied compactly under {@code _payload}.
+         */
+        JSON_VALUE,
+
+        /**
+         * Any other body, written as a string under {@code _payload}.
+         */
+        TEXT,
+
+        /**
+         * An {@code application/x-www-form-urlencoded} body whose fields become fields of the content.
+         */
+        FORM
+    }
+}
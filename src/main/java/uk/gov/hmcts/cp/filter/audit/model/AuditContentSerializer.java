@@ -0,0 +1,176 @@
+package uk.gov.hmcts.cp.filter.audit.model;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Writes {@link AuditContent} straight to the generator.
+ * <p>
+ * A JSON body is copied token by token from a parser into the generator, the fields of an object
+ * into the content and any other value under {@code _payload}, so it is never turned into a tree
+ * and is written compactly whatever its layout. Fields are written in the order body,
+ * {@code _payloadInfo}, {@code _multipart}, query parameters, path parameters, {@code _metadata};
+ * a field that a later one would replace is skipped, as is a parameter named after one of the
+ * serializer's own fields, so each name is written once.
+ */
+public final class AuditContentSerializer extends StdSerializer<AuditContent> {
+
+    private static final long serialVersionUID = 1L;
+    private static final String ATTRIBUTE_PAYLOAD_KEY = "_payload";
+    private static final String ATTRIBUTE_METADATA_KEY = "_metadata";
+    private static final String ATTRIBUTE_PAYLOAD_INFO_KEY = "_payloadInfo";
+    private static final String ATTRIBUTE_MULTIPART_KEY = "_multipart";
+    private static final JsonFactory DEFAULT_FACTORY = new JsonFactory();
+
+    public AuditContentSerializer() {
+        super(AuditContent.class);
+    }
+
+    @Override
+    public void serialize(final AuditContent content, final JsonGenerator gen, final SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        writeBody(content, gen);
+        if (content.payloadInfo() != null) {
+            provider.defaultSerializeField(ATTRIBUTE_PAYLOAD_INFO_KEY, content.payloadInfo(), gen);
+        }
+        if (content.multipartInfo() != null) {
+            provider.defaultSerializeField(ATTRIBUTE_MULTIPART_KEY, content.multipartInfo(), gen);
+        }
+        if (content.queryParams() != null) {
+            for (final Map.Entry<String, String> param : content.queryParams().entrySet()) {
+                if (!isReserved(content, param.getKey()) && !containsKey(content.pathParams(), param.getKey())) {
+                    gen.writeStringField(param.getKey(), param.getValue());
+                }
+            }
+        }
+        if (content.pathParams() != null) {
+            for (final Map.Entry<String, String> param : content.pathParams().entrySet()) {
+                if (!isReserved(content, param.getKey())) {
+                    gen.writeStringField(param.getKey(), param.getValue());
+                }
+            }
+        }
+        provider.defaultSerializeField(ATTRIBUTE_METADATA_KEY, content.metadata(), gen);
+        gen.writeEndObject();
+    }
+
+    private static void writeBody(final AuditContent content, final JsonGenerator gen) throws IOException {
+        final AuditContent.BodyFormat bodyFormat = content.bodyFormat() == null ? AuditContent.BodyFormat.NONE : content.bodyFormat();
+        switch (bodyFormat) {
+            case JSON_OBJECT -> copyObjectFields(content, gen);
+            case JSON_VALUE -> {
+                if (!isShadowed(content, ATTRIBUTE_PAYLOAD_KEY)) {
+                    gen.writeFieldName(ATTRIBUTE_PAYLOAD_KEY);
+                    copyValue(content, gen);
+                }
+            }
+            case TEXT -> {
+                if (!isShadowed(content, ATTRIBUTE_PAYLOAD_KEY)) {
+                    gen.writeStringField(ATTRIBUTE_PAYLOAD_KEY, content.body());
+                }
+            }
+            case FORM -> writeFormFields(content, gen);
+            default -> {
+                // No body
+            }
+        }
+    }
+
+    private static void copyObjectFields(final AuditContent content, final JsonGenerator gen) throws IOException {
+        try (JsonParser parser = parserFor(content, gen)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = parser.currentName();
+                parser.nextToken();
+                if (isShadowed(content, name)) {
+                    parser.skipChildren();
+                } else {
+                    gen.writeFieldName(name);
+                    gen.copyCurrentStructure(parser);
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies the first JSON value of the body token by token, so the client's layout is not carried
+     * into the event, which must stay on one line.
+     */
+    private static void copyValue(final AuditContent content, final JsonGenerator gen) throws IOException {
+        try (JsonParser parser = parserFor(content, gen)) {
+            parser.nextToken();
+            gen.copyCurrentStructure(parser);
+        }
+    }
+
+    private static JsonParser parserFor(final AuditContent content, final JsonGenerator gen) throws IOException {
+        final JsonFactory factory = gen.getCodec() == null ? DEFAULT_FACTORY : gen.getCodec().getFactory();
+        return factory.createParser(content.body());
+    }
+
+    private static void writeFormFields(final AuditContent content, final JsonGenerator gen) throws IOException {
+        final Map<String, String> fields = new LinkedHashMap<>();
+        final Charset charset = content.charset() == null ? StandardCharsets.UTF_8 : content.charset();
+        final String formBody = content.body();
+        if (formBody != null && !formBody.isEmpty()) {
+            for (final String pair : formBody.split("&")) {
+                if (pair.isEmpty()) {
+                    continue;
+                }
+                final int separator = pair.indexOf('=');
+                final String name = decode(separator < 0 ? pair : pair.substring(0, separator), charset);
+                final String value = separator < 0 ? "" : decode(pair.substring(separator + 1), charset);
+                fields.merge(name, value, (first, second) -> first + "," + second);
+            }
+        }
+        for (final Map.Entry<String, String> field : fields.entrySet()) {
+            if (!isShadowed(content, field.getKey())) {
+                gen.writeStringField(field.getKey(), field.getValue());
+            }
+        }
+    }
+
+    /**
+     * @return the decoded form text, or the text as sent when it holds a malformed escape such as a bare {@code %}
+     */
+    private static String decode(final String text, final Charset charset) {
+        try {
+            return URLDecoder.decode(text, charset);
+        } catch (IllegalArgumentException e) {
+            return text;
+        }
+    }
+
+    /**
+     * @return whether a body field of this name is replaced by a field written after the body
+     */
+    private static boolean isShadowed(final AuditContent content, final String name) {
+        return isReserved(content, name)
+                || containsKey(content.queryParams(), name)
+                || containsKey(content.pathParams(), name);
+    }
+
+    /**
+     * @return whether the name is that of a field the serializer itself writes into this content
+     */
+    private static boolean isReserved(final AuditContent content, final String name) {
+        return ATTRIBUTE_METADATA_KEY.equals(name)
+                || content.payloadInfo() != null && ATTRIBUTE_PAYLOAD_INFO_KEY.equals(name)
+                || content.multipartInfo() != null && ATTRIBUTE_MULTIPART_KEY.equals(name);
+    }
+
+    private static boolean containsKey(final Map<String, String> params, final String name) {
+        return params != null && params.containsKey(name);
+    }
+}
@@ -0,0 +1,15 @@
+package uk.gov.hmcts.cp.filter.audit.model;
+
+/**
+ * An audit event as the {@code AuditService} publishes it: the event object is serialized as it is,
+ * so each implementation writes the same envelope of {@code content}, {@code origin},
+ * {@code component}, {@code timestamp} and {@code _metadata}.
+ */
+public interface AuditEvent {
+
+    Object content();
+
+    String timestamp();
+
+    Metadata _metadata();
+}
@@ -1,5 +1,6 @@
 package uk.gov.hmcts.cp.filter.audit.model;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.Builder;
 
@@ -8,8 +9,8 @@ public record AuditPayload(
         ObjectNode content,
         String origin,
         String component,
-        String timestamp,
+        @JsonSerialize(using = TimestampSerializer.class) String timestamp,
         Metadata _metadata
 
-) {
-}
\ No newline at end of file
+) implements AuditEvent {
+}
@@ -0,0 +1,119 @@
+package uk.gov.hmcts.cp.filter.audit.model;
+
+import uk.gov.hmcts.cp.filter.audit.policy.HeaderCapturePolicy;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Request headers captured under a {@link HeaderCapturePolicy}, held as one value per slot of the
+ * policy. The values of a repeated header are joined with commas.
+ * <p>
+ * It reads as an unmodifiable map keyed by the captured header names and looked up without regard
+ * to case, while {@link #value(int)} reads a slot directly.
+ */
+public final class HeaderSnapshot extends AbstractMap<String, String> {
+
+    private final HeaderCapturePolicy policy;
+    private final String[] values;
+
+    private HeaderSnapshot(final HeaderCapturePolicy policy, final String[] values) {
+        this.policy = policy;
+        this.values = values;
+    }
+
+    /**
+     * @param headerValues the values of a header by name, such as {@code HttpServletRequest::getHeaders}
+     */
+    public static HeaderSnapshot capture(final HeaderCapturePolicy policy, final Function<String, Enumeration<String>> headerValues) {
+        final String[] values = new String[policy.size()];
+        for (int slot = 0; slot < values.length; slot++) {
+            final String name = policy.name(slot);
+            if (name != null) {
+                values[slot] = join(headerValues.apply(name));
+            }
+        }
+        return new HeaderSnapshot(policy, values);
+    }
+
+    /**
+     * @return {@code headers} when it is already a snapshot, otherwise its metadata headers under the default policy
+     */
+    public static HeaderSnapshot of(final Map<String, String> headers) {
+        if (headers instanceof HeaderSnapshot snapshot) {
+            return snapshot;
+        }
+        final HeaderCapturePolicy policy = HeaderCapturePolicy.defaults();
+        final String[] values = new String[policy.size()];
+        for (final Map.Entry<String, String> header : headers.entrySet()) {
+            final int slot = header.getKey() == null ? -1 : policy.slotOf(header.getKey());
+            if (slot >= 0 && values[slot] == null) {
+                values[slot] = header.getValue();
+            }
+        }
+        return new HeaderSnapshot(policy, values);
+    }
+
+    /**
+     * @return the value captured into a slot of the policy, or {@code null} when the header was absent
+     */
+    public String value(final int slot) {
+        return values[slot];
+    }
+
+    @Override
+    public String get(final Object key) {
+        if (!(key instanceof String name)) {
+            return null;
+        }
+        final int slot = policy.slotOf(name);
+        return slot < 0 ? null : values[slot];
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (final String value : values) {
+            if (value != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet() {
+        final Set<Map.Entry<String, String>> entries = new LinkedHashSet<>();
+        for (int slot = 0; slot < values.length; slot++) {
+            if (values[slot] != null) {
+                entries.add(new SimpleImmutableEntry<>(policy.name(slot), values[slot]));
+            }
+        }
+        return Collections.unmodifiableSet(entries);
+    }
+
+    private static String join(final Enumeration<String> headerValues) {
+        if (headerValues == null || !headerValues.hasMoreElements()) {
+            return null;
+        }
+        final String first = headerValues.nextElement();
+        if (!headerValues.hasMoreElements()) {
+            return first;
+        }
+        final StringBuilder joined = new StringBuilder(first);
+        while (headerValues.hasMoreElements()) {
+            joined.append(',').append(headerValues.nextElement());
+        }
+        return joined.toString();
+    }
+}
@@ -3,6 +3,7 @@ package uk.gov.hmcts.cp.filter.audit.model;
 import java.util.Optional;
 import java.util.UUID;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Builder;
 
 @SuppressWarnings("PMD.ShortVariable")
@@ -10,7 +11,7 @@ import lombok.Builder;
 public record Metadata(
         UUID id,
         String name,
-        String createdAt,
+        @JsonSerialize(using = TimestampSerializer.class) String createdAt,
         Optional<Correlation> correlation,
         Optional<Context> context
 ) {
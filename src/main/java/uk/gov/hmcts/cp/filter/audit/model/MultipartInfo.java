@@ -0,0 +1,17 @@
+package uk.gov.hmcts.cp.filter.audit.model;
+
+import java.util.List;
+
+/**
+ * Summary of a multipart request body: its length, how many parts it had and the first of them.
+ *
+ * @param length    body length in bytes, or {@code -1} when it is not known
+ * @param partCount number of parts, which may exceed {@code parts.size()}
+ * @param parts     the parts that were recorded, at most {@code audit.http.max-multipart-parts}
+ */
+public record MultipartInfo(
+        long length,
+        int partCount,
+        List<PartInfo> parts
+) {
+}
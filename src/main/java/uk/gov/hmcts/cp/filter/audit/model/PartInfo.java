@@ -0,0 +1,16 @@
+package uk.gov.hmcts.cp.filter.audit.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Describes one part of a multipart request without its content.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PartInfo(
+        String name,
+        String filename,
+        String contentType,
+        long size,
+        String sha256
+) {
+}
@@ -0,0 +1,38 @@
+package uk.gov.hmcts.cp.filter.audit.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Describes a body that is not audited in full: either only a prefix is kept, or, for binary
+ * content, nothing but its original length, content type and a SHA-256 of the whole body. When
+ * payload bodies are excluded from auditing, only the length is known and {@code omitted} is set.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PayloadInfo(
+        long length,
+        boolean truncated,
+        String sha256,
+        String contentType,
+        @JsonInclude(JsonInclude.Include.NON_DEFAULT) boolean omitted
+) {
+
+    public PayloadInfo(final long length, final boolean truncated, final String sha256) {
+        this(length, truncated, sha256, null);
+    }
+
+    public PayloadInfo(final long length, final boolean truncated, final String sha256, final String contentType) {
+        this(length, truncated, sha256, contentType, false);
+    }
+
+    /**
+     * @param length the number of body bytes
+     * @return the description of a body that was deliberately not captured, which is not truncated
+     */
+    public static PayloadInfo ofOmittedBody(final long length) {
+        return new PayloadInfo(length, false, null, null, true);
+    }
+
+    public PayloadInfo withContentType(final String newContentType) {
+        return new PayloadInfo(length, truncated, sha256, newContentType, omitted);
+    }
+}
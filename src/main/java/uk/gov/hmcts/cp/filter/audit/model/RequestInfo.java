@@ -1,5 +1,7 @@
 package uk.gov.hmcts.cp.filter.audit.model;
 
+import uk.gov.hmcts.cp.filter.audit.policy.BodyCategory;
+
 import java.util.Map;
 
 public record RequestInfo(
@@ -7,6 +9,36 @@ public record RequestInfo(
         Map<String, String> headers,
         Map<String, String> queryParams,
         Map<String, String> pathParams,
-        String payloadBody
+        String payloadBody,
+        PayloadInfo payloadInfo,
+        BodyCategory bodyCategory,
+        MultipartInfo multipartInfo
 ) {
-}
\ No newline at end of file
+
+    public RequestInfo(final String contextPath,
+                       final Map<String, String> headers,
+                       final Map<String, String> queryParams,
+                       final Map<String, String> pathParams,
+                       final String payloadBody) {
+        this(contextPath, headers, queryParams, pathParams, payloadBody, null);
+    }
+
+    public RequestInfo(final String contextPath,
+                       final Map<String, String> headers,
+                       final Map<String, String> queryParams,
+                       final Map<String, String> pathParams,
+                       final String payloadBody,
+                       final PayloadInfo payloadInfo) {
+        this(contextPath, headers, queryParams, pathParams, payloadBody, payloadInfo, BodyCategory.UNKNOWN);
+    }
+
+    public RequestInfo(final String contextPath,
+                       final Map<String, String> headers,
+                       final Map<String, String> queryParams,
+                       final Map<String, String> pathParams,
+                       final String payloadBody,
+                       final PayloadInfo payloadInfo,
+                       final BodyCategory bodyCategory) {
+        this(contextPath, headers, queryParams, pathParams, payloadBody, payloadInfo, bodyCategory, null);
+    }
+}
@@ -1,10 +1,22 @@
 package uk.gov.hmcts.cp.filter.audit.model;
 
+import uk.gov.hmcts.cp.filter.audit.policy.BodyCategory;
+
 import java.util.Map;
 
 public record ResponseInfo(
         String contextPath,
         Map<String, String> headers,
-        String payloadBody
+        String payloadBody,
+        PayloadInfo payloadInfo,
+        BodyCategory bodyCategory
 ) {
-}
\ No newline at end of file
+
+    public ResponseInfo(final String contextPath, final Map<String, String> headers, final String payloadBody) {
+        this(contextPath, headers, payloadBody, null);
+    }
+
+    public ResponseInfo(final String contextPath, final Map<String, String> headers, final String payloadBody, final PayloadInfo payloadInfo) {
+        this(contextPath, headers, payloadBody, payloadInfo, BodyCategory.UNKNOWN);
+    }
+}
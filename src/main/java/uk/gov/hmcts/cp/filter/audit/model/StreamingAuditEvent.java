@@ -0,0 +1,18 @@
+package uk.gov.hmcts.cp.filter.audit.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Builder;
+
+/**
+ * Audit event whose content is written in one streaming pass as the event is serialized, instead of
+ * being built as a tree like the content of an {@link AuditPayload}. Both serialize to the same JSON.
+ */
+@Builder
+public record StreamingAuditEvent(
+        AuditContent content,
+        String origin,
+        String component,
+        @JsonSerialize(using = TimestampSerializer.class) String timestamp,
+        Metadata _metadata
+) implements AuditEvent {
+}
@@ -0,0 +1,35 @@
+package uk.gov.hmcts.cp.filter.audit.model;
+
+import uk.gov.hmcts.cp.filter.audit.util.AuditClock;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Writes a timestamp string using the encoding prepared by the {@link AuditClock} registered with
+ * the mapper when it is that clock's latest timestamp, and as a plain string otherwise.
+ */
+public final class TimestampSerializer extends StdSerializer<String> {
+
+    private static final long serialVersionUID = 1L;
+
+    public TimestampSerializer() {
+        super(String.class);
+    }
+
+    @Override
+    public void serialize(final String value, final JsonGenerator gen, final SerializerProvider provider) throws IOException {
+        final SerializableString serialized = provider.getAttribute(AuditClock.class) instanceof AuditClock clock
+                ? clock.serialized(value)
+                : null;
+        if (serialized == null) {
+            gen.writeString(value);
+        } else {
+            gen.writeString(serialized);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package uk.gov.hmcts.cp.filter.audit.outbox;
+
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.OutboxProperties;
+import uk.gov.hmcts.cp.filter.audit.metrics.AuditMetrics;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local append-only outbox for audit events, backed by memory-mapped segment files.
+ * <p>
+ * {@link #append} copies an event into the current segment, which costs a memory copy rather than a
+ * broker round-trip. A replayer thread forwards journalled events through an {@link OutboxSender}
+ * and advances a memory-mapped checkpoint after each accepted event, so delivery is at-least-once:
+ * events still pending when the process stops are replayed after a restart. Segments are deleted as
+ * soon as the replayer has moved past them.
+ */
+public class AuditOutbox implements AutoCloseable {
+
+    public static final String METRIC_APPENDED = "audit.outbox.appended";
+    public static final String METRIC_REJECTED = "audit.outbox.rejected";
+    public static final String METRIC_REPLAYED = "audit.outbox.replayed";
+    public static final String METRIC_REPLAY_FAILED = "audit.outbox.replay.failed";
+    public static final String METRIC_SEGMENTS = "audit.outbox.segments";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuditOutbox.class);
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int CHECKPOINT_BYTES = Long.BYTES + Integer.BYTES;
+    private static final int CHECKPOINT_POSITION_OFFSET = Long.BYTES;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final long retryIntervalMs;
+    private final long maxRetryIntervalMs;
+    private final AuditMetrics metrics;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ConcurrentNavigableMap<Long, MappedSegment> segments = new ConcurrentSkipListMap<>();
+
+    private MappedByteBuffer checkpoint;
+    private MappedSegment writeSegment;
+
+    // Replayer state, only touched by the replayer thread
+    private long readSegmentId;
+    private int readPosition;
+
+    private Thread replayer;
+    private volatile boolean running;
+    private volatile boolean replayerIdle;
+
+    public AuditOutbox(final OutboxProperties properties, final AuditMetrics metrics) {
+        this.directory = Paths.get(properties.getDirectory());
+        this.segmentSize = properties.getSegmentSizeBytes();
+        this.maxSegments = properties.getMaxSegments();
+        this.retryIntervalMs = properties.getRetryIntervalMs();
+        this.maxRetryIntervalMs = properties.getMaxRetryIntervalMs();
+        this.metrics = metrics;
+    }
+
+    /**
+     * Maps the checkpoint and any existing segments, discarding segments that were fully replayed
+     * before the last shutdown.
+     *
+     * @throws IOException when the outbox directory cannot be read or written
+     */
+    public void open() throws IOException {
+        Files.createDirectories(directory);
+        try (FileChannel channel = FileChannel.open(directory.resolve(CHECKPOINT_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            checkpoint = channel.map(FileChannel.MapMode.READ_WRITE, 0, CHECKPOINT_BYTES);
+        }
+        final long checkpointSegment = checkpoint.getLong(0);
+        final int checkpointPosition = checkpoint.getInt(CHECKPOINT_POSITION_OFFSET);
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (final Path file : files.filter(AuditOutbox::isSegmentFile).toList()) {
+                final long segmentId = segmentId(file);
+                if (segmentId < checkpointSegment) {
+                    Files.deleteIfExists(file);
+                } else {
+                    segments.put(segmentId, MappedSegment.open(segmentId, file, segmentSize));
+                }
+            }
+        }
+
+        if (segments.isEmpty()) {
+            final long firstId = Math.max(1, checkpointSegment);
+            segments.put(firstId, MappedSegment.open(firstId, segmentPath(firstId), segmentSize));
+        }
+
+        // Only the last segment can still be written to. An earlier one may lack its seal marker
+        // when it was filled exactly or the process stopped while rolling to the next segment.
+        for (final MappedSegment segment : segments.headMap(segments.lastKey()).values()) {
+            if (!segment.isSealed()) {
+                segment.seal();
+            }
+        }
+
+        if (segments.containsKey(checkpointSegment)) {
+            readSegmentId = checkpointSegment;
+            readPosition = checkpointPosition;
+        } else {
+            moveTo(segments.firstKey());
+        }
+
+        writeSegment = segments.lastEntry().getValue();
+        metrics.gauge(METRIC_SEGMENTS, segments::size);
+        LOGGER.info("Opened audit outbox at {} with {} segment(s); replay resumes at segment {} offset {}",
+                directory, segments.size(), readSegmentId, readPosition);
+    }
+
+    /**
+     * Starts the replayer thread.
+     *
+     * @param sender forwards journalled events to the broker
+     */
+    public void start(final OutboxSender sender) {
+        running = true;
+        replayer = Thread.ofPlatform().name("audit-outbox-replayer").daemon().start(() -> replay(sender));
+    }
+
+    /**
+     * Journals an audit event.
+     *
+     * @param name the audit event name
+     * @param body the serialized audit event
+     * @return {@code false} when the event could not be journalled (outbox full or I/O failure)
+     */
+    public boolean append(final String name, final String body) {
+        final byte[] nameBytes = name == null ? new byte[0] : name.getBytes(StandardCharsets.UTF_8);
+        final byte[] bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+
+        final boolean appended;
+        appendLock.lock();
+        try {
+            appended = writeSegment.append(nameBytes, bodyBytes) || rollAndAppend(nameBytes, bodyBytes);
+        } catch (IOException e) {
+            LOGGER.error("Unable to create a new audit outbox segment in {}", directory, e);
+            metrics.increment(METRIC_REJECTED);
+            return false;
+        } finally {
+            appendLock.unlock();
+        }
+
+        if (appended) {
+            metrics.increment(METRIC_APPENDED);
+            if (replayerIdle) {
+                LockSupport.unpark(replayer);
+            }
+        } else {
+            metrics.increment(METRIC_REJECTED);
+        }
+        return appended;
+    }
+
+    /**
+     * Whether the calling thread is the replayer. Publishers that divert failed sends to the outbox
+     * check this so replayed events are not journalled again in a tight loop.
+     */
+    public boolean isReplaying() {
+        return Thread.currentThread().equals(replayer);
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (replayer != null) {
+            LockSupport.unpark(replayer);
+            try {
+                replayer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        segments.values().forEach(MappedSegment::force);
+        if (checkpoint != null) {
+            checkpoint.force();
+        }
+    }
+
+    private boolean rollAndAppend(final byte[] nameBytes, final byte[] bodyBytes) throws IOException {
+        if (MappedSegment.HEADER_BYTES + Short.BYTES + nameBytes.length + bodyBytes.length > segmentSize) {
+            LOGGER.error("Audit event of {} bytes is larger than the outbox segment size {}", bodyBytes.length, segmentSize);
+            return false;
+        }
+        if (segments.size() >= maxSegments) {
+            LOGGER.error("Audit outbox is full ({} segments); rejecting audit event", maxSegments);
+            return false;
+        }
+
+        // Seal before the next segment exists, so the reader never sees an unsealed segment behind it
+        writeSegment.seal();
+        final long nextId = writeSegment.getId() + 1;
+        final MappedSegment next = MappedSegment.open(nextId, segmentPath(nextId), segmentSize);
+        segments.put(nextId, next);
+        writeSegment = next;
+        return next.append(nameBytes, bodyBytes);
+    }
+
+    private void replay(final OutboxSender sender) {
+        long backoffMs = retryIntervalMs;
+        while (running) {
+            final OutboxRecord outboxRecord = nextRecord();
+            if (outboxRecord == null) {
+                replayerIdle = true;
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                replayerIdle = false;
+            } else if (sender.send(outboxRecord.name(), outboxRecord.body())) {
+                readPosition = outboxRecord.nextPosition();
+                checkpoint.putInt(CHECKPOINT_POSITION_OFFSET, readPosition);
+                metrics.increment(METRIC_REPLAYED);
+                backoffMs = retryIntervalMs;
+            } else {
+                metrics.increment(METRIC_REPLAY_FAILED);
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(backoffMs));
+                backoffMs = Math.min(maxRetryIntervalMs, backoffMs * 2);
+            }
+        }
+    }
+
+    private OutboxRecord nextRecord() {
+        MappedSegment segment = segments.get(readSegmentId);
+        while (segment != null) {
+            final OutboxRecord outboxRecord = segment.read(readPosition);
+            if (outboxRecord != null) {
+                return outboxRecord;
+            }
+            // Re-check the committed position after seeing the seal, in case a final record landed in between
+            if (!segment.isSealed() || readPosition < segment.getCommittedPosition()) {
+                return null;
+            }
+            final Map.Entry<Long, MappedSegment> next = segments.higherEntry(readSegmentId);
+            if (next == null) {
+                return null;
+            }
+            moveTo(next.getKey());
+            reclaim(segment);
+            segment = next.getValue();
+        }
+        return null;
+    }
+
+    private void moveTo(final long segmentId) {
+        readSegmentId = segmentId;
+        readPosition = 0;
+        // Position first: a crash in between replays the old segment rather than skipping the new one
+        checkpoint.putInt(CHECKPOINT_POSITION_OFFSET, 0);
+        checkpoint.putLong(0, segmentId);
+    }
+
+    private void reclaim(final MappedSegment segment) {
+        segments.remove(segment.getId());
+        try {
+            segment.delete();
+        } catch (IOException e) {
+            LOGGER.warn("Unable to delete replayed audit outbox segment {}", segment.getPath(), e);
+        }
+    }
+
+    private Path segmentPath(final long segmentId) {
+        return directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, segmentId, SEGMENT_SUFFIX));
+    }
+
+    private static boolean isSegmentFile(final Path file) {
+        final String fileName = file.getFileName().toString();
+        return fileName.startsWith(SEGMENT_PREFIX) && fileName.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long segmentId(final Path file) {
+        final String fileName = file.getFileName().toString();
+        return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+}
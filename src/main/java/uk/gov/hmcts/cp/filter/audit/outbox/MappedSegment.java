@@ -0,0 +1,151 @@
+package uk.gov.hmcts.cp.filter.audit.outbox;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * One fixed-size, memory-mapped outbox segment file.
+ * <p>
+ * Records are laid out as {@code [int length][int crc32][short nameLength][name][body]}. The length
+ * is written last, so a zero length marks the end of the written data and a torn write is detected
+ * by its checksum. A length of {@code -1} seals the segment.
+ */
+final class MappedSegment {
+
+    public static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int SEALED_MARKER = -1;
+
+    private final long segmentId;
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    private volatile int committedPosition;
+    private volatile boolean sealed;
+
+    private MappedSegment(final long segmentId, final Path path, final MappedByteBuffer buffer) {
+        this.segmentId = segmentId;
+        this.path = path;
+        this.buffer = buffer;
+        this.capacity = buffer.capacity();
+    }
+
+    public static MappedSegment open(final long segmentId, final Path path, final int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final MappedSegment segment = new MappedSegment(segmentId, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            segment.recover();
+            return segment;
+        }
+    }
+
+    public long getId() {
+        return segmentId;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int getCommittedPosition() {
+        return committedPosition;
+    }
+
+    public boolean isSealed() {
+        return sealed;
+    }
+
+    /**
+     * Appends a record. Callers must serialise appends.
+     *
+     * @return {@code false} when the record does not fit in the remaining space
+     */
+    public boolean append(final byte[] name, final byte[] body) {
+        final int payloadLength = Short.BYTES + name.length + body.length;
+        final int position = committedPosition;
+        if (sealed || position + HEADER_BYTES + payloadLength > capacity) {
+            return false;
+        }
+
+        final int payloadStart = position + HEADER_BYTES;
+        buffer.putShort(payloadStart, (short) name.length);
+        buffer.put(payloadStart + Short.BYTES, name);
+        buffer.put(payloadStart + Short.BYTES + name.length, body);
+        buffer.putInt(position + Integer.BYTES, checksum(payloadStart, payloadLength));
+        buffer.putInt(position, payloadLength);
+        committedPosition = payloadStart + payloadLength;
+        return true;
+    }
+
+    /**
+     * Marks the segment as full so the reader moves on to the next one. Callers must serialise this
+     * with {@link #append}. With fewer than four bytes left no marker fits, so the outbox also treats
+     * every segment but the last as sealed when it is reopened.
+     */
+    public void seal() {
+        final int position = committedPosition;
+        if (position + Integer.BYTES <= capacity) {
+            buffer.putInt(position, SEALED_MARKER);
+        }
+        sealed = true;
+    }
+
+    /**
+     * Reads the record starting at {@code position}.
+     *
+     * @return the record, or {@code null} when nothing has been committed at that position yet
+     */
+    public OutboxRecord read(final int position) {
+        if (position >= committedPosition) {
+            return null;
+        }
+        final int payloadLength = buffer.getInt(position);
+        final int payloadStart = position + HEADER_BYTES;
+        final int nameLength = buffer.getShort(payloadStart);
+        final byte[] name = new byte[nameLength];
+        buffer.get(payloadStart + Short.BYTES, name);
+        final byte[] body = new byte[payloadLength - Short.BYTES - nameLength];
+        buffer.get(payloadStart + Short.BYTES + nameLength, body);
+        return new OutboxRecord(segmentId, payloadStart + payloadLength,
+                new String(name, StandardCharsets.UTF_8), new String(body, StandardCharsets.UTF_8));
+    }
+
+    public void force() {
+        buffer.force();
+    }
+
+    public void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    private void recover() {
+        int position = 0;
+        // The seal marker is a bare int, so it can sit in the last four to seven bytes
+        while (position + Integer.BYTES <= capacity) {
+            final int payloadLength = buffer.getInt(position);
+            if (payloadLength == SEALED_MARKER) {
+                sealed = true;
+                break;
+            }
+            final int payloadStart = position + HEADER_BYTES;
+            if (payloadLength <= 0 || payloadStart > capacity || payloadStart + payloadLength > capacity
+                    || buffer.getInt(position + Integer.BYTES) != checksum(payloadStart, payloadLength)) {
+                break;
+            }
+            position = payloadStart + payloadLength;
+        }
+        committedPosition = position;
+    }
+
+    private int checksum(final int offset, final int length) {
+        final CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+}
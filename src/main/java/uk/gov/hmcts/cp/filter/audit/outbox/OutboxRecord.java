@@ -0,0 +1,12 @@
+package uk.gov.hmcts.cp.filter.audit.outbox;
+
+/**
+ * A journalled audit event together with the position immediately after it.
+ *
+ * @param segmentId    the segment holding the record
+ * @param nextPosition offset of the following record within the segment
+ * @param name         the audit event name ({@code CPPNAME})
+ * @param body         the serialized audit event
+ */
+public record OutboxRecord(long segmentId, int nextPosition, String name, String body) {
+}
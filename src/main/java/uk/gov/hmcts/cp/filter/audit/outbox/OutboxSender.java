@@ -0,0 +1,17 @@
+package uk.gov.hmcts.cp.filter.audit.outbox;
+
+/**
+ * Forwards a journalled audit event to the broker on behalf of the outbox replayer.
+ */
+@FunctionalInterface
+public interface OutboxSender {
+
+    /**
+     * Sends the event.
+     *
+     * @param name the audit event name
+     * @param body the serialized audit event
+     * @return {@code true} once the broker has accepted the event
+     */
+    boolean send(String name, String body);
+}
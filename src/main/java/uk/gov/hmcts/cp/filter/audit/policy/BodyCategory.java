@@ -0,0 +1,38 @@
+package uk.gov.hmcts.cp.filter.audit.policy;
+
+/**
+ * How a request or response body is treated in the audit event, as decided by {@link ContentTypePolicy}.
+ */
+public enum BodyCategory {
+
+    /**
+     * Parsed as JSON.
+     */
+    JSON,
+
+    /**
+     * Audited as text.
+     */
+    TEXT,
+
+    /**
+     * {@code application/x-www-form-urlencoded} body, audited as one field per form parameter.
+     */
+    FORM,
+
+    /**
+     * {@code multipart/*} body, audited as the names, filenames, content types, sizes and SHA-256 of
+     * its parts.
+     */
+    MULTIPART,
+
+    /**
+     * Never decoded: audited as its length, content type and SHA-256 only.
+     */
+    BINARY,
+
+    /**
+     * No content type was given; audited as before, by attempting to parse the body as JSON.
+     */
+    UNKNOWN
+}
@@ -0,0 +1,100 @@
+package uk.gov.hmcts.cp.filter.audit.policy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maps a {@code Content-Type} to the {@link BodyCategory} that decides how its body is audited.
+ * <p>
+ * Patterns are compiled once into exact ({@code application/json}), structured-suffix
+ * ({@code application/*+json}) and type-wildcard ({@code text/*}) lookups, checked in that order.
+ * {@code multipart/*} is always {@link BodyCategory#MULTIPART} unless listed explicitly, and media
+ * types that match no pattern are {@link BodyCategory#BINARY}.
+ */
+public final class ContentTypePolicy {
+
+    private static final char WILDCARD = '*';
+    private static final String MULTIPART_TYPE = "multipart";
+
+    private final Map<String, BodyCategory> exactTypes = new HashMap<>();
+    private final Map<String, BodyCategory> wildcardTypes = new HashMap<>();
+    private final List<SuffixPattern> suffixPatterns = new ArrayList<>();
+
+    private ContentTypePolicy() {
+    }
+
+    /**
+     * @throws IllegalStateException when a pattern is not of the form {@code type/subtype}
+     */
+    public static ContentTypePolicy compile(final List<String> json, final List<String> text, final List<String> form) {
+        final ContentTypePolicy policy = new ContentTypePolicy();
+        policy.addAll(json, BodyCategory.JSON);
+        policy.addAll(text, BodyCategory.TEXT);
+        policy.addAll(form, BodyCategory.FORM);
+        policy.wildcardTypes.putIfAbsent(MULTIPART_TYPE, BodyCategory.MULTIPART);
+        return policy;
+    }
+
+    /**
+     * @param contentType a {@code Content-Type} header value, possibly with parameters
+     */
+    public BodyCategory categorize(final String contentType) {
+        final String mediaType = mediaType(contentType);
+        if (mediaType.isEmpty()) {
+            return BodyCategory.UNKNOWN;
+        }
+        final BodyCategory exact = exactTypes.get(mediaType);
+        if (exact != null) {
+            return exact;
+        }
+        for (final SuffixPattern pattern : suffixPatterns) {
+            if (pattern.matches(mediaType)) {
+                return pattern.category();
+            }
+        }
+        final int slash = mediaType.indexOf('/');
+        final BodyCategory wildcard = slash < 0 ? null : wildcardTypes.get(mediaType.substring(0, slash));
+        return wildcard == null ? BodyCategory.BINARY : wildcard;
+    }
+
+    private void addAll(final List<String> patterns, final BodyCategory category) {
+        for (final String pattern : patterns) {
+            add(mediaType(pattern), category);
+        }
+    }
+
+    private void add(final String pattern, final BodyCategory category) {
+        final int slash = pattern.indexOf('/');
+        if (slash <= 0 || slash == pattern.length() - 1) {
+            throw new IllegalStateException("audit.http.content-types entries must be media types such as application/json, got '" + pattern + "'");
+        }
+        final String type = pattern.substring(0, slash);
+        final String subtype = pattern.substring(slash + 1);
+        if (subtype.length() == 1 && subtype.charAt(0) == WILDCARD) {
+            wildcardTypes.putIfAbsent(type, category);
+        } else if (subtype.charAt(0) == WILDCARD) {
+            suffixPatterns.add(new SuffixPattern(type + '/', subtype.substring(1), category));
+        } else {
+            exactTypes.putIfAbsent(pattern, category);
+        }
+    }
+
+    private static String mediaType(final String contentType) {
+        if (contentType == null) {
+            return "";
+        }
+        final int parameters = contentType.indexOf(';');
+        final String mediaType = parameters < 0 ? contentType : contentType.substring(0, parameters);
+        return mediaType.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record SuffixPattern(String typePrefix, String suffix, BodyCategory category) {
+
+        private boolean matches(final String mediaType) {
+            return mediaType.startsWith(typePrefix) && mediaType.endsWith(suffix);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package uk.gov.hmcts.cp.filter.audit.policy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decides which request headers are copied into audit events.
+ * <p>
+ * The headers read into event metadata ({@code Accept}, {@code Content-Type}, {@code CJSCPPUID},
+ * {@code x-correlation-id} and {@code CPPCLIENTCORRELATIONID}) are captured unless excluded, along
+ * with any other headers that are included. Names are matched without regard to case and resolved
+ * once to numbered slots, so a capture reads only the listed headers and a metadata header is found
+ * by its slot. {@code Authorization}, {@code Proxy-Authorization} and {@code Cookie} are never
+ * captured.
+ */
+public final class HeaderCapturePolicy {
+
+    public static final int ACCEPT = 0;
+    public static final int CONTENT_TYPE = 1;
+    public static final int USER_ID = 2;
+    public static final int X_CORRELATION_ID = 3;
+    public static final int CLIENT_CORRELATION_ID = 4;
+
+    private static final List<String> METADATA_HEADERS =
+            List.of("Accept", "Content-Type", "CJSCPPUID", "x-correlation-id", "CPPCLIENTCORRELATIONID");
+    private static final Set<String> CREDENTIAL_HEADERS = Set.of("authorization", "proxy-authorization", "cookie");
+    private static final HeaderCapturePolicy DEFAULTS = compile(List.of(), List.of());
+
+    private final String[] names;
+    private final Map<String, Integer> slots;
+
+    private HeaderCapturePolicy(final String[] names, final Map<String, Integer> slots) {
+        this.names = names;
+        this.slots = slots;
+    }
+
+    /**
+     * @param include headers captured as well as the metadata headers
+     * @param exclude headers never captured, including metadata headers
+     * @throws IllegalStateException when a name is blank or a credential header is included
+     */
+    public static HeaderCapturePolicy compile(final List<String> include, final List<String> exclude) {
+        final Set<String> excluded = new HashSet<>();
+        for (final String name : exclude) {
+            excluded.add(key(name));
+        }
+        final List<String> names = new ArrayList<>();
+        final Map<String, Integer> slots = new HashMap<>();
+        for (final String name : METADATA_HEADERS) {
+            final String key = key(name);
+            slots.put(key, names.size());
+            names.add(excluded.contains(key) ? null : name);
+        }
+        for (final String name : include) {
+            final String key = key(name);
+            if (CREDENTIAL_HEADERS.contains(key)) {
+                throw new IllegalStateException("audit.http.headers.include must not name credential header '" + name.trim() + "'");
+            }
+            if (!slots.containsKey(key) && !excluded.contains(key)) {
+                slots.put(key, names.size());
+                names.add(name.trim());
+            }
+        }
+        return new HeaderCapturePolicy(names.toArray(new String[0]), Map.copyOf(slots));
+    }
+
+    /**
+     * @return the policy that captures only the metadata headers
+     */
+    public static HeaderCapturePolicy defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * @return the number of slots, including those of excluded metadata headers
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * @return the header name captured into {@code slot}, or {@code null} when it is excluded
+     */
+    public String name(final int slot) {
+        return names[slot];
+    }
+
+    /**
+     * @return the slot of the header, matched without regard to case, or {@code -1} when it is not captured
+     */
+    public int slotOf(final String name) {
+        final Integer slot = slots.get(name.trim().toLowerCase(Locale.ROOT));
+        return slot == null || names[slot] == null ? -1 : slot;
+    }
+
+    private static String key(final String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalStateException("audit.http.headers entries must be header names, got '" + name + "'");
+        }
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,225 @@
+package uk.gov.hmcts.cp.filter.audit.policy;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Decides from the method and path whether a request is audited.
+ * <p>
+ * Rules are a path pattern, optionally preceded by a comma-separated list of methods, such as
+ * {@code /actuator/**} or {@code GET,HEAD /cases/{caseId}/status}. Path segments are literal,
+ * {@code *} or {@code {name}} for exactly one segment, or {@code **} for any number of segments.
+ * Include and exclude rules are each compiled once into a trie of path segments, so a decision
+ * walks the path once per trie without splitting or copying it. A request is audited when it
+ * matches an include rule, or there are none, and matches no exclude rule.
+ */
+public final class PathAuditPolicy {
+
+    private static final String[] METHODS = {"GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "TRACE"};
+    private static final int ALL_METHODS = -1;
+    private static final int NO_METHODS = 0;
+    private static final char SEPARATOR = '/';
+    private static final String SINGLE_WILDCARD = "*";
+    private static final String DOUBLE_WILDCARD = "**";
+
+    private final Node includes;
+    private final Node excludes;
+
+    private PathAuditPolicy(final Node includes, final Node excludes) {
+        this.includes = includes;
+        this.excludes = excludes;
+    }
+
+    /**
+     * @throws IllegalStateException when a rule is not a path pattern, names an unknown method or
+     *                               uses a wildcard within a segment
+     */
+    public static PathAuditPolicy compile(final List<String> include, final List<String> exclude) {
+        return new PathAuditPolicy(include.isEmpty() ? null : compileRules(include), compileRules(exclude));
+    }
+
+    /**
+     * @param path       the request URI
+     * @param pathOffset index in {@code path} at which the application's path starts, after the context path
+     */
+    public boolean isAudited(final String method, final String path, final int pathOffset) {
+        final int methodBit = methodBit(method);
+        return (includes == null || matches(includes, path, pathOffset, methodBit))
+                && !matches(excludes, path, pathOffset, methodBit);
+    }
+
+    private static Node compileRules(final List<String> rules) {
+        final Node root = new Node();
+        for (final String rule : rules) {
+            addRule(root, rule.trim());
+        }
+        root.seal();
+        return root;
+    }
+
+    private static void addRule(final Node root, final String rule) {
+        final int space = indexOfWhitespace(rule);
+        final String pattern = space < 0 ? rule : rule.substring(space + 1).trim();
+        final int methods = space < 0 ? ALL_METHODS : methodMask(rule.substring(0, space), rule);
+        if (pattern.isEmpty() || pattern.charAt(0) != SEPARATOR) {
+            throw new IllegalStateException("audit.http.paths entries must be path patterns such as /actuator/**, got '" + rule + "'");
+        }
+        Node node = root;
+        for (final String segment : pattern.split("/")) {
+            if (!segment.isEmpty()) {
+                node = node.child(segment, rule);
+            }
+        }
+        node.methods |= methods;
+    }
+
+    private static int methodMask(final String methodList, final String rule) {
+        int mask = NO_METHODS;
+        for (final String method : methodList.split(",")) {
+            final int bit = methodBit(method.trim().toUpperCase(Locale.ROOT));
+            if (bit == 0) {
+                throw new IllegalStateException("audit.http.paths entry '" + rule + "' names an unknown HTTP method '" + method + "'");
+            }
+            mask |= bit;
+        }
+        return mask;
+    }
+
+    /**
+     * @return the bit for a standard method, or {@code 0} for any other, which only unconstrained rules match
+     */
+    private static int methodBit(final String method) {
+        for (int i = 0; i < METHODS.length; i++) {
+            if (METHODS[i].equals(method)) {
+                return 1 << i;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean matches(final Node node, final String path, final int from, final int methodBit) {
+        int start = from;
+        while (start < path.length() && path.charAt(start) == SEPARATOR) {
+            start++;
+        }
+        if (start >= path.length()) {
+            return node.accepts(methodBit) || node.doubleWildcard != null && matches(node.doubleWildcard, path, start, methodBit);
+        }
+        int end = path.indexOf(SEPARATOR, start);
+        if (end < 0) {
+            end = path.length();
+        }
+        final Node literal = node.literal(path, start, end);
+        if (literal != null && matches(literal, path, end, methodBit)) {
+            return true;
+        }
+        if (node.singleWildcard != null && matches(node.singleWildcard, path, end, methodBit)) {
+            return true;
+        }
+        if (node.doubleWildcard != null) {
+            // Let ** consume zero or more segments
+            int next = start;
+            while (next >= 0) {
+                if (matches(node.doubleWildcard, path, next, methodBit)) {
+                    return true;
+                }
+                next = next >= path.length() ? -1 : nextSegment(path, next);
+            }
+        }
+        return false;
+    }
+
+    private static int nextSegment(final String path, final int start) {
+        final int separator = path.indexOf(SEPARATOR, start);
+        return separator < 0 ? path.length() : separator + 1;
+    }
+
+    private static int indexOfWhitespace(final String rule) {
+        for (int i = 0; i < rule.length(); i++) {
+            if (Character.isWhitespace(rule.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * One path segment of the trie. Literal children are held in an open-addressing table keyed by
+     * the segment's {@link String#hashCode()}, so a segment of the request path can be looked up in
+     * place.
+     */
+    private static final class Node {
+
+        private final Map<String, Node> pending = new HashMap<>();
+        private String[] keys = new String[0];
+        private Node[] children = new Node[0];
+        private Node singleWildcard;
+        private Node doubleWildcard;
+        private int methods = NO_METHODS;
+
+        private Node child(final String segment, final String rule) {
+            if (DOUBLE_WILDCARD.equals(segment)) {
+                if (doubleWildcard == null) {
+                    doubleWildcard = new Node();
+                }
+                return doubleWildcard;
+            }
+            if (SINGLE_WILDCARD.equals(segment) || segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}') {
+                if (singleWildcard == null) {
+                    singleWildcard = new Node();
+                }
+                return singleWildcard;
+            }
+            if (segment.indexOf('*') >= 0 || segment.indexOf('{') >= 0) {
+                throw new IllegalStateException("audit.http.paths entry '" + rule + "' has a wildcard within segment '" + segment + "'");
+            }
+            return pending.computeIfAbsent(segment, key -> new Node());
+        }
+
+        private void seal() {
+            final int capacity = Integer.highestOneBit(Math.max(1, pending.size() * 2 - 1)) << 1;
+            keys = new String[capacity];
+            children = new Node[capacity];
+            pending.forEach((key, child) -> {
+                int slot = key.hashCode() & (capacity - 1);
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                keys[slot] = key;
+                children[slot] = child;
+                child.seal();
+            });
+            pending.clear();
+            if (singleWildcard != null) {
+                singleWildcard.seal();
+            }
+            if (doubleWildcard != null) {
+                doubleWildcard.seal();
+            }
+        }
+
+        private Node literal(final String path, final int start, final int end) {
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + path.charAt(i);
+            }
+            final int length = end - start;
+            final int mask = keys.length - 1;
+            int slot = hash & mask;
+            while (keys[slot] != null) {
+                final String key = keys[slot];
+                if (key.length() == length && key.regionMatches(0, path, start, length)) {
+                    return children[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        private boolean accepts(final int methodBit) {
+            return methods == ALL_METHODS || (methods & methodBit) != 0;
+        }
+    }
+}
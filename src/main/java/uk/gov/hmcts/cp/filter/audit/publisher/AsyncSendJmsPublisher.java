@@ -0,0 +1,323 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.AsyncSendProperties;
+import uk.gov.hmcts.cp.filter.audit.metrics.AuditMetrics;
+import uk.gov.hmcts.cp.filter.audit.outbox.AuditOutbox;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jakarta.jms.CompletionListener;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.Destination;
+import jakarta.jms.JMSContext;
+import jakarta.jms.JMSProducer;
+import jakarta.jms.JMSRuntimeException;
+import jakarta.jms.Message;
+import org.apache.activemq.artemis.jms.client.ActiveMQTopic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link AuditEventPublisher} that uses JMS 2.0 asynchronous sends.
+ * <p>
+ * Each event is sent persistently through a {@link JMSProducer} with a {@link CompletionListener}, so
+ * the calling thread returns as soon as the message is written to the connection and the broker's
+ * durable acknowledgement arrives on a callback. A semaphore bounds the number of unacknowledged
+ * sends. Events that are rejected by the broker, or that cannot get a slot in the in-flight window,
+ * are handed to the outbox when one is configured and otherwise to the synchronous fallback publisher.
+ * A rejection arrives on the broker's completion thread, so without an outbox its synchronous retry
+ * is queued for a single retry thread rather than run there, and it is dropped when that queue is full.
+ */
+public class AsyncSendJmsPublisher implements AuditEventPublisher, AutoCloseable {
+
+    public static final String METRIC_ACKNOWLEDGED = "audit.publish.ack.succeeded";
+    public static final String METRIC_FAILED = "audit.publish.ack.failed";
+    public static final String METRIC_WINDOW_FULL = "audit.publish.ack.window-full";
+    public static final String METRIC_HANDED_OFF = "audit.publish.ack.handed-off";
+    public static final String METRIC_RETRIED = "audit.publish.ack.retried";
+    public static final String METRIC_IN_FLIGHT = "audit.publish.ack.in-flight";
+    public static final String METRIC_RETRY_DROPPED = "audit.publish.ack.retry-dropped";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncSendJmsPublisher.class);
+
+    private final ConnectionFactory connectionFactory;
+    private final Destination auditTopic;
+    private final AuditMetrics metrics;
+    private final AuditEventPublisher fallback;
+    private final AuditOutbox failureOutbox;
+    private final int maxInFlight;
+    private final long acquireTimeoutMs;
+    private final long shutdownTimeoutMs;
+    private final Semaphore inFlight;
+    private final ContextLane[] lanes;
+    private final WireFormat wireFormat;
+    private final ExecutorService retryExecutor;
+
+    private volatile boolean running = true;
+    private volatile AcknowledgementObserver acknowledgementObserver;
+
+    /**
+     * @param connectionFactory creates the {@link JMSContext}s used for asynchronous sends
+     * @param topicName         the audit topic
+     * @param properties        window and context settings
+     * @param metrics           receives acknowledgement counts and the in-flight gauge
+     * @param fallback          synchronous publisher for events that cannot be sent asynchronously
+     * @param failureOutbox     optional outbox for events the broker rejected; may be {@code null}
+     */
+    public AsyncSendJmsPublisher(final ConnectionFactory connectionFactory,
+                                 final String topicName,
+                                 final AsyncSendProperties properties,
+                                 final AuditMetrics metrics,
+                                 final AuditEventPublisher fallback,
+                                 final AuditOutbox failureOutbox) {
+        this(connectionFactory, topicName, properties, metrics, fallback, failureOutbox, WireFormat.TEXT);
+    }
+
+    /**
+     * As {@link #AsyncSendJmsPublisher(ConnectionFactory, String, AsyncSendProperties, AuditMetrics,
+     * AuditEventPublisher, AuditOutbox)}, sending events in the given wire format.
+     */
+    public AsyncSendJmsPublisher(final ConnectionFactory connectionFactory,
+                                 final String topicName,
+                                 final AsyncSendProperties properties,
+                                 final AuditMetrics metrics,
+                                 final AuditEventPublisher fallback,
+                                 final AuditOutbox failureOutbox,
+                                 final WireFormat wireFormat) {
+        this.connectionFactory = connectionFactory;
+        this.wireFormat = wireFormat;
+        this.auditTopic = new ActiveMQTopic(topicName);
+        this.metrics = metrics;
+        this.fallback = fallback;
+        this.failureOutbox = failureOutbox;
+        this.maxInFlight = properties.getMaxInFlight();
+        this.acquireTimeoutMs = properties.getAcquireTimeoutMs();
+        this.shutdownTimeoutMs = properties.getShutdownTimeoutMs();
+        this.inFlight = new Semaphore(maxInFlight);
+        this.lanes = new ContextLane[properties.getContexts()];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ContextLane();
+        }
+        this.retryExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(maxInFlight),
+                Thread.ofPlatform().name("audit-async-send-retry").daemon().factory());
+        metrics.gauge(METRIC_IN_FLIGHT, this::getInFlightCount);
+    }
+
+    /**
+     * Reports each broker acknowledgement or rejection, such as to a circuit breaker that would not
+     * otherwise see failures reported after {@link #publish} has returned.
+     */
+    public void setAcknowledgementObserver(final AcknowledgementObserver acknowledgementObserver) {
+        this.acknowledgementObserver = acknowledgementObserver;
+    }
+
+    /**
+     * Sends the event asynchronously. After {@link #close()} events go to the fallback publisher.
+     *
+     * @return {@code true} when the event was dispatched or handed off; the broker acknowledgement is
+     *         reported through metrics
+     */
+    @Override
+    public boolean publish(final String name, final String body) {
+        if (!running) {
+            return fallback.publish(name, body);
+        }
+
+        if (!acquirePermit()) {
+            metrics.increment(METRIC_WINDOW_FULL);
+            return handOff(name, body);
+        }
+
+        final ContextLane lane = lanes[(int) (Thread.currentThread().threadId() % lanes.length)];
+        try {
+            lane.send(name, body, new AcknowledgementListener(name, body));
+            return true;
+        } catch (JMSRuntimeException e) {
+            inFlight.release();
+            metrics.increment(METRIC_FAILED);
+            LOGGER.warn("Asynchronous send of audit message {} failed: {}", name, e.getMessage());
+            return handOff(name, body);
+        }
+    }
+
+    public int getInFlightCount() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            if (inFlight.tryAcquire(maxInFlight, shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+                inFlight.release(maxInFlight);
+            } else {
+                LOGGER.warn("Audit publisher shut down with {} unacknowledged audit message(s)", getInFlightCount());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        retryExecutor.shutdown();
+        try {
+            if (!retryExecutor.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("Audit publisher shut down before retrying every rejected audit message");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (final ContextLane lane : lanes) {
+            lane.close();
+        }
+    }
+
+    private boolean acquirePermit() {
+        try {
+            return inFlight.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean handOff(final String name, final String body) {
+        if (failureOutbox != null && failureOutbox.append(name, body)) {
+            metrics.increment(METRIC_HANDED_OFF);
+            return true;
+        }
+        metrics.increment(METRIC_RETRIED);
+        if (fallback.publish(name, body)) {
+            return true;
+        }
+        LOGGER.error("Dropped audit message {} after asynchronous and synchronous sends failed", name);
+        return false;
+    }
+
+    /**
+     * Hands off an event the broker rejected without blocking the completion thread: the outbox only
+     * copies it, while a synchronous resend is left to the retry thread.
+     */
+    private void handOffRejected(final String name, final String body) {
+        if (failureOutbox != null) {
+            handOff(name, body);
+            return;
+        }
+        try {
+            retryExecutor.execute(() -> handOff(name, body));
+        } catch (RejectedExecutionException e) {
+            metrics.increment(METRIC_RETRY_DROPPED);
+            LOGGER.error("Dropped audit message {} rejected by the broker; the retry queue is full", name);
+        }
+    }
+
+    private void notifyObserver(final boolean acknowledged) {
+        final AcknowledgementObserver observer = acknowledgementObserver;
+        if (observer != null) {
+            observer.acknowledged(acknowledged);
+        }
+    }
+
+    /**
+     * Told the outcome of each asynchronous send once the broker has answered.
+     */
+    @FunctionalInterface
+    public interface AcknowledgementObserver {
+
+        /**
+         * @param acknowledged {@code true} when the broker accepted the message, {@code false} when it rejected it
+         */
+        void acknowledged(boolean acknowledged);
+    }
+
+    /**
+     * One {@link JMSContext} and producer. A context is single-threaded, so sends through a lane are
+     * serialised; the context is created lazily and recreated after a send failure.
+     */
+    private final class ContextLane {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private JMSContext context;
+        private JMSProducer producer;
+
+        private void send(final String name, final String body, final CompletionListener listener) {
+            lock.lock();
+            try {
+                if (context == null) {
+                    context = connectionFactory.createContext(JMSContext.AUTO_ACKNOWLEDGE);
+                    producer = context.createProducer().setDeliveryMode(DeliveryMode.PERSISTENT);
+                }
+                producer.setAsync(listener).setProperty(JmsAuditEventPublisher.PROPERTY_NAME, name);
+                if (wireFormat == WireFormat.BYTES) {
+                    producer.setProperty(WireFormat.PROPERTY_CONTENT_TYPE, WireFormat.CONTENT_TYPE_JSON_UTF8)
+                            .send(auditTopic, body.getBytes(StandardCharsets.UTF_8));
+                } else {
+                    producer.send(auditTopic, body);
+                }
+            } catch (JMSRuntimeException e) {
+                reset();
+                throw e;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void close() {
+            lock.lock();
+            try {
+                reset();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @SuppressWarnings("PMD.NullAssignment")
+        private void reset() {
+            if (context != null) {
+                try {
+                    context.close();
+                } catch (JMSRuntimeException e) {
+                    LOGGER.debug("Ignoring failure closing audit JMS context", e);
+                }
+            }
+            context = null;
+            producer = null;
+        }
+    }
+
+    private final class AcknowledgementListener implements CompletionListener {
+
+        private final String name;
+        private final String body;
+
+        private AcknowledgementListener(final String name, final String body) {
+            this.name = name;
+            this.body = body;
+        }
+
+        @Override
+        public void onCompletion(final Message message) {
+            inFlight.release();
+            metrics.increment(METRIC_ACKNOWLEDGED);
+            notifyObserver(true);
+        }
+
+        @Override
+        public void onException(final Message message, final Exception exception) {
+            inFlight.release();
+            metrics.increment(METRIC_FAILED);
+            LOGGER.warn("Broker rejected asynchronous send of audit message {}: {}", name, exception.getMessage());
+            notifyObserver(false);
+            // The failing context must not be used from its own callback; the retry goes through the fallback
+            handOffRejected(name, body);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Transport for serialized audit events.
+ * <p>
+ * {@link uk.gov.hmcts.cp.filter.audit.service.AuditService} serializes each event once and hands it to
+ * the configured publisher, selected with {@code cp.audit.publisher.type}. Implementations must be safe
+ * to call from many request threads and must not throw; failures are reported through the return value
+ * so callers can retry or journal the event.
+ */
+@FunctionalInterface
+public interface AuditEventPublisher {
+
+    /**
+     * Publishes one event.
+     *
+     * @param name the audit event name, e.g. {@code audit.events.audit-recorded}
+     * @param body the event serialized as compact JSON
+     * @return {@code true} when the transport accepted the event
+     */
+    boolean publish(String name, String body);
+
+    /**
+     * Publishes several events. Transports that support it do so atomically; the default publishes the
+     * events one at a time and stops at the first failure, so a retry of the whole batch may deliver
+     * some events twice.
+     *
+     * @param events the events to publish
+     * @return {@code true} when every event was accepted
+     */
+    default boolean publishBatch(final List<SerializedAuditEvent> events) {
+        for (final SerializedAuditEvent event : events) {
+            if (!publish(event.name(), event.body())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Publishes one event that is already encoded as UTF-8 JSON. Transports that send bytes override
+     * this, together with {@link #prefersUtf8()}, so callers can skip building a {@code String}. The
+     * array is reused by the caller once this returns, so implementations must copy what they keep.
+     *
+     * @param name   the audit event name
+     * @param body   buffer holding the UTF-8 encoded event
+     * @param length number of valid bytes at the start of {@code body}
+     * @return {@code true} when the transport accepted the event
+     */
+    default boolean publishUtf8(final String name, final byte[] body, final int length) {
+        return publish(name, new String(body, 0, length, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return {@code true} when {@link #publishUtf8} is cheaper than {@link #publish}
+     */
+    default boolean prefersUtf8() {
+        return false;
+    }
+
+    /**
+     * @return {@code true} when the last send on the calling thread was refused without reaching the
+     *         transport, as by an open circuit breaker, which has then diverted or dropped the events
+     *         itself; retrying them would only be refused again
+     */
+    default boolean wasShortCircuited() {
+        return false;
+    }
+}
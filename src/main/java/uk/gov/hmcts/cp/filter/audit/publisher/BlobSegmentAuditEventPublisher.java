@@ -0,0 +1,236 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.BlobPublisherProperties;
+import uk.gov.hmcts.cp.filter.audit.metrics.AuditMetrics;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link AuditEventPublisher} that batches events into compressed segments and uploads them to a
+ * {@link BlobStore}.
+ * <p>
+ * Publishing appends the encoded event to an in-memory segment. A segment is sealed once it holds
+ * {@code max-segment-bytes} of uncompressed data or has been open for {@code max-segment-age-ms}; an
+ * uploader thread then compresses it in {@link BlobSegmentFormat} and uploads it, retrying with
+ * exponential backoff. At most {@code max-pending-segments} sealed segments are held in memory; beyond
+ * that publishing is rejected so the caller can fall back, e.g. to the outbox.
+ */
+public class BlobSegmentAuditEventPublisher implements AuditEventPublisher, AutoCloseable {
+
+    public static final String METRIC_APPENDED = "audit.publisher.blob.appended";
+    public static final String METRIC_REJECTED = "audit.publisher.blob.rejected";
+    public static final String METRIC_UPLOADED = "audit.publisher.blob.uploaded";
+    public static final String METRIC_UPLOAD_FAILED = "audit.publisher.blob.upload.failed";
+    public static final String METRIC_PENDING = "audit.publisher.blob.pending";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BlobSegmentAuditEventPublisher.class);
+    private static final DateTimeFormatter HOUR_PATH = DateTimeFormatter.ofPattern("yyyy/MM/dd/HH").withZone(ZoneOffset.UTC);
+    private static final int INITIAL_SEGMENT_BYTES = 64 * 1024;
+    private static final int INITIAL_EVENT_SLOTS = 256;
+
+    private final BlobStore blobStore;
+    private final String prefix;
+    private final int maxSegmentBytes;
+    private final long maxSegmentAgeNanos;
+    private final int blockSize;
+    private final long retryIntervalMs;
+    private final long maxRetryIntervalMs;
+    private final long shutdownTimeoutMs;
+    private final AuditMetrics metrics;
+    private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong sequence = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final BlockingQueue<Segment> sealed;
+    private final Thread uploader;
+
+    private Segment current = new Segment();
+    private volatile boolean running = true;
+    private volatile long shutdownDeadlineNanos;
+
+    public BlobSegmentAuditEventPublisher(final BlobStore blobStore,
+                                          final BlobPublisherProperties properties,
+                                          final AuditMetrics metrics) {
+        this.blobStore = blobStore;
+        this.prefix = properties.getPrefix();
+        this.maxSegmentBytes = properties.getMaxSegmentBytes();
+        this.maxSegmentAgeNanos = TimeUnit.MILLISECONDS.toNanos(properties.getMaxSegmentAgeMs());
+        this.blockSize = properties.getBlockSizeBytes();
+        this.retryIntervalMs = properties.getRetryIntervalMs();
+        this.maxRetryIntervalMs = properties.getMaxRetryIntervalMs();
+        this.shutdownTimeoutMs = properties.getShutdownTimeoutMs();
+        this.metrics = metrics;
+        this.sealed = new ArrayBlockingQueue<>(properties.getMaxPendingSegments());
+        metrics.gauge(METRIC_PENDING, sealed::size);
+        this.uploader = Thread.ofPlatform().name("audit-blob-uploader").daemon().unstarted(this::uploadSegments);
+    }
+
+    /**
+     * Starts the uploader thread.
+     */
+    public void start() {
+        uploader.start();
+    }
+
+    @Override
+    public boolean publish(final String name, final String body) {
+        final byte[] line = NdjsonLine.encode(name, body);
+        final boolean appended;
+        lock.lock();
+        try {
+            appended = running && append(line);
+        } finally {
+            lock.unlock();
+        }
+        metrics.increment(appended ? METRIC_APPENDED : METRIC_REJECTED);
+        return appended;
+    }
+
+    public int getPendingSegmentCount() {
+        return sealed.size();
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+            shutdownDeadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMs);
+            if (current.eventCount > 0 && !sealed.offer(current)) {
+                LOGGER.error("Discarding {} audit event(s) on shutdown; upload queue is full", current.eventCount);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            uploader.join(shutdownTimeoutMs + TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!sealed.isEmpty()) {
+            LOGGER.error("Audit blob uploader shut down with {} segment(s) not uploaded", sealed.size());
+        }
+    }
+
+    private boolean append(final byte[] line) {
+        if (current.eventCount > 0 && current.size + line.length > maxSegmentBytes && !sealCurrent()) {
+            return false;
+        }
+        current.append(line);
+        return true;
+    }
+
+    private boolean sealCurrent() {
+        if (!sealed.offer(current)) {
+            return false;
+        }
+        current = new Segment();
+        return true;
+    }
+
+    private void uploadSegments() {
+        final long pollNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(10), maxSegmentAgeNanos / 4);
+        while (running || !sealed.isEmpty()) {
+            final Segment segment;
+            try {
+                segment = sealed.poll(pollNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (segment == null) {
+                sealIfExpired();
+            } else {
+                upload(segment);
+            }
+        }
+    }
+
+    private void sealIfExpired() {
+        lock.lock();
+        try {
+            if (running && current.eventCount > 0 && System.nanoTime() - current.openedNanos >= maxSegmentAgeNanos) {
+                sealCurrent();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void upload(final Segment segment) {
+        final String blobName = blobName(segment);
+        final byte[] content;
+        try {
+            content = BlobSegmentFormat.encode(segment.data, segment.lineEnds, segment.eventCount, blockSize, segment.createdAtMillis);
+        } catch (IOException e) {
+            LOGGER.error("Failed to encode audit segment {}; {} event(s) lost", blobName, segment.eventCount, e);
+            return;
+        }
+
+        long backoffMs = retryIntervalMs;
+        while (true) {
+            try {
+                blobStore.upload(blobName, content);
+                metrics.increment(METRIC_UPLOADED);
+                LOGGER.debug("Uploaded audit segment {} with {} event(s)", blobName, segment.eventCount);
+                return;
+            } catch (IOException | RuntimeException e) {
+                metrics.increment(METRIC_UPLOAD_FAILED);
+                LOGGER.warn("Failed to upload audit segment {}: {}", blobName, e.getMessage());
+            }
+            if (!running && System.nanoTime() - shutdownDeadlineNanos >= 0) {
+                LOGGER.error("Giving up on audit segment {} at shutdown; {} event(s) lost", blobName, segment.eventCount);
+                return;
+            }
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(backoffMs));
+            backoffMs = Math.min(maxRetryIntervalMs, backoffMs * 2);
+        }
+    }
+
+    private String blobName(final Segment segment) {
+        return String.format("%s%s/%d-%s-%06d.seg", prefix, HOUR_PATH.format(Instant.ofEpochMilli(segment.createdAtMillis)),
+                segment.createdAtMillis, instanceId, sequence.incrementAndGet());
+    }
+
+    /**
+     * Uncompressed NDJSON lines of one segment, appended under {@link #lock}.
+     */
+    private static final class Segment {
+
+        private final long createdAtMillis = System.currentTimeMillis();
+        private final long openedNanos = System.nanoTime();
+        private byte[] data = new byte[INITIAL_SEGMENT_BYTES];
+        private int[] lineEnds = new int[INITIAL_EVENT_SLOTS];
+        private int size;
+        private int eventCount;
+
+        private void append(final byte[] line) {
+            if (size + line.length > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + line.length));
+            }
+            if (eventCount == lineEnds.length) {
+                lineEnds = Arrays.copyOf(lineEnds, lineEnds.length * 2);
+            }
+            System.arraycopy(line, 0, data, size, line.length);
+            size += line.length;
+            lineEnds[eventCount++] = size;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Layout of the segments written by {@link BlobSegmentAuditEventPublisher}.
+ * <p>
+ * A segment is a sequence of independently gzip-compressed blocks of NDJSON lines, followed by a
+ * footer index and a fixed trailer:
+ * <pre>
+ * [block 0][block 1]...[footer][int footerLength][long MAGIC]
+ * footer = [long createdAtMillis][int eventCount][int blockCount]
+ *          blockCount x [long offset][int length][int firstEvent][int eventCount]
+ * </pre>
+ * Blocks end on event boundaries, so a reader can use the index to decompress only the blocks it
+ * needs.
+ */
+public final class BlobSegmentFormat {
+
+    /** {@code CPAUDIX1} in ASCII. */
+    public static final long MAGIC = 0x4350_4155_4449_5831L;
+
+    private static final int TRAILER_BYTES = Integer.BYTES + Long.BYTES;
+    private static final int FOOTER_HEADER_BYTES = Long.BYTES + Integer.BYTES * 2;
+    private static final int BLOCK_ENTRY_BYTES = Long.BYTES + Integer.BYTES * 3;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * One compressed block.
+     *
+     * @param offset     byte offset of the block in the segment
+     * @param length     compressed length in bytes
+     * @param firstEvent index of the first event in the block
+     * @param eventCount number of events in the block
+     */
+    public record Block(long offset, int length, int firstEvent, int eventCount) {
+    }
+
+    /**
+     * Footer index of a segment.
+     *
+     * @param createdAtMillis when the segment was opened
+     * @param eventCount      total number of events
+     * @param blocks          the compressed blocks in order
+     */
+    public record Index(long createdAtMillis, int eventCount, List<Block> blocks) {
+    }
+
+    private BlobSegmentFormat() {
+    }
+
+    /**
+     * Compresses NDJSON lines into a segment.
+     *
+     * @param data            the lines, back to back
+     * @param lineEnds        exclusive end offset of each line in {@code data}
+     * @param eventCount      number of lines
+     * @param blockSize       uncompressed size after which a new block is started
+     * @param createdAtMillis when the segment was opened
+     * @return the encoded segment
+     */
+    /* default */ static byte[] encode(final byte[] data, final int[] lineEnds, final int eventCount, final int blockSize,
+                         final long createdAtMillis) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(256, lineEnds[eventCount - 1] / 4));
+        final List<Block> blocks = new ArrayList<>();
+        int blockStart = 0;
+        int firstEvent = 0;
+        for (int event = 0; event < eventCount; event++) {
+            final int blockEnd = lineEnds[event];
+            if (blockEnd - blockStart >= blockSize || event == eventCount - 1) {
+                final int offset = out.size();
+                compress(data, blockStart, blockEnd - blockStart, out);
+                blocks.add(block(offset, out.size() - offset, firstEvent, event - firstEvent + 1));
+                blockStart = blockEnd;
+                firstEvent = event + 1;
+            }
+        }
+
+        final int footerLength = FOOTER_HEADER_BYTES + blocks.size() * BLOCK_ENTRY_BYTES;
+        final ByteBuffer footer = ByteBuffer.allocate(footerLength + TRAILER_BYTES)
+                .putLong(createdAtMillis)
+                .putInt(eventCount)
+                .putInt(blocks.size());
+        for (final Block block : blocks) {
+            footer.putLong(block.offset()).putInt(block.length()).putInt(block.firstEvent()).putInt(block.eventCount());
+        }
+        footer.putInt(footerLength).putLong(MAGIC);
+        out.write(footer.array());
+        return out.toByteArray();
+    }
+
+    /**
+     * Reads the footer index of a segment.
+     *
+     * @throws IOException when the content is not a segment
+     */
+    public static Index readIndex(final byte[] segment) throws IOException {
+        if (segment.length < TRAILER_BYTES) {
+            throw new IOException("Audit segment is truncated");
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(segment);
+        final int trailerStart = segment.length - TRAILER_BYTES;
+        if (buffer.getLong(trailerStart + Integer.BYTES) != MAGIC) {
+            throw new IOException("Not an audit segment");
+        }
+        final int footerLength = buffer.getInt(trailerStart);
+        if (footerLength < FOOTER_HEADER_BYTES || footerLength > trailerStart) {
+            throw new IOException("Audit segment footer is corrupt");
+        }
+        buffer.position(trailerStart - footerLength);
+        final long createdAtMillis = buffer.getLong();
+        final int eventCount = buffer.getInt();
+        final int blockCount = buffer.getInt();
+        final List<Block> blocks = new ArrayList<>(blockCount);
+        for (int i = 0; i < blockCount; i++) {
+            blocks.add(new Block(buffer.getLong(), buffer.getInt(), buffer.getInt(), buffer.getInt()));
+        }
+        return new Index(createdAtMillis, eventCount, blocks);
+    }
+
+    /**
+     * Decompresses every block of a segment.
+     *
+     * @return the events in the order they were published
+     * @throws IOException when the content is not a valid segment
+     */
+    public static List<SerializedAuditEvent> readEvents(final byte[] segment) throws IOException {
+        final Index index = readIndex(segment);
+        final List<SerializedAuditEvent> events = new ArrayList<>(index.eventCount());
+        for (final Block block : index.blocks()) {
+            for (final String line : decompress(segment, block).split("\n")) {
+                events.add(toEvent(MAPPER.readTree(line)));
+            }
+        }
+        return events;
+    }
+
+    private static void compress(final byte[] data, final int offset, final int length, final OutputStream out)
+            throws IOException {
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data, offset, length);
+        }
+    }
+
+    private static String decompress(final byte[] segment, final Block block) throws IOException {
+        try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(segment, (int) block.offset(), block.length()))) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Block block(final long offset, final int length, final int firstEvent, final int eventCount) {
+        return new Block(offset, length, firstEvent, eventCount);
+    }
+
+    private static SerializedAuditEvent toEvent(final JsonNode line) {
+        return new SerializedAuditEvent(line.path("name").asText(), line.path("event").toString());
+    }
+}
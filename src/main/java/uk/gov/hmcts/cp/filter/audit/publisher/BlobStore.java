@@ -0,0 +1,21 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+import java.io.IOException;
+
+/**
+ * Minimal object store used by {@link BlobSegmentAuditEventPublisher}. An Azure Blob Storage
+ * implementation only needs to map {@link #upload} onto a block blob upload; a local filesystem
+ * implementation is provided for development and tests.
+ */
+@FunctionalInterface
+public interface BlobStore {
+
+    /**
+     * Stores a complete blob, replacing any existing blob with the same name.
+     *
+     * @param blobName the blob name, using {@code /} as the path separator
+     * @param content  the blob content
+     * @throws IOException when the blob could not be stored; the caller retries
+     */
+    void upload(String blobName, byte[] content) throws IOException;
+}
@@ -0,0 +1,262 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.CircuitBreakerProperties;
+import uk.gov.hmcts.cp.filter.audit.metrics.AuditMetrics;
+import uk.gov.hmcts.cp.filter.audit.outbox.AuditOutbox;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link AuditEventPublisher} decorator that stops calling the delegate while the broker is failing.
+ * <p>
+ * The breaker opens after {@code failure-threshold} consecutive failed sends, where a send that took
+ * longer than {@code slow-call-threshold-ms} also counts as failed. While open, sends return without
+ * touching the delegate: the event is diverted to the outbox when one is configured and otherwise
+ * dropped and counted. After {@code open-duration-ms} the breaker half-opens and lets up to
+ * {@code half-open-probes} sends through; a successful probe closes it and a failed one reopens it.
+ * <p>
+ * An {@link AsyncSendJmsPublisher} delegate returns before the broker answers, so its rejections are
+ * counted as failures when they arrive and only a broker acknowledgement resets the failure count.
+ */
+public class CircuitBreakingAuditEventPublisher implements AuditEventPublisher, AutoCloseable {
+
+    public static final String METRIC_STATE = "audit.publish.breaker.state";
+    public static final String METRIC_OPENED = "audit.publish.breaker.opened";
+    public static final String METRIC_SHORT_CIRCUITED = "audit.publish.breaker.short-circuited";
+    public static final String METRIC_DIVERTED = "audit.publish.breaker.diverted";
+    public static final String METRIC_DROPPED = "audit.publish.breaker.dropped";
+    public static final String METRIC_SLOW_CALLS = "audit.publish.breaker.slow-calls";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreakingAuditEventPublisher.class);
+
+    /**
+     * Breaker states; the ordinal is reported through {@link #METRIC_STATE}.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final AuditEventPublisher delegate;
+    private final AuditOutbox divertOutbox;
+    private final AuditMetrics metrics;
+    private final int failureThreshold;
+    private final long slowCallThresholdNanos;
+    private final long openDurationNanos;
+    private final int halfOpenProbes;
+    private final boolean acknowledgedAsynchronously;
+
+    private final AtomicInteger state = new AtomicInteger(State.CLOSED.ordinal());
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicInteger probesInFlight = new AtomicInteger();
+    private final ThreadLocal<Boolean> shortCircuited = new ThreadLocal<>();
+    private volatile long openedAtNanos;
+
+    /**
+     * @param delegate     the transport publisher
+     * @param properties   thresholds and timings
+     * @param metrics      receives the breaker state and counters
+     * @param divertOutbox optional outbox for events sent while the breaker is open; may be {@code null}
+     */
+    public CircuitBreakingAuditEventPublisher(final AuditEventPublisher delegate,
+                                              final CircuitBreakerProperties properties,
+                                              final AuditMetrics metrics,
+                                              final AuditOutbox divertOutbox) {
+        this.delegate = delegate;
+        this.divertOutbox = divertOutbox;
+        this.metrics = metrics;
+        this.failureThreshold = properties.getFailureThreshold();
+        this.slowCallThresholdNanos = TimeUnit.MILLISECONDS.toNanos(properties.getSlowCallThresholdMs());
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(properties.getOpenDurationMs());
+        this.halfOpenProbes = properties.getHalfOpenProbes();
+        this.acknowledgedAsynchronously = delegate instanceof AsyncSendJmsPublisher;
+        if (delegate instanceof AsyncSendJmsPublisher asyncSend) {
+            asyncSend.setAcknowledgementObserver(this::recordAcknowledgement);
+        }
+        metrics.gauge(METRIC_STATE, state::get);
+    }
+
+    @Override
+    public boolean publish(final String name, final String body) {
+        shortCircuited.remove();
+        final boolean probe = !permitCall();
+        if (probe && !acquireProbe()) {
+            return shortCircuit(List.of(new SerializedAuditEvent(name, body)));
+        }
+        final long started = System.nanoTime();
+        boolean published = false;
+        try {
+            published = delegate.publish(name, body);
+        } finally {
+            record(published, System.nanoTime() - started, probe);
+        }
+        return published;
+    }
+
+    @Override
+    public boolean publishUtf8(final String name, final byte[] body, final int length) {
+        shortCircuited.remove();
+        final boolean probe = !permitCall();
+        if (probe && !acquireProbe()) {
+            return shortCircuit(List.of(new SerializedAuditEvent(name, new String(body, 0, length, StandardCharsets.UTF_8))));
+        }
+        final long started = System.nanoTime();
+        boolean published = false;
+        try {
+            published = delegate.publishUtf8(name, body, length);
+        } finally {
+            record(published, System.nanoTime() - started, probe);
+        }
+        return published;
+    }
+
+    @Override
+    public boolean prefersUtf8() {
+        return delegate.prefersUtf8();
+    }
+
+    @Override
+    public boolean publishBatch(final List<SerializedAuditEvent> events) {
+        shortCircuited.remove();
+        final boolean probe = !permitCall();
+        if (probe && !acquireProbe()) {
+            return shortCircuit(events);
+        }
+        final long started = System.nanoTime();
+        boolean published = false;
+        try {
+            published = delegate.publishBatch(events);
+        } finally {
+            record(published, System.nanoTime() - started, probe);
+        }
+        return published;
+    }
+
+    @Override
+    public boolean wasShortCircuited() {
+        return shortCircuited.get() != null;
+    }
+
+    public State getState() {
+        return State.values()[state.get()];
+    }
+
+    public AuditEventPublisher getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable) {
+            ((AutoCloseable) delegate).close();
+        }
+    }
+
+    /**
+     * @return {@code true} when the breaker is closed and the call goes straight through
+     */
+    private boolean permitCall() {
+        return state.get() == State.CLOSED.ordinal();
+    }
+
+    private boolean acquireProbe() {
+        if (state.get() == State.OPEN.ordinal()) {
+            if (System.nanoTime() - openedAtNanos < openDurationNanos
+                    || !state.compareAndSet(State.OPEN.ordinal(), State.HALF_OPEN.ordinal())) {
+                return false;
+            }
+            LOGGER.info("Audit publish circuit breaker half-open; probing the broker");
+        }
+        while (true) {
+            final int inFlight = probesInFlight.get();
+            if (state.get() != State.HALF_OPEN.ordinal() || inFlight >= halfOpenProbes) {
+                return false;
+            }
+            if (probesInFlight.compareAndSet(inFlight, inFlight + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void record(final boolean published, final long elapsedNanos, final boolean probe) {
+        final boolean slow = elapsedNanos > slowCallThresholdNanos;
+        if (slow) {
+            metrics.increment(METRIC_SLOW_CALLS);
+        }
+        if (probe) {
+            probesInFlight.decrementAndGet();
+        }
+
+        if (published && !slow) {
+            if (!acknowledgedAsynchronously) {
+                consecutiveFailures.set(0);
+            }
+            if (probe && state.compareAndSet(State.HALF_OPEN.ordinal(), State.CLOSED.ordinal())) {
+                LOGGER.info("Audit publish circuit breaker closed");
+            }
+        } else if (probe) {
+            open(State.HALF_OPEN);
+        } else if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            open(State.CLOSED);
+        }
+    }
+
+    private void recordAcknowledgement(final boolean acknowledged) {
+        if (acknowledged) {
+            consecutiveFailures.set(0);
+        } else if (state.get() == State.HALF_OPEN.ordinal()) {
+            open(State.HALF_OPEN);
+        } else if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            open(State.CLOSED);
+        }
+    }
+
+    private void open(final State from) {
+        if (state.compareAndSet(from.ordinal(), State.OPEN.ordinal())) {
+            openedAtNanos = System.nanoTime();
+            consecutiveFailures.set(0);
+            metrics.increment(METRIC_OPENED);
+            LOGGER.warn("Audit publish circuit breaker opened; short-circuiting sends for {} ms",
+                    TimeUnit.NANOSECONDS.toMillis(openDurationNanos));
+        }
+    }
+
+    private boolean shortCircuit(final List<SerializedAuditEvent> events) {
+        metrics.increment(METRIC_SHORT_CIRCUITED);
+        shortCircuited.set(Boolean.TRUE);
+        if (divertOutbox != null && divertOutbox.isReplaying()) {
+            // The replayer backs off and retries, so its own sends must not be journalled again
+            return false;
+        }
+        if (divertOutbox == null) {
+            events.forEach(event -> metrics.increment(METRIC_DROPPED));
+            return false;
+        }
+        int diverted = 0;
+        for (final SerializedAuditEvent event : events) {
+            if (!divertOutbox.append(event.name(), event.body())) {
+                break;
+            }
+            metrics.increment(METRIC_DIVERTED);
+            diverted++;
+        }
+        if (diverted == events.size()) {
+            return true;
+        }
+        final int dropped = events.size() - diverted;
+        for (int i = 0; i < dropped; i++) {
+            metrics.increment(METRIC_DROPPED);
+        }
+        if (diverted == 0) {
+            return false;
+        }
+        // Retrying the batch would journal the diverted events twice, so the rest stay dropped instead
+        LOGGER.error("Dropped {} of {} audit message(s); the outbox is full", dropped, events.size());
+        return true;
+    }
+}
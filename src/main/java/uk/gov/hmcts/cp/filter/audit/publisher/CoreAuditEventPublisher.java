@@ -0,0 +1,315 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.CoreClientProperties;
+import uk.gov.hmcts.cp.filter.audit.metrics.AuditMetrics;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.api.core.ActiveMQExceptionType;
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ActiveMQClient;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.reader.TextMessageUtil;
+import org.apache.activemq.artemis.utils.UUIDGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link AuditEventPublisher} on the Artemis core client API, bypassing Spring JMS and the Artemis
+ * JMS wrapper.
+ * <p>
+ * Sends go through a fixed set of lanes, each owning a {@link ClientSession}, a producer bound to the
+ * audit address and a {@link ClientMessage} that is rewritten for every send rather than allocated.
+ * Messages are durable multicast text messages with the {@code CPPNAME} property, which is exactly what
+ * a JMS topic subscriber expects, so consumers are unaffected; with {@link WireFormat#BYTES} they are
+ * bytes messages holding UTF-8 JSON instead. Reuse is disabled when the locator has a
+ * confirmation window, because Artemis then keeps sent packets for resending after failover. Every
+ * send carries a fresh user ID, which JMS consumers see as the {@code JMSMessageID}.
+ */
+public class CoreAuditEventPublisher implements AuditEventPublisher, AutoCloseable {
+
+    public static final String METRIC_SENT = "audit.publisher.core.sent";
+    public static final String METRIC_FAILED = "audit.publisher.core.failed";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CoreAuditEventPublisher.class);
+    private static final SimpleString PROPERTY_NAME = SimpleString.toSimpleString(JmsAuditEventPublisher.PROPERTY_NAME);
+    private static final SimpleString PROPERTY_CONTENT_TYPE = SimpleString.toSimpleString(WireFormat.PROPERTY_CONTENT_TYPE);
+    private static final SimpleString CONTENT_TYPE_JSON_UTF8 = SimpleString.toSimpleString(WireFormat.CONTENT_TYPE_JSON_UTF8);
+    private static final int MAX_CACHED_NAMES = 256;
+    private static final byte DEFAULT_PRIORITY = 4;
+
+    private final ServerLocator serverLocator;
+    private final String user;
+    private final String password;
+    private final SimpleString address;
+    private final AuditMetrics metrics;
+    private final boolean reuseMessages;
+    private final WireFormat wireFormat;
+    private final CoreLane[] lanes;
+    private final Map<String, SimpleString> names = new ConcurrentHashMap<>();
+    private final ReentrantLock factoryLock = new ReentrantLock();
+
+    private ClientSessionFactory sessionFactory;
+
+    /**
+     * @param serverLocator locator for the broker, typically that of the audit connection factory
+     * @param user          broker user; may be {@code null}
+     * @param password      broker password; may be {@code null}
+     * @param topicName     the audit topic, used as the multicast address
+     * @param properties    lane settings
+     * @param wireFormat    text or UTF-8 bytes messages
+     * @param metrics       receives send counts
+     */
+    public CoreAuditEventPublisher(final ServerLocator serverLocator,
+                                   final String user,
+                                   final String password,
+                                   final String topicName,
+                                   final CoreClientProperties properties,
+                                   final WireFormat wireFormat,
+                                   final AuditMetrics metrics) {
+        this.serverLocator = serverLocator;
+        this.user = user;
+        this.password = password;
+        this.address = SimpleString.toSimpleString(topicName);
+        this.metrics = metrics;
+        this.reuseMessages = serverLocator.getConfirmationWindowSize() <= 0;
+        this.wireFormat = wireFormat;
+        this.lanes = new CoreLane[properties.getSessions()];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new CoreLane();
+        }
+    }
+
+    @Override
+    public boolean publish(final String name, final String body) {
+        final CoreLane lane = lanes[(int) (Thread.currentThread().threadId() % lanes.length)];
+        try {
+            if (wireFormat == WireFormat.BYTES) {
+                final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                lane.sendUtf8(name, bytes, bytes.length);
+            } else {
+                lane.send(List.of(new SerializedAuditEvent(name, body)), false);
+            }
+            metrics.increment(METRIC_SENT);
+            return true;
+        } catch (ActiveMQException | RuntimeException e) {
+            metrics.increment(METRIC_FAILED);
+            LOGGER.debug("Core send of audit message {} failed", name, e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean publishUtf8(final String name, final byte[] body, final int length) {
+        final CoreLane lane = lanes[(int) (Thread.currentThread().threadId() % lanes.length)];
+        try {
+            lane.sendUtf8(name, body, length);
+            metrics.increment(METRIC_SENT);
+            return true;
+        } catch (ActiveMQException | RuntimeException e) {
+            metrics.increment(METRIC_FAILED);
+            LOGGER.debug("Core send of audit message {} failed", name, e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean prefersUtf8() {
+        return wireFormat == WireFormat.BYTES;
+    }
+
+    @Override
+    public boolean publishBatch(final List<SerializedAuditEvent> events) {
+        if (events.isEmpty()) {
+            return true;
+        }
+        final CoreLane lane = lanes[(int) (Thread.currentThread().threadId() % lanes.length)];
+        try {
+            lane.send(events, true);
+            events.forEach(event -> metrics.increment(METRIC_SENT));
+            return true;
+        } catch (ActiveMQException | RuntimeException e) {
+            metrics.increment(METRIC_FAILED);
+            LOGGER.debug("Transacted core send of {} audit message(s) failed", events.size(), e);
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        for (final CoreLane lane : lanes) {
+            lane.close();
+        }
+        factoryLock.lock();
+        try {
+            if (sessionFactory != null) {
+                sessionFactory.close();
+            }
+        } finally {
+            factoryLock.unlock();
+        }
+    }
+
+    private ClientSession createSession(final boolean transacted) throws ActiveMQException {
+        factoryLock.lock();
+        try {
+            if (sessionFactory == null || sessionFactory.isClosed()) {
+                sessionFactory = serverLocator.createSessionFactory();
+            }
+            return sessionFactory.createSession(user, password, false, !transacted, true,
+                    false, ActiveMQClient.DEFAULT_ACK_BATCH_SIZE);
+        } catch (ActiveMQException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ActiveMQException(ActiveMQExceptionType.NOT_CONNECTED, e.getMessage(), e);
+        } finally {
+            factoryLock.unlock();
+        }
+    }
+
+    private SimpleString nameOf(final String name) {
+        final SimpleString cached = names.get(name);
+        if (cached != null) {
+            return cached;
+        }
+        final SimpleString value = SimpleString.toSimpleString(name);
+        if (names.size() < MAX_CACHED_NAMES) {
+            names.putIfAbsent(name, value);
+        }
+        return value;
+    }
+
+    /**
+     * A session and producer used by one thread at a time, plus a transacted pair for batches. Both
+     * are created lazily and discarded after a failure.
+     */
+    private final class CoreLane {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private ClientSession session;
+        private ClientProducer producer;
+        private ClientSession transactedSession;
+        private ClientProducer transactedProducer;
+        private ClientMessage message;
+
+        @SuppressWarnings("PMD.CloseResource") // owned by the lane until reset()
+        private void send(final List<SerializedAuditEvent> events, final boolean transacted) throws ActiveMQException {
+            lock.lock();
+            try {
+                final ClientProducer target = open(transacted);
+                final ClientSession owner = transacted ? transactedSession : session;
+                for (final SerializedAuditEvent event : events) {
+                    final ClientMessage next = prepare(owner, event.name());
+                    if (wireFormat == WireFormat.BYTES) {
+                        next.getBodyBuffer().writeBytes(event.body().getBytes(StandardCharsets.UTF_8));
+                    } else {
+                        TextMessageUtil.writeBodyText(next.getBodyBuffer(), SimpleString.toSimpleString(event.body()));
+                    }
+                    target.send(next);
+                }
+                if (transacted) {
+                    transactedSession.commit();
+                }
+            } catch (ActiveMQException | RuntimeException e) {
+                reset();
+                throw e;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private ClientProducer open(final boolean transacted) throws ActiveMQException {
+            if (transacted) {
+                if (transactedSession == null) {
+                    transactedSession = createSession(true);
+                    transactedProducer = transactedSession.createProducer(address);
+                }
+                return transactedProducer;
+            }
+            if (session == null) {
+                session = createSession(false);
+                producer = session.createProducer(address);
+            }
+            return producer;
+        }
+
+        @SuppressWarnings("PMD.CloseResource") // owned by the lane until reset()
+        private void sendUtf8(final String name, final byte[] body, final int length) throws ActiveMQException {
+            lock.lock();
+            try {
+                final ClientProducer target = open(false);
+                final ClientMessage next = prepare(session, name);
+                next.getBodyBuffer().writeBytes(body, 0, length);
+                target.send(next);
+            } catch (ActiveMQException | RuntimeException e) {
+                reset();
+                throw e;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Returns the lane's message, or a new one when reuse is off, with headers set and an empty body.
+         */
+        private ClientMessage prepare(final ClientSession owner, final String name) {
+            final long now = System.currentTimeMillis();
+            ClientMessage next = message;
+            if (next == null || !reuseMessages) {
+                final byte type = wireFormat == WireFormat.BYTES ? Message.BYTES_TYPE : Message.TEXT_TYPE;
+                next = owner.createMessage(type, true, 0, now, DEFAULT_PRIORITY);
+                next.setRoutingType(RoutingType.MULTICAST);
+                if (wireFormat == WireFormat.BYTES) {
+                    next.putStringProperty(PROPERTY_CONTENT_TYPE, CONTENT_TYPE_JSON_UTF8);
+                }
+                message = next;
+            }
+            next.setTimestamp(now);
+            next.setUserID(UUIDGenerator.getInstance().generateUUID());
+            next.putStringProperty(PROPERTY_NAME, nameOf(name));
+            next.getBodyBuffer().clear();
+            return next;
+        }
+
+        private void close() {
+            lock.lock();
+            try {
+                reset();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @SuppressWarnings("PMD.NullAssignment")
+        private void reset() {
+            closeQuietly(session);
+            closeQuietly(transactedSession);
+            session = null;
+            producer = null;
+            transactedSession = null;
+            transactedProducer = null;
+            message = null;
+        }
+
+        private void closeQuietly(final ClientSession toClose) {
+            if (toClose != null) {
+                try {
+                    toClose.close();
+                } catch (ActiveMQException e) {
+                    LOGGER.debug("Ignoring failure closing audit core session", e);
+                }
+            }
+        }
+    }
+}
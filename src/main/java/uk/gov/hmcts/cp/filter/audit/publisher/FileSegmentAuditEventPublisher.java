@@ -0,0 +1,242 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.FilePublisherProperties;
+import uk.gov.hmcts.cp.filter.audit.metrics.AuditMetrics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link AuditEventPublisher} that appends events to rolling newline-delimited JSON segment files.
+ * <p>
+ * Each line is {@code {"name":"<event name>","event":<event body>}}. Lines are encoded into a direct
+ * buffer and written to the current segment when the buffer fills, when {@code flush-interval-ms} has
+ * passed, or when the segment rolls, so the cost per event is a memory copy. A new segment is started
+ * once the current one reaches {@code segment-size-bytes}; with {@code max-segments} set, the oldest
+ * segments are deleted so that collectors have a bounded backlog to ship.
+ */
+public class FileSegmentAuditEventPublisher implements AuditEventPublisher, AutoCloseable {
+
+    public static final String METRIC_WRITTEN = "audit.publisher.file.written";
+    public static final String METRIC_FAILED = "audit.publisher.file.failed";
+    public static final String METRIC_ROLLED = "audit.publisher.file.rolled";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileSegmentAuditEventPublisher.class);
+    private static final String SEGMENT_PREFIX = "audit-events-";
+    private static final String SEGMENT_SUFFIX = ".ndjson";
+
+    private final Path directory;
+    private final long segmentSize;
+    private final int maxSegments;
+    private final long flushIntervalNanos;
+    private final AuditMetrics metrics;
+    private final ByteBuffer buffer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<Path> segments = new ArrayDeque<>();
+
+    private FileChannel channel;
+    private long segmentId;
+    private long segmentBytes;
+    private long lastFlushNanos;
+    private Thread flusher;
+    private volatile boolean running;
+
+    public FileSegmentAuditEventPublisher(final FilePublisherProperties properties, final AuditMetrics metrics) {
+        this.directory = Paths.get(properties.getDirectory());
+        this.segmentSize = properties.getSegmentSizeBytes();
+        this.maxSegments = properties.getMaxSegments();
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getFlushIntervalMs());
+        this.metrics = metrics;
+        this.buffer = ByteBuffer.allocateDirect(properties.getBufferSizeBytes());
+    }
+
+    /**
+     * Opens a new segment after any left by a previous run and starts the background flusher.
+     *
+     * @throws IOException when the directory cannot be created or the segment cannot be opened
+     */
+    public void open() throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(FileSegmentAuditEventPublisher::isSegmentFile)
+                    .sorted()
+                    .forEach(segments::addLast);
+        }
+        segmentId = segments.isEmpty() ? 0 : parseSegmentId(segments.peekLast());
+        openNextSegment();
+
+        running = true;
+        flusher = Thread.ofPlatform().name("audit-file-flusher").daemon().start(this::flushPeriodically);
+        LOGGER.info("Writing audit events to {} in segments of {} bytes", directory, segmentSize);
+    }
+
+    @Override
+    public boolean publish(final String name, final String body) {
+        final byte[] nameBytes = NdjsonLine.quoteName(name);
+        final byte[] bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+
+        lock.lock();
+        try {
+            writeLine(nameBytes, bodyBytes);
+            flushIfStale();
+            metrics.increment(METRIC_WRITTEN);
+            return true;
+        } catch (IOException e) {
+            metrics.increment(METRIC_FAILED);
+            LOGGER.error("Failed to write audit message {} to {}", name, directory, e);
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean publishBatch(final List<SerializedAuditEvent> events) {
+        lock.lock();
+        try {
+            for (final SerializedAuditEvent event : events) {
+                writeLine(NdjsonLine.quoteName(event.name()),
+                        event.body().getBytes(StandardCharsets.UTF_8));
+                metrics.increment(METRIC_WRITTEN);
+            }
+            flushIfStale();
+            return true;
+        } catch (IOException e) {
+            metrics.increment(METRIC_FAILED);
+            LOGGER.error("Failed to write batch of {} audit message(s) to {}", events.size(), directory, e);
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (flusher != null) {
+            LockSupport.unpark(flusher);
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        lock.lock();
+        try {
+            if (channel != null) {
+                flushBuffer();
+                channel.close();
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed to flush audit events to {} on shutdown", directory, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeLine(final byte[] nameBytes, final byte[] bodyBytes) throws IOException {
+        if (channel == null || !channel.isOpen()) {
+            throw new IOException("Audit event file publisher is not open");
+        }
+        final int lineLength = NdjsonLine.OVERHEAD + nameBytes.length + bodyBytes.length;
+        if (segmentBytes > 0 && segmentBytes + lineLength > segmentSize) {
+            roll();
+        }
+        write(NdjsonLine.NAME_PREFIX);
+        write(nameBytes);
+        write(NdjsonLine.EVENT_PREFIX);
+        write(bodyBytes);
+        write(NdjsonLine.LINE_SUFFIX);
+        segmentBytes += lineLength;
+    }
+
+    private void write(final byte[] bytes) throws IOException {
+        if (bytes.length > buffer.remaining()) {
+            flushBuffer();
+        }
+        if (bytes.length > buffer.capacity()) {
+            final ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+            while (wrapped.hasRemaining()) {
+                channel.write(wrapped);
+            }
+        } else {
+            buffer.put(bytes);
+        }
+    }
+
+    private void flushIfStale() throws IOException {
+        if (System.nanoTime() - lastFlushNanos >= flushIntervalNanos) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        lastFlushNanos = System.nanoTime();
+    }
+
+    private void roll() throws IOException {
+        flushBuffer();
+        channel.close();
+        openNextSegment();
+        metrics.increment(METRIC_ROLLED);
+        while (maxSegments > 0 && segments.size() > maxSegments) {
+            Files.deleteIfExists(segments.removeFirst());
+        }
+    }
+
+    private void openNextSegment() throws IOException {
+        segmentId++;
+        final Path segment = directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, segmentId, SEGMENT_SUFFIX));
+        channel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segments.addLast(segment);
+        segmentBytes = 0;
+    }
+
+    private void flushPeriodically() {
+        while (running) {
+            LockSupport.parkNanos(this, flushIntervalNanos);
+            if (lock.tryLock()) {
+                try {
+                    if (buffer.position() > 0) {
+                        flushBuffer();
+                    }
+                } catch (IOException e) {
+                    LOGGER.error("Failed to flush audit events to {}", directory, e);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    private static boolean isSegmentFile(final Path file) {
+        final String fileName = file.getFileName().toString();
+        return fileName.startsWith(SEGMENT_PREFIX) && fileName.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long parseSegmentId(final Path file) {
+        final String fileName = file.getFileName().toString();
+        return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,70 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+import uk.gov.hmcts.cp.filter.audit.metrics.AuditMetrics;
+import uk.gov.hmcts.cp.filter.audit.util.BoundedRingBuffer;
+
+import java.util.function.Consumer;
+
+/**
+ * {@link AuditEventPublisher} that keeps events in a bounded lock-free ring buffer in the same process.
+ * <p>
+ * Intended for tests and for measuring the cost of the audit pipeline without a transport. When the
+ * buffer is full the oldest event is evicted, so publishing never blocks or fails.
+ */
+public class InMemoryAuditEventPublisher implements AuditEventPublisher {
+
+    public static final String METRIC_PUBLISHED = "audit.publisher.memory.published";
+    public static final String METRIC_EVICTED = "audit.publisher.memory.evicted";
+    public static final String METRIC_SIZE = "audit.publisher.memory.size";
+
+    private final BoundedRingBuffer<SerializedAuditEvent> events;
+    private final AuditMetrics metrics;
+
+    public InMemoryAuditEventPublisher(final int capacity, final AuditMetrics metrics) {
+        this.events = new BoundedRingBuffer<>(capacity);
+        this.metrics = metrics;
+        metrics.gauge(METRIC_SIZE, events::size);
+    }
+
+    @Override
+    public boolean publish(final String name, final String body) {
+        final SerializedAuditEvent event = new SerializedAuditEvent(name, body);
+        while (!events.offer(event)) {
+            if (events.poll() != null) {
+                metrics.increment(METRIC_EVICTED);
+            }
+        }
+        metrics.increment(METRIC_PUBLISHED);
+        return true;
+    }
+
+    /**
+     * Removes the oldest event.
+     *
+     * @return the oldest event, or {@code null} when there is none
+     */
+    public SerializedAuditEvent poll() {
+        return events.poll();
+    }
+
+    /**
+     * Removes every buffered event, oldest first.
+     *
+     * @param consumer receives the events
+     * @return the number of events drained
+     */
+    public int drainTo(final Consumer<SerializedAuditEvent> consumer) {
+        int drained = 0;
+        SerializedAuditEvent event = events.poll();
+        while (event != null) {
+            consumer.accept(event);
+            drained++;
+            event = events.poll();
+        }
+        return drained;
+    }
+
+    public int size() {
+        return events.size();
+    }
+}
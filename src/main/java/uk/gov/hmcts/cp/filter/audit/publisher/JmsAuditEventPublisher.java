@@ -0,0 +1,131 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import jakarta.jms.BytesMessage;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.Destination;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import org.apache.activemq.artemis.jms.client.ActiveMQTopic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jms.core.JmsTemplate;
+
+/**
+ * Publishes audit events to an Artemis topic with the audit event name in the {@code CPPNAME}
+ * property. Batches are sent in one transacted session, so the broker performs one durable write and
+ * acknowledgement for the whole batch. With {@link WireFormat#BYTES} events are sent as UTF-8
+ * {@code BytesMessage}s instead of {@code TextMessage}s.
+ */
+public class JmsAuditEventPublisher implements AuditEventPublisher {
+
+    public static final String DEFAULT_TOPIC = "jms.topic.auditing.event";
+    public static final String PROPERTY_NAME = "CPPNAME";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JmsAuditEventPublisher.class);
+
+    private final JmsTemplate jmsTemplate;
+    private final Destination auditTopic;
+    private final WireFormat wireFormat;
+
+    public JmsAuditEventPublisher(final JmsTemplate jmsTemplate) {
+        this(jmsTemplate, DEFAULT_TOPIC);
+    }
+
+    public JmsAuditEventPublisher(final JmsTemplate jmsTemplate, final String topicName) {
+        this(jmsTemplate, topicName, WireFormat.TEXT);
+    }
+
+    public JmsAuditEventPublisher(final JmsTemplate jmsTemplate, final String topicName, final WireFormat wireFormat) {
+        this.jmsTemplate = jmsTemplate;
+        this.auditTopic = new ActiveMQTopic(topicName);
+        this.wireFormat = wireFormat;
+    }
+
+    /**
+     * Creates a message for one event in the given wire format.
+     */
+    public static Message createMessage(final Session session, final WireFormat wireFormat,
+                                        final String name, final String body) throws JMSException {
+        if (wireFormat == WireFormat.BYTES) {
+            final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            return createBytesMessage(session, name, bytes, bytes.length);
+        }
+        final Message message = session.createTextMessage(body);
+        message.setStringProperty(PROPERTY_NAME, name);
+        return message;
+    }
+
+    /**
+     * Creates a {@code BytesMessage} for one UTF-8 encoded event.
+     */
+    public static BytesMessage createBytesMessage(final Session session, final String name,
+                                                  final byte[] body, final int length) throws JMSException {
+        final BytesMessage message = session.createBytesMessage();
+        message.writeBytes(body, 0, length);
+        message.setStringProperty(PROPERTY_NAME, name);
+        message.setStringProperty(WireFormat.PROPERTY_CONTENT_TYPE, WireFormat.CONTENT_TYPE_JSON_UTF8);
+        return message;
+    }
+
+    @Override
+    public boolean publish(final String name, final String body) {
+        if (wireFormat == WireFormat.BYTES) {
+            final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            return publishUtf8(name, bytes, bytes.length);
+        }
+        try {
+            jmsTemplate.convertAndSend(auditTopic, body, message -> {
+                message.setStringProperty(PROPERTY_NAME, name);
+                return message;
+            });
+            return true;
+        } catch (Exception e) {
+            LOGGER.debug("JMS send of audit message {} failed", name, e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean publishUtf8(final String name, final byte[] body, final int length) {
+        try {
+            jmsTemplate.send(auditTopic, session -> createBytesMessage(session, name, body, length));
+            return true;
+        } catch (Exception e) {
+            LOGGER.debug("JMS send of audit message {} failed", name, e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean prefersUtf8() {
+        return wireFormat == WireFormat.BYTES;
+    }
+
+    @Override
+    public boolean publishBatch(final List<SerializedAuditEvent> events) {
+        if (events.isEmpty()) {
+            return true;
+        }
+
+        final ConnectionFactory connectionFactory = jmsTemplate.getConnectionFactory();
+        try (Connection connection = connectionFactory.createConnection();
+             Session session = connection.createSession(true, Session.SESSION_TRANSACTED);
+             MessageProducer producer = session.createProducer(auditTopic)) {
+            producer.setDeliveryMode(jmsTemplate.getDeliveryMode());
+            for (final SerializedAuditEvent event : events) {
+                producer.send(createMessage(session, wireFormat, event.name(), event.body()));
+            }
+            session.commit();
+            return true;
+        } catch (Exception e) {
+            LOGGER.debug("Transacted JMS send of {} audit message(s) failed", events.size(), e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * {@link BlobStore} that writes blobs as files below a root directory. Each blob is written to a
+ * temporary file and moved into place, so readers never see a partial blob.
+ */
+public class LocalFileSystemBlobStore implements BlobStore {
+
+    private final Path root;
+
+    public LocalFileSystemBlobStore(final String root) {
+        this.root = Paths.get(root);
+    }
+
+    @Override
+    public void upload(final String blobName, final byte[] content) throws IOException {
+        final Path target = root.resolve(blobName).normalize();
+        if (!target.startsWith(root.normalize())) {
+            throw new IOException("Blob name " + blobName + " resolves outside " + root);
+        }
+        Files.createDirectories(target.getParent());
+        final Path temporary = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            Files.write(temporary, content);
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+/**
+ * Line format shared by the file and blob publishers: {@code {"name":"<event name>","event":<event body>}}
+ * followed by a newline. The body is already compact JSON and is embedded as-is.
+ */
+final class NdjsonLine {
+
+    /* default */ static final byte[] NAME_PREFIX = "{\"name\":\"".getBytes(StandardCharsets.UTF_8);
+    /* default */ static final byte[] EVENT_PREFIX = "\",\"event\":".getBytes(StandardCharsets.UTF_8);
+    /* default */ static final byte[] LINE_SUFFIX = "}\n".getBytes(StandardCharsets.UTF_8);
+    /* default */ static final int OVERHEAD = NAME_PREFIX.length + EVENT_PREFIX.length + LINE_SUFFIX.length;
+
+    private NdjsonLine() {
+    }
+
+    /* default */ static byte[] quoteName(final String name) {
+        return JsonStringEncoder.getInstance().quoteAsUTF8(name == null ? "" : name);
+    }
+
+    /* default */ static byte[] encode(final String name, final String body) {
+        final byte[] nameBytes = quoteName(name);
+        final byte[] bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+        final byte[] line = new byte[OVERHEAD + nameBytes.length + bodyBytes.length];
+        int position = 0;
+        position = copy(NAME_PREFIX, line, position);
+        position = copy(nameBytes, line, position);
+        position = copy(EVENT_PREFIX, line, position);
+        position = copy(bodyBytes, line, position);
+        copy(LINE_SUFFIX, line, position);
+        return line;
+    }
+
+    private static int copy(final byte[] source, final byte[] target, final int position) {
+        System.arraycopy(source, 0, target, position, source.length);
+        return position + source.length;
+    }
+}
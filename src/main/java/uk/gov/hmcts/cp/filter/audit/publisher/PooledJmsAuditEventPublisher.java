@@ -0,0 +1,84 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+import java.util.List;
+
+import jakarta.jms.Destination;
+import jakarta.jms.JMSException;
+import org.apache.activemq.artemis.jms.client.ActiveMQTopic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link AuditEventPublisher} that sends to the audit topic through a {@link StripedJmsSessionPool}
+ * instead of the {@code JmsTemplate}, so concurrent request threads reuse long-lived sessions spread
+ * over several connections. Batches are committed in the stripe's transacted session.
+ */
+public class PooledJmsAuditEventPublisher implements AuditEventPublisher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PooledJmsAuditEventPublisher.class);
+
+    private final StripedJmsSessionPool pool;
+    private final Destination auditTopic;
+    private final WireFormat wireFormat;
+
+    public PooledJmsAuditEventPublisher(final StripedJmsSessionPool pool, final String topicName) {
+        this(pool, topicName, WireFormat.TEXT);
+    }
+
+    public PooledJmsAuditEventPublisher(final StripedJmsSessionPool pool, final String topicName, final WireFormat wireFormat) {
+        this.pool = pool;
+        this.auditTopic = new ActiveMQTopic(topicName);
+        this.wireFormat = wireFormat;
+    }
+
+    @Override
+    public boolean publish(final String name, final String body) {
+        try {
+            return pool.execute((session, producer) -> {
+                producer.send(auditTopic, JmsAuditEventPublisher.createMessage(session, wireFormat, name, body));
+                return true;
+            });
+        } catch (JMSException | RuntimeException e) {
+            LOGGER.debug("Pooled JMS send of audit message {} failed", name, e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean publishUtf8(final String name, final byte[] body, final int length) {
+        try {
+            return pool.execute((session, producer) -> {
+                producer.send(auditTopic, JmsAuditEventPublisher.createBytesMessage(session, name, body, length));
+                return true;
+            });
+        } catch (JMSException | RuntimeException e) {
+            LOGGER.debug("Pooled JMS send of audit message {} failed", name, e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean prefersUtf8() {
+        return wireFormat == WireFormat.BYTES;
+    }
+
+    @Override
+    public boolean publishBatch(final List<SerializedAuditEvent> events) {
+        if (events.isEmpty()) {
+            return true;
+        }
+        try {
+            return pool.executeTransacted((session, producer) -> {
+                for (final SerializedAuditEvent event : events) {
+                    producer.send(auditTopic,
+                            JmsAuditEventPublisher.createMessage(session, wireFormat, event.name(), event.body()));
+                }
+                session.commit();
+                return true;
+            });
+        } catch (JMSException | RuntimeException e) {
+            LOGGER.debug("Pooled transacted JMS send of {} audit message(s) failed", events.size(), e);
+            return false;
+        }
+    }
+}
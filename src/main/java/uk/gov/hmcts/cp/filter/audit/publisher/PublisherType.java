@@ -0,0 +1,15 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+/**
+ * Audit event transports selectable with {@code cp.audit.publisher.type}.
+ */
+public enum PublisherType {
+    /** Artemis topic through the audit {@code JmsTemplate} (default). */
+    JMS,
+    /** Rolling newline-delimited JSON segment files on local disk. */
+    FILE,
+    /** Compressed segments uploaded to a {@link BlobStore}. */
+    BLOB,
+    /** Bounded in-process buffer, for tests and transport benchmarks. */
+    MEMORY
+}
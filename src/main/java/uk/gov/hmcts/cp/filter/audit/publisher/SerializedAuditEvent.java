@@ -0,0 +1,10 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+/**
+ * An audit event as handed to an {@link AuditEventPublisher}.
+ *
+ * @param name the audit event name
+ * @param body the event serialized as compact JSON
+ */
+public record SerializedAuditEvent(String name, String body) {
+}
@@ -0,0 +1,303 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.PoolProperties;
+import uk.gov.hmcts.cp.filter.audit.metrics.AuditMetrics;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.JMSException;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of long-lived JMS sessions and producers striped across several physical connections.
+ * <p>
+ * Each stripe owns one session and one anonymous producer and is guarded by its own lock. A caller
+ * starts at the stripe picked by its thread id, so a thread normally keeps reusing the same session,
+ * and probes the following stripes with {@code tryLock} when that one is busy; there is no pool-wide
+ * lock. Stripes are spread round-robin over {@code connections} connections so sends are not all
+ * multiplexed over one channel. Sessions and connections are created lazily and recreated after a
+ * {@link JMSException}.
+ */
+public class StripedJmsSessionPool implements AutoCloseable {
+
+    public static final String METRIC_STRIPES = "audit.jms.pool.stripes";
+    public static final String METRIC_BUSY = "audit.jms.pool.busy";
+    public static final String METRIC_CONNECTIONS = "audit.jms.pool.connections.open";
+    public static final String METRIC_CONTENDED = "audit.jms.pool.contended";
+    public static final String METRIC_WAITED = "audit.jms.pool.waited";
+    public static final String METRIC_RECONNECTED = "audit.jms.pool.reconnected";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StripedJmsSessionPool.class);
+    private static final long FIRST_GENERATION = 1;
+
+    private final ConnectionFactory connectionFactory;
+    private final AuditMetrics metrics;
+    private final PooledConnection[] connections;
+    private final Stripe[] stripes;
+
+    public StripedJmsSessionPool(final ConnectionFactory connectionFactory,
+                                 final PoolProperties properties,
+                                 final AuditMetrics metrics) {
+        this.connectionFactory = connectionFactory;
+        this.metrics = metrics;
+        this.connections = new PooledConnection[properties.getConnections()];
+        for (int i = 0; i < connections.length; i++) {
+            connections[i] = new PooledConnection();
+        }
+        this.stripes = new Stripe[properties.getConnections() * properties.getSessionsPerConnection()];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe(connections[i % connections.length]);
+        }
+        metrics.gauge(METRIC_STRIPES, () -> stripes.length);
+        metrics.gauge(METRIC_BUSY, this::getBusyCount);
+        metrics.gauge(METRIC_CONNECTIONS, this::getOpenConnectionCount);
+    }
+
+    /**
+     * Runs {@code callback} with a non-transacted session and a persistent anonymous producer.
+     */
+    public <T> T execute(final SessionCallback<T> callback) throws JMSException {
+        return checkoutAndRun(callback, false);
+    }
+
+    /**
+     * Runs {@code callback} with a transacted session; the callback commits. The session is rolled back
+     * if the callback fails.
+     */
+    public <T> T executeTransacted(final SessionCallback<T> callback) throws JMSException {
+        return checkoutAndRun(callback, true);
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    public int getBusyCount() {
+        int busy = 0;
+        for (final Stripe stripe : stripes) {
+            if (stripe.lock.isLocked()) {
+                busy++;
+            }
+        }
+        return busy;
+    }
+
+    public int getOpenConnectionCount() {
+        int open = 0;
+        for (final PooledConnection connection : connections) {
+            if (connection.isOpen()) {
+                open++;
+            }
+        }
+        return open;
+    }
+
+    @Override
+    public void close() {
+        for (final Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.closeSessions();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        for (final PooledConnection connection : connections) {
+            connection.close();
+        }
+    }
+
+    private <T> T checkoutAndRun(final SessionCallback<T> callback, final boolean transacted) throws JMSException {
+        final Stripe stripe = checkout();
+        try {
+            return stripe.run(callback, transacted);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private Stripe checkout() {
+        final int home = (int) (Thread.currentThread().threadId() % stripes.length);
+        for (int probe = 0; probe < stripes.length; probe++) {
+            final Stripe stripe = stripes[(home + probe) % stripes.length];
+            if (stripe.lock.tryLock()) {
+                if (probe > 0) {
+                    metrics.increment(METRIC_CONTENDED);
+                }
+                return stripe;
+            }
+        }
+        metrics.increment(METRIC_WAITED);
+        final Stripe stripe = stripes[home];
+        stripe.lock.lock();
+        return stripe;
+    }
+
+    /**
+     * Work done with a checked-out session.
+     *
+     * @param <T> result type
+     */
+    @FunctionalInterface
+    public interface SessionCallback<T> {
+        T doInJms(Session session, MessageProducer producer) throws JMSException;
+    }
+
+    /**
+     * One physical connection shared by several stripes. The generation changes whenever the
+     * connection is replaced, which tells stripes that their sessions are stale.
+     */
+    private final class PooledConnection {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private Connection connection;
+        private volatile long generation;
+
+        private Connection acquire() throws JMSException {
+            lock.lock();
+            try {
+                if (connection == null) {
+                    connection = connectionFactory.createConnection();
+                    generation++;
+                    if (generation > FIRST_GENERATION) {
+                        metrics.increment(METRIC_RECONNECTED);
+                    }
+                }
+                return connection;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private long getGeneration() {
+            return generation;
+        }
+
+        private boolean isOpen() {
+            return connection != null;
+        }
+
+        private void invalidate(final long failedGeneration) {
+            lock.lock();
+            try {
+                if (failedGeneration == generation) {
+                    closeConnection();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void close() {
+            lock.lock();
+            try {
+                closeConnection();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @SuppressWarnings("PMD.NullAssignment")
+        private void closeConnection() {
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (JMSException e) {
+                    LOGGER.debug("Ignoring failure closing pooled audit JMS connection", e);
+                }
+                connection = null;
+            }
+        }
+    }
+
+    /**
+     * A session and producer pair (plus a transacted pair for batches), used by one thread at a time.
+     */
+    private final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final PooledConnection connection;
+        private long sessionGeneration;
+        private Session session;
+        private MessageProducer producer;
+        private Session transactedSession;
+        private MessageProducer transactedProducer;
+
+        private Stripe(final PooledConnection connection) {
+            this.connection = connection;
+        }
+
+        private <T> T run(final SessionCallback<T> callback, final boolean transacted) throws JMSException {
+            try {
+                openSessions(transacted);
+                return transacted
+                        ? callback.doInJms(transactedSession, transactedProducer)
+                        : callback.doInJms(session, producer);
+            } catch (JMSException | RuntimeException e) {
+                if (transacted) {
+                    rollbackQuietly();
+                }
+                closeSessions();
+                connection.invalidate(sessionGeneration);
+                throw e;
+            }
+        }
+
+        @SuppressWarnings("PMD.CloseResource") // owned by the stripe until closeSessions()
+        private void openSessions(final boolean transacted) throws JMSException {
+            if (sessionGeneration != connection.getGeneration()) {
+                closeSessions();
+            }
+            if (transacted ? transactedSession == null : session == null) {
+                final Connection physical = connection.acquire();
+                sessionGeneration = connection.getGeneration();
+                final Session created = physical.createSession(transacted, transacted ? Session.SESSION_TRANSACTED : Session.AUTO_ACKNOWLEDGE);
+                final MessageProducer createdProducer = created.createProducer(null);
+                createdProducer.setDeliveryMode(DeliveryMode.PERSISTENT);
+                if (transacted) {
+                    transactedSession = created;
+                    transactedProducer = createdProducer;
+                } else {
+                    session = created;
+                    producer = createdProducer;
+                }
+            }
+        }
+
+        private void rollbackQuietly() {
+            try {
+                if (transactedSession != null) {
+                    transactedSession.rollback();
+                }
+            } catch (JMSException e) {
+                LOGGER.debug("Ignoring failure rolling back pooled audit JMS session", e);
+            }
+        }
+
+        @SuppressWarnings("PMD.NullAssignment")
+        private void closeSessions() {
+            closeQuietly(session);
+            closeQuietly(transactedSession);
+            session = null;
+            producer = null;
+            transactedSession = null;
+            transactedProducer = null;
+        }
+
+        private void closeQuietly(final Session toClose) {
+            if (toClose != null) {
+                try {
+                    toClose.close();
+                } catch (JMSException e) {
+                    LOGGER.debug("Ignoring failure closing pooled audit JMS session", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+/**
+ * How JMS transports encode the audit event body, selected with {@code cp.audit.publisher.wire-format}.
+ */
+public enum WireFormat {
+
+    /**
+     * {@code TextMessage}; Artemis stores the body as a UTF-16 string.
+     */
+    TEXT,
+
+    /**
+     * {@code BytesMessage} holding UTF-8 JSON, tagged with {@link #PROPERTY_CONTENT_TYPE}. Roughly halves
+     * what the broker journals and transfers for ASCII-heavy audit payloads.
+     */
+    BYTES;
+
+    public static final String PROPERTY_CONTENT_TYPE = "CPPCONTENTTYPE";
+    public static final String CONTENT_TYPE_JSON_UTF8 = "application/json; charset=utf-8";
+}
@@ -0,0 +1,45 @@
+package uk.gov.hmcts.cp.filter.audit.service;
+
+/**
+ * Chooses how many queued audit events a sender thread commits per JMS transaction.
+ * <p>
+ * The size halves whenever a commit takes longer than the target latency and doubles while the
+ * queue holds more events than the current batch size, always staying within the configured bounds.
+ * Instances are not thread-safe; each sender thread owns one.
+ */
+public final class AdaptiveBatchSizer {
+
+    private final int minSize;
+    private final int maxSize;
+    private final long targetCommitNanos;
+
+    private int currentSize;
+
+    public AdaptiveBatchSizer(final int minSize, final int maxSize, final long targetCommitNanos) {
+        if (minSize <= 0 || maxSize < minSize) {
+            throw new IllegalArgumentException("Batch size bounds must satisfy 0 < min <= max");
+        }
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.targetCommitNanos = targetCommitNanos;
+        this.currentSize = minSize;
+    }
+
+    public int getCurrentSize() {
+        return currentSize;
+    }
+
+    /**
+     * Feeds back the outcome of a commit.
+     *
+     * @param commitNanos how long the send and commit took
+     * @param queueDepth  how many events were still queued afterwards
+     */
+    public void record(final long commitNanos, final int queueDepth) {
+        if (commitNanos > targetCommitNanos) {
+            currentSize = Math.max(minSize, currentSize / 2);
+        } else if (queueDepth > currentSize) {
+            currentSize = (int) Math.min(maxSize, currentSize * 2L);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package uk.gov.hmcts.cp.filter.audit.service;
+
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.AsyncProperties;
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.BatchProperties;
+import uk.gov.hmcts.cp.filter.audit.metrics.AuditMetrics;
+import uk.gov.hmcts.cp.filter.audit.model.AuditEvent;
+import uk.gov.hmcts.cp.filter.audit.outbox.AuditOutbox;
+import uk.gov.hmcts.cp.filter.audit.publisher.AuditEventPublisher;
+import uk.gov.hmcts.cp.filter.audit.util.BoundedRingBuffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link AuditService} that takes broker I/O off the request thread.
+ * <p>
+ * Audit events are placed on a bounded lock-free ring buffer and published by dedicated sender
+ * threads. When the buffer is full the configured {@link OverflowPolicy} decides whether the caller
+ * waits, an event is dropped, or the event is spilled.
+ * <p>
+ * With {@code cp.audit.async.batch.enabled=true} each sender thread commits whatever has queued up
+ * (bounded by an {@link AdaptiveBatchSizer} and {@code max-wait-ms}) in one publisher batch, which is
+ * a single transacted session for the JMS transport.
+ */
+public class AsyncAuditService extends AuditService implements AutoCloseable {
+
+    public static final String METRIC_ENQUEUED = "audit.publish.async.enqueued";
+    public static final String METRIC_DROPPED = "audit.publish.async.dropped";
+    public static final String METRIC_SPILLED = "audit.publish.async.spilled";
+    public static final String METRIC_QUEUE_DEPTH = "audit.publish.async.queue.depth";
+    public static final String METRIC_BATCH_COMMITTED = "audit.publish.batch.committed";
+    public static final String METRIC_BATCH_FAILED = "audit.publish.batch.failed";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncAuditService.class);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long BATCH_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final BoundedRingBuffer<AuditEvent> ringBuffer;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final long shutdownTimeoutMs;
+    private final AuditMetrics metrics;
+    private final BatchProperties batchProperties;
+    private final long batchWaitNanos;
+    private final List<Thread> senders;
+    private final AuditOutbox spillOutbox;
+    private final AtomicInteger idleSenders = new AtomicInteger();
+
+    private volatile boolean running;
+
+    public AsyncAuditService(final AuditEventPublisher publisher,
+                             final ObjectMapper objectMapper,
+                             final AsyncProperties properties,
+                             final AuditMetrics metrics) {
+        this(publisher, objectMapper, properties, metrics, null);
+    }
+
+    /**
+     * Creates a service that spills overflowing events to a local outbox instead of publishing them
+     * on the caller's thread.
+     */
+    public AsyncAuditService(final AuditEventPublisher publisher,
+                             final ObjectMapper objectMapper,
+                             final AsyncProperties properties,
+                             final AuditMetrics metrics,
+                             final AuditOutbox spillOutbox) {
+        super(publisher, objectMapper);
+        this.spillOutbox = spillOutbox;
+        this.ringBuffer = new BoundedRingBuffer<>(properties.getQueueCapacity());
+        this.overflowPolicy = properties.getOverflowPolicy();
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(properties.getBlockTimeoutMs());
+        this.shutdownTimeoutMs = properties.getShutdownTimeoutMs();
+        this.metrics = metrics;
+        this.batchProperties = properties.getBatch();
+        this.batchWaitNanos = TimeUnit.MILLISECONDS.toNanos(batchProperties.getMaxWaitMs());
+        this.senders = new ArrayList<>(properties.getSenderThreads());
+        final ThreadFactory threadFactory = Thread.ofPlatform().name("audit-sender-", 0).daemon().factory();
+        for (int i = 0; i < properties.getSenderThreads(); i++) {
+            senders.add(threadFactory.newThread(this::drain));
+        }
+        metrics.gauge(METRIC_QUEUE_DEPTH, ringBuffer::size);
+    }
+
+    /**
+     * Starts the sender threads. Until this is called (and after {@link #close()}) events are
+     * published synchronously on the caller's thread.
+     */
+    public void start() {
+        running = true;
+        senders.forEach(Thread::start);
+        LOGGER.info("Started {} audit sender thread(s) with queue capacity {}, overflow policy {} and batching {}",
+                senders.size(), ringBuffer.capacity(), overflowPolicy, batchProperties.isEnabled() ? "enabled" : "disabled");
+    }
+
+    @Override
+    public void postEvent(final AuditEvent auditPayload) {
+        if (null == auditPayload) {
+            LOGGER.warn("AuditPayload is null");
+            return;
+        }
+
+        if (!running) {
+            super.postEvent(auditPayload);
+            return;
+        }
+
+        if (ringBuffer.offer(auditPayload) || offerOnOverflow(auditPayload)) {
+            metrics.increment(METRIC_ENQUEUED);
+            wakeIdleSender();
+        }
+    }
+
+    public int getQueueDepth() {
+        return ringBuffer.size();
+    }
+
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        senders.forEach(LockSupport::unpark);
+
+        final long deadline = System.currentTimeMillis() + shutdownTimeoutMs;
+        for (final Thread sender : senders) {
+            try {
+                sender.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        final int undelivered = ringBuffer.size();
+        if (undelivered > 0) {
+            LOGGER.warn("Audit sender shut down with {} undelivered audit message(s)", undelivered);
+        }
+    }
+
+    /**
+     * Called for events that could not be queued under {@link OverflowPolicy#SPILL}. Journals the
+     * event to the spill outbox when one is configured, otherwise publishes it on the caller's thread
+     * so it is not lost.
+     *
+     * @param auditPayload the event that did not fit on the queue
+     */
+    protected void spill(final AuditEvent auditPayload) {
+        if (spillOutbox != null && auditPayload._metadata() != null) {
+            try {
+                if (spillOutbox.append(auditPayload._metadata().name(), toJson(auditPayload))) {
+                    return;
+                }
+            } catch (JsonProcessingException e) {
+                LOGGER.error("Failed to serialize audit message with ID {}", auditPayload._metadata().id());
+                return;
+            }
+        }
+        super.postEvent(auditPayload);
+    }
+
+    private boolean offerOnOverflow(final AuditEvent auditPayload) {
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                final long deadline = System.nanoTime() + blockTimeoutNanos;
+                while (System.nanoTime() - deadline < 0) {
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                    if (ringBuffer.offer(auditPayload)) {
+                        return true;
+                    }
+                }
+                drop(auditPayload);
+                return false;
+            }
+            case DROP_OLDEST -> {
+                while (!ringBuffer.offer(auditPayload)) {
+                    final AuditEvent evicted = ringBuffer.poll();
+                    if (evicted != null) {
+                        drop(evicted);
+                    }
+                }
+                return true;
+            }
+            case SPILL -> {
+                metrics.increment(METRIC_SPILLED);
+                spill(auditPayload);
+                return false;
+            }
+            default -> {
+                drop(auditPayload);
+                return false;
+            }
+        }
+    }
+
+    private void drop(final AuditEvent auditPayload) {
+        metrics.increment(METRIC_DROPPED);
+        if (auditPayload._metadata() != null) {
+            LOGGER.warn("Audit queue full; dropped audit message with ID {}", auditPayload._metadata().id());
+        } else {
+            LOGGER.warn("Audit queue full; dropped audit message");
+        }
+    }
+
+    private void wakeIdleSender() {
+        if (idleSenders.get() > 0) {
+            senders.forEach(LockSupport::unpark);
+        }
+    }
+
+    private void drain() {
+        final AdaptiveBatchSizer batchSizer = batchProperties.isEnabled()
+                ? new AdaptiveBatchSizer(batchProperties.getMinSize(), batchProperties.getMaxSize(),
+                TimeUnit.MILLISECONDS.toNanos(batchProperties.getTargetCommitLatencyMs()))
+                : null;
+        final List<AuditEvent> batch = new ArrayList<>();
+
+        while (true) {
+            final AuditEvent auditPayload = ringBuffer.poll();
+            if (auditPayload == null) {
+                if (!running) {
+                    return;
+                }
+                idle();
+            } else if (batchSizer == null) {
+                super.postEvent(auditPayload);
+            } else {
+                batch.add(auditPayload);
+                collectBatch(batch, batchSizer.getCurrentSize());
+                final long started = System.nanoTime();
+                publishBatch(batch);
+                batchSizer.record(System.nanoTime() - started, ringBuffer.size());
+                batch.clear();
+            }
+        }
+    }
+
+    private void idle() {
+        idleSenders.incrementAndGet();
+        if (ringBuffer.isEmpty()) {
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+        idleSenders.decrementAndGet();
+    }
+
+    private void collectBatch(final List<AuditEvent> batch, final int batchSize) {
+        final long deadline = System.nanoTime() + batchWaitNanos;
+        while (batch.size() < batchSize) {
+            final AuditEvent next = ringBuffer.poll();
+            if (next != null) {
+                batch.add(next);
+            } else if (running && System.nanoTime() - deadline < 0) {
+                LockSupport.parkNanos(BATCH_PARK_NANOS);
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void publishBatch(final List<AuditEvent> batch) {
+        if (postMessagesToArtemis(batch)) {
+            metrics.increment(METRIC_BATCH_COMMITTED);
+            return;
+        }
+        if (wasShortCircuited()) {
+            // Nothing reached the broker; the publisher has already diverted or dropped and counted
+            // the events, and sending them one by one would only be refused again
+            return;
+        }
+        // The transaction was rolled back, so nothing was delivered; retry one by one so a single
+        // bad event does not cost the whole batch.
+        metrics.increment(METRIC_BATCH_FAILED);
+        batch.forEach(super::postEvent);
+    }
+}
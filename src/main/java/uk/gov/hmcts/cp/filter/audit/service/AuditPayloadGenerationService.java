@@ -1,119 +1,206 @@
 package uk.gov.hmcts.cp.filter.audit.service;
 
-import static java.util.UUID.randomUUID;
-import static org.apache.commons.collections.MapUtils.isEmpty;
-import static org.apache.commons.collections.MapUtils.isNotEmpty;
-
+import uk.gov.hmcts.cp.filter.audit.model.AuditContent;
+import uk.gov.hmcts.cp.filter.audit.model.AuditContent.BodyFormat;
+import uk.gov.hmcts.cp.filter.audit.model.AuditEvent;
 import uk.gov.hmcts.cp.filter.audit.model.AuditPayload;
+import uk.gov.hmcts.cp.filter.audit.model.HeaderSnapshot;
 import uk.gov.hmcts.cp.filter.audit.model.Metadata;
+import uk.gov.hmcts.cp.filter.audit.model.MultipartInfo;
+import uk.gov.hmcts.cp.filter.audit.model.PayloadInfo;
 import uk.gov.hmcts.cp.filter.audit.model.RequestInfo;
 import uk.gov.hmcts.cp.filter.audit.model.ResponseInfo;
-
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
-import java.time.temporal.ChronoUnit;
+import uk.gov.hmcts.cp.filter.audit.model.StreamingAuditEvent;
+import uk.gov.hmcts.cp.filter.audit.policy.BodyCategory;
+import uk.gov.hmcts.cp.filter.audit.policy.HeaderCapturePolicy;
+import uk.gov.hmcts.cp.filter.audit.util.AuditClock;
+import uk.gov.hmcts.cp.filter.audit.util.Charsets;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.Map;
 import java.util.Optional;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.RequiredArgsConstructor;
-import org.apache.commons.lang3.StringUtils;
 
 @RequiredArgsConstructor
 public class AuditPayloadGenerationService {
 
-    private static final String ATTRIBUTE_PAYLOAD_KEY = "_payload";
-    private static final String ATTRIBUTE_METADATA_KEY = "_metadata";
-    private static final String HEADER_USER_ID = "CJSCPPUID";
-    private static final String HEADER_CLIENT_CORRELATION_ID = "CPPCLIENTCORRELATIONID";
-    private static final String HEADER_X_CORRELATION_ID = "x-correlation-id";
-
     private final ObjectMapper objectMapper;
     private final boolean includePayloadBody;
+    private final EventIdGenerator eventIdGenerator;
+    private final AuditClock auditClock;
 
+    public AuditPayloadGenerationService(final ObjectMapper objectMapper, final boolean includePayloadBody) {
+        this(objectMapper, includePayloadBody, new TimeOrderedEventIdGenerator(), new AuditClock());
+    }
 
     public AuditPayload generatePayload(final RequestInfo requestInfo) {
-        return generatePayload(requestInfo.contextPath(), requestInfo.payloadBody(), requestInfo.headers(), requestInfo.queryParams(), requestInfo.pathParams());
+        return toPayload(streamingEvent(requestInfo));
     }
 
     public AuditPayload generatePayload(final ResponseInfo responseInfo) {
-        return generatePayload(responseInfo.contextPath(), responseInfo.payloadBody(), responseInfo.headers(), Map.of(), Map.of());
+        return toPayload(streamingEvent(responseInfo));
     }
 
-    private AuditPayload generatePayload(final String contextPath, final String payloadBody, final Map<String, String> headers, final Map<String, String> queryParams, final Map<String, String> pathParams) {
-        return AuditPayload.builder()
-                .content(constructPayloadWithMetadata(payloadBody, headers, queryParams, pathParams))
-                .timestamp(currentTimestamp())
+    /**
+     * Generates the same event as {@link #generatePayload(RequestInfo)}, with content that is written
+     * as the event is serialized rather than built as a tree.
+     */
+    public AuditEvent generateEvent(final RequestInfo requestInfo) {
+        return streamingEvent(requestInfo);
+    }
+
+    /**
+     * Generates the same event as {@link #generatePayload(ResponseInfo)}, with content that is written
+     * as the event is serialized rather than built as a tree.
+     */
+    public AuditEvent generateEvent(final ResponseInfo responseInfo) {
+        return streamingEvent(responseInfo);
+    }
+
+    private StreamingAuditEvent streamingEvent(final RequestInfo requestInfo) {
+        return streamingEvent(requestInfo.contextPath(), requestInfo.payloadBody(), requestInfo.payloadInfo(), requestInfo.bodyCategory(),
+                requestInfo.multipartInfo(), requestInfo.headers(), requestInfo.queryParams(), requestInfo.pathParams());
+    }
+
+    private StreamingAuditEvent streamingEvent(final ResponseInfo responseInfo) {
+        return streamingEvent(responseInfo.contextPath(), responseInfo.payloadBody(), responseInfo.payloadInfo(), responseInfo.bodyCategory(),
+                null, responseInfo.headers(), Map.of(), Map.of());
+    }
+
+    private StreamingAuditEvent streamingEvent(final String contextPath, final String payloadBody, final PayloadInfo payloadInfo, final BodyCategory bodyCategory, final MultipartInfo multipartInfo, final Map<String, String> headerMap, final Map<String, String> queryParams, final Map<String, String> pathParams) {
+        final String now = auditClock.now();
+        final HeaderSnapshot headers = headerMap == null ? null : HeaderSnapshot.of(headerMap);
+        return StreamingAuditEvent.builder()
+                .content(constructContent(payloadBody, payloadInfo, bodyCategory, multipartInfo, headers, queryParams, pathParams, now))
+                .timestamp(now)
                 .origin(contextPath)
                 .component(contextPath + "-api")
-                ._metadata(generateMetadata(headers, "audit.events.audit-recorded"))
+                ._metadata(generateMetadata(headers, "audit.events.audit-recorded", now))
                 .build();
     }
 
-    private ObjectNode constructPayloadWithMetadata(final String rawJsonString, final Map<String, String> headers, final Map<String, String> queryParams, final Map<String, String> pathParams) {
-        final Metadata metadata = generateMetadata(headers);
-        final ObjectNode objectNode = includePayloadBody ? parseBody(rawJsonString, metadata) : objectMapper.createObjectNode();
+    private AuditPayload toPayload(final StreamingAuditEvent event) {
+        return AuditPayload.builder()
+                .content(objectMapper.valueToTree(event.content()))
+                .timestamp(event.timestamp())
+                .origin(event.origin())
+                .component(event.component())
+                ._metadata(event._metadata())
+                .build();
+    }
 
-        if (isNotEmpty(queryParams)) {
-            queryParams.forEach((key, value) -> objectNode.set(key, objectMapper.convertValue(value, JsonNode.class)));
+    private AuditContent constructContent(final String rawBody, final PayloadInfo payloadInfo, final BodyCategory bodyCategory, final MultipartInfo multipartInfo, final HeaderSnapshot headers, final Map<String, String> queryParams, final Map<String, String> pathParams, final String now) {
+        final AuditContent.AuditContentBuilder content = AuditContent.builder()
+                .queryParams(queryParams)
+                .pathParams(pathParams)
+                .metadata(generateMetadata(headers, now));
+        if (!includePayloadBody) {
+            return content.bodyFormat(BodyFormat.NONE).build();
         }
+        final boolean truncated = payloadInfo != null && payloadInfo.truncated();
+        final Charset charset = Charsets.ofContentType(headers == null ? null : headers.value(HeaderCapturePolicy.CONTENT_TYPE));
+        return withBody(content, rawBody, bodyCategory, truncated, charset)
+                .payloadInfo(payloadInfo)
+                .multipartInfo(multipartInfo)
+                .build();
+    }
 
-        if (isNotEmpty(pathParams)) {
-            pathParams.forEach((key, value) -> objectNode.set(key, objectMapper.convertValue(value, JsonNode.class)));
+    /**
+     * Chooses how the body is audited from its category, and for JSON or an undeclared type from its
+     * first significant character, so that only complete bodies that look like a JSON object or
+     * array are parsed. A truncated form body is kept as text, since its last field may be cut short.
+     */
+    private AuditContent.AuditContentBuilder withBody(final AuditContent.AuditContentBuilder content, final String rawBody, final BodyCategory bodyCategory, final boolean truncated, final Charset charset) {
+        if (rawBody == null) {
+            return content.bodyFormat(BodyFormat.NONE);
         }
+        return switch (bodyCategory == null ? BodyCategory.UNKNOWN : bodyCategory) {
+            // Described by _payloadInfo or _multipart only
+            case BINARY, MULTIPART -> content.bodyFormat(BodyFormat.NONE);
+            case FORM -> truncated ? content.body(rawBody).bodyFormat(BodyFormat.TEXT) : content.body(rawBody).bodyFormat(BodyFormat.FORM).charset(charset);
+            case TEXT -> content.body(rawBody).bodyFormat(BodyFormat.TEXT);
+            case JSON, UNKNOWN -> !truncated && isJsonStructure(rawBody) ? jsonBody(content, rawBody) : content.body(rawBody).bodyFormat(BodyFormat.TEXT);
+        };
+    }
 
-        addMetadataToNode(metadata, objectNode);
-        return objectNode;
+    private AuditContent.AuditContentBuilder jsonBody(final AuditContent.AuditContentBuilder content, final String rawBody) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(rawBody)) {
+            final JsonToken token = parser.nextToken();
+            validateStructure(parser);
+            return content.body(rawBody).bodyFormat(token == JsonToken.START_OBJECT ? BodyFormat.JSON_OBJECT : BodyFormat.JSON_VALUE);
+        } catch (IOException e) {
+            // Declared or sniffed as JSON but malformed
+            return content.body(rawBody).bodyFormat(BodyFormat.TEXT);
+        }
     }
 
-    private ObjectNode parseBody(final String rawJsonString, final Metadata metadata) {
-        try {
-            final JsonNode node = objectMapper.readTree(rawJsonString);
-            return createObjectNode(node, rawJsonString);
-        } catch (JsonProcessingException e) {
-            return createPayloadWithMetadata(rawJsonString, metadata);
+    /**
+     * @return whether the first character other than JSON whitespace opens an object or array
+     */
+    private static boolean isJsonStructure(final String body) {
+        for (int i = 0; i < body.length(); i++) {
+            final char character = body.charAt(i);
+            if (character != ' ' && character != '\t' && character != '\n' && character != '\r') {
+                return character == '{' || character == '[';
+            }
         }
+        return false;
     }
 
-    private ObjectNode createObjectNode(final JsonNode node, final String rawJsonString) {
-        if (node == null) {
-            return objectMapper.createObjectNode();
-        } else if (node.isObject()) {
-            return (ObjectNode) node;
-        } else if (node.isArray()) {
-            return objectMapper.createObjectNode().set(ATTRIBUTE_PAYLOAD_KEY, node);
+    /**
+     * Reads the object or array the parser is positioned at to its end, decoding every string, so
+     * that it can later be copied without failing part way through.
+     */
+    private static void validateStructure(final JsonParser parser) throws IOException {
+        int depth = 1;
+        while (depth > 0) {
+            final JsonToken token = parser.nextToken();
+            if (token == null) {
+                throw new JsonParseException(parser, "Unexpected end of JSON body");
+            }
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            } else if (token == JsonToken.VALUE_STRING) {
+                parser.getTextLength();
+            }
         }
-        return objectMapper.createObjectNode().put(ATTRIBUTE_PAYLOAD_KEY, rawJsonString);
     }
 
-    private Metadata generateMetadata(final Map<String, String> headers) {
-        if (isEmpty(headers)) {
+    private Metadata generateMetadata(final HeaderSnapshot headers, final String now) {
+        if (headers == null) {
             return Metadata.builder().build();
         }
 
-        return generateMetadata(headers, getHeaderMatchingKey(headers, "Accept", "Content-Type"));
+        final String accept = headers.value(HeaderCapturePolicy.ACCEPT);
+        return generateMetadata(headers, accept == null ? headers.value(HeaderCapturePolicy.CONTENT_TYPE) : accept, now);
     }
 
-    private Metadata generateMetadata(final Map<String, String> headers, final String methodName) {
-        if (isEmpty(headers)) {
+    private Metadata generateMetadata(final HeaderSnapshot headers, final String methodName, final String now) {
+        if (headers == null) {
             return Metadata.builder().build();
         }
 
         final Metadata.MetadataBuilder metadataBuilder = Metadata.builder()
-                .id(randomUUID())
+                .id(eventIdGenerator.nextId())
                 .name(methodName)
-                .createdAt(currentTimestamp());
+                .createdAt(now);
 
         setOptionalMetadata(headers, metadataBuilder);
         return metadataBuilder.build();
     }
 
-    private void setOptionalMetadata(final Map<String, String> headers, final Metadata.MetadataBuilder metadataBuilder) {
-        final String userId = getHeaderMatchingKey(headers, HEADER_USER_ID);
-        final String clientCorrelationId = getHeaderMatchingKey(headers, HEADER_X_CORRELATION_ID, HEADER_CLIENT_CORRELATION_ID);
+    private void setOptionalMetadata(final HeaderSnapshot headers, final Metadata.MetadataBuilder metadataBuilder) {
+        final String userId = headers.value(HeaderCapturePolicy.USER_ID);
+        final String xCorrelationId = headers.value(HeaderCapturePolicy.X_CORRELATION_ID);
+        final String clientCorrelationId = xCorrelationId == null ? headers.value(HeaderCapturePolicy.CLIENT_CORRELATION_ID) : xCorrelationId;
 
         if (null != userId) {
             metadataBuilder.context(Optional.of(new Metadata.Context(userId)));
@@ -122,35 +209,4 @@ public class AuditPayloadGenerationService {
             metadataBuilder.correlation(Optional.of(new Metadata.Correlation(clientCorrelationId)));
         }
     }
-
-    private String getHeaderMatchingKey(final Map<String, String> headers, final String... keys) {
-        for (final String searchKey : keys) {
-            if (StringUtils.isBlank(searchKey)) {
-                continue;
-            }
-
-            for (final Map.Entry<String, String> entry : headers.entrySet()) {
-                if (entry.getKey() != null && entry.getKey().trim().equalsIgnoreCase(searchKey.trim())) {
-                    return entry.getValue();
-                }
-            }
-
-        }
-        return null;
-    }
-
-    private ObjectNode createPayloadWithMetadata(final String rawJsonString, final Metadata metadata) {
-        final ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put(ATTRIBUTE_PAYLOAD_KEY, rawJsonString);
-        addMetadataToNode(metadata, objectNode);
-        return objectNode;
-    }
-
-    private void addMetadataToNode(final Metadata metadata, final ObjectNode objectNode) {
-        objectNode.set(ATTRIBUTE_METADATA_KEY, objectMapper.valueToTree(metadata));
-    }
-
-    private String currentTimestamp() {
-        return ZonedDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MILLIS).toString();
-    }
-}
\ No newline at end of file
+}
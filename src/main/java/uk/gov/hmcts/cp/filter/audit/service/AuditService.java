@@ -1,29 +1,59 @@
 package uk.gov.hmcts.cp.filter.audit.service;
 
+import uk.gov.hmcts.cp.filter.audit.model.AuditEvent;
 import uk.gov.hmcts.cp.filter.audit.model.AuditPayload;
+import uk.gov.hmcts.cp.filter.audit.publisher.AuditEventPublisher;
+import uk.gov.hmcts.cp.filter.audit.publisher.JmsAuditEventPublisher;
+import uk.gov.hmcts.cp.filter.audit.publisher.SerializedAuditEvent;
+import uk.gov.hmcts.cp.filter.audit.util.ReusableByteArrayOutputStream;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.jms.Destination;
-import lombok.RequiredArgsConstructor;
-import org.apache.activemq.artemis.jms.client.ActiveMQTopic;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jms.core.JmsTemplate;
 
-@RequiredArgsConstructor
+/**
+ * Serializes audit events and hands them to the configured {@link AuditEventPublisher}.
+ */
 public class AuditService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AuditService.class);
+    private static final int INITIAL_BUFFER_BYTES = 8 * 1024;
+    private static final int MAX_RETAINED_BUFFER_BYTES = 1024 * 1024;
+    private static final ThreadLocal<ReusableByteArrayOutputStream> UTF8_BUFFER =
+            ThreadLocal.withInitial(() -> new ReusableByteArrayOutputStream(INITIAL_BUFFER_BYTES));
 
-    private final JmsTemplate jmsTemplate;
+    private final AuditEventPublisher publisher;
 
     private final ObjectMapper objectMapper;
 
-    private final Destination auditTopic = new ActiveMQTopic("jms.topic.auditing.event");
+    public AuditService(final JmsTemplate jmsTemplate, final ObjectMapper objectMapper) {
+        this(new JmsAuditEventPublisher(jmsTemplate), objectMapper);
+    }
+
+    public AuditService(final AuditEventPublisher publisher, final ObjectMapper objectMapper) {
+        this.publisher = publisher;
+        this.objectMapper = objectMapper;
+    }
 
     public void postMessageToArtemis(final AuditPayload auditPayload) {
+        postEvent(auditPayload);
+    }
+
+    /**
+     * Publishes an audit event, such as an {@link AuditPayload} or the streaming event generated by
+     * {@code AuditPayloadGenerationService#generateEvent}.
+     *
+     * @param auditPayload the event, which is serialized as it is
+     */
+    @SuppressWarnings("PMD.CloseResource") // the thread's reusable buffer; closing it is a no-op
+    public void postEvent(final AuditEvent auditPayload) {
 
         if (null == auditPayload) {
             LOGGER.warn("AuditPayload is null");
@@ -31,13 +61,18 @@ public class AuditService {
         }
 
         try {
-            final String valueAsString = objectMapper.writeValueAsString(auditPayload);
+            // Byte-oriented transports get UTF-8 straight from Jackson, without an intermediate String
+            final ReusableByteArrayOutputStream utf8 = publisher.prefersUtf8() ? toUtf8Json(auditPayload) : null;
+            final String valueAsString = utf8 == null ? toJson(auditPayload) : null;
             LOGGER.info("Posting audit message to Artemis with ID = {} and timestamp = {}", auditPayload._metadata().id(), auditPayload.timestamp());
-            jmsTemplate.convertAndSend(auditTopic, valueAsString, message -> {
-                message.setStringProperty("CPPNAME", auditPayload._metadata().name());
-                return message;
-            });
-            LOGGER.info("Posted audit message to Artemis with ID = {} and timestamp = {}", auditPayload._metadata().id(), auditPayload.timestamp());
+            final boolean published = utf8 == null
+                    ? publisher.publish(auditPayload._metadata().name(), valueAsString)
+                    : publisher.publishUtf8(auditPayload._metadata().name(), utf8.array(), utf8.size());
+            if (published) {
+                LOGGER.info("Posted audit message to Artemis with ID = {} and timestamp = {}", auditPayload._metadata().id(), auditPayload.timestamp());
+            } else {
+                LOGGER.error("Failed to post audit message with ID {} to Artemis", auditPayload._metadata().id());
+            }
         } catch (Exception e) {
             // Log the error but don't re-throw to avoid breaking the main request flow
             final UUID auditMetadataId = (auditPayload._metadata() != null) ? auditPayload._metadata().id() : null;
@@ -49,4 +84,83 @@ public class AuditService {
         }
 
     }
-}
\ No newline at end of file
+
+    /**
+     * Publishes an audit event that has already been serialized, e.g. one replayed from the outbox.
+     *
+     * @param name          the audit event name, sent as the {@code CPPNAME} property
+     * @param valueAsString the serialized audit event
+     * @return {@code true} when the publisher accepted the message
+     */
+    public boolean postSerializedMessageToArtemis(final String name, final String valueAsString) {
+        if (publisher.publish(name, valueAsString)) {
+            return true;
+        }
+        // Log the error but don't re-throw; the caller decides whether to retry
+        LOGGER.error("Failed to post serialized audit message {} to Artemis", name);
+        return false;
+    }
+
+    /**
+     * Publishes several audit events through {@link AuditEventPublisher#publishBatch}; for JMS this is
+     * a single transacted session, so the broker performs one durable write and acknowledgement for
+     * the whole batch.
+     *
+     * @param auditPayloads the events to publish
+     * @return {@code true} when the batch was committed, {@code false} when it was rolled back
+     */
+    public boolean postMessagesToArtemis(final List<? extends AuditEvent> auditPayloads) {
+        if (null == auditPayloads || auditPayloads.isEmpty()) {
+            return true;
+        }
+
+        final List<SerializedAuditEvent> events = new ArrayList<>(auditPayloads.size());
+        for (final AuditEvent auditPayload : auditPayloads) {
+            if (auditPayload._metadata() == null) {
+                LOGGER.error("Audit message without metadata; skipping it from the batch");
+            } else {
+                try {
+                    events.add(new SerializedAuditEvent(auditPayload._metadata().name(), toJson(auditPayload)));
+                } catch (JsonProcessingException e) {
+                    LOGGER.error("Failed to serialize audit message with ID {}; skipping it from the batch", auditPayload._metadata().id());
+                }
+            }
+        }
+
+        if (publisher.publishBatch(events)) {
+            LOGGER.info("Posted batch of {} audit message(s) to Artemis", events.size());
+            return true;
+        }
+        // Log the error but don't re-throw; the caller decides how to recover the batch
+        LOGGER.error("Failed to post batch of {} audit message(s) to Artemis", auditPayloads.size());
+        return false;
+    }
+
+    /**
+     * @return {@code true} when the last send on this thread was refused by the publisher without
+     *         reaching the broker, so the publisher has already diverted or dropped the events
+     */
+    protected boolean wasShortCircuited() {
+        return publisher.wasShortCircuited();
+    }
+
+    protected String toJson(final AuditEvent auditPayload) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(auditPayload);
+    }
+
+    /**
+     * Serializes into this thread's reusable buffer, which stays valid until the thread's next call.
+     */
+    @SuppressWarnings("PMD.CloseResource") // in-memory stream, closing it is a no-op
+    private ReusableByteArrayOutputStream toUtf8Json(final AuditEvent auditPayload) throws IOException {
+        ReusableByteArrayOutputStream buffer = UTF8_BUFFER.get();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER_BYTES) {
+            // Do not pin the memory of one unusually large event for the life of the thread
+            buffer = new ReusableByteArrayOutputStream(INITIAL_BUFFER_BYTES);
+            UTF8_BUFFER.set(buffer);
+        }
+        buffer.reset();
+        objectMapper.writeValue(buffer, auditPayload);
+        return buffer;
+    }
+}
@@ -0,0 +1,13 @@
+package uk.gov.hmcts.cp.filter.audit.service;
+
+import java.util.UUID;
+
+/**
+ * Source of the {@code _metadata.id} of audit events. The generator is chosen with
+ * {@code audit.http.event-id}, or replaced by declaring a bean of this type.
+ */
+@FunctionalInterface
+public interface EventIdGenerator {
+
+    UUID nextId();
+}
@@ -0,0 +1,17 @@
+package uk.gov.hmcts.cp.filter.audit.service;
+
+/**
+ * Built-in {@link EventIdGenerator}s selectable with {@code audit.http.event-id}.
+ */
+public enum EventIdType {
+
+    /**
+     * Version 7 UUIDs from {@link TimeOrderedEventIdGenerator}, which sort by creation time (default).
+     */
+    TIME_ORDERED,
+
+    /**
+     * Version 4 UUIDs from {@link java.util.UUID#randomUUID()}, drawn from the shared {@code SecureRandom}.
+     */
+    RANDOM
+}
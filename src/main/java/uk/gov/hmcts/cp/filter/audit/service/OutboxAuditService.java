@@ -0,0 +1,70 @@
+package uk.gov.hmcts.cp.filter.audit.service;
+
+import uk.gov.hmcts.cp.filter.audit.metrics.AuditMetrics;
+import uk.gov.hmcts.cp.filter.audit.model.AuditEvent;
+import uk.gov.hmcts.cp.filter.audit.outbox.AuditOutbox;
+import uk.gov.hmcts.cp.filter.audit.publisher.AuditEventPublisher;
+
+import java.util.UUID;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link AuditService} that journals every audit event to a local {@link AuditOutbox} on the request
+ * thread. The outbox replayer forwards the events to Artemis, so events published while the broker is
+ * unavailable are delivered once it comes back, including across restarts. An event the outbox
+ * cannot take, for example because it is full, is published directly instead.
+ */
+public class OutboxAuditService extends AuditService {
+
+    public static final String METRIC_APPEND_FALLBACK = "audit.outbox.append.fallback";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboxAuditService.class);
+
+    private final AuditOutbox outbox;
+    private final AuditMetrics metrics;
+
+    public OutboxAuditService(final AuditEventPublisher publisher, final ObjectMapper objectMapper, final AuditOutbox outbox) {
+        this(publisher, objectMapper, outbox, AuditMetrics.NO_OP);
+    }
+
+    public OutboxAuditService(final AuditEventPublisher publisher, final ObjectMapper objectMapper, final AuditOutbox outbox,
+                              final AuditMetrics metrics) {
+        super(publisher, objectMapper);
+        this.outbox = outbox;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Starts forwarding journalled events to Artemis.
+     */
+    public void start() {
+        outbox.start(this::postSerializedMessageToArtemis);
+    }
+
+    @Override
+    public void postEvent(final AuditEvent auditPayload) {
+        if (null == auditPayload) {
+            LOGGER.warn("AuditPayload is null");
+            return;
+        }
+
+        final UUID auditMetadataId = (auditPayload._metadata() != null) ? auditPayload._metadata().id() : null;
+        final String name = (auditPayload._metadata() != null) ? auditPayload._metadata().name() : null;
+        try {
+            if (outbox.append(name, toJson(auditPayload))) {
+                LOGGER.debug("Journalled audit message with ID = {} and timestamp = {}", auditMetadataId, auditPayload.timestamp());
+            } else {
+                // Publish on the caller's thread rather than lose the event
+                LOGGER.warn("Failed to journal audit message with ID {} to the outbox; publishing it directly", auditMetadataId);
+                metrics.increment(METRIC_APPEND_FALLBACK);
+                super.postEvent(auditPayload);
+            }
+        } catch (JsonProcessingException e) {
+            LOGGER.error("Failed to serialize audit message with ID {}", auditMetadataId);
+        }
+    }
+}
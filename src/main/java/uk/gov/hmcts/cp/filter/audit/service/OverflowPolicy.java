@@ -0,0 +1,23 @@
+package uk.gov.hmcts.cp.filter.audit.service;
+
+/**
+ * What {@link AsyncAuditService} does with an audit event when its queue is full.
+ */
+public enum OverflowPolicy {
+    /**
+     * Wait up to {@code cp.audit.async.block-timeout-ms} for space, then drop the event.
+     */
+    BLOCK,
+    /**
+     * Drop the event being published.
+     */
+    DROP_NEWEST,
+    /**
+     * Evict the oldest queued event to make room for the new one.
+     */
+    DROP_OLDEST,
+    /**
+     * Hand the event to the spill path instead of queueing it.
+     */
+    SPILL
+}
@@ -0,0 +1,62 @@
+package uk.gov.hmcts.cp.filter.audit.service;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates version 7 UUIDs: a 48-bit Unix millisecond timestamp, a 12-bit sequence and 62 random
+ * bits, so IDs sort by creation time and index well as keys.
+ * <p>
+ * Each thread keeps its own last timestamp and sequence and draws from {@link ThreadLocalRandom},
+ * so generating an ID takes no lock and never touches {@code SecureRandom}. The sequence starts at
+ * a random value in the lower half of its range each millisecond and counts up, so IDs from one
+ * thread are strictly increasing even when the clock stands still or steps back. IDs are unique,
+ * not unpredictable.
+ */
+public final class TimeOrderedEventIdGenerator implements EventIdGenerator {
+
+    private static final int TIMESTAMP_SHIFT = 16;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long RFC_4122_VARIANT = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_BITS = 0x3FFF_FFFF_FFFF_FFFFL;
+    private static final int MAX_SEQUENCE = 0xFFF;
+    private static final int SEQUENCE_SEED_BOUND = 0x800;
+
+    private final Clock clock;
+    private final ThreadLocal<Sequence> sequences = ThreadLocal.withInitial(Sequence::new);
+
+    public TimeOrderedEventIdGenerator() {
+        this(Clock.systemUTC());
+    }
+
+    public TimeOrderedEventIdGenerator(final Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public UUID nextId() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final Sequence sequence = sequences.get();
+        final long now = clock.millis();
+        if (now > sequence.millis) {
+            sequence.millis = now;
+            sequence.value = random.nextInt(SEQUENCE_SEED_BOUND);
+        } else if (sequence.value < MAX_SEQUENCE) {
+            sequence.value++;
+        } else {
+            // Sequence exhausted within one millisecond, so borrow the next one
+            sequence.millis++;
+            sequence.value = 0;
+        }
+        final long mostSignificantBits = sequence.millis << TIMESTAMP_SHIFT | VERSION_7 | sequence.value;
+        final long leastSignificantBits = random.nextLong() & RANDOM_BITS | RFC_4122_VARIANT;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    private static final class Sequence {
+
+        private long millis = -1;
+        private int value;
+    }
+}
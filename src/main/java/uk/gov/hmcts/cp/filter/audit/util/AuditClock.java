@@ -0,0 +1,77 @@
+package uk.gov.hmcts.cp.filter.audit.util;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Clock for audit event timestamps. Each event takes one timestamp from {@link #now()} and writes it
+ * wherever a time appears, so the envelope and its metadata agree.
+ * <p>
+ * Timestamps are ISO-8601 UTC strings to the millisecond, such as {@code 2025-01-01T09:30:00.000Z}.
+ * The clock caches the latest one together with its quoted JSON encoding, so events within the same
+ * millisecond share one string, and a mapper the clock is {@linkplain #registerWith registered with}
+ * copies the prepared bytes when serializing it.
+ */
+public final class AuditClock {
+
+    private static final DateTimeFormatter ISO_MILLIS =
+            DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSX").withZone(ZoneOffset.UTC);
+
+    private final Clock clock;
+
+    private volatile Prepared latest;
+
+    public AuditClock() {
+        this(Clock.systemUTC());
+    }
+
+    public AuditClock(final Clock clock) {
+        this.clock = clock;
+    }
+
+    public String now() {
+        final long millis = clock.millis();
+        final Prepared cached = latest;
+        if (cached != null && cached.millis() == millis) {
+            return cached.text();
+        }
+        final Prepared prepared = Prepared.of(millis);
+        latest = prepared;
+        return prepared.text();
+    }
+
+    /**
+     * @return the quoted JSON encoding of {@code timestamp} when it is this clock's latest timestamp,
+     *         otherwise {@code null}
+     */
+    public SerializableString serialized(final String timestamp) {
+        final Prepared cached = latest;
+        return cached != null && cached.text().equals(timestamp) ? cached.serialized() : null;
+    }
+
+    /**
+     * Lets the {@code TimestampSerializer} of {@code mapper} write this clock's latest timestamp from
+     * its prepared encoding.
+     */
+    public void registerWith(final ObjectMapper mapper) {
+        mapper.setDefaultAttributes(mapper.getSerializationConfig().getAttributes().withSharedAttribute(AuditClock.class, this));
+    }
+
+    private record Prepared(long millis, String text, SerializableString serialized) {
+
+        static Prepared of(final long millis) {
+            final String text = ISO_MILLIS.format(Instant.ofEpochMilli(millis));
+            final SerializedString serialized = new SerializedString(text);
+            // Encode up front for both byte and character generators
+            serialized.asQuotedUTF8();
+            serialized.asQuotedChars();
+            return new Prepared(millis, text, serialized);
+        }
+    }
+}
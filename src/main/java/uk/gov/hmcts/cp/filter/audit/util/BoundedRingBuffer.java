@@ -0,0 +1,105 @@
+package uk.gov.hmcts.cp.filter.audit.util;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free ring buffer (Vyukov sequence-per-slot design).
+ * <p>
+ * Any number of request threads may {@link #offer} concurrently; {@link #poll} is also safe to call
+ * from several threads so a producer can evict the oldest element when the buffer is full.
+ * Capacity is rounded up to the next power of two.
+ *
+ * @param <E> element type
+ */
+public final class BoundedRingBuffer<E> {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final int mask;
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    public BoundedRingBuffer(final int requestedCapacity) {
+        if (requestedCapacity < 2 || requestedCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Ring buffer capacity must be between 2 and " + MAX_CAPACITY);
+        }
+        final int capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an element if there is space.
+     *
+     * @param element the element to add
+     * @return {@code false} when the buffer is full
+     */
+    public boolean offer(final E element) {
+        Objects.requireNonNull(element, "element must not be null");
+        long position = tail.get();
+        while (true) {
+            final int index = (int) position & mask;
+            final long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = element;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest element.
+     *
+     * @return the oldest element, or {@code null} when the buffer is empty
+     */
+    @SuppressWarnings({"unchecked", "PMD.NullAssignment"})
+    public E poll() {
+        long position = head.get();
+        while (true) {
+            final int index = (int) position & mask;
+            final long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    final E element = (E) slots[index];
+                    slots[index] = null;
+                    sequences.set(index, position + mask + 1);
+                    return element;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    public int size() {
+        final long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
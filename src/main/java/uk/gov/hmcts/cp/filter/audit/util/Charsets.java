@@ -0,0 +1,46 @@
+package uk.gov.hmcts.cp.filter.audit.util;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Resolves charsets named by clients. A name that is malformed or not supported falls back to UTF-8,
+ * so a bad header can never fail a request or its audit.
+ */
+public final class Charsets {
+
+    private static final String CHARSET_PARAMETER = "charset";
+
+    private Charsets() {
+    }
+
+    /**
+     * @return the named charset, or UTF-8 when the name is missing, malformed or not supported
+     */
+    public static Charset forNameOrUtf8(final String name) {
+        if (name == null || name.isBlank()) {
+            return StandardCharsets.UTF_8;
+        }
+        try {
+            return Charset.forName(name.trim());
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    /**
+     * @return the charset parameter of a {@code Content-Type} value, resolved as by {@link #forNameOrUtf8}
+     */
+    public static Charset ofContentType(final String contentType) {
+        if (contentType == null) {
+            return StandardCharsets.UTF_8;
+        }
+        for (final String parameter : contentType.split(";")) {
+            final int equals = parameter.indexOf('=');
+            if (equals > 0 && CHARSET_PARAMETER.equalsIgnoreCase(parameter.substring(0, equals).trim())) {
+                return forNameOrUtf8(parameter.substring(equals + 1).replace("\"", ""));
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+}
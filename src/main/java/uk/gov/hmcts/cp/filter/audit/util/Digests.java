@@ -0,0 +1,35 @@
+package uk.gov.hmcts.cp.filter.audit.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 helpers for fingerprinting audited bodies.
+ */
+public final class Digests {
+
+    private static final String SHA_256 = "SHA-256";
+
+    private Digests() {
+    }
+
+    public static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance(SHA_256);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(SHA_256 + " is not available", e);
+        }
+    }
+
+    public static String sha256Hex(final byte[] bytes, final int offset, final int length) {
+        final MessageDigest digest = newSha256();
+        digest.update(bytes, offset, length);
+        return hex(digest);
+    }
+
+    public static String hex(final MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
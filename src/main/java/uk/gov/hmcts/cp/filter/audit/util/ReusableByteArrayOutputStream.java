@@ -0,0 +1,27 @@
+package uk.gov.hmcts.cp.filter.audit.util;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * {@link ByteArrayOutputStream} whose backing array can be read without copying, so one instance per
+ * thread can be reused for serializing audit events.
+ */
+public final class ReusableByteArrayOutputStream extends ByteArrayOutputStream {
+
+    public ReusableByteArrayOutputStream(final int initialSize) {
+        super(initialSize);
+    }
+
+    /**
+     * The backing array; only the first {@link #size()} bytes are valid and the array is overwritten by
+     * the next use of this stream.
+     */
+    @SuppressWarnings("PMD.MethodReturnsInternalArray") // avoiding the copy is the point of this class
+    public byte[] array() {
+        return buf;
+    }
+
+    public int capacity() {
+        return buf.length;
+    }
+}
@@ -1,68 +1,158 @@
 package uk.gov.hmcts.cp.filter.audit.wrapper;
 
+import uk.gov.hmcts.cp.filter.audit.model.PayloadInfo;
+import uk.gov.hmcts.cp.filter.audit.util.Charsets;
+import uk.gov.hmcts.cp.filter.audit.util.Digests;
+
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.util.stream.Collectors;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
 
-import jakarta.servlet.ReadListener;
 import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
 
-public class AuditServletRequestWrapper extends HttpServletRequestWrapper {
+/**
+ * Request wrapper that reads the body once, up front, and replays the original bytes to the
+ * application. The body is only decoded to text when {@link #getRequestBody()} is called.
+ * <p>
+ * Only the first {@code maxCaptureBytes} are audited; a larger body is described by
+ * {@link #getPayloadInfo()}. When a spill directory is given, bytes beyond that limit are written to
+ * a temporary file instead of the heap and deleted again by {@link #close()}.
+ */
+public class AuditServletRequestWrapper extends HttpServletRequestWrapper implements Closeable {
+
+    private static final String SPILL_FILE_PREFIX = "audit-request-";
+    private static final String SPILL_FILE_SUFFIX = ".body";
 
+    private final int maxCaptureBytes;
+    private byte[] body;
+    private Path spillFile;
+    private PayloadInfo payloadInfo;
     private String requestBody;
 
-    public AuditServletRequestWrapper(HttpServletRequest request) throws IOException {
+    public AuditServletRequestWrapper(final HttpServletRequest request) throws IOException {
+        this(request, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * @param maxCaptureBytes number of body bytes to audit
+     * @param spillDirectory  where to write bytes beyond {@code maxCaptureBytes}, or {@code null} to keep them in memory
+     */
+    public AuditServletRequestWrapper(final HttpServletRequest request, final int maxCaptureBytes, final Path spillDirectory)
+            throws IOException {
         super(request);
-        this.requestBody = getBodyFromRequest(request);
+        this.maxCaptureBytes = maxCaptureBytes;
+        try (ServletInputStream inputStream = request.getInputStream()) {
+            if (spillDirectory == null) {
+                this.body = inputStream.readAllBytes();
+                if (body.length > maxCaptureBytes) {
+                    this.payloadInfo = new PayloadInfo(body.length, true, Digests.sha256Hex(body, 0, body.length));
+                }
+            } else {
+                this.body = inputStream.readNBytes(maxCaptureBytes);
+                final int next = inputStream.read();
+                if (next >= 0) {
+                    spill(inputStream, next, spillDirectory);
+                }
+            }
+        }
     }
 
     @Override
     public ServletInputStream getInputStream() throws IOException {
-        final ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(requestBody.getBytes(StandardCharsets.UTF_8));
-        return new ServletInputStream() {
-            @Override
-            public boolean isFinished() {
-                return byteArrayInputStream.available() == 0;
-            }
-
-            @Override
-            public boolean isReady() {
-                return true;
-            }
-
-            @Override
-            public void setReadListener(ReadListener readListener) {
-                // No implementation needed
-            }
-
-            @Override
-            public int read() throws IOException {
-                return byteArrayInputStream.read();
-            }
-        };
+        if (spillFile != null) {
+            return new SpilledBodyServletInputStream(body, Files.newInputStream(spillFile));
+        }
+        return new ByteArrayServletInputStream(body);
     }
 
     @Override
     public BufferedReader getReader() throws IOException {
-        return new BufferedReader(new InputStreamReader(this.getInputStream(), StandardCharsets.UTF_8));
+        return new BufferedReader(new InputStreamReader(this.getInputStream(), getBodyCharset()));
     }
 
+    /**
+     * @return the audited part of the body, decoded with the request's character encoding (UTF-8 when none is set)
+     */
     public String getRequestBody() {
+        if (requestBody == null) {
+            requestBody = new String(body, 0, Math.min(body.length, maxCaptureBytes), getBodyCharset());
+        }
         return this.requestBody;
     }
 
-    public void setRequestBody(String body) {
-        this.requestBody = body;
+    @SuppressWarnings("PMD.NullAssignment")
+    public void setRequestBody(final String requestBody) {
+        try {
+            deleteSpillFile();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.requestBody = requestBody;
+        this.body = requestBody.getBytes(getBodyCharset());
+        this.payloadInfo = null;
+    }
+
+    /**
+     * @return the body exactly as it was received, or its in-memory prefix when the rest was spilled;
+     *         the array is shared, so callers must not modify it
+     */
+    @SuppressWarnings("PMD.MethodReturnsInternalArray")
+    public byte[] getBodyBytes() {
+        return body;
+    }
+
+    /**
+     * @return the full length and SHA-256 of the body, or {@code null} when the whole body is audited
+     */
+    public PayloadInfo getPayloadInfo() {
+        return payloadInfo;
+    }
+
+    /**
+     * Deletes the spill file, if any.
+     */
+    @Override
+    public void close() throws IOException {
+        deleteSpillFile();
     }
 
-    private String getBodyFromRequest(HttpServletRequest request) throws IOException {
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
-            return reader.lines().collect(Collectors.joining(System.lineSeparator()));
+    private void spill(final ServletInputStream inputStream, final int firstOverflowByte, final Path spillDirectory) throws IOException {
+        final MessageDigest digest = Digests.newSha256();
+        digest.update(body);
+        Files.createDirectories(spillDirectory);
+        spillFile = Files.createTempFile(spillDirectory, SPILL_FILE_PREFIX, SPILL_FILE_SUFFIX);
+        final long overflowBytes;
+        try (OutputStream out = new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(spillFile)), digest)) {
+            out.write(firstOverflowByte);
+            overflowBytes = 1 + inputStream.transferTo(out);
+        } catch (IOException e) {
+            deleteSpillFile();
+            throw e;
         }
+        payloadInfo = new PayloadInfo(body.length + overflowBytes, true, Digests.hex(digest));
+    }
+
+    @SuppressWarnings("PMD.NullAssignment")
+    private void deleteSpillFile() throws IOException {
+        if (spillFile != null) {
+            Files.deleteIfExists(spillFile);
+            spillFile = null;
+        }
+    }
+
+    private Charset getBodyCharset() {
+        // The encoding comes from the client's Content-Type, so an unknown one must not fail the request
+        return Charsets.forNameOrUtf8(getCharacterEncoding());
     }
 }
@@ -0,0 +1,130 @@
+package uk.gov.hmcts.cp.filter.audit.wrapper;
+
+import uk.gov.hmcts.cp.filter.audit.model.PayloadInfo;
+import uk.gov.hmcts.cp.filter.audit.util.Digests;
+
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer that keeps at most {@code maxBytes} of a body and counts the rest.
+ * <p>
+ * Once the limit is first exceeded a SHA-256 of the whole body is computed as the remaining bytes
+ * arrive, so bodies that fit pay nothing for hashing.
+ */
+public class BodyCaptureBuffer implements BodyObserver {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final int maxBytes;
+    private byte[] bytes;
+    private int count;
+    private long totalBytes;
+    @SuppressWarnings("PMD.AvoidMessageDigestField") // one buffer per request, never shared between threads
+    private MessageDigest digest;
+
+    public BodyCaptureBuffer(final int maxBytes) {
+        this.maxBytes = maxBytes;
+        this.bytes = new byte[Math.min(INITIAL_CAPACITY, maxBytes)];
+    }
+
+    @Override
+    public void write(final int value) {
+        totalBytes++;
+        if (count < maxBytes) {
+            ensureCapacity(count + 1);
+            bytes[count++] = (byte) value;
+        } else {
+            overflowDigest().update((byte) value);
+        }
+    }
+
+    @Override
+    public void write(final byte[] source, final int offset, final int length) {
+        totalBytes += length;
+        final int kept = Math.max(0, Math.min(length, maxBytes - count));
+        if (kept > 0) {
+            ensureCapacity(count + kept);
+            System.arraycopy(source, offset, bytes, count, kept);
+            count += kept;
+        }
+        if (kept < length) {
+            overflowDigest().update(source, offset + kept, length - kept);
+        }
+    }
+
+    /**
+     * Discards everything written so far, keeping the allocated buffer.
+     */
+    public void reset() {
+        count = 0;
+        totalBytes = 0;
+        digest = null;
+    }
+
+    /**
+     * @return number of bytes kept
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return number of bytes written, including those beyond the limit
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public boolean isTruncated() {
+        return totalBytes > count;
+    }
+
+    /**
+     * @return the length and SHA-256 of everything written, or {@code null} when nothing was dropped
+     */
+    public PayloadInfo toPayloadInfo() {
+        if (!isTruncated()) {
+            return null;
+        }
+        try {
+            return new PayloadInfo(totalBytes, true, Digests.hex((MessageDigest) digest.clone()));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("SHA-256 digest cannot be cloned", e);
+        }
+    }
+
+    /**
+     * @return the length and SHA-256 of everything written, whether or not it was all kept, or
+     *         {@code null} when nothing was written
+     */
+    public PayloadInfo toDigestInfo() {
+        if (totalBytes == 0) {
+            return null;
+        }
+        return isTruncated() ? toPayloadInfo() : new PayloadInfo(totalBytes, true, Digests.sha256Hex(bytes, 0, count));
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, count);
+    }
+
+    public String toString(final Charset charset) {
+        return new String(bytes, 0, count, charset);
+    }
+
+    private MessageDigest overflowDigest() {
+        if (digest == null) {
+            digest = Digests.newSha256();
+            digest.update(bytes, 0, count);
+        }
+        return digest;
+    }
+
+    private void ensureCapacity(final int required) {
+        if (required > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.min(maxBytes, Math.max(required, bytes.length * 2)));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package uk.gov.hmcts.cp.filter.audit.wrapper;
+
+/**
+ * Receives a copy of the body bytes as they pass between the container and the application.
+ */
+public interface BodyObserver {
+
+    void write(int value);
+
+    void write(byte[] source, int offset, int length);
+}
@@ -0,0 +1,82 @@
+package uk.gov.hmcts.cp.filter.audit.wrapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * {@link jakarta.servlet.ServletInputStream} over a byte array that is shared, not copied. Bulk
+ * reads, {@link #readAllBytes()} and {@link #transferTo(OutputStream)} copy straight out of the array.
+ */
+public class ByteArrayServletInputStream extends ReplayServletInputStream {
+
+    private final byte[] bytes;
+    private final int end;
+    private int position;
+
+    public ByteArrayServletInputStream(final byte[] bytes) {
+        this(bytes, bytes.length);
+    }
+
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly") // shared on purpose; the stream never writes to it
+    public ByteArrayServletInputStream(final byte[] bytes, final int length) {
+        this.bytes = bytes;
+        this.end = length;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int value = position < end ? bytes[position++] & 0xFF : -1;
+        signalIfFinished();
+        return value;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        if (position >= end) {
+            signalIfFinished();
+            return -1;
+        }
+        final int count = Math.min(length, end - position);
+        System.arraycopy(bytes, position, buffer, offset, count);
+        position += count;
+        signalIfFinished();
+        return count;
+    }
+
+    @Override
+    public byte[] readAllBytes() throws IOException {
+        final byte[] remaining = Arrays.copyOfRange(bytes, position, end);
+        position = end;
+        signalIfFinished();
+        return remaining;
+    }
+
+    @Override
+    public long transferTo(final OutputStream out) throws IOException {
+        final int count = end - position;
+        out.write(bytes, position, count);
+        position = end;
+        signalIfFinished();
+        return count;
+    }
+
+    @Override
+    public long skip(final long count) {
+        final int skipped = (int) Math.max(0, Math.min(count, end - position));
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return end - position;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return position >= end;
+    }
+}
@@ -0,0 +1,113 @@
+package uk.gov.hmcts.cp.filter.audit.wrapper;
+
+import uk.gov.hmcts.cp.filter.audit.model.PayloadInfo;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Response wrapper for audits that exclude payload bodies. The body is sent straight to the client
+ * and only its length is recorded; nothing is copied or hashed.
+ */
+public class ByteCountingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final ByteCounter counter = new ByteCounter();
+    private TeeServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    public ByteCountingResponseWrapper(final HttpServletResponse response) {
+        super(response);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called on this response");
+        }
+        return countingOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called on this response");
+            }
+            writer = new PrintWriter(new OutputStreamWriter(countingOutputStream(), Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    /**
+     * Resets the response and, once the container has accepted that, the count and the stream or
+     * writer handed out so far.
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        counter.count = 0;
+        outputStream = null;
+        writer = null;
+    }
+
+    /**
+     * Clears the unsent body and, once the container has accepted that, its count.
+     */
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        counter.count = 0;
+    }
+
+    /**
+     * @return the number of body bytes written so far
+     */
+    public long getBodyLength() {
+        return counter.count;
+    }
+
+    /**
+     * @return the body length, marked as omitted rather than truncated, or {@code null} when no body
+     *         was written
+     */
+    public PayloadInfo getPayloadInfo() {
+        final long length = counter.count;
+        return length == 0 ? null : PayloadInfo.ofOmittedBody(length);
+    }
+
+    private TeeServletOutputStream countingOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new TeeServletOutputStream(super.getOutputStream(), counter);
+        }
+        return outputStream;
+    }
+
+    private static final class ByteCounter implements BodyObserver {
+
+        private long count;
+
+        @Override
+        public void write(final int value) {
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] source, final int offset, final int length) {
+            count += length;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package uk.gov.hmcts.cp.filter.audit.wrapper;
+
+import uk.gov.hmcts.cp.filter.audit.model.MultipartInfo;
+
+import java.io.IOException;
+import java.util.Collection;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.Part;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Request wrapper that describes the parts of a multipart request without holding their contents.
+ * <p>
+ * A body the application reads as a stream passes through a {@link MultipartObserver}; parts the
+ * application obtains from the container through {@link #getParts()} or {@link #getPart(String)} are
+ * described when they are first handed out, before the application can delete them.
+ */
+public class MultipartAuditRequestWrapper extends HttpServletRequestWrapper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MultipartAuditRequestWrapper.class);
+
+    private final MultipartObserver observer;
+    private final Runnable onBodyComplete;
+    private TeeServletInputStream inputStream;
+    private boolean partsRecorded;
+
+    public MultipartAuditRequestWrapper(final HttpServletRequest request, final int maxParts, final Runnable onBodyComplete) {
+        super(request);
+        this.observer = MultipartObserver.forContentType(request.getContentType(), maxParts);
+        this.onBodyComplete = onBodyComplete;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = new TeeServletInputStream(super.getInputStream(), observer, onBodyComplete);
+        }
+        return inputStream;
+    }
+
+    @Override
+    public Collection<Part> getParts() throws IOException, ServletException {
+        final Collection<Part> parts = super.getParts();
+        recordParts(parts);
+        return parts;
+    }
+
+    @Override
+    public Part getPart(final String name) throws IOException, ServletException {
+        recordParts(super.getParts());
+        return super.getPart(name);
+    }
+
+    /**
+     * @return the parts seen so far
+     */
+    public synchronized MultipartInfo getMultipartInfo() {
+        return observer.toMultipartInfo(getContentLengthLong());
+    }
+
+    private synchronized void recordParts(final Collection<Part> parts) {
+        if (!partsRecorded) {
+            partsRecorded = true;
+            try {
+                observer.recordParts(parts);
+            } catch (RuntimeException e) {
+                // Describing the parts is for the audit only and must not fail the application's call
+                LOGGER.warn("Unable to describe multipart request parts for audit", e);
+            }
+        }
+    }
+}
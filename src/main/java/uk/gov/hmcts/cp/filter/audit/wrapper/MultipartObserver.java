@@ -0,0 +1,385 @@
+package uk.gov.hmcts.cp.filter.audit.wrapper;
+
+import uk.gov.hmcts.cp.filter.audit.model.MultipartInfo;
+import uk.gov.hmcts.cp.filter.audit.model.PartInfo;
+import uk.gov.hmcts.cp.filter.audit.util.Digests;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import jakarta.servlet.http.Part;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Incremental {@code multipart/*} parser that describes each part as its bytes pass through.
+ * <p>
+ * Part headers are parsed for the name, filename and content type; part contents are only counted
+ * and hashed, so memory use does not depend on the size of the upload. The boundary is found with a
+ * KMP matcher, so partial delimiters split across reads need no look-ahead buffer.
+ * <p>
+ * When the container parses the body itself (for {@code HttpServletRequest#getParts()}) the bytes
+ * never reach this observer, and {@link #recordParts(Collection)} describes the parsed parts instead.
+ */
+public class MultipartObserver implements BodyObserver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MultipartObserver.class);
+    private static final int MAX_HEADER_BYTES = 8 * 1024;
+    private static final int DIGEST_BUFFER_BYTES = 8 * 1024;
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+    private static final byte DASH = '-';
+
+    private enum State { BODY, AFTER_DELIMITER, CLOSE_DELIMITER, PADDING, HEADERS, EPILOGUE }
+
+    private final byte[] delimiter;
+    private final int[] fallback;
+    private final int maxParts;
+    private final List<PartInfo> parts = new ArrayList<>();
+    private final ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+
+    private State state = State.BODY;
+    // The first boundary may open the body without a preceding CRLF, so start as if one had been seen
+    private int matched = 2;
+    private int headerLineLength;
+    private long totalBytes;
+    private int partCount;
+    private CurrentPart current;
+
+    /**
+     * @param boundary the {@code boundary} parameter of the request's content type, or {@code null}
+     *                 when it has none, in which case only the body length is recorded
+     */
+    public MultipartObserver(final String boundary, final int maxParts) {
+        this.delimiter = boundary == null ? null : ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.fallback = delimiter == null ? null : fallback(delimiter);
+        this.maxParts = maxParts;
+    }
+
+    /**
+     * @param contentType a {@code multipart/*} content type
+     */
+    public static MultipartObserver forContentType(final String contentType, final int maxParts) {
+        return new MultipartObserver(HeaderParameters.parse(contentType).get("boundary"), maxParts);
+    }
+
+    @Override
+    public void write(final int value) {
+        totalBytes++;
+        if (delimiter != null) {
+            accept((byte) value);
+        }
+    }
+
+    @Override
+    public void write(final byte[] source, final int offset, final int length) {
+        totalBytes += length;
+        if (delimiter == null) {
+            return;
+        }
+        final int end = offset + length;
+        int index = offset;
+        while (index < end) {
+            if (state == State.BODY && matched == 0) {
+                // Fast path: content bytes up to the next possible delimiter go straight to the digest
+                int run = index;
+                while (run < end && source[run] != delimiter[0]) {
+                    run++;
+                }
+                if (current != null) {
+                    current.update(source, index, run - index);
+                }
+                index = run;
+                if (index == end) {
+                    break;
+                }
+            }
+            accept(source[index]);
+            index++;
+        }
+    }
+
+    /**
+     * Describes parts parsed by the container, unless parts have already been seen in the body stream.
+     * Part contents are read back from the container's storage to compute their digests.
+     */
+    public void recordParts(final Collection<Part> containerParts) {
+        if (partCount > 0) {
+            return;
+        }
+        for (final Part part : containerParts) {
+            partCount++;
+            if (parts.size() < maxParts) {
+                parts.add(new PartInfo(part.getName(), part.getSubmittedFileName(), part.getContentType(), part.getSize(), digest(part)));
+            }
+        }
+    }
+
+    /**
+     * @param contentLength the request's declared length, used when the body was not read through this observer
+     */
+    public MultipartInfo toMultipartInfo(final long contentLength) {
+        return new MultipartInfo(totalBytes > 0 ? totalBytes : contentLength, partCount, List.copyOf(parts));
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private void accept(final byte value) {
+        switch (state) {
+            case BODY -> matchDelimiter(value);
+            case AFTER_DELIMITER -> {
+                if (value == DASH) {
+                    state = State.CLOSE_DELIMITER;
+                } else {
+                    skipPadding(value);
+                }
+            }
+            case CLOSE_DELIMITER -> {
+                if (value == DASH) {
+                    state = State.EPILOGUE;
+                } else {
+                    skipPadding(value);
+                }
+            }
+            case PADDING -> skipPadding(value);
+            case HEADERS -> readHeader(value);
+            default -> {
+                // Epilogue: ignored
+            }
+        }
+    }
+
+    private void matchDelimiter(final byte value) {
+        int next = matched;
+        while (next > 0 && delimiter[next] != value) {
+            next = fallback[next - 1];
+        }
+        if (delimiter[next] == value) {
+            next++;
+        }
+        // Bytes that dropped out of the candidate match are part content: a prefix of the delimiter,
+        // followed by the new byte when no match remains
+        final int emitted = matched + 1 - next;
+        if (current != null && emitted > 0) {
+            current.update(delimiter, 0, Math.min(emitted, matched));
+            if (emitted > matched) {
+                current.update(value);
+            }
+        }
+        matched = next;
+        if (matched == delimiter.length) {
+            endPart();
+            matched = 0;
+            state = State.AFTER_DELIMITER;
+        }
+    }
+
+    private void skipPadding(final byte value) {
+        state = State.PADDING;
+        if (value == LF) {
+            state = State.HEADERS;
+            headerBytes.reset();
+            headerLineLength = 0;
+        }
+    }
+
+    private void readHeader(final byte value) {
+        if (value == LF) {
+            if (headerLineLength == 0) {
+                startPart();
+                state = State.BODY;
+                return;
+            }
+            headerLineLength = 0;
+        } else if (value != CR) {
+            headerLineLength++;
+        }
+        if (headerBytes.size() < MAX_HEADER_BYTES) {
+            headerBytes.write(value);
+        }
+    }
+
+    private void startPart() {
+        partCount++;
+        if (parts.size() >= maxParts) {
+            return;
+        }
+        String name = null;
+        String filename = null;
+        String contentType = null;
+        for (final String line : headerBytes.toString(StandardCharsets.UTF_8).split("\r?\n")) {
+            final int colon = line.indexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            final String headerName = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            final String headerValue = line.substring(colon + 1).trim();
+            if ("content-disposition".equals(headerName)) {
+                final Map<String, String> parameters = HeaderParameters.parse(headerValue);
+                name = parameters.get("name");
+                filename = parameters.containsKey("filename*")
+                        ? HeaderParameters.decodeExtended(parameters.get("filename*"))
+                        : parameters.get("filename");
+            } else if ("content-type".equals(headerName)) {
+                contentType = headerValue;
+            }
+        }
+        current = new CurrentPart(name, filename, contentType);
+    }
+
+    private void endPart() {
+        if (current != null) {
+            parts.add(current.toPartInfo());
+            current = null;
+        }
+    }
+
+    private static String digest(final Part part) {
+        final MessageDigest digest = Digests.newSha256();
+        final byte[] buffer = new byte[DIGEST_BUFFER_BYTES];
+        try (InputStream inputStream = part.getInputStream()) {
+            int count;
+            while ((count = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, count);
+            }
+            return Digests.hex(digest);
+        } catch (IOException e) {
+            LOGGER.debug("Unable to read multipart part {} for its digest", part.getName(), e);
+            return null;
+        }
+    }
+
+    private static int[] fallback(final byte[] pattern) {
+        final int[] table = new int[pattern.length];
+        int length = 0;
+        for (int i = 1; i < pattern.length; i++) {
+            while (length > 0 && pattern[i] != pattern[length]) {
+                length = table[length - 1];
+            }
+            if (pattern[i] == pattern[length]) {
+                length++;
+            }
+            table[i] = length;
+        }
+        return table;
+    }
+
+    private static final class CurrentPart {
+
+        private final String name;
+        private final String filename;
+        private final String contentType;
+        @SuppressWarnings("PMD.AvoidMessageDigestField") // one part of one request, never shared between threads
+        private final MessageDigest digest = Digests.newSha256();
+        private long size;
+
+        private CurrentPart(final String name, final String filename, final String contentType) {
+            this.name = name;
+            this.filename = filename;
+            this.contentType = contentType;
+        }
+
+        private void update(final byte value) {
+            size++;
+            digest.update(value);
+        }
+
+        private void update(final byte[] source, final int offset, final int length) {
+            size += length;
+            digest.update(source, offset, length);
+        }
+
+        private PartInfo toPartInfo() {
+            return new PartInfo(name, filename, contentType, size, Digests.hex(digest));
+        }
+    }
+
+    /**
+     * Parses {@code ; key=value} parameters of header values such as {@code Content-Type} and
+     * {@code Content-Disposition}, including quoted values.
+     */
+    static final class HeaderParameters {
+
+        private HeaderParameters() {
+        }
+
+        static Map<String, String> parse(final String headerValue) {
+            final Map<String, String> parameters = new HashMap<>();
+            if (headerValue == null) {
+                return parameters;
+            }
+            int index = headerValue.indexOf(';');
+            while (index >= 0 && index < headerValue.length()) {
+                final int equals = headerValue.indexOf('=', index);
+                if (equals < 0) {
+                    break;
+                }
+                final String key = headerValue.substring(index + 1, equals).trim().toLowerCase(Locale.ROOT);
+                final StringBuilder value = new StringBuilder();
+                index = readValue(headerValue, equals + 1, value);
+                parameters.putIfAbsent(key, value.toString());
+            }
+            return parameters;
+        }
+
+        /**
+         * Decodes an RFC 5987 extended value such as {@code UTF-8''na%C3%AFve.txt}, keeping the value
+         * as sent when it holds a malformed escape.
+         */
+        static String decodeExtended(final String value) {
+            final int quotes = value.indexOf("''");
+            if (quotes < 0) {
+                return value;
+            }
+            Charset charset = StandardCharsets.UTF_8;
+            try {
+                charset = Charset.forName(value.substring(0, quotes));
+            } catch (IllegalArgumentException e) {
+                LOGGER.debug("Unknown charset in multipart filename {}", value, e);
+            }
+            try {
+                return URLDecoder.decode(value.substring(quotes + 2).replace("+", "%2B"), charset);
+            } catch (IllegalArgumentException e) {
+                LOGGER.debug("Malformed escape in multipart filename {}", value, e);
+                return value;
+            }
+        }
+
+        /**
+         * @return the index of the {@code ;} that ends the value, or {@code -1} at the end of the header
+         */
+        private static int readValue(final String headerValue, final int start, final StringBuilder value) {
+            int index = start;
+            while (index < headerValue.length() && headerValue.charAt(index) == ' ') {
+                index++;
+            }
+            if (index < headerValue.length() && headerValue.charAt(index) == '"') {
+                index++;
+                while (index < headerValue.length() && headerValue.charAt(index) != '"') {
+                    if (headerValue.charAt(index) == '\\' && index + 1 < headerValue.length()) {
+                        index++;
+                    }
+                    value.append(headerValue.charAt(index));
+                    index++;
+                }
+                return headerValue.indexOf(';', index);
+            }
+            final int end = headerValue.indexOf(';', index);
+            value.append(headerValue.substring(index, end < 0 ? headerValue.length() : end).trim());
+            return end;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package uk.gov.hmcts.cp.filter.audit.wrapper;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+
+/**
+ * Base for streams that replay a body the filter has already read, so every read can complete
+ * without waiting for the client.
+ * <p>
+ * Implements the Servlet non-blocking read contract: {@link #isReady()} is always {@code true}, a
+ * registered {@link ReadListener} is told that data is available straight away, and
+ * {@link ReadListener#onAllDataRead()} follows once the body has been consumed.
+ */
+public abstract class ReplayServletInputStream extends ServletInputStream {
+
+    private ReadListener readListener;
+    private boolean dispatching;
+    private boolean allDataReadSignalled;
+
+    @Override
+    public final boolean isReady() {
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("PMD.UnusedAssignment") // dispatching is read by signalIfFinished() during the callback
+    public final void setReadListener(final ReadListener listener) {
+        Objects.requireNonNull(listener, "readListener must not be null");
+        if (readListener != null) {
+            throw new IllegalStateException("A ReadListener has already been set");
+        }
+        readListener = listener;
+        try {
+            if (!isFinished()) {
+                dispatching = true;
+                try {
+                    listener.onDataAvailable();
+                } finally {
+                    dispatching = false;
+                }
+            }
+            signalIfFinished();
+        } catch (IOException | RuntimeException e) {
+            listener.onError(e);
+        }
+    }
+
+    /**
+     * Called by subclasses after each read. Tells the listener that all data has been read once the
+     * body is exhausted, unless the listener is still inside {@code onDataAvailable}, in which case
+     * that happens when it returns.
+     */
+    protected final void signalIfFinished() throws IOException {
+        if (readListener != null && !dispatching && !allDataReadSignalled && isFinished()) {
+            allDataReadSignalled = true;
+            readListener.onAllDataRead();
+        }
+    }
+}
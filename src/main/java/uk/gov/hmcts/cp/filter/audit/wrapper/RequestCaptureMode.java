@@ -0,0 +1,18 @@
+package uk.gov.hmcts.cp.filter.audit.wrapper;
+
+/**
+ * How the audit filter captures request bodies, selected with {@code audit.http.request-capture-mode}.
+ */
+public enum RequestCaptureMode {
+
+    /**
+     * Read the whole body before the filter chain runs and audit the request up front.
+     */
+    BUFFERED,
+
+    /**
+     * Copy the body into a bounded buffer as the application reads it and audit the request once the
+     * body has been read (or the chain returns without reading it).
+     */
+    STREAMING
+}
@@ -0,0 +1,19 @@
+package uk.gov.hmcts.cp.filter.audit.wrapper;
+
+/**
+ * How the audit filter captures response bodies, selected with {@code audit.http.response-capture-mode}.
+ */
+public enum ResponseCaptureMode {
+
+    /**
+     * Stream the response to the client as it is written, keeping a bounded copy for the audit event,
+     * which is published once the response has been flushed.
+     */
+    WRITE_THROUGH,
+
+    /**
+     * Hold the whole response in a {@code ContentCachingResponseWrapper} and send it to the client
+     * after the response audit event has been published.
+     */
+    BUFFERED
+}
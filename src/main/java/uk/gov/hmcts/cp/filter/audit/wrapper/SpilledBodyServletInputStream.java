@@ -0,0 +1,51 @@
+package uk.gov.hmcts.cp.filter.audit.wrapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Replays a request body whose first bytes are held in memory and whose remainder was spilled to a
+ * temporary file.
+ */
+public class SpilledBodyServletInputStream extends ReplayServletInputStream {
+
+    private final ByteArrayServletInputStream prefix;
+    private final InputStream overflow;
+    private boolean finished;
+
+    public SpilledBodyServletInputStream(final byte[] prefix, final InputStream overflow) {
+        this.prefix = new ByteArrayServletInputStream(prefix);
+        this.overflow = overflow;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int value = prefix.isFinished() ? overflow.read() : prefix.read();
+        finished = value < 0;
+        signalIfFinished();
+        return value;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+        final int count = prefix.isFinished() ? overflow.read(buffer, offset, length) : prefix.read(buffer, offset, length);
+        finished = count < 0;
+        signalIfFinished();
+        return count;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return prefix.isFinished() ? overflow.available() : prefix.available();
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public void close() throws IOException {
+        overflow.close();
+    }
+}
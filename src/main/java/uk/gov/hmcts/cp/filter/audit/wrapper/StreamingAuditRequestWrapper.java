@@ -0,0 +1,79 @@
+package uk.gov.hmcts.cp.filter.audit.wrapper;
+
+import uk.gov.hmcts.cp.filter.audit.model.PayloadInfo;
+import uk.gov.hmcts.cp.filter.audit.util.Charsets;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+/**
+ * Request wrapper that captures the body while the application reads it, instead of reading it up
+ * front like {@link AuditServletRequestWrapper}. At most {@code maxCaptureBytes} are kept; the
+ * application still sees the whole body. The completion callback runs once the application has read
+ * the body to the end.
+ */
+public class StreamingAuditRequestWrapper extends HttpServletRequestWrapper {
+
+    private final BodyCaptureBuffer capture;
+    private final Runnable onBodyComplete;
+    private TeeServletInputStream inputStream;
+    private BufferedReader reader;
+
+    public StreamingAuditRequestWrapper(final HttpServletRequest request, final int maxCaptureBytes, final Runnable onBodyComplete) {
+        super(request);
+        this.capture = new BodyCaptureBuffer(maxCaptureBytes);
+        this.onBodyComplete = onBodyComplete;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = new TeeServletInputStream(super.getInputStream(), capture, onBodyComplete);
+        }
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            reader = new BufferedReader(new InputStreamReader(getInputStream(), getBodyCharset()));
+        }
+        return reader;
+    }
+
+    /**
+     * @return the body captured so far, decoded with the request's character encoding
+     */
+    public String getCapturedBody() {
+        return capture.toString(getBodyCharset());
+    }
+
+    /**
+     * @return the length and SHA-256 of the body read so far, or {@code null} when all of it was captured
+     */
+    public PayloadInfo getPayloadInfo() {
+        return capture.toPayloadInfo();
+    }
+
+    public BodyCaptureBuffer getCapture() {
+        return capture;
+    }
+
+    /**
+     * @return {@code true} once the application has read the body to the end
+     */
+    public boolean isBodyComplete() {
+        return inputStream != null && inputStream.isCompleted();
+    }
+
+    private Charset getBodyCharset() {
+        // The encoding comes from the client's Content-Type, so an unknown one must not fail the request
+        return Charsets.forNameOrUtf8(getCharacterEncoding());
+    }
+}
@@ -0,0 +1,127 @@
+package uk.gov.hmcts.cp.filter.audit.wrapper;
+
+import java.io.IOException;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ServletInputStream} that copies every byte the application reads into a
+ * {@link BodyObserver}, such as a {@link BodyCaptureBuffer}, and runs a callback once, when the end of the stream is reached.
+ * An observer that throws is detached rather than failing the application's read.
+ */
+public class TeeServletInputStream extends ServletInputStream {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TeeServletInputStream.class);
+
+    private final ServletInputStream delegate;
+    private final BodyObserver capture;
+    private final Runnable onComplete;
+    private boolean completed;
+    private boolean observing = true;
+
+    public TeeServletInputStream(final ServletInputStream delegate, final BodyObserver capture, final Runnable onComplete) {
+        this.delegate = delegate;
+        this.capture = capture;
+        this.onComplete = onComplete;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int value = delegate.read();
+        if (value < 0) {
+            complete();
+        } else if (observing) {
+            try {
+                capture.write(value);
+            } catch (RuntimeException e) {
+                detach(e);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+        final int count = delegate.read(buffer, offset, length);
+        if (count < 0) {
+            complete();
+        } else if (observing) {
+            try {
+                capture.write(buffer, offset, count);
+            } catch (RuntimeException e) {
+                detach(e);
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public boolean isFinished() {
+        final boolean finished = delegate.isFinished();
+        if (finished) {
+            complete();
+        }
+        return finished;
+    }
+
+    @Override
+    public boolean isReady() {
+        return delegate.isReady();
+    }
+
+    /**
+     * Registers the application's listener with the container's stream, so reads stay non-blocking
+     * while the bytes are captured. Applications using a listener typically stop reading once
+     * {@link #isFinished()} is {@code true} instead of reading to {@code -1}, so capture is also
+     * completed when the container reports that all data has been read.
+     */
+    @Override
+    public void setReadListener(final ReadListener readListener) {
+        delegate.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                readListener.onDataAvailable();
+            }
+
+            @Override
+            public void onAllDataRead() throws IOException {
+                complete();
+                readListener.onAllDataRead();
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+                readListener.onError(throwable);
+            }
+        });
+    }
+
+    @Override
+    public int available() throws IOException {
+        return delegate.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    private void detach(final RuntimeException failure) {
+        observing = false;
+        LOGGER.warn("Stopped observing the request body for audit after the observer failed", failure);
+    }
+
+    private void complete() {
+        if (!completed) {
+            completed = true;
+            onComplete.run();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package uk.gov.hmcts.cp.filter.audit.wrapper;
+
+import java.io.IOException;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+
+/**
+ * {@link ServletOutputStream} that writes straight through to the container's stream and copies
+ * every byte into a {@link BodyObserver}, such as a {@link BodyCaptureBuffer}.
+ */
+public class TeeServletOutputStream extends ServletOutputStream {
+
+    private final ServletOutputStream delegate;
+    private final BodyObserver capture;
+
+    public TeeServletOutputStream(final ServletOutputStream delegate, final BodyObserver capture) {
+        this.delegate = delegate;
+        this.capture = capture;
+    }
+
+    @Override
+    public void write(final int value) throws IOException {
+        delegate.write(value);
+        capture.write(value);
+    }
+
+    @Override
+    public void write(final byte[] buffer, final int offset, final int length) throws IOException {
+        delegate.write(buffer, offset, length);
+        capture.write(buffer, offset, length);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        delegate.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    @Override
+    public boolean isReady() {
+        return delegate.isReady();
+    }
+
+    @Override
+    public void setWriteListener(final WriteListener writeListener) {
+        delegate.setWriteListener(writeListener);
+    }
+}
@@ -0,0 +1,120 @@
+package uk.gov.hmcts.cp.filter.audit.wrapper;
+
+import uk.gov.hmcts.cp.filter.audit.model.PayloadInfo;
+import uk.gov.hmcts.cp.filter.audit.policy.BodyCategory;
+import uk.gov.hmcts.cp.filter.audit.policy.ContentTypePolicy;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Response wrapper that sends the body to the client as the application writes it, unlike
+ * {@code ContentCachingResponseWrapper}, and keeps at most {@code maxCaptureBytes} for auditing.
+ */
+public class WriteThroughResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int maxCaptureBytes;
+    private final ContentTypePolicy contentTypePolicy;
+    private BodyCaptureBuffer capture;
+    private TeeServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    public WriteThroughResponseWrapper(final HttpServletResponse response, final int maxCaptureBytes) {
+        this(response, maxCaptureBytes, null);
+    }
+
+    /**
+     * @param contentTypePolicy when given, a body whose content type is {@link BodyCategory#BINARY} at
+     *                          the time the application starts writing is only digested, not captured
+     */
+    public WriteThroughResponseWrapper(final HttpServletResponse response, final int maxCaptureBytes,
+                                       final ContentTypePolicy contentTypePolicy) {
+        super(response);
+        this.maxCaptureBytes = maxCaptureBytes;
+        this.contentTypePolicy = contentTypePolicy;
+        this.capture = new BodyCaptureBuffer(maxCaptureBytes);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called on this response");
+        }
+        return teeOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called on this response");
+            }
+            writer = new PrintWriter(new OutputStreamWriter(teeOutputStream(), Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    /**
+     * Resets the response and, once the container has accepted that, drops the captured body and
+     * the stream or writer handed out so far, since the content type may change before the body is
+     * written again.
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        capture = new BodyCaptureBuffer(maxCaptureBytes);
+        outputStream = null;
+        writer = null;
+    }
+
+    /**
+     * Clears the unsent body and, once the container has accepted that, the captured copy of it.
+     */
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        capture.reset();
+    }
+
+    /**
+     * @return the captured part of the body, decoded with the response's character encoding
+     */
+    public String getCapturedBody() {
+        return capture.toString(Charset.forName(getCharacterEncoding()));
+    }
+
+    /**
+     * @return the length and SHA-256 of the body, or {@code null} when all of it was captured
+     */
+    public PayloadInfo getPayloadInfo() {
+        return capture.toPayloadInfo();
+    }
+
+    public BodyCaptureBuffer getCapture() {
+        return capture;
+    }
+
+    private TeeServletOutputStream teeOutputStream() throws IOException {
+        if (outputStream == null) {
+            if (contentTypePolicy != null && contentTypePolicy.categorize(getContentType()) == BodyCategory.BINARY) {
+                capture = new BodyCaptureBuffer(0);
+            }
+            outputStream = new TeeServletOutputStream(super.getOutputStream(), capture);
+        }
+        return outputStream;
+    }
+}
@@ -1,29 +1,48 @@
 package uk.gov.hmcts.cp.filter.audit;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import uk.gov.hmcts.cp.filter.audit.config.HttpAuditProperties;
 import uk.gov.hmcts.cp.filter.audit.model.AuditPayload;
+import uk.gov.hmcts.cp.filter.audit.model.PartInfo;
 import uk.gov.hmcts.cp.filter.audit.model.RequestInfo;
 import uk.gov.hmcts.cp.filter.audit.model.ResponseInfo;
+import uk.gov.hmcts.cp.filter.audit.policy.BodyCategory;
 import uk.gov.hmcts.cp.filter.audit.service.AuditPayloadGenerationService;
 import uk.gov.hmcts.cp.filter.audit.service.AuditService;
 import uk.gov.hmcts.cp.filter.audit.service.PathParameterService;
+import uk.gov.hmcts.cp.filter.audit.util.Digests;
 import uk.gov.hmcts.cp.filter.audit.wrapper.AuditServletRequestWrapper;
+import uk.gov.hmcts.cp.filter.audit.wrapper.ByteCountingResponseWrapper;
+import uk.gov.hmcts.cp.filter.audit.wrapper.MultipartAuditRequestWrapper;
+import uk.gov.hmcts.cp.filter.audit.wrapper.RequestCaptureMode;
+import uk.gov.hmcts.cp.filter.audit.wrapper.ResponseCaptureMode;
+import uk.gov.hmcts.cp.filter.audit.wrapper.StreamingAuditRequestWrapper;
+import uk.gov.hmcts.cp.filter.audit.wrapper.WriteThroughResponseWrapper;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -38,6 +57,7 @@ class AuditFilterTest {
 
     private AuditService mockAuditService;
     private AuditPayloadGenerationService mockAuditPayloadGenerationService;
+    private PathParameterService mockPathParameterService;
 
     private MockHttpServletRequest mockRequest;
     private MockHttpServletResponse mockResponse;
@@ -45,6 +65,8 @@ class AuditFilterTest {
 
     private static final String HEADER_KEY_AUTH = "Authorization";
     private static final String HEADER_AUTH_VALUE = "Bearer token";
+    private static final String HEADER_KEY_USER = "CJSCPPUID";
+    private static final String HEADER_USER_VALUE = "user-123";
     private static final String CONTEXT_PATH = "test-context-path";
     private static final String CONTEXT_PATH_WITH_LEADING_SLASH = "/" + CONTEXT_PATH;
     private static final String SERVLET_PATH = "/test-servlet-path";
@@ -63,7 +85,7 @@ class AuditFilterTest {
         // Mock dependencies
         mockAuditService = mock(AuditService.class);
         mockAuditPayloadGenerationService = mock(AuditPayloadGenerationService.class);
-        final PathParameterService mockPathParameterService = mock(PathParameterService.class);
+        mockPathParameterService = mock(PathParameterService.class);
 
         // Instantiate the filter with mocks
         auditFilter = new AuditFilter(mockAuditService, mockAuditPayloadGenerationService, mockPathParameterService);
@@ -74,6 +96,7 @@ class AuditFilterTest {
         mockRequest.setServletPath(SERVLET_PATH);
         mockRequest.setContent(REQUEST_BODY.getBytes());
         mockRequest.addHeader(HEADER_KEY_AUTH, HEADER_AUTH_VALUE);
+        mockRequest.addHeader(HEADER_KEY_USER, HEADER_USER_VALUE);
         mockRequest.addParameter("param1", "value1");
 
         // The filter chain logic writes to the response wrapper
@@ -94,10 +117,10 @@ class AuditFilterTest {
         when(mockPathParameterService.getPathParameters(any())).thenReturn(Map.of("pathparam1", "pathvalue1"));
 
         // 1. Mock for Request payload: generatePayload(String, String, Map, Map)
-        when(mockAuditPayloadGenerationService.generatePayload(any(RequestInfo.class))).thenReturn(mockRequestAuditNode);
+        when(mockAuditPayloadGenerationService.generateEvent(any(RequestInfo.class))).thenReturn(mockRequestAuditNode);
 
         // 2. Mock for Response payload: generatePayload(String, String, Map)
-        when(mockAuditPayloadGenerationService.generatePayload(any(ResponseInfo.class))).thenReturn(mockResponseAuditNode);
+        when(mockAuditPayloadGenerationService.generateEvent(any(ResponseInfo.class))).thenReturn(mockResponseAuditNode);
     }
 
     @Test
@@ -106,24 +129,25 @@ class AuditFilterTest {
             auditFilter.doFilterInternal(mockRequest, mockResponse, mockFilterChain);
         });
 
-        verify(mockFilterChain).doFilter(any(AuditServletRequestWrapper.class), any(ContentCachingResponseWrapper.class));
-        // CRITICAL: Verify that the buffered content was copied back to the real response
+        verify(mockFilterChain).doFilter(any(AuditServletRequestWrapper.class), any(WriteThroughResponseWrapper.class));
+        // CRITICAL: Verify that the response content reached the real response
         assertEquals(RESPONSE_STATUS, mockResponse.getStatus());
         assertEquals(RESPONSE_BODY, mockResponse.getContentAsString());
 
         final ArgumentCaptor<RequestInfo> requestInfoCaptor = ArgumentCaptor.forClass(RequestInfo.class);
         final ArgumentCaptor<ResponseInfo> responseInfoCaptor = ArgumentCaptor.forClass(ResponseInfo.class);
 
-        verify(mockAuditService).postMessageToArtemis(mockRequestAuditNode);
-        verify(mockAuditService).postMessageToArtemis(mockResponseAuditNode);
+        verify(mockAuditService).postEvent(mockRequestAuditNode);
+        verify(mockAuditService).postEvent(mockResponseAuditNode);
 
-        verify(mockAuditPayloadGenerationService).generatePayload(requestInfoCaptor.capture());
+        verify(mockAuditPayloadGenerationService).generateEvent(requestInfoCaptor.capture());
         // assert first invocation for request
         assertEquals(CONTEXT_PATH, requestInfoCaptor.getAllValues().getFirst().contextPath());
         assertEquals(REQUEST_BODY, requestInfoCaptor.getAllValues().getFirst().payloadBody());
 
         assertEquals(1, requestInfoCaptor.getAllValues().getFirst().headers().size());
-        assertEquals(HEADER_AUTH_VALUE, requestInfoCaptor.getAllValues().getFirst().headers().get(HEADER_KEY_AUTH));
+        assertEquals(HEADER_USER_VALUE, requestInfoCaptor.getAllValues().getFirst().headers().get(HEADER_KEY_USER));
+        assertNull(requestInfoCaptor.getAllValues().getFirst().headers().get(HEADER_KEY_AUTH));
 
         assertEquals(1, requestInfoCaptor.getAllValues().getFirst().queryParams().size());
         assertEquals("value1", requestInfoCaptor.getAllValues().getFirst().queryParams().get("param1"));
@@ -132,11 +156,12 @@ class AuditFilterTest {
         assertEquals("pathvalue1", requestInfoCaptor.getAllValues().getFirst().pathParams().get("pathparam1"));
 
         // assert second invocation for response
-        verify(mockAuditPayloadGenerationService).generatePayload(responseInfoCaptor.capture());
+        verify(mockAuditPayloadGenerationService).generateEvent(responseInfoCaptor.capture());
         assertEquals(CONTEXT_PATH, responseInfoCaptor.getAllValues().getFirst().contextPath());
         assertEquals(RESPONSE_BODY, responseInfoCaptor.getAllValues().getFirst().payloadBody());
         assertEquals(1, responseInfoCaptor.getAllValues().getFirst().headers().size());
-        assertEquals(HEADER_AUTH_VALUE, responseInfoCaptor.getAllValues().getFirst().headers().get(HEADER_KEY_AUTH));
+        assertEquals(HEADER_USER_VALUE, responseInfoCaptor.getAllValues().getFirst().headers().get(HEADER_KEY_USER));
+        assertNull(responseInfoCaptor.getAllValues().getFirst().headers().get(HEADER_KEY_AUTH));
     }
 
     @Test
@@ -154,18 +179,19 @@ class AuditFilterTest {
         });
 
         // Verify that the AuditService was called only once (for the request)
-        verify(mockAuditService).postMessageToArtemis(mockRequestAuditNode);
+        verify(mockAuditService).postEvent(mockRequestAuditNode);
 
         // Verify that the payload generation happened only once (for the request)
         final ArgumentCaptor<RequestInfo> requestInfoCaptor = ArgumentCaptor.forClass(RequestInfo.class);
-        verify(mockAuditPayloadGenerationService).generatePayload(requestInfoCaptor.capture());
+        verify(mockAuditPayloadGenerationService).generateEvent(requestInfoCaptor.capture());
 
         // assert first invocation for request
         assertEquals(CONTEXT_PATH, requestInfoCaptor.getAllValues().getFirst().contextPath());
         assertEquals(REQUEST_BODY, requestInfoCaptor.getAllValues().getFirst().payloadBody());
 
         assertEquals(1, requestInfoCaptor.getAllValues().getFirst().headers().size());
-        assertEquals(HEADER_AUTH_VALUE, requestInfoCaptor.getAllValues().getFirst().headers().get(HEADER_KEY_AUTH));
+        assertEquals(HEADER_USER_VALUE, requestInfoCaptor.getAllValues().getFirst().headers().get(HEADER_KEY_USER));
+        assertNull(requestInfoCaptor.getAllValues().getFirst().headers().get(HEADER_KEY_AUTH));
 
         assertEquals(1, requestInfoCaptor.getAllValues().getFirst().queryParams().size());
         assertEquals("value1", requestInfoCaptor.getAllValues().getFirst().queryParams().get("param1"));
@@ -177,6 +203,358 @@ class AuditFilterTest {
         assertEquals("", mockResponse.getContentAsString());
     }
 
+    @Test
+    void streamingModeAuditsRequestOnceTheApplicationHasReadTheBody() throws ServletException, IOException {
+        final AuditFilter streamingFilter = streamingFilter();
+        doAnswer(invocation -> {
+            final HttpServletRequest currentRequest = (HttpServletRequest) invocation.getArguments()[0];
+            final String body = new String(currentRequest.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals(REQUEST_BODY, body);
+            // The request is audited while the chain is still running
+            verify(mockAuditService).postEvent(mockRequestAuditNode);
+
+            final HttpServletResponse currentResponse = (HttpServletResponse) invocation.getArguments()[1];
+            currentResponse.getWriter().write(RESPONSE_BODY);
+            return null;
+        }).when(mockFilterChain).doFilter(any(), any());
+
+        streamingFilter.doFilterInternal(mockRequest, mockResponse, mockFilterChain);
+
+        verify(mockFilterChain).doFilter(any(StreamingAuditRequestWrapper.class), any(WriteThroughResponseWrapper.class));
+        verify(mockAuditService).postEvent(mockRequestAuditNode);
+        verify(mockAuditService).postEvent(mockResponseAuditNode);
+        assertEquals(RESPONSE_BODY, mockResponse.getContentAsString());
+
+        final ArgumentCaptor<RequestInfo> requestInfoCaptor = ArgumentCaptor.forClass(RequestInfo.class);
+        verify(mockAuditPayloadGenerationService).generateEvent(requestInfoCaptor.capture());
+        assertEquals(REQUEST_BODY, requestInfoCaptor.getValue().payloadBody());
+        assertEquals(CONTEXT_PATH, requestInfoCaptor.getValue().contextPath());
+        assertEquals("value1", requestInfoCaptor.getValue().queryParams().get("param1"));
+        assertEquals("pathvalue1", requestInfoCaptor.getValue().pathParams().get("pathparam1"));
+    }
+
+    @Test
+    void streamingModeAuditsRequestAfterTheChainWhenTheBodyIsNotRead() throws ServletException, IOException {
+        final AuditFilter streamingFilter = streamingFilter();
+
+        streamingFilter.doFilterInternal(mockRequest, mockResponse, mockFilterChain);
+
+        final ArgumentCaptor<RequestInfo> requestInfoCaptor = ArgumentCaptor.forClass(RequestInfo.class);
+        verify(mockAuditPayloadGenerationService, times(1)).generateEvent(requestInfoCaptor.capture());
+        assertEquals("", requestInfoCaptor.getValue().payloadBody());
+        verify(mockAuditService).postEvent(mockRequestAuditNode);
+        verify(mockAuditService).postEvent(mockResponseAuditNode);
+        assertEquals(RESPONSE_BODY, mockResponse.getContentAsString());
+    }
+
+    @Test
+    void writeThroughModeSendsTheResponseBeforePublishingTheResponseEvent() throws ServletException, IOException {
+        doAnswer(invocation -> {
+            // The client already has the response when the response event is published
+            assertTrue(mockResponse.isCommitted());
+            assertEquals(RESPONSE_BODY, mockResponse.getContentAsString());
+            return null;
+        }).when(mockAuditService).postEvent(mockResponseAuditNode);
+
+        auditFilter.doFilterInternal(mockRequest, mockResponse, mockFilterChain);
+
+        verify(mockAuditService).postEvent(mockResponseAuditNode);
+    }
+
+    @Test
+    void bufferedResponseModeReleasesTheResponseAfterPublishingTheResponseEvent() throws ServletException, IOException {
+        final HttpAuditProperties httpAuditProperties = new HttpAuditProperties();
+        httpAuditProperties.setResponseCaptureMode(ResponseCaptureMode.BUFFERED);
+        final AuditFilter bufferedFilter =
+                new AuditFilter(mockAuditService, mockAuditPayloadGenerationService, mockPathParameterService, httpAuditProperties);
+        doAnswer(invocation -> {
+            assertEquals("", mockResponse.getContentAsString());
+            return null;
+        }).when(mockAuditService).postEvent(mockResponseAuditNode);
+
+        bufferedFilter.doFilterInternal(mockRequest, mockResponse, mockFilterChain);
+
+        verify(mockFilterChain).doFilter(any(AuditServletRequestWrapper.class), any(ContentCachingResponseWrapper.class));
+        verify(mockAuditService).postEvent(mockResponseAuditNode);
+        assertEquals(RESPONSE_STATUS, mockResponse.getStatus());
+        assertEquals(RESPONSE_BODY, mockResponse.getContentAsString());
+        final ArgumentCaptor<ResponseInfo> responseInfoCaptor = ArgumentCaptor.forClass(ResponseInfo.class);
+        verify(mockAuditPayloadGenerationService).generateEvent(responseInfoCaptor.capture());
+        assertEquals(RESPONSE_BODY, responseInfoCaptor.getValue().payloadBody());
+    }
+
+    @Test
+    void asyncResponseIsAuditedWhenTheApplicationCompletesIt() throws ServletException, IOException {
+        mockRequest.setAsyncSupported(true);
+        final AsyncContext[] asyncContext = new AsyncContext[1];
+        final HttpServletResponse[] asyncResponse = new HttpServletResponse[1];
+        doAnswer(invocation -> {
+            asyncContext[0] = ((HttpServletRequest) invocation.getArguments()[0]).startAsync();
+            asyncResponse[0] = (HttpServletResponse) invocation.getArguments()[1];
+            return null;
+        }).when(mockFilterChain).doFilter(any(), any());
+
+        auditFilter.doFilterInternal(mockRequest, mockResponse, mockFilterChain);
+
+        verify(mockAuditService).postEvent(mockRequestAuditNode);
+        verify(mockAuditService, never()).postEvent(mockResponseAuditNode);
+
+        // Later, on another thread, the application streams the body and completes the request
+        asyncResponse[0].getWriter().write(RESPONSE_BODY);
+        asyncResponse[0].flushBuffer();
+        asyncContext[0].complete();
+
+        verify(mockAuditService).postEvent(mockResponseAuditNode);
+        final ArgumentCaptor<ResponseInfo> responseInfoCaptor = ArgumentCaptor.forClass(ResponseInfo.class);
+        verify(mockAuditPayloadGenerationService).generateEvent(responseInfoCaptor.capture());
+        assertEquals(RESPONSE_BODY, responseInfoCaptor.getValue().payloadBody());
+        assertEquals(RESPONSE_BODY, mockResponse.getContentAsString());
+    }
+
+    @Test
+    void bufferedAsyncResponseIsReleasedOnTheFinalAsyncDispatch() throws ServletException, IOException {
+        final HttpAuditProperties httpAuditProperties = new HttpAuditProperties();
+        httpAuditProperties.setResponseCaptureMode(ResponseCaptureMode.BUFFERED);
+        final AuditFilter bufferedFilter =
+                new AuditFilter(mockAuditService, mockAuditPayloadGenerationService, mockPathParameterService, httpAuditProperties);
+        mockRequest.setAsyncSupported(true);
+        final HttpServletResponse[] asyncResponse = new HttpServletResponse[1];
+        doAnswer(invocation -> {
+            ((HttpServletRequest) invocation.getArguments()[0]).startAsync();
+            asyncResponse[0] = (HttpServletResponse) invocation.getArguments()[1];
+            return null;
+        }).when(mockFilterChain).doFilter(any(), any());
+
+        bufferedFilter.doFilterInternal(mockRequest, mockResponse, mockFilterChain);
+
+        verify(mockAuditService, never()).postEvent(mockResponseAuditNode);
+        asyncResponse[0].getWriter().write(RESPONSE_BODY);
+
+        // The container re-dispatches with the wrapped response once the async result is ready
+        mockRequest.setAsyncStarted(false);
+        mockRequest.setDispatcherType(DispatcherType.ASYNC);
+        final FilterChain dispatchChain = mock(FilterChain.class);
+        bufferedFilter.doFilterInternal(mockRequest, asyncResponse[0], dispatchChain);
+
+        verify(dispatchChain).doFilter(mockRequest, asyncResponse[0]);
+        verify(mockAuditService).postEvent(mockResponseAuditNode);
+        assertEquals(RESPONSE_BODY, mockResponse.getContentAsString());
+    }
+
+    @Test
+    void auditsOnlyAPrefixOfLargeResponses() throws ServletException, IOException {
+        final HttpAuditProperties httpAuditProperties = new HttpAuditProperties();
+        httpAuditProperties.setMaxResponseCaptureBytes(6);
+        final AuditFilter limitedFilter =
+                new AuditFilter(mockAuditService, mockAuditPayloadGenerationService, mockPathParameterService, httpAuditProperties);
+
+        limitedFilter.doFilterInternal(mockRequest, mockResponse, mockFilterChain);
+
+        assertEquals(RESPONSE_BODY, mockResponse.getContentAsString());
+        final ArgumentCaptor<ResponseInfo> responseInfoCaptor = ArgumentCaptor.forClass(ResponseInfo.class);
+        verify(mockAuditPayloadGenerationService).generateEvent(responseInfoCaptor.capture());
+        assertEquals(RESPONSE_BODY.substring(0, 6), responseInfoCaptor.getValue().payloadBody());
+        assertEquals(RESPONSE_BODY.length(), responseInfoCaptor.getValue().payloadInfo().length());
+        assertTrue(responseInfoCaptor.getValue().payloadInfo().truncated());
+    }
+
+    @Test
+    void binaryRequestIsDigestedWithoutCapturingTheBody() throws ServletException, IOException {
+        final byte[] image = {(byte) 0x89, 'P', 'N', 'G', 0, 1, 2, 3};
+        mockRequest.setContentType("image/png");
+        mockRequest.setContent(image);
+        doAnswer(invocation -> {
+            final HttpServletRequest currentRequest = (HttpServletRequest) invocation.getArguments()[0];
+            assertArrayEquals(image, currentRequest.getInputStream().readAllBytes());
+            return null;
+        }).when(mockFilterChain).doFilter(any(), any());
+
+        auditFilter.doFilterInternal(mockRequest, mockResponse, mockFilterChain);
+
+        verify(mockFilterChain).doFilter(any(StreamingAuditRequestWrapper.class), any(WriteThroughResponseWrapper.class));
+        final ArgumentCaptor<RequestInfo> requestInfoCaptor = ArgumentCaptor.forClass(RequestInfo.class);
+        verify(mockAuditPayloadGenerationService).generateEvent(requestInfoCaptor.capture());
+        final RequestInfo requestInfo = requestInfoCaptor.getValue();
+        assertEquals("", requestInfo.payloadBody());
+        assertEquals(BodyCategory.BINARY, requestInfo.bodyCategory());
+        assertEquals(image.length, requestInfo.payloadInfo().length());
+        assertEquals(Digests.sha256Hex(image, 0, image.length), requestInfo.payloadInfo().sha256());
+        assertEquals("image/png", requestInfo.payloadInfo().contentType());
+    }
+
+    @Test
+    void binaryRequestIsAuditedWhenTheChainThrows() throws ServletException, IOException {
+        mockRequest.setContentType("application/octet-stream");
+        mockRequest.setContent(new byte[] {0, 1, 2, 3});
+        doAnswer(invocation -> {
+            throw new ServletException("application failed");
+        }).when(mockFilterChain).doFilter(any(), any());
+
+        assertThrows(ServletException.class, () -> auditFilter.doFilterInternal(mockRequest, mockResponse, mockFilterChain));
+
+        final ArgumentCaptor<RequestInfo> requestInfoCaptor = ArgumentCaptor.forClass(RequestInfo.class);
+        verify(mockAuditPayloadGenerationService).generateEvent(requestInfoCaptor.capture());
+        assertEquals(BodyCategory.BINARY, requestInfoCaptor.getValue().bodyCategory());
+        verify(mockAuditService).postEvent(mockRequestAuditNode);
+        verify(mockAuditPayloadGenerationService, never()).generateEvent(any(ResponseInfo.class));
+    }
+
+    @Test
+    void binaryResponseIsDigestedWithoutCapturingTheBody() throws ServletException, IOException {
+        final byte[] pdf = "%PDF-1.7 binary".getBytes(StandardCharsets.US_ASCII);
+        doAnswer(invocation -> {
+            final HttpServletResponse currentResponse = (HttpServletResponse) invocation.getArguments()[1];
+            currentResponse.setContentType("application/pdf");
+            currentResponse.getOutputStream().write(pdf);
+            return null;
+        }).when(mockFilterChain).doFilter(any(), any());
+
+        auditFilter.doFilterInternal(mockRequest, mockResponse, mockFilterChain);
+
+        assertArrayEquals(pdf, mockResponse.getContentAsByteArray());
+        final ArgumentCaptor<ResponseInfo> responseInfoCaptor = ArgumentCaptor.forClass(ResponseInfo.class);
+        verify(mockAuditPayloadGenerationService).generateEvent(responseInfoCaptor.capture());
+        final ResponseInfo responseInfo = responseInfoCaptor.getValue();
+        assertEquals("", responseInfo.payloadBody());
+        assertEquals(BodyCategory.BINARY, responseInfo.bodyCategory());
+        assertEquals(pdf.length, responseInfo.payloadInfo().length());
+        assertEquals(Digests.sha256Hex(pdf, 0, pdf.length), responseInfo.payloadInfo().sha256());
+        assertEquals("application/pdf", responseInfo.payloadInfo().contentType());
+    }
+
+    @Test
+    void bufferedBinaryResponseIsDigestedWithoutCapturingTheBody() throws ServletException, IOException {
+        final HttpAuditProperties httpAuditProperties = new HttpAuditProperties();
+        httpAuditProperties.setResponseCaptureMode(ResponseCaptureMode.BUFFERED);
+        final AuditFilter bufferedFilter =
+                new AuditFilter(mockAuditService, mockAuditPayloadGenerationService, mockPathParameterService, httpAuditProperties);
+        final byte[] archive = {'P', 'K', 3, 4, 0, 0};
+        doAnswer(invocation -> {
+            final HttpServletResponse currentResponse = (HttpServletResponse) invocation.getArguments()[1];
+            currentResponse.setContentType("application/zip");
+            currentResponse.getOutputStream().write(archive);
+            return null;
+        }).when(mockFilterChain).doFilter(any(), any());
+
+        bufferedFilter.doFilterInternal(mockRequest, mockResponse, mockFilterChain);
+
+        assertArrayEquals(archive, mockResponse.getContentAsByteArray());
+        final ArgumentCaptor<ResponseInfo> responseInfoCaptor = ArgumentCaptor.forClass(ResponseInfo.class);
+        verify(mockAuditPayloadGenerationService).generateEvent(responseInfoCaptor.capture());
+        assertEquals("", responseInfoCaptor.getValue().payloadBody());
+        assertEquals(Digests.sha256Hex(archive, 0, archive.length), responseInfoCaptor.getValue().payloadInfo().sha256());
+        assertEquals("application/zip", responseInfoCaptor.getValue().payloadInfo().contentType());
+    }
+
+    @Test
+    void jsonRequestIsCategorised() throws ServletException, IOException {
+        mockRequest.setContentType("application/problem+json; charset=UTF-8");
+
+        auditFilter.doFilterInternal(mockRequest, mockResponse, mockFilterChain);
+
+        final ArgumentCaptor<RequestInfo> requestInfoCaptor = ArgumentCaptor.forClass(RequestInfo.class);
+        verify(mockAuditPayloadGenerationService).generateEvent(requestInfoCaptor.capture());
+        assertEquals(REQUEST_BODY, requestInfoCaptor.getValue().payloadBody());
+        assertEquals(BodyCategory.JSON, requestInfoCaptor.getValue().bodyCategory());
+    }
+
+    @Test
+    void multipartRequestIsAuditedAsPartMetadata() throws ServletException, IOException {
+        final String document = "%PDF-1.7 document";
+        final String body = "--XyZ\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"order.pdf\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n"
+                + document + "\r\n"
+                + "--XyZ--\r\n";
+        mockRequest.setContentType("multipart/form-data; boundary=XyZ");
+        mockRequest.setContent(body.getBytes(StandardCharsets.US_ASCII));
+        doAnswer(invocation -> {
+            final HttpServletRequest currentRequest = (HttpServletRequest) invocation.getArguments()[0];
+            assertEquals(body, new String(currentRequest.getInputStream().readAllBytes(), StandardCharsets.US_ASCII));
+            return null;
+        }).when(mockFilterChain).doFilter(any(), any());
+
+        auditFilter.doFilterInternal(mockRequest, mockResponse, mockFilterChain);
+
+        verify(mockFilterChain).doFilter(any(MultipartAuditRequestWrapper.class), any(WriteThroughResponseWrapper.class));
+        final ArgumentCaptor<RequestInfo> requestInfoCaptor = ArgumentCaptor.forClass(RequestInfo.class);
+        verify(mockAuditPayloadGenerationService).generateEvent(requestInfoCaptor.capture());
+        final RequestInfo requestInfo = requestInfoCaptor.getValue();
+        assertEquals("", requestInfo.payloadBody());
+        assertEquals(BodyCategory.MULTIPART, requestInfo.bodyCategory());
+        assertEquals(body.length(), requestInfo.multipartInfo().length());
+        assertEquals(1, requestInfo.multipartInfo().partCount());
+        final PartInfo part = requestInfo.multipartInfo().parts().get(0);
+        assertEquals("file", part.name());
+        assertEquals("order.pdf", part.filename());
+        assertEquals("application/pdf", part.contentType());
+        assertEquals(document.length(), part.size());
+        final byte[] documentBytes = document.getBytes(StandardCharsets.US_ASCII);
+        assertEquals(Digests.sha256Hex(documentBytes, 0, documentBytes.length), part.sha256());
+    }
+
+    @Test
+    void multipartRequestIsAuditedWhenTheChainThrows() throws ServletException, IOException {
+        mockRequest.setContentType("multipart/form-data; boundary=XyZ");
+        mockRequest.setContent("--XyZ--\r\n".getBytes(StandardCharsets.US_ASCII));
+        doAnswer(invocation -> {
+            throw new IllegalStateException("application failed");
+        }).when(mockFilterChain).doFilter(any(), any());
+
+        assertThrows(IllegalStateException.class, () -> auditFilter.doFilterInternal(mockRequest, mockResponse, mockFilterChain));
+
+        final ArgumentCaptor<RequestInfo> requestInfoCaptor = ArgumentCaptor.forClass(RequestInfo.class);
+        verify(mockAuditPayloadGenerationService).generateEvent(requestInfoCaptor.capture());
+        assertEquals(BodyCategory.MULTIPART, requestInfoCaptor.getValue().bodyCategory());
+        verify(mockAuditService).postEvent(mockRequestAuditNode);
+    }
+
+    @Test
+    void metadataOnlyModeNeitherWrapsTheRequestNorCapturesTheResponse() throws ServletException, IOException {
+        final HttpAuditProperties httpAuditProperties = new HttpAuditProperties();
+        httpAuditProperties.setIncludePayloadBody(false);
+        final AuditFilter metadataOnlyFilter =
+                new AuditFilter(mockAuditService, mockAuditPayloadGenerationService, mockPathParameterService, httpAuditProperties);
+        doAnswer(invocation -> {
+            final HttpServletRequest currentRequest = (HttpServletRequest) invocation.getArguments()[0];
+            assertEquals(REQUEST_BODY, new String(currentRequest.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            // The request is audited before the chain runs
+            verify(mockAuditService).postEvent(mockRequestAuditNode);
+
+            final HttpServletResponse currentResponse = (HttpServletResponse) invocation.getArguments()[1];
+            currentResponse.getWriter().write(RESPONSE_BODY);
+            return null;
+        }).when(mockFilterChain).doFilter(any(), any());
+
+        metadataOnlyFilter.doFilterInternal(mockRequest, mockResponse, mockFilterChain);
+
+        verify(mockFilterChain).doFilter(any(MockHttpServletRequest.class), any(ByteCountingResponseWrapper.class));
+        assertEquals(RESPONSE_BODY, mockResponse.getContentAsString());
+        final ArgumentCaptor<RequestInfo> requestInfoCaptor = ArgumentCaptor.forClass(RequestInfo.class);
+        verify(mockAuditPayloadGenerationService).generateEvent(requestInfoCaptor.capture());
+        assertEquals("", requestInfoCaptor.getValue().payloadBody());
+        assertEquals("value1", requestInfoCaptor.getValue().queryParams().get("param1"));
+        final ArgumentCaptor<ResponseInfo> responseInfoCaptor = ArgumentCaptor.forClass(ResponseInfo.class);
+        verify(mockAuditPayloadGenerationService).generateEvent(responseInfoCaptor.capture());
+        assertEquals("", responseInfoCaptor.getValue().payloadBody());
+        assertEquals(RESPONSE_BODY.length(), responseInfoCaptor.getValue().payloadInfo().length());
+        verify(mockAuditService).postEvent(mockResponseAuditNode);
+    }
+
+    @Test
+    void metadataOnlyModeSkipsTheResponseEventWhenNoBodyIsWritten() throws ServletException, IOException {
+        final HttpAuditProperties httpAuditProperties = new HttpAuditProperties();
+        httpAuditProperties.setIncludePayloadBody(false);
+        final AuditFilter metadataOnlyFilter =
+                new AuditFilter(mockAuditService, mockAuditPayloadGenerationService, mockPathParameterService, httpAuditProperties);
+        doAnswer(invocation -> null).when(mockFilterChain).doFilter(any(), any());
+
+        metadataOnlyFilter.doFilterInternal(mockRequest, mockResponse, mockFilterChain);
+
+        verify(mockAuditService).postEvent(mockRequestAuditNode);
+        verify(mockAuditPayloadGenerationService, never()).generateEvent(any(ResponseInfo.class));
+    }
+
     @Test
     void shouldNotFilterReturnsTrueForExcludedPaths() {
         final MockHttpServletRequest healthRequest = new MockHttpServletRequest("GET", "/health");
@@ -193,6 +571,55 @@ class AuditFilterTest {
         assertFalse(auditFilter.shouldNotFilter(apiRequest));
     }
 
+    @Test
+    void shouldNotFilterAuditsBusinessPathsContainingExcludedWords() {
+        final MockHttpServletRequest apiRequest = new MockHttpServletRequest("GET", "/api/health-records");
+
+        assertFalse(auditFilter.shouldNotFilter(apiRequest));
+    }
+
+    @Test
+    void shouldNotFilterAppliesConfiguredPathRules() {
+        final HttpAuditProperties httpAuditProperties = new HttpAuditProperties();
+        httpAuditProperties.getPaths().getExclude().add("GET /cases/*/poll");
+        final AuditFilter configuredFilter =
+                new AuditFilter(mockAuditService, mockAuditPayloadGenerationService, mockPathParameterService, httpAuditProperties);
+        final MockHttpServletRequest pollRequest = new MockHttpServletRequest("GET", CONTEXT_PATH_WITH_LEADING_SLASH + "/cases/1/poll");
+        pollRequest.setContextPath(CONTEXT_PATH_WITH_LEADING_SLASH);
+
+        assertTrue(configuredFilter.shouldNotFilter(pollRequest));
+        pollRequest.setMethod("POST");
+        assertFalse(configuredFilter.shouldNotFilter(pollRequest));
+    }
+
+    @Test
+    void capturesOnlyConfiguredHeadersJoiningRepeatedValues() throws ServletException, IOException {
+        final HttpAuditProperties httpAuditProperties = new HttpAuditProperties();
+        httpAuditProperties.getHeaders().getInclude().add("X-Forwarded-For");
+        httpAuditProperties.getHeaders().getExclude().add("cjscppuid");
+        final AuditFilter configuredFilter =
+                new AuditFilter(mockAuditService, mockAuditPayloadGenerationService, mockPathParameterService, httpAuditProperties);
+        mockRequest.addHeader("x-forwarded-for", "10.0.0.1");
+        mockRequest.addHeader("X-Forwarded-For", "10.0.0.2");
+        mockRequest.addHeader("Cookie", "session=abc");
+
+        configuredFilter.doFilterInternal(mockRequest, mockResponse, mockFilterChain);
+
+        final ArgumentCaptor<RequestInfo> requestInfoCaptor = ArgumentCaptor.forClass(RequestInfo.class);
+        verify(mockAuditPayloadGenerationService).generateEvent(requestInfoCaptor.capture());
+        final Map<String, String> headers = requestInfoCaptor.getValue().headers();
+        assertEquals(Map.of("X-Forwarded-For", "10.0.0.1,10.0.0.2"), Map.copyOf(headers));
+        assertEquals("10.0.0.1,10.0.0.2", headers.get("x-forwarded-for"));
+        assertNull(headers.get(HEADER_KEY_USER));
+        assertNull(headers.get("Cookie"));
+    }
+
+    private AuditFilter streamingFilter() {
+        final HttpAuditProperties httpAuditProperties = new HttpAuditProperties();
+        httpAuditProperties.setRequestCaptureMode(RequestCaptureMode.STREAMING);
+        return new AuditFilter(mockAuditService, mockAuditPayloadGenerationService, mockPathParameterService, httpAuditProperties);
+    }
+
     /**
      * Helper method to safely create a type-specific ArgumentCaptor for Map<String, String>. This
      * is the recommended way to handle generic capture with Mockito's type erasure issues.
@@ -0,0 +1,101 @@
+package uk.gov.hmcts.cp.filter.audit.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import uk.gov.hmcts.cp.filter.audit.publisher.AuditEventPublisher;
+import uk.gov.hmcts.cp.filter.audit.publisher.BlobSegmentAuditEventPublisher;
+import uk.gov.hmcts.cp.filter.audit.publisher.BlobStore;
+import uk.gov.hmcts.cp.filter.audit.publisher.FileSegmentAuditEventPublisher;
+import uk.gov.hmcts.cp.filter.audit.publisher.InMemoryAuditEventPublisher;
+import uk.gov.hmcts.cp.filter.audit.publisher.JmsAuditEventPublisher;
+import uk.gov.hmcts.cp.filter.audit.publisher.LocalFileSystemBlobStore;
+import uk.gov.hmcts.cp.filter.audit.publisher.PooledJmsAuditEventPublisher;
+import uk.gov.hmcts.cp.filter.audit.publisher.StripedJmsSessionPool;
+import uk.gov.hmcts.cp.filter.audit.service.AuditService;
+import uk.gov.hmcts.cp.filter.audit.service.EventIdGenerator;
+import uk.gov.hmcts.cp.filter.audit.service.TimeOrderedEventIdGenerator;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jms.core.JmsTemplate;
+
+class ArtemisAuditAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ArtemisAuditAutoConfiguration.class));
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void usesJmsPublisherByDefault() {
+        contextRunner
+                .withPropertyValues("cp.audit.hosts=localhost", "cp.audit.port=61616")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(JmsTemplate.class);
+                    assertThat(context.getBean(AuditEventPublisher.class)).isInstanceOf(JmsAuditEventPublisher.class);
+                    assertThat(context).hasSingleBean(AuditService.class);
+                });
+    }
+
+    @Test
+    void usesStripedSessionPoolWhenEnabled() {
+        contextRunner
+                .withPropertyValues("cp.audit.hosts=localhost", "cp.audit.port=61616",
+                        "cp.audit.jms.pool.enabled=true", "cp.audit.jms.pool.connections=2")
+                .run(context -> {
+                    assertThat(context.getBean(StripedJmsSessionPool.class).getStripeCount()).isEqualTo(16);
+                    assertThat(context.getBean(AuditEventPublisher.class)).isInstanceOf(PooledJmsAuditEventPublisher.class);
+                });
+    }
+
+    @Test
+    void usesInMemoryPublisherWithoutBrokerSettings() {
+        contextRunner
+                .withPropertyValues("cp.audit.publisher.type=memory")
+                .run(context -> {
+                    assertThat(context).doesNotHaveBean(JmsTemplate.class);
+                    assertThat(context.getBean(AuditEventPublisher.class)).isInstanceOf(InMemoryAuditEventPublisher.class);
+                    assertThat(context).hasSingleBean(AuditService.class);
+                });
+    }
+
+    @Test
+    void usesFileSegmentPublisher() {
+        contextRunner
+                .withPropertyValues("cp.audit.publisher.type=file", "cp.audit.publisher.file.directory=" + directory)
+                .run(context -> assertThat(context.getBean(AuditEventPublisher.class))
+                        .isInstanceOf(FileSegmentAuditEventPublisher.class));
+    }
+
+    @Test
+    void usesBlobSegmentPublisherWithLocalBlobStore() {
+        contextRunner
+                .withPropertyValues("cp.audit.publisher.type=blob", "cp.audit.publisher.blob.directory=" + directory)
+                .run(context -> {
+                    assertThat(context.getBean(BlobStore.class)).isInstanceOf(LocalFileSystemBlobStore.class);
+                    assertThat(context.getBean(AuditEventPublisher.class)).isInstanceOf(BlobSegmentAuditEventPublisher.class);
+                });
+    }
+
+    @Test
+    void usesTimeOrderedEventIdsByDefault() {
+        contextRunner
+                .withPropertyValues("cp.audit.publisher.type=memory")
+                .run(context -> {
+                    assertThat(context.getBean(EventIdGenerator.class)).isInstanceOf(TimeOrderedEventIdGenerator.class);
+                    assertThat(context.getBean(EventIdGenerator.class).nextId().version()).isEqualTo(7);
+                });
+    }
+
+    @Test
+    void usesRandomEventIdsWhenConfigured() {
+        contextRunner
+                .withPropertyValues("cp.audit.publisher.type=memory", "audit.http.event-id=random")
+                .run(context -> assertThat(context.getBean(EventIdGenerator.class).nextId().version()).isEqualTo(4));
+    }
+}
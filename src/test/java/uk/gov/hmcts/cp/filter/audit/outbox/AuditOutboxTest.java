@@ -0,0 +1,187 @@
+package uk.gov.hmcts.cp.filter.audit.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.OutboxProperties;
+import uk.gov.hmcts.cp.filter.audit.metrics.SimpleAuditMetrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AuditOutboxTest {
+
+    @TempDir
+    Path directory;
+
+    private final SimpleAuditMetrics metrics = new SimpleAuditMetrics();
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+    private AuditOutbox outbox;
+
+    @AfterEach
+    void tearDown() {
+        if (outbox != null) {
+            outbox.close();
+        }
+    }
+
+    @Test
+    void replays_appended_events_in_order() throws IOException {
+        outbox = openOutbox(1024, 4);
+        outbox.start(this::record);
+
+        assertThat(outbox.append("audit.events.audit-recorded", "{\"n\":1}")).isTrue();
+        assertThat(outbox.append("audit.events.audit-recorded", "{\"n\":2}")).isTrue();
+
+        awaitSent(2);
+        assertThat(sent).containsExactly("audit.events.audit-recorded|{\"n\":1}", "audit.events.audit-recorded|{\"n\":2}");
+        assertThat(metrics.count(AuditOutbox.METRIC_APPENDED)).isEqualTo(2);
+        assertThat(metrics.count(AuditOutbox.METRIC_REPLAYED)).isEqualTo(2);
+    }
+
+    @Test
+    void retries_an_event_until_the_sender_accepts_it() throws IOException {
+        final AtomicBoolean brokerUp = new AtomicBoolean(false);
+        outbox = openOutbox(1024, 4);
+        outbox.start((name, body) -> brokerUp.get() && record(name, body));
+
+        outbox.append("name", "first");
+        awaitCondition(() -> metrics.count(AuditOutbox.METRIC_REPLAY_FAILED) > 0);
+        assertThat(sent).isEmpty();
+
+        brokerUp.set(true);
+        awaitSent(1);
+        assertThat(sent).containsExactly("name|first");
+    }
+
+    @Test
+    void replays_pending_events_after_reopening() throws IOException {
+        outbox = openOutbox(1024, 4);
+        outbox.append("name", "pending-1");
+        outbox.append("name", "pending-2");
+        outbox.close();
+
+        outbox = openOutbox(1024, 4);
+        outbox.start(this::record);
+
+        awaitSent(2);
+        assertThat(sent).containsExactly("name|pending-1", "name|pending-2");
+    }
+
+    @Test
+    void does_not_replay_events_already_delivered_before_reopening() throws IOException {
+        outbox = openOutbox(1024, 4);
+        outbox.start(this::record);
+        outbox.append("name", "delivered");
+        awaitSent(1);
+        outbox.close();
+
+        sent.clear();
+        outbox = openOutbox(1024, 4);
+        outbox.append("name", "new");
+        outbox.start(this::record);
+
+        awaitSent(1);
+        assertThat(sent).containsExactly("name|new");
+    }
+
+    @Test
+    void rolls_segments_and_reclaims_them_once_replayed() throws IOException {
+        outbox = openOutbox(64, 8);
+        for (int i = 0; i < 10; i++) {
+            assertThat(outbox.append("n", "event-" + i)).isTrue();
+        }
+        assertThat(outbox.getSegmentCount()).isGreaterThan(1);
+
+        outbox.start(this::record);
+
+        awaitSent(10);
+        assertThat(sent).hasSize(10).startsWith("n|event-0").endsWith("n|event-9");
+        awaitCondition(() -> outbox.getSegmentCount() == 1);
+        assertThat(segmentFiles()).hasSize(1);
+    }
+
+    @Test
+    void replays_across_a_segment_filled_exactly_after_reopening() throws IOException {
+        // Each record takes 8 header + 2 name length + 1 name + 21 body = 32 bytes, so two fill a
+        // 64-byte segment with no room left for a seal marker
+        outbox = openOutbox(64, 4);
+        assertThat(outbox.append("n", "event-0".repeat(3))).isTrue();
+        assertThat(outbox.append("n", "event-1".repeat(3))).isTrue();
+        assertThat(outbox.append("n", "event-2".repeat(3))).isTrue();
+        assertThat(outbox.getSegmentCount()).isEqualTo(2);
+        outbox.close();
+
+        outbox = openOutbox(64, 4);
+        outbox.start(this::record);
+
+        awaitSent(3);
+        assertThat(sent).containsExactly("n|" + "event-0".repeat(3), "n|" + "event-1".repeat(3), "n|" + "event-2".repeat(3));
+    }
+
+    @Test
+    void rejects_events_when_all_segments_are_full() throws IOException {
+        outbox = openOutbox(64, 1);
+
+        boolean accepted = true;
+        for (int i = 0; i < 10 && accepted; i++) {
+            accepted = outbox.append("n", "event-" + i);
+        }
+
+        assertThat(accepted).isFalse();
+        assertThat(metrics.count(AuditOutbox.METRIC_REJECTED)).isEqualTo(1);
+    }
+
+    @Test
+    void rejects_an_event_larger_than_a_segment() throws IOException {
+        outbox = openOutbox(64, 4);
+
+        assertThat(outbox.append("n", "x".repeat(128))).isFalse();
+        assertThat(outbox.getSegmentCount()).isEqualTo(1);
+    }
+
+    private AuditOutbox openOutbox(final int segmentSize, final int maxSegments) throws IOException {
+        final OutboxProperties properties = new OutboxProperties();
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSizeBytes(segmentSize);
+        properties.setMaxSegments(maxSegments);
+        properties.setRetryIntervalMs(5);
+        properties.setMaxRetryIntervalMs(20);
+        final AuditOutbox auditOutbox = new AuditOutbox(properties, metrics);
+        auditOutbox.open();
+        return auditOutbox;
+    }
+
+    private boolean record(final String name, final String body) {
+        sent.add(name + "|" + body);
+        return true;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("segment-")).toList();
+        }
+    }
+
+    private void awaitSent(final int expected) {
+        awaitCondition(() -> sent.size() >= expected);
+    }
+
+    private static void awaitCondition(final BooleanSupplier condition) {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+}
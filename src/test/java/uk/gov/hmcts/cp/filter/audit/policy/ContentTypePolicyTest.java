@@ -0,0 +1,71 @@
+package uk.gov.hmcts.cp.filter.audit.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import uk.gov.hmcts.cp.filter.audit.config.HttpAuditProperties.ContentTypeProperties;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ContentTypePolicyTest {
+
+    private final ContentTypeProperties defaults = new ContentTypeProperties();
+    private final ContentTypePolicy policy = ContentTypePolicy.compile(defaults.getJson(), defaults.getText(), defaults.getForm());
+
+    @Test
+    void categorisesExactMediaTypesIgnoringParametersAndCase() {
+        assertThat(policy.categorize("application/json")).isEqualTo(BodyCategory.JSON);
+        assertThat(policy.categorize("Application/JSON; charset=UTF-8")).isEqualTo(BodyCategory.JSON);
+        assertThat(policy.categorize("application/x-www-form-urlencoded")).isEqualTo(BodyCategory.FORM);
+        assertThat(policy.categorize("application/xml")).isEqualTo(BodyCategory.TEXT);
+    }
+
+    @Test
+    void categorisesStructuredSuffixes() {
+        assertThat(policy.categorize("application/vnd.hmcts.case+json")).isEqualTo(BodyCategory.JSON);
+        assertThat(policy.categorize("application/problem+json")).isEqualTo(BodyCategory.JSON);
+        assertThat(policy.categorize("application/atom+xml")).isEqualTo(BodyCategory.TEXT);
+    }
+
+    @Test
+    void categorisesTypeWildcards() {
+        assertThat(policy.categorize("text/plain")).isEqualTo(BodyCategory.TEXT);
+        assertThat(policy.categorize("text/csv; charset=ISO-8859-1")).isEqualTo(BodyCategory.TEXT);
+    }
+
+    @Test
+    void treatsUnmatchedMediaTypesAsBinary() {
+        assertThat(policy.categorize("application/octet-stream")).isEqualTo(BodyCategory.BINARY);
+        assertThat(policy.categorize("image/png")).isEqualTo(BodyCategory.BINARY);
+        assertThat(policy.categorize("application/pdf")).isEqualTo(BodyCategory.BINARY);
+    }
+
+    @Test
+    void categorisesMultipartTypes() {
+        assertThat(policy.categorize("multipart/form-data; boundary=XyZ")).isEqualTo(BodyCategory.MULTIPART);
+        assertThat(policy.categorize("multipart/mixed")).isEqualTo(BodyCategory.MULTIPART);
+    }
+
+    @Test
+    void treatsAMissingContentTypeAsUnknown() {
+        assertThat(policy.categorize(null)).isEqualTo(BodyCategory.UNKNOWN);
+        assertThat(policy.categorize("  ")).isEqualTo(BodyCategory.UNKNOWN);
+    }
+
+    @Test
+    void earlierCategoriesWinForTheSamePattern() {
+        final ContentTypePolicy overlapping = ContentTypePolicy.compile(List.of("text/plain"), List.of("text/*", "text/plain"), List.of());
+
+        assertThat(overlapping.categorize("text/plain")).isEqualTo(BodyCategory.JSON);
+        assertThat(overlapping.categorize("text/html")).isEqualTo(BodyCategory.TEXT);
+    }
+
+    @Test
+    void rejectsPatternsThatAreNotMediaTypes() {
+        assertThatThrownBy(() -> ContentTypePolicy.compile(List.of("json"), List.of(), List.of()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("json");
+    }
+}
@@ -0,0 +1,88 @@
+package uk.gov.hmcts.cp.filter.audit.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import uk.gov.hmcts.cp.filter.audit.model.HeaderSnapshot;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class HeaderCapturePolicyTest {
+
+    @Test
+    void capturesMetadataHeadersByDefault() {
+        final HeaderCapturePolicy policy = HeaderCapturePolicy.defaults();
+
+        assertThat(policy.slotOf("accept")).isEqualTo(HeaderCapturePolicy.ACCEPT);
+        assertThat(policy.slotOf("content-type")).isEqualTo(HeaderCapturePolicy.CONTENT_TYPE);
+        assertThat(policy.slotOf("cjscppuid")).isEqualTo(HeaderCapturePolicy.USER_ID);
+        assertThat(policy.slotOf("X-Correlation-Id")).isEqualTo(HeaderCapturePolicy.X_CORRELATION_ID);
+        assertThat(policy.slotOf("CppClientCorrelationId")).isEqualTo(HeaderCapturePolicy.CLIENT_CORRELATION_ID);
+        assertThat(policy.slotOf("Host")).isEqualTo(-1);
+    }
+
+    @Test
+    void resolvesIncludedAndExcludedHeadersOnce() {
+        final HeaderCapturePolicy policy = HeaderCapturePolicy.compile(List.of("X-Request-Id", "x-request-id", " Via "), List.of("ACCEPT", "via"));
+
+        assertThat(policy.size()).isEqualTo(6);
+        assertThat(policy.slotOf("x-request-id")).isEqualTo(5);
+        assertThat(policy.name(5)).isEqualTo("X-Request-Id");
+        assertThat(policy.slotOf("Accept")).isEqualTo(-1);
+        assertThat(policy.name(HeaderCapturePolicy.ACCEPT)).isNull();
+        assertThat(policy.slotOf("Via")).isEqualTo(-1);
+    }
+
+    @Test
+    void rejectsCredentialAndBlankHeaders() {
+        assertThatThrownBy(() -> HeaderCapturePolicy.compile(List.of("Authorization"), List.of()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Authorization");
+        assertThatThrownBy(() -> HeaderCapturePolicy.compile(List.of("cookie"), List.of()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> HeaderCapturePolicy.compile(List.of(), List.of(" ")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void capturesSnapshotFromRequest() {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("accept", "application/json");
+        request.addHeader("X-Request-Id", "a");
+        request.addHeader("x-request-id", "b");
+        request.addHeader("Authorization", "Bearer token");
+        request.addHeader("Cookie", "session=abc");
+
+        final HeaderSnapshot snapshot =
+                HeaderSnapshot.capture(HeaderCapturePolicy.compile(List.of("X-Request-Id"), List.of()), request::getHeaders);
+
+        assertThat(snapshot.value(HeaderCapturePolicy.ACCEPT)).isEqualTo("application/json");
+        assertThat(snapshot).containsExactly(Map.entry("Accept", "application/json"), Map.entry("X-Request-Id", "a,b"));
+        assertThat(snapshot.get("ACCEPT")).isEqualTo("application/json");
+        assertThat(snapshot.containsKey("authorization")).isFalse();
+        assertThat(snapshot.get("Cookie")).isNull();
+    }
+
+    @Test
+    void indexesPlainHeaderMapsWithoutRegardToCase() {
+        final HeaderSnapshot snapshot = HeaderSnapshot.of(Map.of(" cjscppuid ", "user-1", "X-CORRELATION-ID", "corr-1", "Authorization", "Bearer token"));
+
+        assertThat(snapshot.value(HeaderCapturePolicy.USER_ID)).isEqualTo("user-1");
+        assertThat(snapshot.value(HeaderCapturePolicy.X_CORRELATION_ID)).isEqualTo("corr-1");
+        assertThat(snapshot).hasSize(2).doesNotContainKey("Authorization");
+        assertThat(HeaderSnapshot.of(snapshot)).isSameAs(snapshot);
+    }
+
+    @Test
+    void treatsMissingHeadersAsAbsent() {
+        final HeaderSnapshot snapshot = HeaderSnapshot.capture(HeaderCapturePolicy.defaults(), name -> Collections.emptyEnumeration());
+
+        assertThat(snapshot).isEmpty();
+        assertThat(snapshot.value(HeaderCapturePolicy.USER_ID)).isNull();
+    }
+}
@@ -0,0 +1,88 @@
+package uk.gov.hmcts.cp.filter.audit.policy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import uk.gov.hmcts.cp.filter.audit.config.HttpAuditProperties.PathProperties;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PathAuditPolicyTest {
+
+    private final PathProperties defaults = new PathProperties();
+    private final PathAuditPolicy policy = PathAuditPolicy.compile(defaults.getInclude(), defaults.getExclude());
+
+    @Test
+    void excludesHealthAndActuatorPathsByDefault() {
+        assertThat(policy.isAudited("GET", "/health", 0)).isFalse();
+        assertThat(policy.isAudited("GET", "/health/liveness", 0)).isFalse();
+        assertThat(policy.isAudited("GET", "/actuator/metrics", 0)).isFalse();
+    }
+
+    @Test
+    void auditsBusinessPathsThatOnlyContainExcludedWords() {
+        assertThat(policy.isAudited("GET", "/cases/health-assessments", 0)).isTrue();
+        assertThat(policy.isAudited("POST", "/api/actuator-settings", 0)).isTrue();
+        assertThat(policy.isAudited("GET", "/healthcheck", 0)).isTrue();
+    }
+
+    @Test
+    void matchesRelativeToTheContextPath() {
+        assertThat(policy.isAudited("GET", "/court-service/actuator/info", "/court-service".length())).isFalse();
+        assertThat(policy.isAudited("GET", "/actuator/court-service/info", "/actuator".length())).isTrue();
+    }
+
+    @Test
+    void matchesSingleSegmentAndMultiSegmentWildcards() {
+        final PathAuditPolicy wildcards = PathAuditPolicy.compile(List.of(),
+                List.of("/reference-data/*/codes", "/cases/{caseId}/documents", "/**/poll"));
+
+        assertThat(wildcards.isAudited("GET", "/reference-data/courts/codes", 0)).isFalse();
+        assertThat(wildcards.isAudited("GET", "/reference-data/codes", 0)).isTrue();
+        assertThat(wildcards.isAudited("GET", "/reference-data/a/b/codes", 0)).isTrue();
+        assertThat(wildcards.isAudited("GET", "/cases/123/documents", 0)).isFalse();
+        assertThat(wildcards.isAudited("GET", "/poll", 0)).isFalse();
+        assertThat(wildcards.isAudited("GET", "/hearings/42/poll", 0)).isFalse();
+        assertThat(wildcards.isAudited("GET", "/hearings/42/poll/next", 0)).isTrue();
+    }
+
+    @Test
+    void appliesMethodConstraints() {
+        final PathAuditPolicy constrained = PathAuditPolicy.compile(List.of(), List.of("GET,head /cases/*/status"));
+
+        assertThat(constrained.isAudited("GET", "/cases/1/status", 0)).isFalse();
+        assertThat(constrained.isAudited("HEAD", "/cases/1/status", 0)).isFalse();
+        assertThat(constrained.isAudited("PUT", "/cases/1/status", 0)).isTrue();
+        assertThat(constrained.isAudited("PROPFIND", "/cases/1/status", 0)).isTrue();
+    }
+
+    @Test
+    void auditsOnlyIncludedPathsWhenIncludesAreGiven() {
+        final PathAuditPolicy included = PathAuditPolicy.compile(List.of("/cases/**"), List.of("GET /cases/*/poll"));
+
+        assertThat(included.isAudited("POST", "/cases/1", 0)).isTrue();
+        assertThat(included.isAudited("GET", "/cases/1/poll", 0)).isFalse();
+        assertThat(included.isAudited("POST", "/cases/1/poll", 0)).isTrue();
+        assertThat(included.isAudited("GET", "/hearings/1", 0)).isFalse();
+    }
+
+    @Test
+    void ignoresRepeatedAndTrailingSeparators() {
+        assertThat(policy.isAudited("GET", "//actuator//info/", 0)).isFalse();
+    }
+
+    @Test
+    void rejectsInvalidRules() {
+        assertThatThrownBy(() -> PathAuditPolicy.compile(List.of(), List.of("actuator")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("actuator");
+        assertThatThrownBy(() -> PathAuditPolicy.compile(List.of(), List.of("FETCH /cases")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("FETCH");
+        assertThatThrownBy(() -> PathAuditPolicy.compile(List.of(), List.of("/files/*.pdf")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("*.pdf");
+    }
+}
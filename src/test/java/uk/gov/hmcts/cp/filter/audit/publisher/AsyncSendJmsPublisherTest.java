@@ -0,0 +1,186 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.AsyncSendProperties;
+import uk.gov.hmcts.cp.filter.audit.metrics.SimpleAuditMetrics;
+import uk.gov.hmcts.cp.filter.audit.outbox.AuditOutbox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.jms.CompletionListener;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.Destination;
+import jakarta.jms.JMSContext;
+import jakarta.jms.JMSProducer;
+import jakarta.jms.JMSRuntimeException;
+import jakarta.jms.Message;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class AsyncSendJmsPublisherTest {
+
+    private AuditEventPublisher fallback;
+    private ConnectionFactory connectionFactory;
+    private JMSContext context;
+    private JMSProducer producer;
+    private SimpleAuditMetrics metrics;
+    private AsyncSendJmsPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        fallback = mock(AuditEventPublisher.class);
+        connectionFactory = mock(ConnectionFactory.class);
+        context = mock(JMSContext.class);
+        producer = mock(JMSProducer.class);
+        metrics = new SimpleAuditMetrics();
+
+        when(connectionFactory.createContext(anyInt())).thenReturn(context);
+        when(context.createProducer()).thenReturn(producer);
+        when(producer.setDeliveryMode(anyInt())).thenReturn(producer);
+        when(producer.setAsync(any())).thenReturn(producer);
+        when(producer.setProperty(anyString(), anyString())).thenReturn(producer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (publisher != null) {
+            publisher.close();
+        }
+    }
+
+    @Test
+    void sendsAsynchronouslyAndReleasesWindowOnAcknowledgement() {
+        publisher = newPublisher(4, null);
+
+        assertThat(publisher.publish("dummyName", "event-1")).isTrue();
+
+        verify(producer).setProperty("CPPNAME", "dummyName");
+        verify(producer).send(any(Destination.class), eq("event-1"));
+        assertThat(publisher.getInFlightCount()).isEqualTo(1);
+
+        capturedListener().onCompletion(mock(Message.class));
+
+        assertThat(publisher.getInFlightCount()).isZero();
+        assertThat(metrics.count(AsyncSendJmsPublisher.METRIC_ACKNOWLEDGED)).isEqualTo(1);
+        verifyNoInteractions(fallback);
+    }
+
+    @Test
+    void handsRejectedSendToOutbox() {
+        final AuditOutbox outbox = mock(AuditOutbox.class);
+        when(outbox.append("dummyName", "event-1")).thenReturn(true);
+        publisher = newPublisher(4, outbox);
+
+        assertThat(publisher.publish("dummyName", "event-1")).isTrue();
+        capturedListener().onException(mock(Message.class), new JMSRuntimeException("not durable"));
+
+        verify(outbox).append("dummyName", "event-1");
+        assertThat(metrics.count(AsyncSendJmsPublisher.METRIC_FAILED)).isEqualTo(1);
+        assertThat(metrics.count(AsyncSendJmsPublisher.METRIC_HANDED_OFF)).isEqualTo(1);
+        assertThat(publisher.getInFlightCount()).isZero();
+        verifyNoInteractions(fallback);
+    }
+
+    @Test
+    void retriesRejectedSendSynchronouslyWithoutOutbox() {
+        publisher = newPublisher(4, null);
+        final AtomicReference<String> retryThread = new AtomicReference<>();
+        when(fallback.publish("dummyName", "event-1")).thenAnswer(invocation -> {
+            retryThread.set(Thread.currentThread().getName());
+            return true;
+        });
+
+        assertThat(publisher.publish("dummyName", "event-1")).isTrue();
+        capturedListener().onException(mock(Message.class), new JMSRuntimeException("not durable"));
+
+        verify(fallback, timeout(1000)).publish("dummyName", "event-1");
+        assertThat(retryThread.get()).isEqualTo("audit-async-send-retry");
+        assertThat(metrics.count(AsyncSendJmsPublisher.METRIC_RETRIED)).isEqualTo(1);
+    }
+
+    @Test
+    void reportsAcknowledgementsAndRejectionsToObserver() {
+        publisher = newPublisher(4, mock(AuditOutbox.class));
+        final List<Boolean> outcomes = new ArrayList<>();
+        publisher.setAcknowledgementObserver(outcomes::add);
+
+        publisher.publish("dummyName", "event-1");
+        publisher.publish("dummyName", "event-2");
+        final ArgumentCaptor<CompletionListener> listeners = ArgumentCaptor.forClass(CompletionListener.class);
+        verify(producer, times(2)).setAsync(listeners.capture());
+        listeners.getAllValues().get(0).onCompletion(mock(Message.class));
+        listeners.getAllValues().get(1).onException(mock(Message.class), new JMSRuntimeException("not durable"));
+
+        assertThat(outcomes).containsExactly(true, false);
+    }
+
+    @Test
+    void fallsBackToSynchronousSendWhenWindowIsFull() {
+        publisher = newPublisher(1, null);
+
+        assertThat(publisher.publish("dummyName", "event-1")).isTrue();
+        publisher.publish("dummyName", "event-2");
+
+        verify(producer, times(1)).send(any(Destination.class), anyString());
+        verify(fallback).publish("dummyName", "event-2");
+        assertThat(metrics.count(AsyncSendJmsPublisher.METRIC_WINDOW_FULL)).isEqualTo(1);
+    }
+
+    @Test
+    void recreatesContextAfterSendFailure() {
+        when(producer.send(any(Destination.class), anyString()))
+                .thenThrow(new JMSRuntimeException("connection lost"))
+                .thenReturn(producer);
+        publisher = newPublisher(4, null);
+
+        publisher.publish("dummyName", "event-1");
+        publisher.publish("dummyName", "event-2");
+
+        verify(context).close();
+        verify(connectionFactory, times(2)).createContext(anyInt());
+        verify(fallback).publish("dummyName", "event-1");
+        assertThat(publisher.getInFlightCount()).isEqualTo(1);
+    }
+
+    @Test
+    void publishesThroughFallbackAfterClose() {
+        publisher = newPublisher(4, null);
+        publisher.close();
+
+        publisher.publish("dummyName", "event-1");
+
+        verify(fallback).publish("dummyName", "event-1");
+        verify(connectionFactory, never()).createContext(anyInt());
+    }
+
+    private AsyncSendJmsPublisher newPublisher(final int maxInFlight, final AuditOutbox outbox) {
+        final AsyncSendProperties properties = new AsyncSendProperties();
+        properties.setMaxInFlight(maxInFlight);
+        properties.setContexts(1);
+        properties.setAcquireTimeoutMs(1);
+        properties.setShutdownTimeoutMs(10);
+        return new AsyncSendJmsPublisher(connectionFactory, JmsAuditEventPublisher.DEFAULT_TOPIC, properties, metrics, fallback, outbox);
+    }
+
+    private CompletionListener capturedListener() {
+        final ArgumentCaptor<CompletionListener> captor = ArgumentCaptor.forClass(CompletionListener.class);
+        verify(producer).setAsync(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,131 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.BlobPublisherProperties;
+import uk.gov.hmcts.cp.filter.audit.metrics.SimpleAuditMetrics;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class BlobSegmentAuditEventPublisherTest {
+
+    private final SimpleAuditMetrics metrics = new SimpleAuditMetrics();
+    private final Map<String, byte[]> blobs = new ConcurrentHashMap<>();
+    private BlobSegmentAuditEventPublisher publisher;
+
+    @AfterEach
+    void tearDown() {
+        if (publisher != null) {
+            publisher.close();
+        }
+    }
+
+    @Test
+    void uploadsPendingEventsAsOneCompressedSegmentOnClose() throws IOException {
+        publisher = newPublisher(blobs::put, properties(1024 * 1024, 60_000, 8));
+        publisher.start();
+
+        assertThat(publisher.publish("audit.events.audit-recorded", "{\"n\":1}")).isTrue();
+        assertThat(publisher.publish("audit.events.audit-recorded", "{\"n\":2}")).isTrue();
+        publisher.close();
+
+        assertThat(blobs).hasSize(1);
+        final String blobName = blobs.keySet().iterator().next();
+        assertThat(blobName).startsWith("audit-segments/").endsWith(".seg");
+        assertThat(BlobSegmentFormat.readEvents(blobs.get(blobName))).containsExactly(
+                new SerializedAuditEvent("audit.events.audit-recorded", "{\"n\":1}"),
+                new SerializedAuditEvent("audit.events.audit-recorded", "{\"n\":2}"));
+        assertThat(metrics.count(BlobSegmentAuditEventPublisher.METRIC_UPLOADED)).isEqualTo(1);
+    }
+
+    @Test
+    void sealsSegmentWhenSizeLimitIsReached() throws IOException {
+        publisher = newPublisher(blobs::put, properties(100, 60_000, 8));
+        publisher.start();
+
+        for (int i = 0; i < 10; i++) {
+            publisher.publish("name", "{\"n\":" + i + "}");
+        }
+        publisher.close();
+
+        assertThat(blobs.size()).isGreaterThan(1);
+        final List<SerializedAuditEvent> events = new ArrayList<>();
+        for (final String blobName : blobs.keySet().stream().sorted().toList()) {
+            events.addAll(BlobSegmentFormat.readEvents(blobs.get(blobName)));
+        }
+        assertThat(events).hasSize(10);
+    }
+
+    @Test
+    void sealsSegmentWhenAgeLimitIsReached() throws InterruptedException {
+        final CountDownLatch uploaded = new CountDownLatch(1);
+        publisher = newPublisher((name, content) -> {
+            blobs.put(name, content);
+            uploaded.countDown();
+        }, properties(1024 * 1024, 20, 8));
+        publisher.start();
+
+        publisher.publish("name", "{}");
+
+        assertThat(uploaded.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void retriesFailedUploads() throws InterruptedException {
+        final AtomicInteger attempts = new AtomicInteger();
+        final CountDownLatch uploaded = new CountDownLatch(1);
+        publisher = newPublisher((name, content) -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IOException("storage unavailable");
+            }
+            uploaded.countDown();
+        }, properties(1024 * 1024, 20, 8));
+        publisher.start();
+
+        publisher.publish("name", "{}");
+
+        assertThat(uploaded.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(metrics.count(BlobSegmentAuditEventPublisher.METRIC_UPLOAD_FAILED)).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsEventsWhenTooManySegmentsArePending() {
+        // Not started, so sealed segments stay pending
+        publisher = newPublisher(blobs::put, properties(60, 60_000, 1));
+
+        boolean accepted = true;
+        for (int i = 0; i < 10 && accepted; i++) {
+            accepted = publisher.publish("name", "{\"n\":" + i + "}");
+        }
+
+        assertThat(accepted).isFalse();
+        assertThat(publisher.getPendingSegmentCount()).isEqualTo(1);
+        assertThat(metrics.count(BlobSegmentAuditEventPublisher.METRIC_REJECTED)).isEqualTo(1);
+    }
+
+    private BlobSegmentAuditEventPublisher newPublisher(final BlobStore blobStore, final BlobPublisherProperties properties) {
+        return new BlobSegmentAuditEventPublisher(blobStore, properties, metrics);
+    }
+
+    private static BlobPublisherProperties properties(final int maxSegmentBytes, final long maxAgeMs, final int maxPending) {
+        final BlobPublisherProperties properties = new BlobPublisherProperties();
+        properties.setMaxSegmentBytes(maxSegmentBytes);
+        properties.setMaxSegmentAgeMs(maxAgeMs);
+        properties.setMaxPendingSegments(maxPending);
+        properties.setBlockSizeBytes(32);
+        properties.setRetryIntervalMs(5);
+        properties.setMaxRetryIntervalMs(10);
+        properties.setShutdownTimeoutMs(1_000);
+        return properties;
+    }
+}
@@ -0,0 +1,54 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class BlobSegmentFormatTest {
+
+    @Test
+    void splitsEventsIntoBlocksOnEventBoundaries() throws IOException {
+        final byte[] segment = encode(List.of("{\"n\":1}", "{\"n\":2}", "{\"n\":3}"), 20);
+
+        final BlobSegmentFormat.Index index = BlobSegmentFormat.readIndex(segment);
+
+        assertThat(index.eventCount()).isEqualTo(3);
+        assertThat(index.createdAtMillis()).isEqualTo(1_700_000_000_000L);
+        assertThat(index.blocks()).hasSize(3);
+        assertThat(index.blocks().get(1).firstEvent()).isEqualTo(1);
+        assertThat(index.blocks().get(1).offset())
+                .isEqualTo(index.blocks().get(0).offset() + index.blocks().get(0).length());
+        assertThat(BlobSegmentFormat.readEvents(segment)).extracting(SerializedAuditEvent::body)
+                .containsExactly("{\"n\":1}", "{\"n\":2}", "{\"n\":3}");
+    }
+
+    @Test
+    void keepsSmallSegmentsInOneBlock() throws IOException {
+        final byte[] segment = encode(List.of("{}", "{}"), 64 * 1024);
+
+        assertThat(BlobSegmentFormat.readIndex(segment).blocks()).hasSize(1);
+        assertThat(BlobSegmentFormat.readEvents(segment)).hasSize(2);
+    }
+
+    @Test
+    void rejectsContentWithoutTrailer() {
+        assertThatThrownBy(() -> BlobSegmentFormat.readIndex(new byte[32]))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Not an audit segment");
+    }
+
+    private static byte[] encode(final List<String> bodies, final int blockSize) throws IOException {
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        final int[] lineEnds = new int[bodies.size()];
+        for (int i = 0; i < bodies.size(); i++) {
+            data.write(NdjsonLine.encode("name", bodies.get(i)));
+            lineEnds[i] = data.size();
+        }
+        return BlobSegmentFormat.encode(data.toByteArray(), lineEnds, bodies.size(), blockSize, 1_700_000_000_000L);
+    }
+}
@@ -0,0 +1,195 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.CircuitBreakerProperties;
+import uk.gov.hmcts.cp.filter.audit.metrics.SimpleAuditMetrics;
+import uk.gov.hmcts.cp.filter.audit.outbox.AuditOutbox;
+import uk.gov.hmcts.cp.filter.audit.publisher.AsyncSendJmsPublisher.AcknowledgementObserver;
+import uk.gov.hmcts.cp.filter.audit.publisher.CircuitBreakingAuditEventPublisher.State;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakingAuditEventPublisherTest {
+
+    private AuditEventPublisher delegate;
+    private AuditOutbox outbox;
+    private SimpleAuditMetrics metrics;
+    private CircuitBreakerProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(AuditEventPublisher.class);
+        outbox = mock(AuditOutbox.class);
+        metrics = new SimpleAuditMetrics();
+        properties = new CircuitBreakerProperties();
+        properties.setFailureThreshold(3);
+    }
+
+    @Test
+    void opensAfterConsecutiveFailuresAndShortCircuits() {
+        final CircuitBreakingAuditEventPublisher breaker = newBreaker(null);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(breaker.publish("dummyName", "event")).isFalse();
+        }
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+
+        assertThat(breaker.publish("dummyName", "event")).isFalse();
+
+        verify(delegate, times(3)).publish("dummyName", "event");
+        assertThat(metrics.count(CircuitBreakingAuditEventPublisher.METRIC_OPENED)).isEqualTo(1);
+        assertThat(metrics.count(CircuitBreakingAuditEventPublisher.METRIC_SHORT_CIRCUITED)).isEqualTo(1);
+        assertThat(metrics.count(CircuitBreakingAuditEventPublisher.METRIC_DROPPED)).isEqualTo(1);
+        assertThat(metrics.gaugeValue(CircuitBreakingAuditEventPublisher.METRIC_STATE)).isEqualTo(State.OPEN.ordinal());
+    }
+
+    @Test
+    void successResetsConsecutiveFailures() {
+        final CircuitBreakingAuditEventPublisher breaker = newBreaker(null);
+        when(delegate.publish("ok", "event")).thenReturn(true);
+
+        breaker.publish("dummyName", "event");
+        breaker.publish("dummyName", "event");
+        breaker.publish("ok", "event");
+        breaker.publish("dummyName", "event");
+
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void opensAfterConsecutiveBrokerRejectionsOfAsynchronousSends() {
+        final AsyncSendJmsPublisher asyncSend = mock(AsyncSendJmsPublisher.class);
+        final AtomicReference<AcknowledgementObserver> observer = new AtomicReference<>();
+        doAnswer(invocation -> {
+            observer.set(invocation.getArgument(0));
+            return null;
+        }).when(asyncSend).setAcknowledgementObserver(any());
+        when(asyncSend.publish(anyString(), anyString())).thenReturn(true);
+        final CircuitBreakingAuditEventPublisher breaker =
+                new CircuitBreakingAuditEventPublisher(asyncSend, properties, metrics, null);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(breaker.publish("dummyName", "event")).isTrue();
+            observer.get().acknowledged(false);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(metrics.count(CircuitBreakingAuditEventPublisher.METRIC_OPENED)).isEqualTo(1);
+    }
+
+    @Test
+    void countsSlowCallsAsFailures() {
+        properties.setSlowCallThresholdMs(1);
+        final CircuitBreakingAuditEventPublisher breaker = newBreaker(null);
+        when(delegate.publish(anyString(), anyString())).thenAnswer(invocation -> {
+            Thread.sleep(5);
+            return true;
+        });
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(breaker.publish("dummyName", "event")).isTrue();
+        }
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(metrics.count(CircuitBreakingAuditEventPublisher.METRIC_SLOW_CALLS)).isEqualTo(3);
+    }
+
+    @Test
+    void divertsToOutboxWhileOpen() {
+        final CircuitBreakingAuditEventPublisher breaker = openBreaker(outbox);
+        when(outbox.append("dummyName", "event")).thenReturn(true);
+
+        assertThat(breaker.publishBatch(List.of(new SerializedAuditEvent("dummyName", "event")))).isTrue();
+
+        verify(outbox).append("dummyName", "event");
+        verify(delegate, never()).publishBatch(List.of(new SerializedAuditEvent("dummyName", "event")));
+        assertThat(metrics.count(CircuitBreakingAuditEventPublisher.METRIC_DIVERTED)).isEqualTo(1);
+    }
+
+    @Test
+    void countsRestOfBatchAsDroppedWhenOutboxFillsMidDivert() {
+        final CircuitBreakingAuditEventPublisher breaker = openBreaker(outbox);
+        when(outbox.append(anyString(), anyString())).thenReturn(true, false);
+
+        assertThat(breaker.publishBatch(List.of(
+                new SerializedAuditEvent("dummyName", "event-1"),
+                new SerializedAuditEvent("dummyName", "event-2"),
+                new SerializedAuditEvent("dummyName", "event-3")))).isTrue();
+
+        verify(outbox, times(2)).append(anyString(), anyString());
+        assertThat(metrics.count(CircuitBreakingAuditEventPublisher.METRIC_DIVERTED)).isEqualTo(1);
+        assertThat(metrics.count(CircuitBreakingAuditEventPublisher.METRIC_DROPPED)).isEqualTo(2);
+    }
+
+    @Test
+    void reportsShortCircuitedSendsToTheCallingThread() {
+        final CircuitBreakingAuditEventPublisher breaker = openBreaker(null);
+        assertThat(breaker.wasShortCircuited()).isFalse();
+
+        assertThat(breaker.publishBatch(List.of(new SerializedAuditEvent("dummyName", "event")))).isFalse();
+
+        assertThat(breaker.wasShortCircuited()).isTrue();
+        assertThat(metrics.count(CircuitBreakingAuditEventPublisher.METRIC_DROPPED)).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotJournalReplayedEventsAgain() {
+        final CircuitBreakingAuditEventPublisher breaker = openBreaker(outbox);
+        when(outbox.isReplaying()).thenReturn(true);
+
+        assertThat(breaker.publish("dummyName", "event")).isFalse();
+
+        verify(outbox, never()).append(anyString(), anyString());
+        assertThat(metrics.count(CircuitBreakingAuditEventPublisher.METRIC_DROPPED)).isZero();
+    }
+
+    @Test
+    void closesAfterSuccessfulProbe() throws InterruptedException {
+        properties.setOpenDurationMs(1);
+        final CircuitBreakingAuditEventPublisher breaker = openBreaker(null);
+        when(delegate.publish("dummyName", "event")).thenReturn(true);
+        Thread.sleep(5);
+
+        assertThat(breaker.publish("dummyName", "event")).isTrue();
+
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void reopensAfterFailedProbe() throws InterruptedException {
+        properties.setOpenDurationMs(1);
+        final CircuitBreakingAuditEventPublisher breaker = openBreaker(null);
+        Thread.sleep(5);
+
+        assertThat(breaker.publish("dummyName", "event")).isFalse();
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(metrics.count(CircuitBreakingAuditEventPublisher.METRIC_OPENED)).isEqualTo(2);
+    }
+
+    private CircuitBreakingAuditEventPublisher openBreaker(final AuditOutbox divertOutbox) {
+        final CircuitBreakingAuditEventPublisher breaker = newBreaker(divertOutbox);
+        for (int i = 0; i < properties.getFailureThreshold(); i++) {
+            breaker.publish("dummyName", "event");
+        }
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        return breaker;
+    }
+
+    private CircuitBreakingAuditEventPublisher newBreaker(final AuditOutbox divertOutbox) {
+        return new CircuitBreakingAuditEventPublisher(delegate, properties, metrics, divertOutbox);
+    }
+}
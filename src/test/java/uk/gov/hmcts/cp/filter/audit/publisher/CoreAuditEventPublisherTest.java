@@ -0,0 +1,159 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyByte;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.CoreClientProperties;
+import uk.gov.hmcts.cp.filter.audit.metrics.SimpleAuditMetrics;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
+import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class CoreAuditEventPublisherTest {
+
+    private ServerLocator serverLocator;
+    private ClientSessionFactory sessionFactory;
+    private ClientSession session;
+    private ClientProducer producer;
+    private ClientMessage message;
+    private SimpleAuditMetrics metrics;
+    private CoreAuditEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        serverLocator = mock(ServerLocator.class);
+        sessionFactory = mock(ClientSessionFactory.class);
+        session = mock(ClientSession.class);
+        producer = mock(ClientProducer.class);
+        message = mock(ClientMessage.class);
+        metrics = new SimpleAuditMetrics();
+
+        when(serverLocator.createSessionFactory()).thenReturn(sessionFactory);
+        when(sessionFactory.createSession(any(), any(), anyBoolean(), anyBoolean(), anyBoolean(), anyBoolean(), anyInt()))
+                .thenReturn(session);
+        when(session.createProducer(any(SimpleString.class))).thenReturn(producer);
+        when(session.createMessage(anyByte(), anyBoolean(), anyLong(), anyLong(), anyByte())).thenReturn(message);
+        when(message.getBodyBuffer()).thenReturn(ActiveMQBuffers.dynamicBuffer(64));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (publisher != null) {
+            publisher.close();
+        }
+    }
+
+    @Test
+    void reusesOneDurableTextMessagePerLane() throws ActiveMQException {
+        publisher = newPublisher(0);
+
+        assertThat(publisher.publish("dummyName", "event-1")).isTrue();
+        assertThat(publisher.publish("dummyName", "event-2")).isTrue();
+
+        verify(session).createProducer(SimpleString.toSimpleString(JmsAuditEventPublisher.DEFAULT_TOPIC));
+        verify(session).createMessage(eq(Message.TEXT_TYPE), eq(true), anyLong(), anyLong(), anyByte());
+        verify(message, times(2)).putStringProperty(SimpleString.toSimpleString(JmsAuditEventPublisher.PROPERTY_NAME),
+                SimpleString.toSimpleString("dummyName"));
+        verify(producer, times(2)).send(message);
+        assertThat(metrics.count(CoreAuditEventPublisher.METRIC_SENT)).isEqualTo(2);
+    }
+
+    @Test
+    void sendsUtf8BytesMessages() throws ActiveMQException {
+        when(serverLocator.getConfirmationWindowSize()).thenReturn(0);
+        final ActiveMQBuffer bodyBuffer = ActiveMQBuffers.dynamicBuffer(64);
+        when(message.getBodyBuffer()).thenReturn(bodyBuffer);
+        publisher = new CoreAuditEventPublisher(serverLocator, "user", "password",
+                JmsAuditEventPublisher.DEFAULT_TOPIC, new CoreClientProperties(), WireFormat.BYTES, metrics);
+
+        assertThat(publisher.publishUtf8("dummyName", "{}xx".getBytes(StandardCharsets.UTF_8), 2)).isTrue();
+
+        verify(session).createMessage(eq(Message.BYTES_TYPE), eq(true), anyLong(), anyLong(), anyByte());
+        verify(message).putStringProperty(SimpleString.toSimpleString(WireFormat.PROPERTY_CONTENT_TYPE),
+                SimpleString.toSimpleString(WireFormat.CONTENT_TYPE_JSON_UTF8));
+        assertThat(bodyBuffer.readableBytes()).isEqualTo(2);
+        verify(producer).send(message);
+    }
+
+    @Test
+    void allocatesMessagePerSendWithConfirmationWindow() throws ActiveMQException {
+        publisher = newPublisher(1024 * 1024);
+
+        publisher.publish("dummyName", "event-1");
+        publisher.publish("dummyName", "event-2");
+
+        verify(session, times(2)).createMessage(anyByte(), anyBoolean(), anyLong(), anyLong(), anyByte());
+    }
+
+    @Test
+    void commitsBatchOnTransactedSession() throws Exception {
+        publisher = newPublisher(0);
+
+        assertThat(publisher.publishBatch(List.of(
+                new SerializedAuditEvent("a", "event-1"),
+                new SerializedAuditEvent("b", "event-2")))).isTrue();
+
+        verify(sessionFactory).createSession(any(), any(), eq(false), eq(false), eq(true), eq(false), anyInt());
+        verify(producer, times(2)).send(message);
+        verify(session).commit();
+        assertThat(metrics.count(CoreAuditEventPublisher.METRIC_SENT)).isEqualTo(2);
+    }
+
+    @Test
+    void givesEverySendItsOwnUserId() throws ActiveMQException {
+        publisher = newPublisher(0);
+
+        publisher.publish("dummyName", "event-1");
+        publisher.publish("dummyName", "event-2");
+
+        final ArgumentCaptor<Object> userIds = ArgumentCaptor.forClass(Object.class);
+        verify(message, times(2)).setUserID(userIds.capture());
+        assertThat(userIds.getAllValues()).doesNotContainNull().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void discardsSessionAfterFailedSend() throws Exception {
+        publisher = newPublisher(0);
+        doThrow(new ActiveMQException("broker gone")).when(producer).send(any(Message.class));
+
+        assertThat(publisher.publish("dummyName", "event-1")).isFalse();
+        assertThat(publisher.publish("dummyName", "event-2")).isFalse();
+
+        verify(session, times(2)).close();
+        verify(sessionFactory, times(2))
+                .createSession(anyString(), anyString(), anyBoolean(), anyBoolean(), anyBoolean(), anyBoolean(), anyInt());
+        assertThat(metrics.count(CoreAuditEventPublisher.METRIC_FAILED)).isEqualTo(2);
+    }
+
+    private CoreAuditEventPublisher newPublisher(final int confirmationWindowSize) {
+        when(serverLocator.getConfirmationWindowSize()).thenReturn(confirmationWindowSize);
+        return new CoreAuditEventPublisher(serverLocator, "user", "password",
+                JmsAuditEventPublisher.DEFAULT_TOPIC, new CoreClientProperties(), WireFormat.TEXT, metrics);
+    }
+}
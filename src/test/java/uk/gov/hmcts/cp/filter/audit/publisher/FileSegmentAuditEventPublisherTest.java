@@ -0,0 +1,131 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.FilePublisherProperties;
+import uk.gov.hmcts.cp.filter.audit.metrics.SimpleAuditMetrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileSegmentAuditEventPublisherTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    private final SimpleAuditMetrics metrics = new SimpleAuditMetrics();
+    private FileSegmentAuditEventPublisher publisher;
+
+    @AfterEach
+    void tearDown() {
+        if (publisher != null) {
+            publisher.close();
+        }
+    }
+
+    @Test
+    void writesOneJsonLinePerEvent() throws IOException {
+        publisher = openPublisher(1024 * 1024, 0, 64 * 1024);
+
+        assertThat(publisher.publish("audit.events.audit-recorded", "{\"n\":1}")).isTrue();
+        assertThat(publisher.publish("name \"quoted\"", "{\"n\":2}")).isTrue();
+        publisher.close();
+
+        final List<JsonNode> lines = readLines();
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0).get("name").asText()).isEqualTo("audit.events.audit-recorded");
+        assertThat(lines.get(0).get("event").get("n").asInt()).isEqualTo(1);
+        assertThat(lines.get(1).get("name").asText()).isEqualTo("name \"quoted\"");
+        assertThat(metrics.count(FileSegmentAuditEventPublisher.METRIC_WRITTEN)).isEqualTo(2);
+    }
+
+    @Test
+    void rollsSegmentsAndKeepsAtMostMaxSegments() throws IOException {
+        publisher = openPublisher(100, 2, 64);
+
+        for (int i = 0; i < 10; i++) {
+            publisher.publish("name", "{\"n\":" + i + "}");
+        }
+        publisher.close();
+
+        assertThat(segmentFiles()).hasSize(2);
+        assertThat(metrics.count(FileSegmentAuditEventPublisher.METRIC_ROLLED)).isPositive();
+        final List<JsonNode> lines = readLines();
+        assertThat(lines.get(lines.size() - 1).get("event").get("n").asInt()).isEqualTo(9);
+    }
+
+    @Test
+    void writesEventsLargerThanTheBuffer() throws IOException {
+        publisher = openPublisher(1024 * 1024, 0, 16);
+        final String body = "{\"text\":\"" + "x".repeat(200) + "\"}";
+
+        assertThat(publisher.publishBatch(List.of(new SerializedAuditEvent("name", body)))).isTrue();
+        publisher.close();
+
+        assertThat(readLines().get(0).get("event").get("text").asText()).hasSize(200);
+    }
+
+    @Test
+    void startsNewSegmentAfterRestart() throws IOException {
+        publisher = openPublisher(1024 * 1024, 0, 1024);
+        publisher.publish("name", "{\"run\":1}");
+        publisher.close();
+
+        publisher = openPublisher(1024 * 1024, 0, 1024);
+        publisher.publish("name", "{\"run\":2}");
+        publisher.close();
+
+        assertThat(segmentFiles()).hasSize(2);
+        assertThat(readLines()).extracting(line -> line.get("event").get("run").asInt()).containsExactly(1, 2);
+    }
+
+    @Test
+    void rejectsEventsAfterClose() throws IOException {
+        publisher = openPublisher(1024 * 1024, 0, 1024);
+        publisher.close();
+
+        assertThat(publisher.publish("name", "{}")).isFalse();
+        assertThat(metrics.count(FileSegmentAuditEventPublisher.METRIC_FAILED)).isEqualTo(1);
+    }
+
+    private FileSegmentAuditEventPublisher openPublisher(final long segmentSize, final int maxSegments, final int bufferSize)
+            throws IOException {
+        final FilePublisherProperties properties = new FilePublisherProperties();
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSizeBytes(segmentSize);
+        properties.setMaxSegments(maxSegments);
+        properties.setBufferSizeBytes(bufferSize);
+        properties.setFlushIntervalMs(1_000);
+        final FileSegmentAuditEventPublisher filePublisher = new FileSegmentAuditEventPublisher(properties, metrics);
+        filePublisher.open();
+        return filePublisher;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private List<JsonNode> readLines() throws IOException {
+        final List<JsonNode> lines = new ArrayList<>();
+        for (final Path segment : segmentFiles()) {
+            for (final String line : Files.readAllLines(segment)) {
+                lines.add(MAPPER.readTree(line));
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,54 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import uk.gov.hmcts.cp.filter.audit.metrics.SimpleAuditMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class InMemoryAuditEventPublisherTest {
+
+    private final SimpleAuditMetrics metrics = new SimpleAuditMetrics();
+
+    @Test
+    void keepsPublishedEventsInOrder() {
+        final InMemoryAuditEventPublisher publisher = new InMemoryAuditEventPublisher(4, metrics);
+
+        assertThat(publisher.publish("name", "{\"n\":1}")).isTrue();
+        assertThat(publisher.publish("name", "{\"n\":2}")).isTrue();
+
+        assertThat(publisher.size()).isEqualTo(2);
+        assertThat(publisher.poll()).isEqualTo(new SerializedAuditEvent("name", "{\"n\":1}"));
+        assertThat(publisher.poll()).isEqualTo(new SerializedAuditEvent("name", "{\"n\":2}"));
+        assertThat(publisher.poll()).isNull();
+        assertThat(metrics.count(InMemoryAuditEventPublisher.METRIC_PUBLISHED)).isEqualTo(2);
+    }
+
+    @Test
+    void evictsOldestEventWhenFull() {
+        final InMemoryAuditEventPublisher publisher = new InMemoryAuditEventPublisher(2, metrics);
+
+        publisher.publish("name", "first");
+        publisher.publish("name", "second");
+        assertThat(publisher.publish("name", "third")).isTrue();
+
+        final List<SerializedAuditEvent> drained = new ArrayList<>();
+        assertThat(publisher.drainTo(drained::add)).isEqualTo(2);
+        assertThat(drained).extracting(SerializedAuditEvent::body).containsExactly("second", "third");
+        assertThat(metrics.count(InMemoryAuditEventPublisher.METRIC_EVICTED)).isEqualTo(1);
+    }
+
+    @Test
+    void publishesBatchOneEventAtATime() {
+        final InMemoryAuditEventPublisher publisher = new InMemoryAuditEventPublisher(8, metrics);
+
+        assertThat(publisher.publishBatch(List.of(
+                new SerializedAuditEvent("a", "1"),
+                new SerializedAuditEvent("b", "2")))).isTrue();
+
+        assertThat(publisher.size()).isEqualTo(2);
+    }
+}
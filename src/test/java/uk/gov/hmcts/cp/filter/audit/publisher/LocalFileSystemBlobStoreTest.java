@@ -0,0 +1,36 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LocalFileSystemBlobStoreTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void writesBlobBelowRoot() throws IOException {
+        final LocalFileSystemBlobStore store = new LocalFileSystemBlobStore(root.toString());
+
+        store.upload("audit-segments/2024/01/01/00/segment.seg", new byte[]{1, 2, 3});
+
+        assertThat(Files.readAllBytes(root.resolve("audit-segments/2024/01/01/00/segment.seg"))).containsExactly(1, 2, 3);
+        try (var files = Files.list(root.resolve("audit-segments/2024/01/01/00"))) {
+            assertThat(files).hasSize(1);
+        }
+    }
+
+    @Test
+    void rejectsBlobNamesOutsideRoot() {
+        final LocalFileSystemBlobStore store = new LocalFileSystemBlobStore(root.toString());
+
+        assertThatThrownBy(() -> store.upload("../escape.seg", new byte[0])).isInstanceOf(IOException.class);
+    }
+}
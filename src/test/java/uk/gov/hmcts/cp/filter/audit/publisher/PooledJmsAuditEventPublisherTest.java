@@ -0,0 +1,117 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.PoolProperties;
+import uk.gov.hmcts.cp.filter.audit.metrics.SimpleAuditMetrics;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import jakarta.jms.BytesMessage;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.Destination;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PooledJmsAuditEventPublisherTest {
+
+    private Session session;
+    private MessageProducer producer;
+    private TextMessage message;
+    private StripedJmsSessionPool pool;
+    private PooledJmsAuditEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() throws JMSException {
+        final ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        final Connection connection = mock(Connection.class);
+        session = mock(Session.class);
+        producer = mock(MessageProducer.class);
+        message = mock(TextMessage.class);
+
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(anyBoolean(), anyInt())).thenReturn(session);
+        when(session.createProducer(any())).thenReturn(producer);
+        when(session.createTextMessage(anyString())).thenReturn(message);
+
+        pool = new StripedJmsSessionPool(connectionFactory, new PoolProperties(), new SimpleAuditMetrics());
+        publisher = new PooledJmsAuditEventPublisher(pool, JmsAuditEventPublisher.DEFAULT_TOPIC);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void sendsWithEventNameProperty() throws JMSException {
+        assertThat(publisher.publish("dummyName", "event-1")).isTrue();
+
+        verify(session).createTextMessage("event-1");
+        verify(message).setStringProperty(JmsAuditEventPublisher.PROPERTY_NAME, "dummyName");
+        verify(producer).send(any(Destination.class), any(Message.class));
+    }
+
+    @Test
+    void sendsUtf8BytesMessageWithContentType() throws JMSException {
+        final BytesMessage bytesMessage = mock(BytesMessage.class);
+        when(session.createBytesMessage()).thenReturn(bytesMessage);
+        final PooledJmsAuditEventPublisher bytesPublisher =
+                new PooledJmsAuditEventPublisher(pool, JmsAuditEventPublisher.DEFAULT_TOPIC, WireFormat.BYTES);
+        final byte[] body = "{\"a\":1}xxxx".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(bytesPublisher.prefersUtf8()).isTrue();
+        assertThat(bytesPublisher.publishUtf8("dummyName", body, 7)).isTrue();
+
+        verify(bytesMessage).writeBytes(body, 0, 7);
+        verify(bytesMessage).setStringProperty(JmsAuditEventPublisher.PROPERTY_NAME, "dummyName");
+        verify(bytesMessage).setStringProperty(WireFormat.PROPERTY_CONTENT_TYPE, WireFormat.CONTENT_TYPE_JSON_UTF8);
+        verify(producer).send(any(Destination.class), eq(bytesMessage));
+    }
+
+    @Test
+    void reportsFailedSend() throws JMSException {
+        doThrow(new JMSException("broker gone")).when(producer).send(any(Destination.class), any(Message.class));
+
+        assertThat(publisher.publish("dummyName", "event-1")).isFalse();
+    }
+
+    @Test
+    void commitsBatchInOneTransaction() throws JMSException {
+        assertThat(publisher.publishBatch(List.of(
+                new SerializedAuditEvent("a", "event-1"),
+                new SerializedAuditEvent("b", "event-2")))).isTrue();
+
+        verify(producer, times(2)).send(any(Destination.class), any(Message.class));
+        verify(session).commit();
+    }
+
+    @Test
+    void rollsBackFailedBatch() throws JMSException {
+        doThrow(new JMSException("broker gone")).when(producer).send(any(Destination.class), any(Message.class));
+
+        assertThat(publisher.publishBatch(List.of(new SerializedAuditEvent("a", "event-1")))).isFalse();
+
+        verify(session, never()).commit();
+        verify(session).rollback();
+    }
+}
@@ -0,0 +1,150 @@
+package uk.gov.hmcts.cp.filter.audit.publisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.PoolProperties;
+import uk.gov.hmcts.cp.filter.audit.metrics.SimpleAuditMetrics;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StripedJmsSessionPoolTest {
+
+    private ConnectionFactory connectionFactory;
+    private Connection connection;
+    private Session session;
+    private SimpleAuditMetrics metrics;
+    private StripedJmsSessionPool pool;
+
+    @BeforeEach
+    void setUp() throws JMSException {
+        connectionFactory = mock(ConnectionFactory.class);
+        connection = mock(Connection.class);
+        session = mock(Session.class);
+        metrics = new SimpleAuditMetrics();
+
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(anyBoolean(), anyInt())).thenReturn(session);
+        when(session.createProducer(any())).thenReturn(mock(MessageProducer.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    void reusesSessionAcrossCallsOnSameThread() throws JMSException {
+        pool = newPool(2, 2);
+
+        pool.execute((s, producer) -> s);
+        pool.execute((s, producer) -> s);
+
+        verify(connectionFactory).createConnection();
+        verify(connection).createSession(false, Session.AUTO_ACKNOWLEDGE);
+        assertThat(pool.getStripeCount()).isEqualTo(4);
+        assertThat(pool.getOpenConnectionCount()).isEqualTo(1);
+        assertThat(metrics.gaugeValue(StripedJmsSessionPool.METRIC_STRIPES)).isEqualTo(4);
+    }
+
+    @Test
+    void usesSeparateTransactedSessionForBatches() throws JMSException {
+        pool = newPool(1, 1);
+
+        pool.execute((s, producer) -> s);
+        pool.executeTransacted((s, producer) -> s);
+
+        verify(connection).createSession(false, Session.AUTO_ACKNOWLEDGE);
+        verify(connection).createSession(true, Session.SESSION_TRANSACTED);
+    }
+
+    @Test
+    void probesNextStripeWhenHomeStripeIsBusy() throws Exception {
+        pool = newPool(1, 2);
+        final CountDownLatch checkedOut = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Thread holder = Thread.ofPlatform().start(() -> {
+            try {
+                pool.execute((s, producer) -> {
+                    checkedOut.countDown();
+                    awaitQuietly(release);
+                    return s;
+                });
+            } catch (JMSException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(checkedOut.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Whichever stripe this thread lands on first, one of the two is free
+        pool.execute((s, producer) -> s);
+        assertThat(pool.getBusyCount()).isEqualTo(1);
+
+        release.countDown();
+        holder.join();
+        assertThat(pool.getBusyCount()).isZero();
+        assertThat(metrics.gaugeValue(StripedJmsSessionPool.METRIC_BUSY)).isEqualTo(0);
+    }
+
+    @Test
+    void recreatesConnectionAfterFailure() throws JMSException {
+        pool = newPool(1, 1);
+
+        assertThatThrownBy(() -> pool.execute((s, producer) -> {
+            throw new JMSException("broker gone");
+        })).isInstanceOf(JMSException.class);
+        verify(session).close();
+        verify(connection).close();
+        assertThat(pool.getOpenConnectionCount()).isZero();
+
+        pool.execute((s, producer) -> s);
+
+        verify(connectionFactory, times(2)).createConnection();
+        assertThat(metrics.count(StripedJmsSessionPool.METRIC_RECONNECTED)).isEqualTo(1);
+    }
+
+    @Test
+    void rollsBackTransactedSessionOnFailure() throws JMSException {
+        pool = newPool(1, 1);
+
+        assertThatThrownBy(() -> pool.executeTransacted((s, producer) -> {
+            throw new JMSException("send failed");
+        })).isInstanceOf(JMSException.class);
+
+        verify(session).rollback();
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private StripedJmsSessionPool newPool(final int connections, final int sessionsPerConnection) {
+        final PoolProperties properties = new PoolProperties();
+        properties.setConnections(connections);
+        properties.setSessionsPerConnection(sessionsPerConnection);
+        return new StripedJmsSessionPool(connectionFactory, properties, metrics);
+    }
+}
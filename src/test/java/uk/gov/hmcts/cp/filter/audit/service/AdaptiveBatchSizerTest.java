@@ -0,0 +1,61 @@
+package uk.gov.hmcts.cp.filter.audit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveBatchSizerTest {
+
+    private static final long TARGET_NANOS = 1_000;
+
+    @Test
+    @DisplayName("Starts at the minimum batch size")
+    void startsAtMinimum() {
+        assertThat(new AdaptiveBatchSizer(4, 64, TARGET_NANOS).getCurrentSize()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Grows while the queue backs up and commits are fast, capped at the maximum")
+    void growsWithBacklog() {
+        final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(4, 20, TARGET_NANOS);
+
+        sizer.record(TARGET_NANOS / 2, 100);
+        assertThat(sizer.getCurrentSize()).isEqualTo(8);
+        sizer.record(TARGET_NANOS / 2, 100);
+        sizer.record(TARGET_NANOS / 2, 100);
+        assertThat(sizer.getCurrentSize()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Keeps its size when there is no backlog")
+    void holdsWithoutBacklog() {
+        final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(4, 64, TARGET_NANOS);
+
+        sizer.record(TARGET_NANOS / 2, 2);
+
+        assertThat(sizer.getCurrentSize()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Halves when commits exceed the target latency, never below the minimum")
+    void shrinksOnSlowCommits() {
+        final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(4, 64, TARGET_NANOS);
+        sizer.record(0, 100);
+        sizer.record(0, 100);
+        assertThat(sizer.getCurrentSize()).isEqualTo(16);
+
+        sizer.record(TARGET_NANOS * 2, 100);
+        assertThat(sizer.getCurrentSize()).isEqualTo(8);
+        sizer.record(TARGET_NANOS * 2, 100);
+        sizer.record(TARGET_NANOS * 2, 100);
+        assertThat(sizer.getCurrentSize()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Rejects inverted bounds")
+    void rejectsInvalidBounds() {
+        assertThatThrownBy(() -> new AdaptiveBatchSizer(8, 4, TARGET_NANOS)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
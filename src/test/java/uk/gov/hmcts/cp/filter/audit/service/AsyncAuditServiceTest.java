@@ -0,0 +1,275 @@
+package uk.gov.hmcts.cp.filter.audit.service;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import uk.gov.hmcts.cp.filter.audit.config.AuditProperties.AsyncProperties;
+import uk.gov.hmcts.cp.filter.audit.metrics.SimpleAuditMetrics;
+import uk.gov.hmcts.cp.filter.audit.model.AuditPayload;
+import uk.gov.hmcts.cp.filter.audit.model.Metadata;
+import uk.gov.hmcts.cp.filter.audit.publisher.AuditEventPublisher;
+import uk.gov.hmcts.cp.filter.audit.publisher.JmsAuditEventPublisher;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.Destination;
+import jakarta.jms.JMSException;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.MessagePostProcessor;
+
+class AsyncAuditServiceTest {
+
+    private JmsTemplate jmsTemplate;
+    private ObjectMapper objectMapper;
+    private SimpleAuditMetrics metrics;
+    private AsyncAuditService auditService;
+
+    private final CountDownLatch senderBusy = new CountDownLatch(1);
+    private final CountDownLatch releaseSender = new CountDownLatch(1);
+    private final List<String> sentThreads = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws JsonProcessingException {
+        jmsTemplate = mock(JmsTemplate.class);
+        objectMapper = mock(ObjectMapper.class);
+        metrics = new SimpleAuditMetrics();
+        when(objectMapper.writeValueAsString(any())).thenAnswer(invocation ->
+                ((AuditPayload) invocation.getArgument(0))._metadata().name());
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseSender.countDown();
+        if (auditService != null) {
+            auditService.close();
+        }
+    }
+
+    @Test
+    void publishesOnSenderThread() {
+        auditService = startService(OverflowPolicy.BLOCK, false);
+
+        auditService.postMessageToArtemis(payload("first"));
+
+        verify(jmsTemplate, timeout(2_000)).convertAndSend(any(Destination.class), eq("first"), any(MessagePostProcessor.class));
+        assertThat(sentThreads).containsExactly("audit-sender-0");
+        assertThat(metrics.count(AsyncAuditService.METRIC_ENQUEUED)).isEqualTo(1);
+    }
+
+    @Test
+    void publishesSynchronouslyWhenNotStarted() {
+        auditService = new AsyncAuditService(new JmsAuditEventPublisher(jmsTemplate), objectMapper, properties(OverflowPolicy.BLOCK), metrics);
+        recordSendingThread(false);
+
+        auditService.postMessageToArtemis(payload("sync"));
+
+        verify(jmsTemplate).convertAndSend(any(Destination.class), eq("sync"), any(MessagePostProcessor.class));
+        assertThat(sentThreads).containsExactly(Thread.currentThread().getName());
+    }
+
+    @Test
+    void dropsNewestWhenQueueIsFull() throws InterruptedException {
+        auditService = startService(OverflowPolicy.DROP_NEWEST, true);
+        fillQueue();
+
+        auditService.postMessageToArtemis(payload("overflow"));
+
+        assertThat(metrics.count(AsyncAuditService.METRIC_DROPPED)).isEqualTo(1);
+        releaseSender.countDown();
+        verify(jmsTemplate, timeout(2_000).times(3)).convertAndSend(any(Destination.class), anyString(), any(MessagePostProcessor.class));
+        verify(jmsTemplate, times(0)).convertAndSend(any(Destination.class), eq("overflow"), any(MessagePostProcessor.class));
+    }
+
+    @Test
+    void dropsOldestWhenQueueIsFull() throws InterruptedException {
+        auditService = startService(OverflowPolicy.DROP_OLDEST, true);
+        fillQueue();
+
+        auditService.postMessageToArtemis(payload("overflow"));
+
+        assertThat(metrics.count(AsyncAuditService.METRIC_DROPPED)).isEqualTo(1);
+        releaseSender.countDown();
+        verify(jmsTemplate, timeout(2_000)).convertAndSend(any(Destination.class), eq("overflow"), any(MessagePostProcessor.class));
+        verify(jmsTemplate, times(0)).convertAndSend(any(Destination.class), eq("queued-0"), any(MessagePostProcessor.class));
+    }
+
+    @Test
+    void blocksThenDropsWhenQueueStaysFull() throws InterruptedException {
+        auditService = startService(OverflowPolicy.BLOCK, true);
+        fillQueue();
+
+        final long started = System.nanoTime();
+        auditService.postMessageToArtemis(payload("overflow"));
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isGreaterThanOrEqualTo(40);
+        assertThat(metrics.count(AsyncAuditService.METRIC_DROPPED)).isEqualTo(1);
+    }
+
+    @Test
+    void spillsOnCallerThreadWhenQueueIsFull() throws InterruptedException {
+        auditService = startService(OverflowPolicy.SPILL, true);
+        fillQueue();
+
+        auditService.postMessageToArtemis(payload("overflow"));
+
+        assertThat(metrics.count(AsyncAuditService.METRIC_SPILLED)).isEqualTo(1);
+        assertThat(sentThreads).contains(Thread.currentThread().getName());
+    }
+
+    @Test
+    void closeDrainsQueuedEvents() throws InterruptedException {
+        auditService = startService(OverflowPolicy.BLOCK, true);
+        fillQueue();
+        releaseSender.countDown();
+
+        auditService.close();
+
+        verify(jmsTemplate, times(3)).convertAndSend(any(Destination.class), anyString(), any(MessagePostProcessor.class));
+        assertThat(auditService.getQueueDepth()).isZero();
+    }
+
+    @Test
+    void commitsQueuedEventsAsTransactedBatch() throws JMSException {
+        final Session session = mockTransactedSession();
+        final MessageProducer producer = mock(MessageProducer.class);
+        when(session.createProducer(any(Destination.class))).thenReturn(producer);
+        when(session.createTextMessage(anyString())).thenReturn(mock(TextMessage.class));
+
+        final AsyncProperties properties = properties(OverflowPolicy.BLOCK);
+        properties.setQueueCapacity(16);
+        properties.getBatch().setEnabled(true);
+        properties.getBatch().setMinSize(4);
+        properties.getBatch().setMaxWaitMs(1_000);
+        auditService = new AsyncAuditService(new JmsAuditEventPublisher(jmsTemplate), objectMapper, properties, metrics);
+        auditService.start();
+
+        for (int i = 0; i < 4; i++) {
+            auditService.postMessageToArtemis(payload("batched-" + i));
+        }
+
+        verify(session, timeout(2_000)).commit();
+        auditService.close();
+        verify(producer, times(4)).send(any(TextMessage.class));
+        assertThat(metrics.count(AsyncAuditService.METRIC_BATCH_COMMITTED)).isEqualTo(1);
+        verify(jmsTemplate, never()).convertAndSend(any(Destination.class), anyString(), any(MessagePostProcessor.class));
+    }
+
+    @Test
+    void retriesIndividuallyWhenBatchFails() throws JMSException {
+        final Session session = mockTransactedSession();
+        when(session.createProducer(any(Destination.class))).thenReturn(mock(MessageProducer.class));
+        when(session.createTextMessage(anyString())).thenReturn(mock(TextMessage.class));
+        doThrow(new JMSException("broker down")).when(session).commit();
+
+        final AsyncProperties properties = properties(OverflowPolicy.BLOCK);
+        properties.getBatch().setEnabled(true);
+        properties.getBatch().setMinSize(1);
+        auditService = new AsyncAuditService(new JmsAuditEventPublisher(jmsTemplate), objectMapper, properties, metrics);
+        auditService.start();
+
+        auditService.postMessageToArtemis(payload("retried"));
+
+        verify(jmsTemplate, timeout(2_000)).convertAndSend(any(Destination.class), eq("retried"), any(MessagePostProcessor.class));
+        assertThat(metrics.count(AsyncAuditService.METRIC_BATCH_FAILED)).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotRetryABatchThePublisherShortCircuited() {
+        final AuditEventPublisher publisher = mock(AuditEventPublisher.class);
+        when(publisher.publishBatch(any())).thenReturn(false);
+        when(publisher.wasShortCircuited()).thenReturn(true);
+
+        final AsyncProperties properties = properties(OverflowPolicy.BLOCK);
+        properties.getBatch().setEnabled(true);
+        properties.getBatch().setMinSize(1);
+        auditService = new AsyncAuditService(publisher, objectMapper, properties, metrics);
+        auditService.start();
+
+        auditService.postMessageToArtemis(payload("short-circuited"));
+
+        verify(publisher, timeout(2_000)).publishBatch(any());
+        auditService.close();
+        verify(publisher, never()).publish(anyString(), anyString());
+        assertThat(metrics.count(AsyncAuditService.METRIC_BATCH_FAILED)).isZero();
+    }
+
+    private Session mockTransactedSession() throws JMSException {
+        final ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        final Connection connection = mock(Connection.class);
+        final Session session = mock(Session.class);
+        when(jmsTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(true, Session.SESSION_TRANSACTED)).thenReturn(session);
+        return session;
+    }
+
+    private AsyncAuditService startService(final OverflowPolicy policy, final boolean holdSender) {
+        recordSendingThread(holdSender);
+        final AsyncAuditService service = new AsyncAuditService(new JmsAuditEventPublisher(jmsTemplate), objectMapper, properties(policy), metrics);
+        service.start();
+        return service;
+    }
+
+    private void recordSendingThread(final boolean holdSender) {
+        doAnswer(invocation -> {
+            sentThreads.add(Thread.currentThread().getName());
+            if (holdSender && Thread.currentThread().getName().startsWith("audit-sender")) {
+                senderBusy.countDown();
+                releaseSender.await(5, TimeUnit.SECONDS);
+            }
+            return null;
+        }).when(jmsTemplate).convertAndSend(any(Destination.class), anyString(), any(MessagePostProcessor.class));
+    }
+
+    /**
+     * Parks the single sender thread on the first event, then fills the two-slot queue.
+     */
+    private void fillQueue() throws InterruptedException {
+        auditService.postMessageToArtemis(payload("in-flight"));
+        assertThat(senderBusy.await(2, TimeUnit.SECONDS)).isTrue();
+        auditService.postMessageToArtemis(payload("queued-0"));
+        auditService.postMessageToArtemis(payload("queued-1"));
+        assertThat(auditService.getQueueDepth()).isEqualTo(2);
+    }
+
+    private static AsyncProperties properties(final OverflowPolicy policy) {
+        final AsyncProperties properties = new AsyncProperties();
+        properties.setEnabled(true);
+        properties.setQueueCapacity(2);
+        properties.setSenderThreads(1);
+        properties.setOverflowPolicy(policy);
+        properties.setBlockTimeoutMs(50);
+        properties.setShutdownTimeoutMs(2_000);
+        return properties;
+    }
+
+    private static AuditPayload payload(final String marker) {
+        return AuditPayload.builder()
+                ._metadata(Metadata.builder().id(randomUUID()).name(marker).build())
+                .build();
+    }
+}
@@ -3,12 +3,23 @@ package uk.gov.hmcts.cp.filter.audit.service;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import uk.gov.hmcts.cp.filter.audit.config.ArtemisAuditAutoConfiguration;
+import uk.gov.hmcts.cp.filter.audit.model.AuditEvent;
 import uk.gov.hmcts.cp.filter.audit.model.AuditPayload;
+import uk.gov.hmcts.cp.filter.audit.model.PayloadInfo;
 import uk.gov.hmcts.cp.filter.audit.model.RequestInfo;
 import uk.gov.hmcts.cp.filter.audit.model.ResponseInfo;
+import uk.gov.hmcts.cp.filter.audit.policy.BodyCategory;
+import uk.gov.hmcts.cp.filter.audit.util.AuditClock;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.Map;
+import java.util.UUID;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,11 +29,12 @@ class AuditPayloadGenerationServiceTest {
 
     private static final String HEADER_ATTR_CJSCPPUID = "CJSCPPUID";
     private static final String HEADER_ATTR_CPP_CLIENT_CORRELATION_ID = "CPPCLIENTCORRELATIONID";
+    private static final ObjectMapper MAPPER = new ArtemisAuditAutoConfiguration().auditObjectMapper();
     private AuditPayloadGenerationService auditPayloadGenerationService;
 
     @BeforeEach
     void setUp() {
-        auditPayloadGenerationService = new AuditPayloadGenerationService(new ArtemisAuditAutoConfiguration().auditObjectMapper(), true);
+        auditPayloadGenerationService = new AuditPayloadGenerationService(MAPPER, true);
     }
 
     @Test
@@ -47,13 +59,13 @@ class AuditPayloadGenerationServiceTest {
         assertThat(result._metadata().correlation().get().client()).isEqualTo(clientCorrelationId);
         assertThat(result._metadata().createdAt()).isNotBlank();
 
-        assertThat(result.content().get("key").asText()).isEqualTo("value");
+        assertThat(content(result).get("key").asText()).isEqualTo("value");
 
-        assertThat(result.content().get("_metadata").get("id").asText()).isNotBlank();
-        assertThat(result.content().get("_metadata").get("name").asText()).isEqualTo("application/json");
-        assertThat(result.content().get("_metadata").get("context").get("user").asText()).isEqualTo(userId);
-        assertThat(result.content().get("_metadata").get("correlation").get("client").asText()).isEqualTo(clientCorrelationId);
-        assertThat(result.content().get("_metadata").get("createdAt").asText()).isNotBlank();
+        assertThat(content(result).get("_metadata").get("id").asText()).isNotBlank();
+        assertThat(content(result).get("_metadata").get("name").asText()).isEqualTo("application/json");
+        assertThat(content(result).get("_metadata").get("context").get("user").asText()).isEqualTo(userId);
+        assertThat(content(result).get("_metadata").get("correlation").get("client").asText()).isEqualTo(clientCorrelationId);
+        assertThat(content(result).get("_metadata").get("createdAt").asText()).isNotBlank();
     }
 
     @Test
@@ -67,7 +79,7 @@ class AuditPayloadGenerationServiceTest {
         final AuditPayload result = auditPayloadGenerationService.generatePayload(new ResponseInfo(contextPath, headers, payloadBody));
 
         assertThat(result._metadata().correlation().get().client()).isEqualTo(correlationId);
-        assertThat(result.content().get("_metadata").get("correlation").get("client").asText()).isEqualTo(correlationId);
+        assertThat(content(result).get("_metadata").get("correlation").get("client").asText()).isEqualTo(correlationId);
     }
 
     @Test
@@ -85,7 +97,7 @@ class AuditPayloadGenerationServiceTest {
             new ResponseInfo("test", headers, "{\"key\":\"value\"}"));
 
         assertThat(result._metadata().correlation().get().client()).isEqualTo(xCorrelationId);
-        assertThat(result.content().get("_metadata").get("correlation").get("client").asText()).isEqualTo(xCorrelationId);
+        assertThat(content(result).get("_metadata").get("correlation").get("client").asText()).isEqualTo(xCorrelationId);
     }
 
     @Test
@@ -100,7 +112,7 @@ class AuditPayloadGenerationServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.origin()).isEqualTo("test");
         assertThat(result.component()).isEqualTo("test-api");
-        assertThat(result.content().get("_payload").asText()).isEqualTo(payloadBody);
+        assertThat(content(result).get("_payload").asText()).isEqualTo(payloadBody);
     }
 
     @Test
@@ -116,10 +128,10 @@ class AuditPayloadGenerationServiceTest {
         final AuditPayload result = serviceWithBodyDisabled.generatePayload(
             new RequestInfo("test", headers, queryParams, pathParams, "{\"sensitive\":\"pii-data\"}"));
 
-        assertThat(result.content().has("sensitive")).isFalse();       // body suppressed
-        assertThat(result.content().path("caseId").asText()).isEqualTo("CASE-001"); // path param present
-        assertThat(result.content().path("caseType").asText()).isEqualTo("CIVIL");  // query param present
-        assertThat(result.content().has("_metadata")).isTrue();
+        assertThat(content(result).has("sensitive")).isFalse();       // body suppressed
+        assertThat(content(result).path("caseId").asText()).isEqualTo("CASE-001"); // path param present
+        assertThat(content(result).path("caseType").asText()).isEqualTo("CIVIL");  // query param present
+        assertThat(content(result).has("_metadata")).isTrue();
     }
 
     @Test
@@ -153,12 +165,309 @@ class AuditPayloadGenerationServiceTest {
         assertThat(result._metadata().name()).isEqualTo("audit.events.audit-recorded");
         assertThat(result._metadata().createdAt()).isNotBlank();
 
-        assertThat(result.content().get("id").asText()).isEqualTo("123");
-        assertThat(result.content().get("key").asText()).isEqualTo("value");
-        assertThat(result.content().get("queryKey").asText()).isEqualTo("queryValue");
+        assertThat(content(result).get("id").asText()).isEqualTo("123");
+        assertThat(content(result).get("key").asText()).isEqualTo("value");
+        assertThat(content(result).get("queryKey").asText()).isEqualTo("queryValue");
 
-        assertThat(result.content().get("_metadata").get("id").asText()).isNotBlank();
-        assertThat(result.content().get("_metadata").get("name").asText()).isEqualTo("application/json");
-        assertThat(result.content().get("_metadata").get("createdAt").asText()).isNotBlank();
+        assertThat(content(result).get("_metadata").get("id").asText()).isNotBlank();
+        assertThat(content(result).get("_metadata").get("name").asText()).isEqualTo("application/json");
+        assertThat(content(result).get("_metadata").get("createdAt").asText()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("Describes a truncated body under _payloadInfo")
+    void addsPayloadInfoForTruncatedBody() {
+        final PayloadInfo payloadInfo = new PayloadInfo(4_096, true, "ab12");
+        final RequestInfo requestInfo = new RequestInfo("test", Map.of("Content-Type", "application/json"),
+                Map.of(), Map.of(), "{\"key\":\"val", payloadInfo);
+
+        final AuditPayload result = auditPayloadGenerationService.generatePayload(requestInfo);
+
+        assertThat(content(result).get("_payload").asText()).isEqualTo("{\"key\":\"val");
+        assertThat(content(result).get("_payloadInfo").get("length").asLong()).isEqualTo(4_096);
+        assertThat(content(result).get("_payloadInfo").get("truncated").asBoolean()).isTrue();
+        assertThat(content(result).get("_payloadInfo").get("sha256").asText()).isEqualTo("ab12");
+    }
+
+    @Test
+    @DisplayName("Omits _payloadInfo when the body is excluded")
+    void omitsPayloadInfoWhenBodyExcluded() {
+        final AuditPayloadGenerationService withoutBody =
+                new AuditPayloadGenerationService(new ArtemisAuditAutoConfiguration().auditObjectMapper(), false);
+        final ResponseInfo responseInfo = new ResponseInfo("test", Map.of("Content-Type", "application/json"),
+                "{\"key\":\"val", new PayloadInfo(4_096, true, "ab12"));
+
+        final AuditPayload result = withoutBody.generatePayload(responseInfo);
+
+        assertThat(content(result).has("_payloadInfo")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Describes a binary body by _payloadInfo only")
+    void omitsBinaryBodyAndKeepsPayloadInfo() {
+        final RequestInfo requestInfo = new RequestInfo("test", Map.of("Content-Type", "image/png"), Map.of(), Map.of(), "",
+                new PayloadInfo(2_048, true, "cd34", "image/png"), BodyCategory.BINARY);
+
+        final AuditPayload result = auditPayloadGenerationService.generatePayload(requestInfo);
+
+        assertThat(content(result).has("_payload")).isFalse();
+        assertThat(content(result).get("_payloadInfo").get("length").asLong()).isEqualTo(2_048);
+        assertThat(content(result).get("_payloadInfo").get("sha256").asText()).isEqualTo("cd34");
+        assertThat(content(result).get("_payloadInfo").get("contentType").asText()).isEqualTo("image/png");
+        assertThat(content(result).has("_metadata")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Parses a form body into fields")
+    void parsesFormBodyIntoFields() {
+        final RequestInfo requestInfo = new RequestInfo("test", Map.of("Content-Type", "application/x-www-form-urlencoded"),
+                Map.of(), Map.of(), "name=John+Smith&role=a%26b&tag=one&tag=two&flag", null, BodyCategory.FORM);
+
+        final AuditPayload result = auditPayloadGenerationService.generatePayload(requestInfo);
+
+        assertThat(content(result).get("name").asText()).isEqualTo("John Smith");
+        assertThat(content(result).get("role").asText()).isEqualTo("a&b");
+        assertThat(content(result).get("tag").asText()).isEqualTo("one,two");
+        assertThat(content(result).get("flag").asText()).isEmpty();
+        assertThat(content(result).has("_payload")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Keeps form text with a malformed escape as sent")
+    void keepsMalformedFormEscapesAsSent() {
+        final RequestInfo requestInfo = new RequestInfo("test", Map.of("Content-Type", "application/x-www-form-urlencoded"),
+                Map.of(), Map.of(), "note=100%&ratio=%4&ok=a%20b", null, BodyCategory.FORM);
+
+        final AuditPayload result = auditPayloadGenerationService.generatePayload(requestInfo);
+
+        assertThat(content(result).get("note").asText()).isEqualTo("100%");
+        assertThat(content(result).get("ratio").asText()).isEqualTo("%4");
+        assertThat(content(result).get("ok").asText()).isEqualTo("a b");
+    }
+
+    @Test
+    @DisplayName("Decodes form escapes with the request charset")
+    void decodesFormWithRequestCharset() {
+        final RequestInfo requestInfo = new RequestInfo("test",
+                Map.of("Content-Type", "application/x-www-form-urlencoded; charset=ISO-8859-1"),
+                Map.of(), Map.of(), "name=Jos%E9", null, BodyCategory.FORM);
+
+        final AuditPayload result = auditPayloadGenerationService.generatePayload(requestInfo);
+
+        assertThat(content(result).get("name").asText()).isEqualTo("José");
+    }
+
+    @Test
+    @DisplayName("Keeps a truncated form body as text")
+    void keepsTruncatedFormAsText() {
+        final RequestInfo requestInfo = new RequestInfo("test", Map.of("Content-Type", "application/x-www-form-urlencoded"),
+                Map.of(), Map.of(), "name=John&note=a%2", new PayloadInfo(4_096, true, "ab12"), BodyCategory.FORM);
+
+        final AuditPayload result = auditPayloadGenerationService.generatePayload(requestInfo);
+
+        assertThat(content(result).get("_payload").asText()).isEqualTo("name=John&note=a%2");
+        assertThat(content(result).has("name")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Embeds a JSON array body under _payload")
+    void embedsJsonArrayBody() {
+        final ResponseInfo responseInfo = new ResponseInfo("test", Map.of("Content-Type", "application/json"),
+                "  [1, 2.50, {\"a\":\"\\u00e9\"}] trailing");
+
+        final AuditPayload result = auditPayloadGenerationService.generatePayload(responseInfo);
+
+        assertThat(content(result).get("_payload").size()).isEqualTo(3);
+        assertThat(content(result).get("_payload").get(0).asInt()).isEqualTo(1);
+        assertThat(content(result).get("_payload").get(2).get("a").asText()).isEqualTo("é");
+        assertThat(json(result)).doesNotContain("trailing");
+    }
+
+    @Test
+    @DisplayName("Writes a pretty-printed JSON array body on one line")
+    void compactsMultiLineJsonArrayBody() {
+        final ResponseInfo responseInfo = new ResponseInfo("test", Map.of("Content-Type", "application/json"),
+                "[\n  {\n    \"id\": 1\n  },\r\n  {\n    \"id\": 2\n  }\n]\n");
+
+        final AuditPayload result = auditPayloadGenerationService.generatePayload(responseInfo);
+
+        assertThat(json(result)).doesNotContain("\n", "\r").contains("\"_payload\":[{\"id\":1},{\"id\":2}]");
+    }
+
+    @Test
+    @DisplayName("Copies nested JSON object fields and keeps their types")
+    void copiesNestedJsonObjectFields() {
+        final ResponseInfo responseInfo = new ResponseInfo("test", Map.of("Content-Type", "application/json"),
+                "{\"case\":{\"id\":7,\"tags\":[\"x\",null],\"open\":true},\"amount\":12.5}");
+
+        final AuditPayload result = auditPayloadGenerationService.generatePayload(responseInfo);
+
+        assertThat(content(result).get("case").get("id").isInt()).isTrue();
+        assertThat(content(result).get("case").get("tags").get(1).isNull()).isTrue();
+        assertThat(content(result).get("case").get("open").asBoolean()).isTrue();
+        assertThat(content(result).get("amount").asDouble()).isEqualTo(12.5);
+    }
+
+    @Test
+    @DisplayName("Writes each field once when parameters share a name with body fields")
+    void parametersReplaceBodyFieldsOfTheSameName() {
+        final RequestInfo requestInfo = new RequestInfo("test", Map.of("Content-Type", "application/json"),
+                Map.of("id", "query", "caseId", "query"), Map.of("caseId", "path"),
+                "{\"id\":\"body\",\"_metadata\":\"body\",\"other\":1}");
+
+        final AuditPayload result = auditPayloadGenerationService.generatePayload(requestInfo);
+
+        assertThat(json(result)).doesNotContain("\"body\"");
+        assertThat(content(result).get("id").asText()).isEqualTo("query");
+        assertThat(content(result).get("caseId").asText()).isEqualTo("path");
+        assertThat(content(result).get("other").asInt()).isEqualTo(1);
+        assertThat(content(result).get("_metadata").isObject()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Skips parameters named after the fields describing the body")
+    void skipsParametersNamedAfterReservedFields() {
+        final RequestInfo requestInfo = new RequestInfo("test", Map.of("Content-Type", "application/json"),
+                Map.of("_payloadInfo", "query"), Map.of("_payloadInfo", "path", "_metadata", "path"), "{\"key\":\"val",
+                new PayloadInfo(4_096, true, "ab12"));
+
+        final AuditPayload result = auditPayloadGenerationService.generatePayload(requestInfo);
+
+        assertThat(json(result)).containsOnlyOnce("\"_payloadInfo\"").doesNotContain("\"query\"", "\"path\"");
+        assertThat(content(result).get("_payloadInfo").get("sha256").asText()).isEqualTo("ab12");
+        assertThat(content(result).get("_metadata").isObject()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Streams the same event as the payload it generates")
+    void streamsSameEventAsPayload() throws JsonProcessingException {
+        final UUID eventId = UUID.fromString("01890a5d-ac96-774b-bcce-b302099a8057");
+        final Clock clock = Clock.fixed(Instant.parse("2025-01-01T09:30:00Z"), ZoneOffset.UTC);
+        final AuditPayloadGenerationService service = new AuditPayloadGenerationService(MAPPER, true, () -> eventId, new AuditClock(clock));
+        final RequestInfo requestInfo = new RequestInfo("test", Map.of("Content-Type", "application/json", "CJSCPPUID", "user-123"),
+                Map.of("id", "query"), Map.of(), "{\"other\":[1, 2]}");
+
+        final AuditEvent event = service.generateEvent(requestInfo);
+        final AuditPayload payload = service.generatePayload(requestInfo);
+
+        assertThat(payload.content().get("other").isArray()).isTrue();
+        assertThat(MAPPER.writeValueAsString(event)).isEqualTo(MAPPER.writeValueAsString(payload));
+    }
+
+    @Test
+    @DisplayName("Audits a body that is truncated JSON as text")
+    void auditsIncompleteJsonAsText() {
+        final ResponseInfo responseInfo = new ResponseInfo("test", Map.of("Content-Type", "application/json"),
+                "{\"key\":[1,2");
+
+        final AuditPayload result = auditPayloadGenerationService.generatePayload(responseInfo);
+
+        assertThat(content(result).get("_payload").asText()).isEqualTo("{\"key\":[1,2");
+        assertThat(content(result).has("key")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Keeps a text body as a string even when it looks like JSON")
+    void keepsTextBodyAsString() {
+        final ResponseInfo responseInfo = new ResponseInfo("test", Map.of("Content-Type", "text/plain"),
+                "{\"key\":\"value\"}", null, BodyCategory.TEXT);
+
+        final AuditPayload result = auditPayloadGenerationService.generatePayload(responseInfo);
+
+        assertThat(content(result).get("_payload").asText()).isEqualTo("{\"key\":\"value\"}");
+        assertThat(content(result).has("key")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Parses a JSON body that starts with whitespace")
+    void parsesJsonBodyWithLeadingWhitespace() {
+        final ResponseInfo responseInfo = new ResponseInfo("test", Map.of("Content-Type", "application/json"),
+                " \r\n\t{\"key\":\"value\"}", null, BodyCategory.JSON);
+
+        final AuditPayload result = auditPayloadGenerationService.generatePayload(responseInfo);
+
+        assertThat(content(result).get("key").asText()).isEqualTo("value");
+        assertThat(content(result).has("_payload")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Keeps a JSON scalar body as a string")
+    void keepsJsonScalarAsString() {
+        final ResponseInfo responseInfo = new ResponseInfo("test", Map.of("Content-Type", "application/json"),
+                "true", null, BodyCategory.JSON);
+
+        final AuditPayload result = auditPayloadGenerationService.generatePayload(responseInfo);
+
+        assertThat(content(result).get("_payload").asText()).isEqualTo("true");
+    }
+
+    @Test
+    @DisplayName("Keeps a truncated body as a string without parsing it")
+    void keepsTruncatedBodyAsString() {
+        final RequestInfo requestInfo = new RequestInfo("test", Map.of("Content-Type", "application/json"),
+                Map.of(), Map.of(), "{\"key\":\"value\"}", new PayloadInfo(4_096, true, "ab12"), BodyCategory.JSON);
+
+        final AuditPayload result = auditPayloadGenerationService.generatePayload(requestInfo);
+
+        assertThat(content(result).get("_payload").asText()).isEqualTo("{\"key\":\"value\"}");
+        assertThat(content(result).has("key")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Takes event IDs from the configured generator")
+    void usesEventIdGenerator() {
+        final UUID eventId = UUID.fromString("01890a5d-ac96-774b-bcce-b302099a8057");
+        final AuditPayloadGenerationService service = new AuditPayloadGenerationService(MAPPER, true, () -> eventId, new AuditClock());
+
+        final AuditPayload result = service.generatePayload(new ResponseInfo("test", Map.of("Content-Type", "application/json"), "{}"));
+
+        assertThat(result._metadata().id()).isEqualTo(eventId);
+        assertThat(content(result).get("_metadata").get("id").asText()).isEqualTo(eventId.toString());
+    }
+
+    @Test
+    @DisplayName("Stamps the envelope and both metadata blocks with one instant")
+    void usesOneTimestampPerEvent() {
+        final Clock clock = Clock.fixed(Instant.parse("2025-01-01T09:30:00Z"), ZoneOffset.UTC);
+        final AuditPayloadGenerationService service =
+                new AuditPayloadGenerationService(MAPPER, true, new TimeOrderedEventIdGenerator(clock), new AuditClock(clock));
+        final Map<String, String> headers = Map.of("Content-Type", "application/json", "CJSCPPUID", "user-123");
+
+        final AuditPayload result = service.generatePayload(new ResponseInfo("test", headers, "{}"));
+
+        assertThat(result.timestamp()).isEqualTo("2025-01-01T09:30:00.000Z");
+        assertThat(result._metadata().createdAt()).isEqualTo(result.timestamp());
+        assertThat(content(result).get("_metadata").get("createdAt").asText()).isEqualTo(result.timestamp());
+    }
+
+    @Test
+    @DisplayName("Reads metadata headers without regard to case, preferring Accept for the name")
+    void readsMetadataHeadersWithoutRegardToCase() {
+        final Map<String, String> headers = Map.of("content-type", "application/json", "ACCEPT", "application/vnd.case+json",
+                "cjscppuid", "user-789", "cppclientcorrelationid", "cpp-corr");
+
+        final AuditPayload result = auditPayloadGenerationService.generatePayload(
+                new RequestInfo("test", headers, Map.of(), Map.of(), "{}"));
+
+        assertThat(result._metadata().name()).isEqualTo("audit.events.audit-recorded");
+        assertThat(content(result).get("_metadata").get("name").asText()).isEqualTo("application/vnd.case+json");
+        assertThat(content(result).get("_metadata").get("context").get("user").asText()).isEqualTo("user-789");
+        assertThat(content(result).get("_metadata").get("correlation").get("client").asText()).isEqualTo("cpp-corr");
+    }
+
+    private static String json(final AuditPayload auditPayload) {
+        try {
+            return MAPPER.writeValueAsString(auditPayload.content());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static JsonNode content(final AuditPayload auditPayload) {
+        try {
+            return MAPPER.readTree(json(auditPayload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
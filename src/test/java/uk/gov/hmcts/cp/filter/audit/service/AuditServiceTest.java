@@ -2,10 +2,14 @@ package uk.gov.hmcts.cp.filter.audit.service;
 
 import static java.util.UUID.randomUUID;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -13,12 +17,22 @@ import static org.mockito.Mockito.when;
 
 import uk.gov.hmcts.cp.filter.audit.model.AuditPayload;
 import uk.gov.hmcts.cp.filter.audit.model.Metadata;
+import uk.gov.hmcts.cp.filter.audit.publisher.AuditEventPublisher;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.DeliveryMode;
 import jakarta.jms.Destination;
 import jakarta.jms.JMSException;
 import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
 import jakarta.jms.Topic;
 import org.apache.activemq.artemis.jms.client.ActiveMQTopic;
 import org.junit.jupiter.api.BeforeEach;
@@ -98,4 +112,91 @@ class AuditServiceTest {
         verify(objectMapper).writeValueAsString(auditPayload);
         verify(jmsTemplate, never()).convertAndSend(anyString(), anyString());
     }
+
+    @Test
+    void postsBatchInOneTransactedSession() throws JsonProcessingException, JMSException {
+        final Session session = mockTransactedSession();
+        final MessageProducer producer = mock(MessageProducer.class);
+        when(session.createProducer(any(Destination.class))).thenReturn(producer);
+        final TextMessage message = mock(TextMessage.class);
+        when(session.createTextMessage(anyString())).thenReturn(message);
+        when(jmsTemplate.getDeliveryMode()).thenReturn(DeliveryMode.PERSISTENT);
+
+        final AuditPayload first = payload();
+        final AuditPayload second = payload();
+        when(objectMapper.writeValueAsString(first)).thenReturn("{\"n\":1}");
+        when(objectMapper.writeValueAsString(second)).thenReturn("{\"n\":2}");
+
+        assertThat(auditService.postMessagesToArtemis(List.of(first, second))).isTrue();
+
+        verify(producer).setDeliveryMode(DeliveryMode.PERSISTENT);
+        verify(producer, times(2)).send(message);
+        verify(message, times(2)).setStringProperty("CPPNAME", "dummy-name");
+        verify(session).commit();
+    }
+
+    @Test
+    void skipsUnserializableEventsInBatch() throws JsonProcessingException, JMSException {
+        final Session session = mockTransactedSession();
+        final MessageProducer producer = mock(MessageProducer.class);
+        when(session.createProducer(any(Destination.class))).thenReturn(producer);
+        when(session.createTextMessage(anyString())).thenReturn(mock(TextMessage.class));
+
+        final AuditPayload good = payload();
+        final AuditPayload bad = payload();
+        when(objectMapper.writeValueAsString(good)).thenReturn("{}");
+        when(objectMapper.writeValueAsString(bad)).thenThrow(new JsonProcessingException("Serialization error") {
+        });
+
+        assertThat(auditService.postMessagesToArtemis(List.of(bad, good))).isTrue();
+
+        verify(producer, times(1)).send(any(TextMessage.class));
+        verify(session).commit();
+    }
+
+    @Test
+    void reportsFailureWhenBatchCommitFails() throws JsonProcessingException, JMSException {
+        final Session session = mockTransactedSession();
+        when(session.createProducer(any(Destination.class))).thenReturn(mock(MessageProducer.class));
+        when(session.createTextMessage(anyString())).thenReturn(mock(TextMessage.class));
+        final AuditPayload auditPayload = payload();
+        when(objectMapper.writeValueAsString(auditPayload)).thenReturn("{}");
+        doThrow(new JMSException("broker down")).when(session).commit();
+
+        assertThat(auditService.postMessagesToArtemis(List.of(auditPayload))).isFalse();
+    }
+
+    @Test
+    void serializesStraightToUtf8ForByteTransports() {
+        final AuditEventPublisher publisher = mock(AuditEventPublisher.class);
+        when(publisher.prefersUtf8()).thenReturn(true);
+        when(publisher.publishUtf8(anyString(), any(byte[].class), anyInt())).thenReturn(true);
+        final ObjectMapper realMapper = new ObjectMapper();
+        final AuditPayload auditPayload = payload();
+
+        new AuditService(publisher, realMapper).postMessageToArtemis(auditPayload);
+
+        final ArgumentCaptor<byte[]> bodyCap = ArgumentCaptor.forClass(byte[].class);
+        final ArgumentCaptor<Integer> lengthCap = ArgumentCaptor.forClass(Integer.class);
+        verify(publisher).publishUtf8(eq("dummy-name"), bodyCap.capture(), lengthCap.capture());
+        verify(publisher, never()).publish(anyString(), anyString());
+        assertThat(new String(bodyCap.getValue(), 0, lengthCap.getValue(), StandardCharsets.UTF_8))
+                .contains(auditPayload._metadata().id().toString());
+    }
+
+    private Session mockTransactedSession() throws JMSException {
+        final ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        final Connection connection = mock(Connection.class);
+        final Session session = mock(Session.class);
+        when(jmsTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(true, Session.SESSION_TRANSACTED)).thenReturn(session);
+        return session;
+    }
+
+    private static AuditPayload payload() {
+        return AuditPayload.builder()
+                ._metadata(Metadata.builder().id(randomUUID()).name("dummy-name").build())
+                .build();
+    }
 }
@@ -0,0 +1,100 @@
+package uk.gov.hmcts.cp.filter.audit.service;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import uk.gov.hmcts.cp.filter.audit.metrics.SimpleAuditMetrics;
+import uk.gov.hmcts.cp.filter.audit.model.AuditPayload;
+import uk.gov.hmcts.cp.filter.audit.model.Metadata;
+import uk.gov.hmcts.cp.filter.audit.outbox.AuditOutbox;
+import uk.gov.hmcts.cp.filter.audit.publisher.JmsAuditEventPublisher;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.jms.Destination;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.MessagePostProcessor;
+
+class OutboxAuditServiceTest {
+
+    private JmsTemplate jmsTemplate;
+    private ObjectMapper objectMapper;
+    private AuditOutbox outbox;
+    private SimpleAuditMetrics metrics;
+    private OutboxAuditService auditService;
+
+    @BeforeEach
+    void setUp() {
+        jmsTemplate = mock(JmsTemplate.class);
+        objectMapper = mock(ObjectMapper.class);
+        outbox = mock(AuditOutbox.class);
+        metrics = new SimpleAuditMetrics();
+        auditService = new OutboxAuditService(new JmsAuditEventPublisher(jmsTemplate), objectMapper, outbox, metrics);
+    }
+
+    @Test
+    void journals_audit_events_instead_of_sending_them() throws JsonProcessingException {
+        final AuditPayload auditPayload = payload();
+        when(objectMapper.writeValueAsString(auditPayload)).thenReturn("{}");
+        when(outbox.append("dummyName", "{}")).thenReturn(true);
+
+        auditService.postMessageToArtemis(auditPayload);
+
+        verify(outbox).append("dummyName", "{}");
+        verifyNoInteractions(jmsTemplate);
+    }
+
+    @Test
+    void publishes_directly_when_the_outbox_rejects_an_event() throws JsonProcessingException {
+        final AuditPayload auditPayload = payload();
+        when(objectMapper.writeValueAsString(auditPayload)).thenReturn("{}");
+        when(outbox.append("dummyName", "{}")).thenReturn(false);
+
+        auditService.postMessageToArtemis(auditPayload);
+
+        verify(jmsTemplate).convertAndSend(any(Destination.class), eq("{}"), any(MessagePostProcessor.class));
+        assertThat(metrics.count(OutboxAuditService.METRIC_APPEND_FALLBACK)).isEqualTo(1);
+    }
+
+    @Test
+    void does_not_journal_events_that_cannot_be_serialized() throws JsonProcessingException {
+        final AuditPayload auditPayload = payload();
+        when(objectMapper.writeValueAsString(auditPayload)).thenThrow(new JsonProcessingException("boom") {
+        });
+
+        auditService.postMessageToArtemis(auditPayload);
+
+        verify(outbox, never()).append(anyString(), anyString());
+    }
+
+    @Test
+    void ignores_null_payload() {
+        auditService.postMessageToArtemis(null);
+
+        verifyNoInteractions(outbox);
+    }
+
+    @Test
+    void start_forwards_replayed_events_to_artemis() {
+        auditService.start();
+
+        verify(outbox).start(any());
+    }
+
+    private static AuditPayload payload() {
+        return AuditPayload.builder()
+                .timestamp("2024-01-01T00:00:00Z")
+                ._metadata(Metadata.builder().id(randomUUID()).name("dummyName").build())
+                .build();
+    }
+}
@@ -0,0 +1,84 @@
+package uk.gov.hmcts.cp.filter.audit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedEventIdGeneratorTest {
+
+    private static final long MILLIS = 1_760_000_000_123L;
+
+    @Test
+    void generatesVersion7IdsCarryingTheTimestamp() {
+        final UUID id = new TimeOrderedEventIdGenerator(fixedClock(MILLIS)).nextId();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(MILLIS);
+    }
+
+    @Test
+    void generatesIncreasingIdsWithinOneMillisecond() {
+        final TimeOrderedEventIdGenerator generator = new TimeOrderedEventIdGenerator(fixedClock(MILLIS));
+
+        UUID previous = generator.nextId();
+        // More than the 4096 values of the sequence, so later IDs borrow the following millisecond
+        for (int i = 0; i < 10_000; i++) {
+            final UUID next = generator.nextId();
+            assertThat(next.getMostSignificantBits()).isGreaterThan(previous.getMostSignificantBits());
+            previous = next;
+        }
+        assertThat(previous.getMostSignificantBits() >>> 16).isGreaterThan(MILLIS);
+    }
+
+    @Test
+    void keepsIncreasingWhenTheClockStepsBack() {
+        final Instant[] now = {Instant.ofEpochMilli(MILLIS)};
+        final Clock clock = new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(final ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now[0];
+            }
+        };
+        final TimeOrderedEventIdGenerator generator = new TimeOrderedEventIdGenerator(clock);
+
+        final UUID first = generator.nextId();
+        now[0] = Instant.ofEpochMilli(MILLIS - 5);
+        final UUID second = generator.nextId();
+
+        assertThat(second.getMostSignificantBits()).isGreaterThan(first.getMostSignificantBits());
+    }
+
+    @Test
+    void generatesUniqueIdsAcrossThreads() {
+        final TimeOrderedEventIdGenerator generator = new TimeOrderedEventIdGenerator();
+        final Set<UUID> ids = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 100_000).parallel().forEach(i -> ids.add(generator.nextId()));
+
+        assertThat(ids).hasSize(100_000);
+    }
+
+    private static Clock fixedClock(final long millis) {
+        return Clock.fixed(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,78 @@
+package uk.gov.hmcts.cp.filter.audit.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import uk.gov.hmcts.cp.filter.audit.model.AuditPayload;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AuditClockTest {
+
+    @Test
+    @DisplayName("Formats timestamps to the millisecond, keeping trailing zeros")
+    void formatsToTheMillisecond() {
+        assertThat(clockAt("2025-01-01T09:30:00Z").now()).isEqualTo("2025-01-01T09:30:00.000Z");
+        assertThat(clockAt("2025-06-30T23:59:59.123456Z").now()).isEqualTo("2025-06-30T23:59:59.123Z");
+    }
+
+    @Test
+    @DisplayName("Hands out one cached timestamp per millisecond")
+    void cachesTimestampWithinMillisecond() {
+        final AuditClock clock = clockAt("2025-01-01T09:30:00.250Z");
+
+        final String first = clock.now();
+
+        assertThat(clock.now()).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Keeps a separate cache for each clock")
+    void cachesPerClock() {
+        final AuditClock first = clockAt("2025-01-01T09:30:00.250Z");
+        final String cached = first.now();
+
+        final String other = clockAt("2024-01-01T00:00:00Z").now();
+
+        assertThat(first.now()).isSameAs(cached);
+        assertThat(first.serialized(other)).isNull();
+    }
+
+    @Test
+    @DisplayName("Prepares the quoted encoding of the latest timestamp")
+    void preparesEncodingOfLatestTimestamp() {
+        final AuditClock clock = clockAt("2025-01-01T09:30:00.250Z");
+        final String timestamp = clock.now();
+
+        assertThat(new String(clock.serialized(timestamp).asQuotedUTF8(), StandardCharsets.UTF_8)).isEqualTo(timestamp);
+        assertThat(clock.serialized("2024-01-01T00:00:00Z")).isNull();
+    }
+
+    @Test
+    @DisplayName("Serializes cached and other timestamps alike")
+    void serializesTimestamps() throws Exception {
+        final ObjectMapper mapper = new ObjectMapper();
+        final AuditClock clock = clockAt("2025-01-01T09:30:00.250Z");
+        clock.registerWith(mapper);
+        final String cached = clock.now();
+
+        assertThat(mapper.writeValueAsString(AuditPayload.builder().timestamp(cached).build()))
+                .contains("\"timestamp\":\"2025-01-01T09:30:00.250Z\"");
+        assertThat(new String(mapper.writeValueAsBytes(AuditPayload.builder().timestamp(cached).build()), StandardCharsets.UTF_8))
+                .contains("\"timestamp\":\"2025-01-01T09:30:00.250Z\"");
+        assertThat(mapper.writeValueAsString(AuditPayload.builder().timestamp("2024-01-01T00:00:00Z").build()))
+                .contains("\"timestamp\":\"2024-01-01T00:00:00Z\"");
+        assertThat(new ObjectMapper().writeValueAsString(AuditPayload.builder().timestamp(cached).build()))
+                .contains("\"timestamp\":\"2025-01-01T09:30:00.250Z\"");
+    }
+
+    private static AuditClock clockAt(final String instant) {
+        return new AuditClock(Clock.fixed(Instant.parse(instant), ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,82 @@
+package uk.gov.hmcts.cp.filter.audit.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BoundedRingBufferTest {
+
+    @Test
+    @DisplayName("Rounds capacity up to the next power of two")
+    void roundsCapacityUpToPowerOfTwo() {
+        assertThat(new BoundedRingBuffer<String>(3).capacity()).isEqualTo(4);
+        assertThat(new BoundedRingBuffer<String>(8).capacity()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Rejects capacities below two")
+    void rejectsTooSmallCapacity() {
+        assertThatThrownBy(() -> new BoundedRingBuffer<String>(1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Returns elements in FIFO order and refuses offers when full")
+    void fifoAndFull() {
+        final BoundedRingBuffer<String> buffer = new BoundedRingBuffer<>(2);
+
+        assertThat(buffer.offer("a")).isTrue();
+        assertThat(buffer.offer("b")).isTrue();
+        assertThat(buffer.offer("c")).isFalse();
+        assertThat(buffer.size()).isEqualTo(2);
+
+        assertThat(buffer.poll()).isEqualTo("a");
+        assertThat(buffer.offer("c")).isTrue();
+        assertThat(buffer.poll()).isEqualTo("b");
+        assertThat(buffer.poll()).isEqualTo("c");
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Delivers every element exactly once with concurrent producers")
+    void concurrentProducers() throws InterruptedException {
+        final int producers = 4;
+        final int perProducer = 10_000;
+        final BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(64);
+        final Set<Integer> received = ConcurrentHashMap.newKeySet();
+        final CountDownLatch done = new CountDownLatch(producers);
+        final ExecutorService executor = Executors.newFixedThreadPool(producers);
+
+        for (int p = 0; p < producers; p++) {
+            final int base = p * perProducer;
+            executor.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        while (received.size() < producers * perProducer) {
+            final Integer value = buffer.poll();
+            if (value != null) {
+                assertThat(received.add(value)).isTrue();
+            }
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,34 @@
+package uk.gov.hmcts.cp.filter.audit.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CharsetsTest {
+
+    @Test
+    @DisplayName("Resolves supported charset names")
+    void resolvesSupportedNames() {
+        assertThat(Charsets.forNameOrUtf8(" ISO-8859-1 ")).isEqualTo(StandardCharsets.ISO_8859_1);
+    }
+
+    @Test
+    @DisplayName("Falls back to UTF-8 for missing, malformed and unsupported names")
+    void fallsBackToUtf8() {
+        assertThat(Charsets.forNameOrUtf8(null)).isEqualTo(StandardCharsets.UTF_8);
+        assertThat(Charsets.forNameOrUtf8("foo")).isEqualTo(StandardCharsets.UTF_8);
+        assertThat(Charsets.forNameOrUtf8("not a charset!")).isEqualTo(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Reads the charset parameter of a content type")
+    void readsContentTypeCharset() {
+        assertThat(Charsets.ofContentType("application/x-www-form-urlencoded; Charset=\"ISO-8859-1\""))
+                .isEqualTo(StandardCharsets.ISO_8859_1);
+        assertThat(Charsets.ofContentType("application/json; charset=foo")).isEqualTo(StandardCharsets.UTF_8);
+        assertThat(Charsets.ofContentType("application/json")).isEqualTo(StandardCharsets.UTF_8);
+    }
+}
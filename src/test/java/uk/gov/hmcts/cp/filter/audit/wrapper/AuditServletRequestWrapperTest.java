@@ -1,17 +1,26 @@
 package uk.gov.hmcts.cp.filter.audit.wrapper;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
 
+import uk.gov.hmcts.cp.filter.audit.util.Digests;
+
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
 
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 import org.springframework.mock.web.DelegatingServletInputStream;
+import org.springframework.mock.web.MockHttpServletRequest;
 
 class AuditServletRequestWrapperTest {
 
@@ -40,4 +49,112 @@ class AuditServletRequestWrapperTest {
         wrapper.setRequestBody("");
         assertEquals("", wrapper.getRequestBody());
     }
+
+    @Test
+    void replaysTheOriginalBytesUnchanged() throws IOException {
+        final byte[] body = "{\"a\":1}\r\n{\"b\":\"\u00e9\"}\n\n".getBytes(StandardCharsets.UTF_8);
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api");
+        request.setContent(body);
+
+        final AuditServletRequestWrapper wrapper = new AuditServletRequestWrapper(request);
+
+        assertThat(wrapper.getInputStream().readAllBytes()).isEqualTo(body);
+        assertThat(wrapper.getInputStream().readAllBytes()).isEqualTo(body);
+        final ByteArrayOutputStream transferred = new ByteArrayOutputStream();
+        wrapper.getInputStream().transferTo(transferred);
+        assertThat(transferred.toByteArray()).isEqualTo(body);
+        assertThat(wrapper.getBodyBytes()).isEqualTo(body);
+        assertThat(wrapper.getRequestBody()).isEqualTo(new String(body, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void decodesWithTheRequestCharacterEncoding() throws IOException {
+        final String text = "caf\u00e9";
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api");
+        request.setCharacterEncoding("ISO-8859-1");
+        request.setContent(text.getBytes(StandardCharsets.ISO_8859_1));
+
+        final AuditServletRequestWrapper wrapper = new AuditServletRequestWrapper(request);
+
+        assertThat(wrapper.getRequestBody()).isEqualTo(text);
+        assertThat(wrapper.getReader().readLine()).isEqualTo(text);
+    }
+
+    @Test
+    void decodesAsUtf8WhenTheRequestCharacterEncodingIsUnknown() throws IOException {
+        final String text = "caf\u00e9";
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api");
+        request.setCharacterEncoding("foo");
+        request.setContent(text.getBytes(StandardCharsets.UTF_8));
+
+        final AuditServletRequestWrapper wrapper = new AuditServletRequestWrapper(request);
+
+        assertThat(wrapper.getRequestBody()).isEqualTo(text);
+        assertThat(wrapper.getReader().readLine()).isEqualTo(text);
+    }
+
+    @Test
+    void auditsOnlyAPrefixOfLargeBodies() throws IOException {
+        final byte[] body = "0123456789abcdefghij".getBytes(StandardCharsets.UTF_8);
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api");
+        request.setContent(body);
+
+        final AuditServletRequestWrapper wrapper = new AuditServletRequestWrapper(request, 8, null);
+
+        assertThat(wrapper.getInputStream().readAllBytes()).isEqualTo(body);
+        assertThat(wrapper.getRequestBody()).isEqualTo("01234567");
+        assertThat(wrapper.getPayloadInfo().length()).isEqualTo(body.length);
+        assertThat(wrapper.getPayloadInfo().truncated()).isTrue();
+        assertThat(wrapper.getPayloadInfo().sha256()).isEqualTo(Digests.sha256Hex(body, 0, body.length));
+    }
+
+    @Test
+    void leavesPayloadInfoUnsetForBodiesWithinTheLimit() throws IOException {
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api");
+        request.setContent("small".getBytes(StandardCharsets.UTF_8));
+
+        final AuditServletRequestWrapper wrapper = new AuditServletRequestWrapper(request, 8, null);
+
+        assertThat(wrapper.getRequestBody()).isEqualTo("small");
+        assertThat(wrapper.getPayloadInfo()).isNull();
+    }
+
+    @Test
+    void spillsOverflowToDiskAndReplaysTheWholeBody(@TempDir final Path spillDirectory) throws IOException {
+        final byte[] body = "0123456789abcdefghij".getBytes(StandardCharsets.UTF_8);
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api");
+        request.setContent(body);
+
+        final AuditServletRequestWrapper wrapper = new AuditServletRequestWrapper(request, 8, spillDirectory);
+
+        assertThat(wrapper.getBodyBytes()).hasSize(8);
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            assertThat(files).hasSize(1);
+        }
+        assertThat(wrapper.getInputStream().readAllBytes()).isEqualTo(body);
+        assertThat(wrapper.getReader().readLine()).isEqualTo(new String(body, StandardCharsets.UTF_8));
+        assertThat(wrapper.getRequestBody()).isEqualTo("01234567");
+        assertThat(wrapper.getPayloadInfo().length()).isEqualTo(body.length);
+        assertThat(wrapper.getPayloadInfo().sha256()).isEqualTo(Digests.sha256Hex(body, 0, body.length));
+
+        wrapper.close();
+
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void doesNotSpillBodiesWithinTheLimit(@TempDir final Path spillDirectory) throws IOException {
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api");
+        request.setContent("01234567".getBytes(StandardCharsets.UTF_8));
+
+        final AuditServletRequestWrapper wrapper = new AuditServletRequestWrapper(request, 8, spillDirectory);
+
+        assertThat(wrapper.getInputStream().readAllBytes()).isEqualTo("01234567".getBytes(StandardCharsets.UTF_8));
+        assertThat(wrapper.getPayloadInfo()).isNull();
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
 }
@@ -0,0 +1,153 @@
+package uk.gov.hmcts.cp.filter.audit.wrapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.servlet.ReadListener;
+
+import org.junit.jupiter.api.Test;
+
+class ByteArrayServletInputStreamTest {
+
+    private static final byte[] BODY = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    void bulkReadsCopyUpToTheEnd() throws IOException {
+        final ByteArrayServletInputStream inputStream = new ByteArrayServletInputStream(BODY);
+        final byte[] buffer = new byte[6];
+
+        assertThat(inputStream.read(buffer, 0, 6)).isEqualTo(6);
+        assertThat(new String(buffer, StandardCharsets.US_ASCII)).isEqualTo("012345");
+        assertThat(inputStream.available()).isEqualTo(4);
+        assertThat(inputStream.read(buffer, 1, 5)).isEqualTo(4);
+        assertThat(new String(buffer, 1, 4, StandardCharsets.US_ASCII)).isEqualTo("6789");
+        assertThat(inputStream.read(buffer, 0, 6)).isEqualTo(-1);
+        assertThat(inputStream.read()).isEqualTo(-1);
+        assertThat(inputStream.isFinished()).isTrue();
+    }
+
+    @Test
+    void readAllBytesAndTransferToReturnTheRemainder() throws IOException {
+        final ByteArrayServletInputStream inputStream = new ByteArrayServletInputStream(BODY);
+        assertThat(inputStream.read()).isEqualTo('0');
+        assertThat(inputStream.skip(2)).isEqualTo(2);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(inputStream.transferTo(out)).isEqualTo(7);
+        assertThat(out.toString(StandardCharsets.US_ASCII)).isEqualTo("3456789");
+        assertThat(inputStream.readAllBytes()).isEmpty();
+    }
+
+    @Test
+    void honoursTheLength() throws IOException {
+        final ByteArrayServletInputStream inputStream = new ByteArrayServletInputStream(BODY, 3);
+
+        assertThat(inputStream.readAllBytes()).isEqualTo("012".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void rejectsOutOfRangeBuffers() {
+        final ByteArrayServletInputStream inputStream = new ByteArrayServletInputStream(BODY);
+
+        assertThatThrownBy(() -> inputStream.read(new byte[2], 1, 2)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void notifiesReadListenerOfAvailableDataAndThenAllDataRead() {
+        final ByteArrayServletInputStream inputStream = new ByteArrayServletInputStream(BODY);
+        final List<String> events = new ArrayList<>();
+        final byte[] buffer = new byte[4];
+
+        inputStream.setReadListener(new RecordingReadListener(events) {
+            @Override
+            public void onDataAvailable() throws IOException {
+                super.onDataAvailable();
+                while (inputStream.isReady() && !inputStream.isFinished()) {
+                    inputStream.read(buffer, 0, buffer.length);
+                }
+            }
+        });
+
+        assertThat(events).containsExactly("dataAvailable", "allDataRead");
+    }
+
+    @Test
+    void signalsAllDataReadOnceAListenerFinishesReadingOutsideTheCallback() throws IOException {
+        final ByteArrayServletInputStream inputStream = new ByteArrayServletInputStream(BODY);
+        final List<String> events = new ArrayList<>();
+
+        inputStream.setReadListener(new RecordingReadListener(events));
+        assertThat(events).containsExactly("dataAvailable");
+
+        inputStream.readAllBytes();
+        inputStream.read();
+
+        assertThat(events).containsExactly("dataAvailable", "allDataRead");
+    }
+
+    @Test
+    void signalsAllDataReadStraightAwayForAnEmptyBody() {
+        final ByteArrayServletInputStream inputStream = new ByteArrayServletInputStream(new byte[0]);
+        final List<String> events = new ArrayList<>();
+
+        inputStream.setReadListener(new RecordingReadListener(events));
+
+        assertThat(events).containsExactly("allDataRead");
+    }
+
+    @Test
+    void reportsListenerFailuresThroughOnError() {
+        final ByteArrayServletInputStream inputStream = new ByteArrayServletInputStream(BODY);
+        final List<String> events = new ArrayList<>();
+
+        inputStream.setReadListener(new RecordingReadListener(events) {
+            @Override
+            public void onDataAvailable() throws IOException {
+                throw new IOException("boom");
+            }
+        });
+
+        assertThat(events).containsExactly("error:boom");
+    }
+
+    @Test
+    void rejectsASecondListener() {
+        final ByteArrayServletInputStream inputStream = new ByteArrayServletInputStream(BODY);
+        inputStream.setReadListener(new RecordingReadListener(new ArrayList<>()));
+
+        assertThatThrownBy(() -> inputStream.setReadListener(new RecordingReadListener(new ArrayList<>())))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new ByteArrayServletInputStream(BODY).setReadListener(null))
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    private static class RecordingReadListener implements ReadListener {
+
+        private final List<String> events;
+
+        RecordingReadListener(final List<String> events) {
+            this.events = events;
+        }
+
+        @Override
+        public void onDataAvailable() throws IOException {
+            events.add("dataAvailable");
+        }
+
+        @Override
+        public void onAllDataRead() {
+            events.add("allDataRead");
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            events.add("error:" + throwable.getMessage());
+        }
+    }
+}
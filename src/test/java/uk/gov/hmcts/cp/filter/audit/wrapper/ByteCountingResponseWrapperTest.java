@@ -0,0 +1,104 @@
+package uk.gov.hmcts.cp.filter.audit.wrapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.servlet.ServletOutputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ByteCountingResponseWrapperTest {
+
+    private static final String BODY = "{\"result\":\"café\"}";
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void countsBytesWrittenToTheOutputStream() throws IOException {
+        final ByteCountingResponseWrapper wrapper = new ByteCountingResponseWrapper(response);
+        final byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+
+        final ServletOutputStream outputStream = wrapper.getOutputStream();
+        outputStream.write(body, 0, 5);
+        outputStream.write(body[5]);
+
+        assertThat(response.getContentAsByteArray()).hasSize(6);
+        assertThat(wrapper.getBodyLength()).isEqualTo(6);
+    }
+
+    @Test
+    void countsEncodedWriterOutput() throws IOException {
+        response.setCharacterEncoding("UTF-8");
+        final ByteCountingResponseWrapper wrapper = new ByteCountingResponseWrapper(response);
+
+        final PrintWriter writer = wrapper.getWriter();
+        writer.write(BODY);
+        wrapper.flushBuffer();
+
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(BODY);
+        assertThat(response.isCommitted()).isTrue();
+        assertThat(wrapper.getPayloadInfo().length()).isEqualTo(BODY.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(wrapper.getPayloadInfo().sha256()).isNull();
+        assertThat(wrapper.getPayloadInfo().omitted()).isTrue();
+        assertThat(wrapper.getPayloadInfo().truncated()).isFalse();
+    }
+
+    @Test
+    void reportsNoPayloadWhenNothingIsWritten() {
+        final ByteCountingResponseWrapper wrapper = new ByteCountingResponseWrapper(response);
+
+        assertThat(wrapper.getBodyLength()).isZero();
+        assertThat(wrapper.getPayloadInfo()).isNull();
+    }
+
+    @Test
+    void resetClearsTheCountAndTheStreamHandedOut() throws IOException {
+        response.setCharacterEncoding("UTF-8");
+        final ByteCountingResponseWrapper wrapper = new ByteCountingResponseWrapper(response);
+        wrapper.getOutputStream().write("partial".getBytes(StandardCharsets.UTF_8));
+
+        wrapper.reset();
+        response.setCharacterEncoding("UTF-8");
+        final PrintWriter writer = wrapper.getWriter();
+        writer.write(BODY);
+        wrapper.flushBuffer();
+
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(BODY);
+        assertThat(wrapper.getBodyLength()).isEqualTo(BODY.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void resetBufferClearsTheCount() throws IOException {
+        final ByteCountingResponseWrapper wrapper = new ByteCountingResponseWrapper(response);
+        final ServletOutputStream outputStream = wrapper.getOutputStream();
+        outputStream.write("discarded error page".getBytes(StandardCharsets.UTF_8));
+
+        wrapper.resetBuffer();
+        outputStream.write(BODY.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(wrapper.getBodyLength()).isEqualTo(BODY.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void keepsTheCountWhenTheCommittedResponseCannotBeReset() throws IOException {
+        final ByteCountingResponseWrapper wrapper = new ByteCountingResponseWrapper(response);
+        wrapper.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+        wrapper.flushBuffer();
+
+        assertThatThrownBy(wrapper::reset).isInstanceOf(IllegalStateException.class);
+        assertThat(wrapper.getBodyLength()).isEqualTo(BODY.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void rejectsMixingWriterAndOutputStream() throws IOException {
+        final ByteCountingResponseWrapper wrapper = new ByteCountingResponseWrapper(response);
+
+        wrapper.getWriter();
+
+        assertThatThrownBy(wrapper::getOutputStream).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,136 @@
+package uk.gov.hmcts.cp.filter.audit.wrapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import uk.gov.hmcts.cp.filter.audit.model.MultipartInfo;
+import uk.gov.hmcts.cp.filter.audit.model.PartInfo;
+import uk.gov.hmcts.cp.filter.audit.util.Digests;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import jakarta.servlet.http.Part;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockPart;
+
+class MultipartObserverTest {
+
+    private static final String CONTENT_TYPE = "multipart/form-data; boundary=\"----Boundary7MA4\"";
+    private static final String FIELD = "CASE-123";
+    // Contains CR LF and a partial delimiter, which must be counted as content
+    private static final String DOCUMENT = "line one\r\n------Boundary7MA line two\r\n--";
+    private static final String BODY = "preamble\r\n"
+            + "------Boundary7MA4\r\n"
+            + "Content-Disposition: form-data; name=\"caseId\"\r\n"
+            + "\r\n"
+            + FIELD + "\r\n"
+            + "------Boundary7MA4\r\n"
+            + "Content-Disposition: form-data; name=\"file\"; filename*=UTF-8''na%C3%AFve.txt\r\n"
+            + "Content-Type: text/plain\r\n"
+            + "\r\n"
+            + DOCUMENT + "\r\n"
+            + "------Boundary7MA4--\r\n"
+            + "epilogue";
+
+    @Test
+    void describesPartsWrittenInOneChunk() {
+        final MultipartObserver observer = MultipartObserver.forContentType(CONTENT_TYPE, 10);
+        final byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+
+        observer.write(body, 0, body.length);
+
+        assertDescribesBody(observer.toMultipartInfo(-1));
+    }
+
+    @Test
+    void keepsFilenameWithMalformedEscapeAsSent() {
+        final MultipartObserver observer = MultipartObserver.forContentType("multipart/form-data; boundary=XyZ", 10);
+        final byte[] body = ("--XyZ\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename*=UTF-8''100%\r\n"
+                + "\r\n"
+                + "content\r\n"
+                + "--XyZ--\r\n").getBytes(StandardCharsets.UTF_8);
+
+        observer.write(body, 0, body.length);
+
+        final PartInfo part = observer.toMultipartInfo(-1).parts().get(0);
+        assertThat(part.filename()).isEqualTo("UTF-8''100%");
+        assertThat(part.size()).isEqualTo("content".length());
+    }
+
+    @Test
+    void describesPartsWrittenByteByByte() {
+        final MultipartObserver observer = MultipartObserver.forContentType(CONTENT_TYPE, 10);
+
+        for (final byte value : BODY.getBytes(StandardCharsets.UTF_8)) {
+            observer.write(value);
+        }
+
+        assertDescribesBody(observer.toMultipartInfo(-1));
+    }
+
+    @Test
+    void describesPartsWhenDelimitersAreSplitAcrossWrites() {
+        final byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+        for (int chunk = 2; chunk < 24; chunk++) {
+            final MultipartObserver observer = MultipartObserver.forContentType(CONTENT_TYPE, 10);
+            for (int offset = 0; offset < body.length; offset += chunk) {
+                observer.write(body, offset, Math.min(chunk, body.length - offset));
+            }
+            assertDescribesBody(observer.toMultipartInfo(-1));
+        }
+    }
+
+    @Test
+    void countsPartsBeyondTheLimitWithoutDescribingThem() {
+        final MultipartObserver observer = MultipartObserver.forContentType(CONTENT_TYPE, 1);
+        final byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+
+        observer.write(body, 0, body.length);
+
+        final MultipartInfo multipartInfo = observer.toMultipartInfo(-1);
+        assertThat(multipartInfo.partCount()).isEqualTo(2);
+        assertThat(multipartInfo.parts()).extracting(PartInfo::name).containsExactly("caseId");
+    }
+
+    @Test
+    void recordsOnlyTheLengthWithoutABoundary() {
+        final MultipartObserver observer = MultipartObserver.forContentType("multipart/mixed", 10);
+        final byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+
+        observer.write(body, 0, body.length);
+
+        final MultipartInfo multipartInfo = observer.toMultipartInfo(-1);
+        assertThat(multipartInfo.length()).isEqualTo(body.length);
+        assertThat(multipartInfo.partCount()).isZero();
+        assertThat(multipartInfo.parts()).isEmpty();
+    }
+
+    @Test
+    void describesPartsParsedByTheContainer() throws IOException {
+        final MultipartObserver observer = MultipartObserver.forContentType(CONTENT_TYPE, 10);
+        final byte[] document = DOCUMENT.getBytes(StandardCharsets.UTF_8);
+        final MockPart part = new MockPart("file", "notes.txt", document);
+        part.getHeaders().setContentType(MediaType.TEXT_PLAIN);
+
+        observer.recordParts(List.<Part>of(part));
+
+        final MultipartInfo multipartInfo = observer.toMultipartInfo(512);
+        assertThat(multipartInfo.length()).isEqualTo(512);
+        assertThat(multipartInfo.partCount()).isEqualTo(1);
+        assertThat(multipartInfo.parts()).containsExactly(
+                new PartInfo("file", "notes.txt", "text/plain", document.length, Digests.sha256Hex(document, 0, document.length)));
+    }
+
+    private static void assertDescribesBody(final MultipartInfo multipartInfo) {
+        final byte[] field = FIELD.getBytes(StandardCharsets.UTF_8);
+        final byte[] document = DOCUMENT.getBytes(StandardCharsets.UTF_8);
+        assertThat(multipartInfo.length()).isEqualTo(BODY.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(multipartInfo.partCount()).isEqualTo(2);
+        assertThat(multipartInfo.parts()).containsExactly(
+                new PartInfo("caseId", null, null, field.length, Digests.sha256Hex(field, 0, field.length)),
+                new PartInfo("file", "naïve.txt", "text/plain", document.length, Digests.sha256Hex(document, 0, document.length)));
+    }
+}
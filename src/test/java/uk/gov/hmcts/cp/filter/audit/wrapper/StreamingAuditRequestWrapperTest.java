@@ -0,0 +1,206 @@
+package uk.gov.hmcts.cp.filter.audit.wrapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import uk.gov.hmcts.cp.filter.audit.util.Digests;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.DelegatingServletInputStream;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class StreamingAuditRequestWrapperTest {
+
+    private static final String BODY = "{\"data\":\"test\"}\r\n{\"more\":\"data\"}";
+
+    private final AtomicInteger completions = new AtomicInteger();
+
+    @Test
+    void capturesBodyAsTheApplicationReadsIt() throws IOException {
+        final StreamingAuditRequestWrapper wrapper = wrapper(BODY, 1024);
+
+        final ServletInputStream inputStream = wrapper.getInputStream();
+        final byte[] firstChunk = new byte[5];
+        assertThat(inputStream.read(firstChunk, 0, firstChunk.length)).isEqualTo(5);
+        assertThat(wrapper.getCapturedBody()).isEqualTo(BODY.substring(0, 5));
+        assertThat(wrapper.isBodyComplete()).isFalse();
+        assertThat(completions.get()).isEqualTo(0);
+
+        final byte[] rest = inputStream.readAllBytes();
+
+        assertThat(new String(firstChunk, StandardCharsets.UTF_8) + new String(rest, StandardCharsets.UTF_8)).isEqualTo(BODY);
+        assertThat(wrapper.getCapturedBody()).isEqualTo(BODY);
+        assertThat(wrapper.isBodyComplete()).isTrue();
+        assertThat(completions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void capturesAsUtf8WhenTheRequestCharacterEncodingIsUnknown() throws IOException {
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api");
+        request.setCharacterEncoding("foo");
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        final StreamingAuditRequestWrapper wrapper =
+                new StreamingAuditRequestWrapper(request, 1024, completions::incrementAndGet);
+
+        assertThat(wrapper.getInputStream().readAllBytes()).isEqualTo(BODY.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(wrapper.getCapturedBody()).isEqualTo(BODY);
+        assertThat(completions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void runsCompletionCallbackOnce() throws IOException {
+        final StreamingAuditRequestWrapper wrapper = wrapper(BODY, 1024);
+        final ServletInputStream inputStream = wrapper.getInputStream();
+
+        inputStream.readAllBytes();
+        assertThat(inputStream.read()).isEqualTo(-1);
+        assertThat(inputStream.read(new byte[8], 0, 8)).isEqualTo(-1);
+
+        assertThat(completions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void readerSeesBodyUnchanged() throws IOException {
+        final StreamingAuditRequestWrapper wrapper = wrapper(BODY, 1024);
+
+        final BufferedReader reader = wrapper.getReader();
+        final StringBuilder read = new StringBuilder();
+        final char[] buffer = new char[7];
+        int count;
+        while ((count = reader.read(buffer)) >= 0) {
+            read.append(buffer, 0, count);
+        }
+
+        assertThat(read.toString()).isEqualTo(BODY);
+        assertThat(wrapper.getCapturedBody()).isEqualTo(BODY);
+        assertThat(completions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsOnlyTheConfiguredNumberOfBytes() throws IOException {
+        final StreamingAuditRequestWrapper wrapper = wrapper(BODY, 10);
+
+        final byte[] read = wrapper.getInputStream().readAllBytes();
+
+        assertThat(new String(read, StandardCharsets.UTF_8)).isEqualTo(BODY);
+        assertThat(wrapper.getCapturedBody()).isEqualTo(BODY.substring(0, 10));
+        assertThat(wrapper.getCapture().isTruncated()).isTrue();
+        assertThat(wrapper.getCapture().getTotalBytes()).isEqualTo(BODY.length());
+        final byte[] bodyBytes = BODY.getBytes(StandardCharsets.UTF_8);
+        assertThat(wrapper.getPayloadInfo().length()).isEqualTo(bodyBytes.length);
+        assertThat(wrapper.getPayloadInfo().sha256()).isEqualTo(Digests.sha256Hex(bodyBytes, 0, bodyBytes.length));
+    }
+
+    @Test
+    void hashesOverflowReadOneByteAtATime() throws IOException {
+        final StreamingAuditRequestWrapper wrapper = wrapper(BODY, 3);
+        final ServletInputStream inputStream = wrapper.getInputStream();
+        while (inputStream.read() >= 0) {
+            // drain
+        }
+
+        final byte[] bodyBytes = BODY.getBytes(StandardCharsets.UTF_8);
+        assertThat(wrapper.getCapturedBody()).isEqualTo(BODY.substring(0, 3));
+        assertThat(wrapper.getPayloadInfo().sha256()).isEqualTo(Digests.sha256Hex(bodyBytes, 0, bodyBytes.length));
+    }
+
+    @Test
+    void leavesPayloadInfoUnsetWhenTheWholeBodyFits() throws IOException {
+        final StreamingAuditRequestWrapper wrapper = wrapper(BODY, 1024);
+        wrapper.getInputStream().readAllBytes();
+
+        assertThat(wrapper.getPayloadInfo()).isNull();
+    }
+
+    @Test
+    void capturesNothingWhenTheBodyIsNotRead() {
+        final StreamingAuditRequestWrapper wrapper = wrapper(BODY, 1024);
+
+        assertThat(wrapper.getCapturedBody()).isEmpty();
+        assertThat(wrapper.isBodyComplete()).isFalse();
+        assertThat(completions.get()).isEqualTo(0);
+    }
+
+    @Test
+    void capturesNonBlockingReadsAndCompletesOnAllDataRead() throws IOException {
+        final ContainerInputStream container = new ContainerInputStream(BODY.getBytes(StandardCharsets.UTF_8));
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api") {
+            @Override
+            public ServletInputStream getInputStream() {
+                return container;
+            }
+        };
+        final StreamingAuditRequestWrapper wrapper = new StreamingAuditRequestWrapper(request, 1024, completions::incrementAndGet);
+        final ServletInputStream inputStream = wrapper.getInputStream();
+        final AtomicInteger allDataRead = new AtomicInteger();
+        final byte[] buffer = new byte[8];
+
+        inputStream.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                // Read only while the container says it will not block; never read to -1
+                while (inputStream.isReady() && !container.isFinished()) {
+                    inputStream.read(buffer, 0, buffer.length);
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allDataRead.incrementAndGet();
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+                throw new AssertionError(throwable);
+            }
+        });
+
+        // The container calls back on its own threads as data arrives
+        container.listener.get().onDataAvailable();
+        assertThat(completions.get()).isEqualTo(0);
+        container.listener.get().onAllDataRead();
+
+        assertThat(wrapper.getCapturedBody()).isEqualTo(BODY);
+        assertThat(completions.get()).isEqualTo(1);
+        assertThat(allDataRead.get()).isEqualTo(1);
+    }
+
+    private static final class ContainerInputStream extends DelegatingServletInputStream {
+
+        private final AtomicReference<ReadListener> listener = new AtomicReference<>();
+
+        private ContainerInputStream(final byte[] body) {
+            super(new ByteArrayInputStream(body));
+        }
+
+        @Override
+        public boolean isFinished() {
+            try {
+                return available() == 0;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void setReadListener(final ReadListener readListener) {
+            listener.set(readListener);
+        }
+    }
+
+    private StreamingAuditRequestWrapper wrapper(final String body, final int maxCaptureBytes) {
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return new StreamingAuditRequestWrapper(request, maxCaptureBytes, completions::incrementAndGet);
+    }
+}
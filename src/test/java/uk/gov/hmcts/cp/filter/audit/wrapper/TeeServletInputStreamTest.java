@@ -0,0 +1,42 @@
+package uk.gov.hmcts.cp.filter.audit.wrapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.DelegatingServletInputStream;
+
+class TeeServletInputStreamTest {
+
+    @Test
+    void detachesAnObserverThatThrowsWithoutFailingTheRead() throws IOException {
+        final byte[] body = "body bytes".getBytes(StandardCharsets.UTF_8);
+        final AtomicInteger writes = new AtomicInteger();
+        final BodyObserver failing = new BodyObserver() {
+            @Override
+            public void write(final int value) {
+                writes.incrementAndGet();
+                throw new IllegalArgumentException("bad part header");
+            }
+
+            @Override
+            public void write(final byte[] source, final int offset, final int length) {
+                writes.incrementAndGet();
+                throw new IllegalArgumentException("bad part header");
+            }
+        };
+        final AtomicInteger completions = new AtomicInteger();
+        final TeeServletInputStream inputStream = new TeeServletInputStream(
+                new DelegatingServletInputStream(new ByteArrayInputStream(body)), failing, completions::incrementAndGet);
+
+        assertThat(inputStream.read()).isEqualTo('b');
+        assertThat(inputStream.readAllBytes()).isEqualTo("ody bytes".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(writes.get()).isEqualTo(1);
+        assertThat(completions.get()).isEqualTo(1);
+    }
+}
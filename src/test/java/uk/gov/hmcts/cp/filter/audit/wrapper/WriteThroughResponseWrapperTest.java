@@ -0,0 +1,113 @@
+package uk.gov.hmcts.cp.filter.audit.wrapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import uk.gov.hmcts.cp.filter.audit.util.Digests;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.servlet.ServletOutputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class WriteThroughResponseWrapperTest {
+
+    private static final String BODY = "{\"result\":\"café\"}";
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void streamsBytesToTheClientAsTheyAreWritten() throws IOException {
+        final WriteThroughResponseWrapper wrapper = new WriteThroughResponseWrapper(response, 1024);
+
+        final ServletOutputStream outputStream = wrapper.getOutputStream();
+        outputStream.write(BODY.getBytes(StandardCharsets.UTF_8), 0, 5);
+
+        assertThat(response.getContentAsByteArray()).hasSize(5);
+        assertThat(wrapper.getCapture().size()).isEqualTo(5);
+    }
+
+    @Test
+    void capturesWriterOutputWithTheResponseEncoding() throws IOException {
+        response.setCharacterEncoding("UTF-8");
+        final WriteThroughResponseWrapper wrapper = new WriteThroughResponseWrapper(response, 1024);
+
+        final PrintWriter writer = wrapper.getWriter();
+        writer.write(BODY);
+        wrapper.flushBuffer();
+
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(BODY);
+        assertThat(response.isCommitted()).isTrue();
+        assertThat(wrapper.getCapturedBody()).isEqualTo(BODY);
+        assertThat(wrapper.getPayloadInfo()).isNull();
+    }
+
+    @Test
+    void keepsABoundedPrefix() throws IOException {
+        final byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+        final WriteThroughResponseWrapper wrapper = new WriteThroughResponseWrapper(response, 4);
+
+        wrapper.getOutputStream().write(body);
+
+        assertThat(response.getContentAsByteArray()).isEqualTo(body);
+        assertThat(wrapper.getCapturedBody()).isEqualTo(BODY.substring(0, 4));
+        assertThat(wrapper.getPayloadInfo().length()).isEqualTo(body.length);
+        assertThat(wrapper.getPayloadInfo().sha256()).isEqualTo(Digests.sha256Hex(body, 0, body.length));
+    }
+
+    @Test
+    void resetDropsTheCaptureAndTheStreamHandedOut() throws IOException {
+        response.setCharacterEncoding("UTF-8");
+        final WriteThroughResponseWrapper wrapper = new WriteThroughResponseWrapper(response, 1024);
+        wrapper.getOutputStream().write("partial".getBytes(StandardCharsets.UTF_8));
+
+        wrapper.reset();
+        response.setCharacterEncoding("UTF-8");
+        final PrintWriter writer = wrapper.getWriter();
+        writer.write(BODY);
+        wrapper.flushBuffer();
+
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(BODY);
+        assertThat(wrapper.getCapturedBody()).isEqualTo(BODY);
+        assertThat(wrapper.getPayloadInfo()).isNull();
+    }
+
+    @Test
+    void resetBufferClearsTheCapture() throws IOException {
+        final byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+        final WriteThroughResponseWrapper wrapper = new WriteThroughResponseWrapper(response, 4);
+        final ServletOutputStream outputStream = wrapper.getOutputStream();
+        outputStream.write("discarded error page".getBytes(StandardCharsets.UTF_8));
+
+        wrapper.resetBuffer();
+        outputStream.write(body);
+
+        assertThat(response.getContentAsByteArray()).isEqualTo(body);
+        assertThat(wrapper.getCapturedBody()).isEqualTo(BODY.substring(0, 4));
+        assertThat(wrapper.getPayloadInfo().length()).isEqualTo(body.length);
+        assertThat(wrapper.getPayloadInfo().sha256()).isEqualTo(Digests.sha256Hex(body, 0, body.length));
+    }
+
+    @Test
+    void keepsTheCaptureWhenTheCommittedResponseCannotBeReset() throws IOException {
+        final WriteThroughResponseWrapper wrapper = new WriteThroughResponseWrapper(response, 1024);
+        wrapper.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+        wrapper.flushBuffer();
+
+        assertThatThrownBy(wrapper::reset).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(wrapper::resetBuffer).isInstanceOf(IllegalStateException.class);
+        assertThat(wrapper.getCapturedBody()).isEqualTo(BODY);
+    }
+
+    @Test
+    void rejectsMixingWriterAndOutputStream() throws IOException {
+        final WriteThroughResponseWrapper wrapper = new WriteThroughResponseWrapper(response, 1024);
+
+        wrapper.getWriter();
+
+        assertThatThrownBy(wrapper::getOutputStream).isInstanceOf(IllegalStateException.class);
+    }
+}